@@ -109,12 +109,15 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
     int nnids[] = new int[nids._len];
     if( _leaf > 0)            // Prior pass exists?
       score_decide(chks,nids,nnids);
-    else                      // Just flag all the NA rows
+    else {                    // Just flag all the NA rows
+      double ws[] = weight.getDoubles(new double[nids._len],0,nids._len);
+      int ns[] = nids.getIntegers(new int[nids._len],0,nids._len,0);
       for( int row=0; row<nids._len; row++ ) {
-        if( weight.atd(row) == 0) continue;
-        if( isDecidedRow((int)nids.atd(row)) )
+        if( ws[row] == 0) continue;
+        if( isDecidedRow(ns[row]) )
           nnids[row] = DECIDED_ROW;
       }
+    }
 
     // Pass 2: accumulate all rows, cols into histograms
 //    if (_subset)
@@ -145,8 +148,9 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
   // criteria, and assigning the row to a new child UndecidedNode (and
   // giving it an improved prediction).
   private void score_decide(Chunk chks[], Chunk nids, int nnids[]) {
+    int ns[] = nids.getIntegers(new int[nids._len],0,nids._len,0); // Bulk decode; rows are re-set below
     for( int row=0; row<nids._len; row++ ) { // Over all rows
-      int nid = (int)nids.at8(row);          // Get Node to decide from
+      int nid = ns[row];                     // Get Node to decide from
       if( isDecidedRow(nid)) {               // already done
         nnids[row] = nid-_leaf;              // will be negative, flagging a completed row
         continue;
@@ -221,6 +221,7 @@ public abstract class SharedTreeModel<
       }
     }
     Frame res = new MRTask() {
+      @Override protected void setupLocal() { prefetchTrees(_output._treeKeys.length); }
       @Override public void map(Chunk chks[], NewChunk[] idx ) {
         double[] input = new double[chks.length];
         String[] output = new String[outputcols];
@@ -272,6 +273,7 @@ public abstract class SharedTreeModel<
 
   protected double[] score0(double[] data, double[] preds, double weight, double offset, int ntrees) {
     // Prefetch trees into the local cache if it is necessary
+    prefetchTrees(ntrees);
     // Invoke scoring
     Arrays.fill(preds,0);
     for( int tidx=0; tidx<ntrees; tidx++ )
@@ -279,6 +281,24 @@ public abstract class SharedTreeModel<
     return preds;
   }
 
+  // Trees [0,_prefetched) have been fetched to this node in bulk.  Without
+  // it a fresh node scoring a big forest pays a round trip per tree.
+  private transient volatile int _prefetched;
+  private void prefetchTrees(int ntrees) {
+    if( ntrees <= _prefetched ) return;
+    DKV.prefetch(treeKeys(_prefetched, ntrees));
+    _prefetched = ntrees;
+  }
+
+  // All the tree keys of trees [from,to), skipping missing classes
+  private Key[] treeKeys(int from, int to) {
+    ArrayList<Key> ks = new ArrayList<>();
+    for( int tidx=from; tidx<to; tidx++ )
+      for( Key k : _output._treeKeys[tidx] )
+        if( k != null ) ks.add(k);
+    return ks.toArray(new Key[ks.size()]);
+  }
+
   // Score per line per tree
   private void score0(double[] data, double[] preds, int treeIdx) {
     Key[] keys = _output._treeKeys[treeIdx];
@@ -300,6 +320,7 @@ public abstract class SharedTreeModel<
     newModel._output._training_metrics = null;
     newModel._output._validation_metrics = null;
     // Clone trees
+    DKV.prefetch(treeKeys(0, _output._treeKeys.length));
     Key[][] treeKeys = newModel._output._treeKeys;
     for (int i = 0; i < treeKeys.length; i++) {
       for (int j = 0; j < treeKeys[i].length; j++) {
@@ -1104,29 +1104,48 @@ public abstract class Model<M extends Model<M,P,O>, P extends Model.Parameters,
       }
       double[] preds = _mb._work;  // Sized for the union of test and train classes
       int len = chks[0]._len;
-      for (int row = 0; row < len; row++) {
-        double weight = weightsChunk!=null?weightsChunk.atd(row):1;
-        if (weight == 0) {
+      // Bulk-decode the features, a block of rows at a time, instead of
+      // calling atd() per row and column.  The block is sized to a fixed
+      // count of doubles, so wide frames decode fewer rows at a time (down
+      // to one); it is allocated once here and reused for every block.
+      final int nfeat = tmp.length;
+      final int blen = Math.max(1, Math.min(Math.min(len, SCORE_BLOCK), SCORE_BLOCK_DOUBLES/Math.max(1,nfeat)));
+      double[][] cols = new double[nfeat][blen];
+      double[] ws = weightsChunk != null ? new double[blen] : null;
+      double[] os = offsetChunk  != null ? new double[blen] : null;
+      double[] ys = responseChunk!= null ? new double[blen] : null;
+      for (int row0 = 0; row0 < len; row0 += blen) {
+        int row1 = Math.min(len, row0 + blen);
+        for (int i = 0; i < nfeat; i++) chks[i].getDoubles(cols[i], row0, row1);
+        if (ws != null) weightsChunk.getDoubles(ws, row0, row1);
+        if (os != null) offsetChunk .getDoubles(os, row0, row1);
+        if (ys != null) responseChunk.getDoubles(ys, row0, row1);
+        for (int row = row0; row < row1; row++) {
+          int r = row - row0;
+          double weight = ws != null ? ws[r] : 1;
+          if (weight == 0) {
+            if (_makePreds) {
+              for (int c = 0; c < _npredcols; c++)  // Output predictions; sized for train only (excludes extra test classes)
+                cpreds[c].addNum(0);
+            }
+            continue;
+          }
+          double offset = os != null ? os[r] : 0;
+          for (int i = 0; i < nfeat; i++) tmp[i] = cols[i][r];
+          double [] p = score0Decoded(tmp, preds, weight, offset);
+          if (_computeMetrics) {
+            if(isSupervised()) {
+              actual[0] = (float)ys[r];
+            } else {
+              for(int i = 0; i < actual.length; ++i)
+                actual[i] = (float)(i < nfeat ? cols[i][r] : chks[i].atd(row));
+            }
+            _mb.perRow(preds, actual, weight, offset, Model.this);
+          }
           if (_makePreds) {
             for (int c = 0; c < _npredcols; c++)  // Output predictions; sized for train only (excludes extra test classes)
-              cpreds[c].addNum(0);
-          }
-          continue;
-        }
-        double offset = offsetChunk!=null?offsetChunk.atd(row):0;
-        double [] p = score0(chks, weight, offset, row, tmp, preds);
-        if (_computeMetrics) {
-          if(isSupervised()) {
-            actual[0] = (float)responseChunk.atd(row);
-          } else {
-            for(int i = 0; i < actual.length; ++i)
-              actual[i] = (float)chks[i].atd(row);
+              cpreds[c].addNum(p[c]);
           }
-          _mb.perRow(preds, actual, weight, offset, Model.this);
-        }
-        if (_makePreds) {
-          for (int c = 0; c < _npredcols; c++)  // Output predictions; sized for train only (excludes extra test classes)
-            cpreds[c].addNum(p[c]);
         }
       }
       if ( _j != null) _j.update(1);
@@ -1148,6 +1167,16 @@ public abstract class Model<M extends Model<M,P,O>, P extends Model.Parameters,
     assert(_output.nfeatures() == tmp.length);
     for( int i=0; i< tmp.length; i++ )
       tmp[i] = chks[i].atd(row_in_chunk);
+    return score0Decoded(tmp, preds, weight, offset);
+  }
+
+  // Max rows, and max decoded doubles (512KB), per bulk-decode block in BigScore
+  private static final int SCORE_BLOCK = 1024;
+  private static final int SCORE_BLOCK_DOUBLES = 1<<16;
+
+  /** Score one row already loaded into tmp, then apply the class-prior
+   *  correction and pick the label, as {@link #score0(Chunk[], double, double, int, double[], double[])}. */
+  protected double[] score0Decoded( double[] tmp, double[] preds, double weight, double offset ) {
     double [] scored = score0(tmp, preds, weight, offset);
     if(isSupervised()) {
       // Correct probabilities obtained from training on oversampled data back to original distribution
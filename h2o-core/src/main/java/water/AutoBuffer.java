@@ -7,8 +7,10 @@ import java.nio.*;
 import java.nio.channels.*;
 import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 import water.network.SocketChannelUtils;
+import water.util.LZ4;
 import water.util.Log;
 import water.util.TwoDimTable;
 
@@ -155,10 +157,12 @@ public final class AutoBuffer {
     // If UDP goes via UDP, we write into a DBB up front - because we plan on
     // sending it out via a Datagram socket send call.  If UDP goes via batched
     // TCP, we write into a HBB up front, because this will be copied again
-    // into a large outgoing buffer.
+    // into a large outgoing buffer.  Single-cast messages take a pooled
+    // MTU-sized HBB, which the send thread recycles after the copy; the
+    // multicast HBB is shared amongst several send queues and is not pooled.
     _bb = H2O.ARGS.useUDP // Actually use UDP?
       ? BBP_SML.make()    // Make DirectByteBuffers to start with
-      : ByteBuffer.wrap(new byte[16]).order(ByteOrder.nativeOrder());
+      : (h2o != H2O.SELF ? BBP_MSG.make() : ByteBuffer.wrap(new byte[16]).order(ByteOrder.nativeOrder()));
     _chan = null;               // Channel made lazily only if we write alot
     _h2o = h2o;
     _read = false;              // Writing by default
@@ -287,7 +291,9 @@ public final class AutoBuffer {
   // counters around.
   //
   // We use 2 pool sizes: lots of small UDP packet-sized buffers and fewer
-  // larger TCP-sized buffers.
+  // larger TCP-sized buffers.  A third pool keeps heap buffers for the small
+  // messages batched over TCP; these are not expensive to make, but nearly
+  // every RPC makes one, and growing a fresh one costs several more.
   private static final boolean DEBUG = Boolean.getBoolean("h2o.find-ByteBuffer-leaks");
   private static long HWM=0;
 
@@ -296,8 +302,10 @@ public final class AutoBuffer {
     long _numer, _denom, _goal=4*H2O.NUMCPUS, _lastGoal;
     final ArrayList<ByteBuffer> _bbs = new ArrayList<>();
     final int _size;            // Big or small size of ByteBuffers
+    final boolean _direct;      // Direct or heap ByteBuffers
 
-    BBPool( int sz) { _size=sz; }
+    BBPool( int sz) { this(sz,true); }
+    BBPool( int sz, boolean direct ) { _size=sz; _direct=direct; }
     private ByteBuffer stats( ByteBuffer bb ) {
       if( !DEBUG ) return bb;
       if( ((_made+_cached)&255)!=255 ) return bb; // Filter printing to 1 in 256
@@ -324,7 +332,7 @@ public final class AutoBuffer {
         if( bb != null ) return stats(bb);
         // Cache empty; go get one from C/Native memory
         try {
-          bb = ByteBuffer.allocateDirect(_size).order(ByteOrder.nativeOrder());
+          bb = (_direct ? ByteBuffer.allocateDirect(_size) : ByteBuffer.wrap(MemoryManager.malloc1(_size))).order(ByteOrder.nativeOrder());
           synchronized(this) { _made++; _denom++; _goal = Math.max(_goal,_made-_freed); _lastGoal=System.nanoTime(); } // Goal was too low, raise it
           return stats(bb);
         } catch( OutOfMemoryError oome ) {
@@ -367,8 +375,14 @@ public final class AutoBuffer {
   }
   static BBPool BBP_SML = new BBPool( 2*1024); // Bytebuffer "common small size", for UDP
   static BBPool BBP_BIG = new BBPool(64*1024); // Bytebuffer "common  big  size", for TCP
+  static BBPool BBP_MSG = new BBPool(MTU, false); // Heap Bytebuffer for small messages batched over TCP
   public static int TCP_BUF_SIZ = BBP_BIG._size;
 
+  // Recycle a small-message HBB, once its bytes are copied out
+  static void freeMsg( ByteBuffer bb ) {
+    if( !bb.isDirect() && bb.capacity()==BBP_MSG._size ) BBP_MSG.free(bb);
+  }
+
   private int bbFree() {
     if(_bb != null && _bb.isDirect())
       BBPool.FREE(_bb);
@@ -443,7 +457,7 @@ public final class AutoBuffer {
           _chan = null;         // No channel now, since i/o error
           throw ioe;            // Rethrow after close
         } finally {
-          if( !_read ) _h2o.freeTCPSocket(_chan); // Recycle writable TCP channel
+          if( !_read ) _h2o.freeTCPSocket(_chan,_msg_priority); // Recycle writable TCP channel
           restorePriority();        // And if we raised priority, lower it back
         }
 
@@ -470,7 +484,7 @@ public final class AutoBuffer {
     assert _firstPage && _bb.limit() >= 1+2+4; // At least something written
     assert _chan == null;
 //    assert _bb.position()==0;
-    _chan = _h2o.getTCPSocket();
+    _chan = _h2o.getTCPSocket(_msg_priority);
     raisePriority();
   }
 
@@ -487,7 +501,7 @@ public final class AutoBuffer {
     if( chan != null ) {                  // Channel assumed sick from prior IOException
       try { chan.close(); } catch( IOException ignore ) {} // Silently close
       _chan = null;                       // No channel now!
-      if( !_read && SocketChannelUtils.isSocketChannel(chan)) _h2o.freeTCPSocket(chan); // Recycle writable TCP channel
+      if( !_read && SocketChannelUtils.isSocketChannel(chan)) _h2o.freeTCPSocket(chan,_msg_priority); // Recycle writable TCP channel
     }
     restorePriority();          // And if we raised priority, lower it back
     bbFree();
@@ -669,6 +683,89 @@ public final class AutoBuffer {
     return _bb;
   }
 
+  /** Large byte arrays sent between Nodes: counts of arrays and of those
+   *  compressed, and their bytes before and after compression. */
+  public static class WireStats {
+    public final AtomicLong arrays = new AtomicLong(), compressed = new AtomicLong();
+    public final AtomicLong raw_bytes = new AtomicLong(), wire_bytes = new AtomicLong();
+    void add( int raw, int wire, boolean z ) {
+      arrays.incrementAndGet();
+      if( z ) compressed.incrementAndGet();
+      raw_bytes.addAndGet(raw);
+      wire_bytes.addAndGet(wire);
+    }
+  }
+  public static final WireStats WIRE_SENT = new WireStats(), WIRE_RECV = new WireStats();
+
+  // Big byte arrays to another Node are preceded by a flag byte: 1 if they
+  // follow LZ4-compressed (with the compressed length), 0 if raw.  Each
+  // sender decides with -wire_compress, per array; compression is only kept
+  // if it saves an 8th.  Receivers handle either.
+  //
+  // Only length-prefixed arrays (putA1(byte[]) / getA1()) use this format,
+  // and both ends decide on it from that same length: the writer when it
+  // writes to another Node, the reader when it reads a TCP stream from one.
+  // Slices and arrays of a caller-given length always go raw.
+  boolean isWireArray( int len ) {
+    return len >= BBP_BIG._size &&
+      (_read ? _chan != null && _persist == Value.TCP : _h2o != null && _h2o != H2O.SELF);
+  }
+  private AutoBuffer putWire( byte[] ary, int off, int len ) {
+    if( H2O.ARGS.wire_compress ) {
+      byte[] z = MemoryManager.malloc1(LZ4.maxCompressedLength(len));
+      int zlen = LZ4.compress(ary, off, len, z, 0);
+      if( zlen <= len - (len>>3) ) {
+        put1(1).putInt(zlen);
+        sendBulk(ByteBuffer.wrap(z, 0, zlen));
+        WIRE_SENT.add(len, zlen, true);
+        return this;
+      }
+    }
+    put1(0);
+    sendBulk(ByteBuffer.wrap(ary, off, len));
+    WIRE_SENT.add(len, len, false);
+    return this;
+  }
+  private byte[] getWire( int len ) {
+    if( get1() == 0 ) {
+      WIRE_RECV.add(len, len, false);
+      return getA1Raw(len);
+    }
+    int zlen = getInt();
+    byte[] buf = MemoryManager.malloc1(len);
+    LZ4.decompress(getA1Raw(zlen), 0, zlen, buf, 0, len);
+    WIRE_RECV.add(len, zlen, true);
+    return buf;
+  }
+
+  // Write a big array straight to the Channel, without copying it through
+  // the ByteBuffer first: whatever is buffered and then the array go out in
+  // a single gathering write (opening a TCP socket as needed).  Used for
+  // multi-megabyte payloads like Chunks, model weights and histograms.
+  private void sendBulk( ByteBuffer src ) {
+    _size += _bb.position() + src.remaining();
+    if( _chan == null )
+      TimeLine.record_send(this, true);
+    _bb.flip();                 // Prep for writing
+    try {
+      if( _chan == null )
+        tcpOpen();              // This is a big operation.  Open a TCP socket as-needed.
+      long ns = System.nanoTime();
+      if( _chan instanceof GatheringByteChannel ) {
+        ByteBuffer[] bbs = new ByteBuffer[]{_bb, src};
+        while( src.hasRemaining() ) ((GatheringByteChannel)_chan).write(bbs);
+      } else {                  // E.g. SSL-wrapped sockets
+        while( _bb.hasRemaining() ) _chan.write(_bb);
+        while( src.hasRemaining() ) _chan.write(src);
+      }
+      _time_io_ns += (System.nanoTime()-ns);
+    } catch( IOException e ) {  // Some kind of TCP fail?  See sendPartial
+      throw new AutoBufferException(e);
+    }
+    _firstPage = false;
+    _bb.clear();
+  }
+
   // Called when the byte buffer doesn't have enough room
   // If buffer is array backed, and the needed room is small,
   // increase the size of the backing array,
@@ -691,8 +788,10 @@ public final class AutoBuffer {
     } else if (_bb.capacity() != BBP_BIG._size) { //avoid expanding existing BBP items
       int oldPos = _bb.position();
       _bb.flip();
-      _bb = BBP_BIG.make().put(_bb);
+      ByteBuffer bb = _bb;
+      _bb = BBP_BIG.make().put(bb);
       _bb.position(oldPos);
+      freeMsg(bb);              // Small message grew too big; recycle its HBB
     }
     return _bb;
   }
@@ -999,20 +1098,44 @@ public final class AutoBuffer {
   public byte[] getA1( ) {
     //_arys++;
     int len = getInt();
-    return len == -1 ? null : getA1(len);
+    if( len == -1 ) return null;
+    return isWireArray(len) ? getWire(len) : getA1Raw(len);
   }
-  public byte[] getA1( int len ) {
+  public byte[] getA1( int len ) { return getA1Raw(len); }
+  private byte[] getA1Raw( int len ) {
     byte[] buf = MemoryManager.malloc1(len);
     int sofar = 0;
     while( sofar < len ) {
       int more = Math.min(_bb.remaining(), len - sofar);
       _bb.get(buf, sofar, more);
       sofar += more;
+      if( len - sofar >= BBP_BIG._size && _chan != null ) return getBulk(buf, sofar);
       if( sofar < len ) getSp(Math.min(_bb.capacity(), len-sofar));
     }
     return buf;
   }
 
+  // Read the rest of a big array straight from the Channel; the reverse of
+  // sendBulk.  The ByteBuffer is empty, and stays so.
+  private byte[] getBulk( byte[] buf, int sofar ) {
+    assert !_bb.hasRemaining();
+    ByteBuffer dst = ByteBuffer.wrap(buf, sofar, buf.length - sofar);
+    long ns = System.nanoTime();
+    try {
+      while( dst.hasRemaining() ) {
+        int res = _chan.read(dst);
+        if( res <= 0 )
+          throw new AutoBufferException(new EOFException("Reading "+buf.length+" bytes, AB="+this));
+        _size += res;
+      }
+    } catch( IOException e ) {
+      throw new AutoBufferException(e);
+    }
+    _time_io_ns += (System.nanoTime()-ns);
+    _firstPage = false;
+    return buf;
+  }
+
   public short[] getA2( ) {
     //_arys++;
     int len = getInt(); if( len == -1 ) return null;
@@ -1224,10 +1347,15 @@ public final class AutoBuffer {
     //_arys++;
     if( ary == null ) return putInt(-1);
     putInt(ary.length);
+    if( isWireArray(ary.length) ) return putWire(ary, 0, ary.length);
     return putA1(ary,ary.length);
   }
   public AutoBuffer putA1( byte[] ary, int length ) { return putA1(ary,0,length); }
   public AutoBuffer putA1( byte[] ary, int sofar, int length ) {
+    if( length - sofar >= BBP_BIG._size && !_read && (_h2o != null || _chan != null) && _h2o != H2O.SELF ) {
+      sendBulk(ByteBuffer.wrap(ary, sofar, length - sofar));
+      return this;
+    }
     if (length - sofar > _bb.remaining()) expandByteBuffer(length-sofar);
     while( sofar < length ) {
       int len = Math.min(length - sofar, _bb.remaining());
@@ -96,10 +96,12 @@ class Cleaner extends Thread {
       boolean force = (h._cached >= DESIRED || !MemoryManager.CAN_ALLOC); // Forced to clean
       if( force && diskFull )   // Try to clean the diskFull flag
         diskFull = isDiskFull();
+      final EvictionPolicy policy = EvictionPolicy.CURRENT;
+      final boolean anyPinned = EvictionPolicy.anyPinned();
       long clean_to_age = h.clean_to(force ? DESIRED : (DESIRED>>1));
       // If not forced cleaning, expand the cleaning age to allows Values
       // more than 5sec old
-      if( !force ) clean_to_age = Math.max(clean_to_age,now-5000);
+      if( !force ) clean_to_age = Math.max(clean_to_age,now-EvictionPolicy.YOUNG_MS);
       if( DESIRED == -1 ) clean_to_age = now;  // Test mode: clean all
 
       // No logging if under memory pressure: can deadlock the cleaner thread
@@ -109,6 +111,8 @@ class Cleaner extends Thread {
       long cleaned = 0;         // Disk i/o bytes
       long freed = 0;           // memory freed bytes
       long io_ns = 0;           // i/o ns writing
+      long offheap = 0;         // bytes moved to native memory
+      long compressed = 0;      // raw bytes compressed in place
 
       // For faster K/V store walking get the NBHM raw backing array,
       // and walk it directly.
@@ -123,14 +127,15 @@ class Cleaner extends Thread {
         Value val = (Value)ov;
         byte[] m = val.rawMem();
         Object p = val.rawPOJO();
-        if( m == null && p == null ) continue; // Nothing to throw out
+        byte[] c = val.rawCompressed();
+        if( m == null && p == null && c == null ) continue; // Nothing to throw out
 
         if( val.isLockable() ) continue; // we do not want to throw out Lockables.
-        boolean isChunk = p instanceof Chunk;
+        boolean isChunk = p instanceof Chunk || (p == null && c != null); // Only Chunks are ever compressed
 
         // Ignore things younger than the required age.  In particular, do
         // not spill-to-disk all dirty things we find.
-        long touched = val._lastAccessedTime;
+        long touched = policy.rank(val,now);
         if( touched > clean_to_age ) { // Too recently touched?
           // But can toss out a byte-array if already deserialized & on disk
           // (no need for both forms).  Note no savings for Chunks, for which m==p._mem
@@ -144,13 +149,43 @@ class Cleaner extends Thread {
         // Spiller turned off?
         if( !H2O.ARGS.cleaner ) continue;
 
+        // Pinned by a running Job?
+        if( isChunk && anyPinned && EvictionPolicy.isPinned(((Key)ok).getVecKey()) ) continue;
+
         // CNC - Memory cleaning turned off, except for Chunks
         // Too many POJOs are written to dynamically; cannot spill & reload
         // them without losing changes.
 
+        // Can I shrink this value in place?  A compressed cold Chunk stays in
+        // RAM, so the first step down is to compress; should it still be cold
+        // on a later forced pass, it moves further down the tiers below.
+        boolean shrunk = false;
+        if( isChunk && force && H2O.ARGS.cleaner_compress && c == null && m != null &&
+            !val.isPersisted() && !val.isOffHeap() && ((Key)ok).home() && val.storeCompressed() ) {
+          c = val.rawCompressed();
+          val.freeMem ();  m = null;
+          val.freePOJO();  p = null;
+          freed += val._max - c.length;
+          compressed += val._max;
+          shrunk = true;
+        } else if( isChunk && force && c != null && (m != null || p != null) ) {
+          // Compressed on an earlier pass and inflated since; just drop the
+          // inflated form again
+          val.freeMem ();  m = null;
+          val.freePOJO();  p = null;
+          freed += val._max;
+          shrunk = true;
+        }
+
+        // Can I move this value off the Java heap instead?  Native memory is
+        // far cheaper to get back than disk, so prefer it while there is room.
+        if( isChunk && force && !shrunk && !val.isPersisted() && m != null && val.storeOffHeap() )
+          offheap += val._max;
+
         // Should I write this value out to disk?
         // Should I further force it from memory?
-        if( isChunk && !val.isPersisted() && !diskFull && ((Key)ok).home() ) { // && (force || (lazyPersist() && lazy_clean(key)))) {
+        // (Compressed Chunks inflate to be written, so only spill those when forced.)
+        if( isChunk && !shrunk && (force || c == null) && !val.isPersisted() && !val.isOffHeap() && !diskFull && ((Key)ok).home() ) { // && (force || (lazyPersist() && lazy_clean(key)))) {
           long now_ns = System.nanoTime();
           try { val.storePersist(); } // Write to disk
           catch( FileNotFoundException fnfe ) { continue; } // Can happen due to racing key delete/remove
@@ -167,10 +202,11 @@ class Cleaner extends Thread {
           io_ns += System.nanoTime() - now_ns; // Accumulate i/o time
         }
         // And, under pressure, free all
-        if( isChunk && force && (val.isPersisted() || !((Key)ok).home()) ) {
+        if( isChunk && force && (val.isPersisted() || val.isOffHeap() || !((Key)ok).home()) ) {
+          if( m != null && p != null ) freed -= val._max; // Double-counted freed mem for Chunks since val._pojo._mem & val._mem are the same.
           val.freeMem ();  if( m != null ) freed += val._max;  m = null;
           val.freePOJO();  if( p != null ) freed += val._max;  p = null;
-          if( isChunk ) freed -= val._max; // Double-counted freed mem for Chunks since val._pojo._mem & val._mem are the same.
+          val.freeCompressed();  if( c != null ) freed += c.length;  c = null;
         }
         // If we have both forms, toss the byte[] form - can be had by
         // serializing again.
@@ -185,7 +221,9 @@ class Cleaner extends Thread {
       }
 
       String s1 = "Cleaner pass took: "+PrettyPrint.msecs(System.currentTimeMillis()-now,true)+
-                  ", spilled "+PrettyPrint.bytes(cleaned)+" in "+PrettyPrint.usecs(io_ns>>10);
+                  ", spilled "+PrettyPrint.bytes(cleaned)+" in "+PrettyPrint.usecs(io_ns>>10)+
+                  (MemoryManager.OFFHEAP_MAX > 0 ? ", off-heap "+PrettyPrint.bytes(offheap)+" (total "+PrettyPrint.bytes(MemoryManager.offHeapUsed())+")" : "")+
+                  (H2O.ARGS.cleaner_compress ? ", compressed "+PrettyPrint.bytes(compressed) : "");
       h = Histo.current(true); // Force a new histogram
       MemoryManager.set_goals("postclean",false);
       // No logging if under memory pressure: can deadlock the cleaner thread
@@ -250,6 +288,7 @@ class Cleaner extends Thread {
       long swapped=0;  // Total K/V persisted
       long oldest = Long.MAX_VALUE; // K/V with the longest time since being touched
       Value vold = null;
+      final EvictionPolicy policy = EvictionPolicy.CURRENT;
       // Start the walk at slot 2, because slots 0,1 hold meta-data
       for( int i=2; i<kvs.length; i += 2 ) {
         // In the raw backing array, Keys and Values alternate in slots
@@ -266,15 +305,18 @@ class Cleaner extends Thread {
         if( m != null ) len += val._max;
         if( p != null ) len += val._max;
         if( m != null && p instanceof Chunk ) len -= val._max; // Do not double-count Chunks
+        byte[] c = val.rawCompressed();
+        if( c != null ) len += c.length;
         if( len == 0 ) continue;
         cached += len; // Accumulate total amount of cached keys
 
-        if( val._lastAccessedTime < oldest ) { // Found an older Value?
+        long touched = policy.rank(val,_when);
+        if( touched < oldest ) { // Found an older Value?
           vold = val; // Record oldest Value seen
-          oldest = val._lastAccessedTime;
+          oldest = touched;
         }
         // Compute histogram bucket
-        int idx = (int)((val._lastAccessedTime - eldest)/_hStep);
+        int idx = (int)((touched - eldest)/_hStep);
         if( idx < 0 ) idx = 0;
         else if( idx >= _hs.length ) idx = _hs.length-1;
         _hs[idx] += len;      // Bump histogram bucket
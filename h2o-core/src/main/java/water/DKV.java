@@ -1,5 +1,10 @@
 package water;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+
 /** A Distributed Key/Value Store.
  *  <p>
  *  Functions to Get and Put Values into the K/V store by Key.
@@ -184,13 +189,58 @@ public abstract class DKV {
    *  Non-blocking. */
   static public void prefetch( String key_name ) {        get(Key.make(key_name),false); }
 
+  /** Return a Future of the {@link Value} mapped to Key <em>key</em>, or of
+   *  null if no mapping.  Non-blocking: a remote Value is fetched in the
+   *  background and cached, and a Value cached here comes back already done.
+   *  Fetches are shared with other gets of the same Key, so cannot be
+   *  cancelled.
+   *  @return A Future of the {@link Value} mapped to Key <em>key</em> */
+  static public Future<Value> getAsync( Key key ) {
+    H2O cloud = H2O.CLOUD;
+    Value val = Value.STORE_get(key);
+    if( cached(val) ) return new TaskGetKey.Fetch(val);
+    H2ONode home = cloud._memary[key.home(cloud)];
+    if( home == H2O.SELF ) return new TaskGetKey.Fetch((Value)null);
+    TaskPutKey tpk = home.pendingPutKey(key);
+    if( tpk != null ) return new TaskGetKey.Fetch(pendingPut(tpk));
+    return new TaskGetKey.Fetch(TaskGetKey.start(home,key),key);
+  }
+
+  /** Prefetch and cache the Values for all these Keys.  Non-blocking.  The
+   *  Keys missing here are fetched with one request per home node (for up to
+   *  a few hundred Keys each), instead of a round trip per Key; follow with
+   *  {@link #get} or {@link #getAsync} of each Key to wait for its Value. */
+  static public void prefetch( Key[] keys ) {
+    H2O cloud = H2O.CLOUD;
+    HashMap<H2ONode,ArrayList<Key>> misses = new HashMap<>();
+    for( Key key : keys ) {
+      if( key == null || cached(Value.STORE_get(key)) ) continue;
+      H2ONode home = cloud._memary[key.home(cloud)];
+      if( home == H2O.SELF || home.pendingPutKey(key) != null ) continue;
+      ArrayList<Key> ks = misses.get(home);
+      if( ks == null ) misses.put(home, ks = new ArrayList<>());
+      ks.add(key);
+    }
+    for( Map.Entry<H2ONode,ArrayList<Key>> e : misses.entrySet() )
+      TaskGetKey.start(e.getKey(), e.getValue());
+  }
+
+  // A locally cached Value needs no fetch
+  static private boolean cached( Value val ) {
+    return val != null && (val.rawMem() != null || val.rawPOJO() != null || val.isPersisted());
+  }
+  // The Value of a pending write to a Key
+  static private Value pendingPut( TaskPutKey tpk ) {
+    return tpk._xval == null || tpk._xval.isNull() ? null : tpk._xval;
+  }
+
   static private Value get( Key key, boolean blocking ) {
     // Read the Cloud once per put-attempt, to keep a consistent snapshot.
     H2O cloud = H2O.CLOUD;
     Value val = Value.STORE_get(key);
     // Hit in local cache?
     if( val != null ) {
-      if( val.rawMem() != null || val.rawPOJO() != null || val.isPersisted() )
+      if( cached(val) )
         return val;
       assert !key.home(); // Master must have *something*; we got nothing & need to fetch
     }
@@ -211,10 +261,10 @@ public abstract class DKV {
     // send to the remote, so the local get has missed above, but a remote
     // get still might 'win' because the remote 'remove' is still in-progress.
     TaskPutKey tpk = home.pendingPutKey(key);
-    if( tpk != null ) return tpk._xval == null || tpk._xval.isNull() ? null : tpk._xval;
+    if( tpk != null ) return pendingPut(tpk);
 
     // Get data "the hard way"
     RPC<TaskGetKey> tgk = TaskGetKey.start(home,key);
-    return blocking ? TaskGetKey.get(tgk) : null;
+    return blocking ? TaskGetKey.get(tgk,key) : null;
   }
 }
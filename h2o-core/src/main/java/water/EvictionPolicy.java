@@ -0,0 +1,121 @@
+package water;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+/** How the {@link Cleaner} ranks K/V Values for spilling.
+ *  <p>
+ *  The Cleaner histograms an <em>eviction time</em> per Value and spills the
+ *  Values with the oldest eviction times first, until the cache is back under
+ *  the desired level.  Plain LRU uses the last access time; smarter policies
+ *  fold access frequency into the stamp, so hot data which is merely touched
+ *  at long intervals (e.g. a response column read once per tree) survives a
+ *  sweep of colder data.
+ *  <p>
+ *  Select with {@code -cleaner_policy lru|lru2}.
+ *  <p>
+ *  Independent of the policy, the Vecs of Frames read-locked by a running
+ *  {@link Job} can be pinned ({@code -pin_job_frames}): their Chunks are
+ *  never spilled while the Job holds the lock.
+ */
+public abstract class EvictionPolicy {
+  /** The policy in use; set from -cleaner_policy at startup */
+  static volatile EvictionPolicy CURRENT = new LRU();
+
+  /** The stamp the Cleaner ranks this Value by; older is spilled first */
+  abstract long evictionTime( Value v );
+
+  /** Values touched within the Cleaner's minimum age, e.g. freshly written,
+   *  rank by that last touch whatever the policy: they are never spilled by
+   *  a lazy clean, and only in plain LRU order by a forced one.  Otherwise
+   *  LRU-2 would rank a Value seen only once far in the past, and spill it
+   *  straight away. */
+  static final long YOUNG_MS = 5000;
+  final long rank( Value v, long now ) {
+    long last = v._lastAccessedTime;
+    return now - last < YOUNG_MS ? last : evictionTime(v);
+  }
+
+  /** Plain least-recently-used: the last access time.  The default. */
+  static final class LRU extends EvictionPolicy {
+    @Override long evictionTime( Value v ) { return v._lastAccessedTime; }
+    @Override public String toString() { return "lru"; }
+  }
+
+  /** LRU-2: rank by the time of the 2nd most recent access, so a Value must
+   *  be re-used to earn its keep and a one-off scan cannot flush a working
+   *  set.  Accesses closer together than {@link Value#CORRELATED_MS} count
+   *  as one.  Values seen only once have no 2nd access; they are ranked as if
+   *  last touched {@link #HISTORY_MS} before their only access, i.e. behind
+   *  any Value re-used within that period. */
+  static final class LRU2 extends EvictionPolicy {
+    static final long HISTORY_MS = 5*60*1000;
+    @Override long evictionTime( Value v ) {
+      long prev = v._prevAccessedTime;
+      return prev != 0 ? prev : v._lastAccessedTime - HISTORY_MS;
+    }
+    @Override public String toString() { return "lru2"; }
+  }
+
+  static EvictionPolicy make( String name ) {
+    if( name == null || name.equals("lru") ) return new LRU();
+    if( name.equals("lru2") ) return new LRU2();
+    throw new IllegalArgumentException("Unknown cleaner policy '"+name+"'; expected one of lru, lru2");
+  }
+
+  // --------------------------------------------------------------------------
+  // Pinning.  Pins are held per (Job, Vec) so a Job unlocking a Frame it only
+  // write-locked, or unlocking twice, is harmless.  The Cleaner reads the
+  // flattened _pinned set without locking.
+  private static final Map<Key,HashSet<Key>> PINS = new HashMap<>(); // Vec -> pinning Jobs
+  private static volatile HashSet<Key> _pinned = new HashSet<>();
+
+  /** True if this Vec is pinned on this node */
+  static boolean isPinned( Key vecKey ) { return _pinned.contains(vecKey); }
+  static boolean anyPinned() { return !_pinned.isEmpty(); }
+
+  /** Cluster-wide, pin the Chunks of these Vecs for the life of the Job's lock */
+  public static void pin( Key<Job> job, Key[] vecs ) { new PinTask(job,vecs,PIN).doAllNodes(); }
+  /** Cluster-wide, release the pins taken by {@link #pin} */
+  public static void unpin( Key<Job> job, Key[] vecs ) { new PinTask(job,vecs,UNPIN).doAllNodes(); }
+  /** Cluster-wide, release every pin of a Job, without waiting; for Jobs
+   *  which stop or are removed with Frames still locked (e.g. after an
+   *  unlock_all, or a failure before their unlock) */
+  static void unpinAll( Key<Job> job ) { new PinTask(job,null,UNPIN_JOB).asyncExecOnAllNodes(); }
+  /** On this node, drop all pins of these Vecs, which are being removed */
+  public static void dropLocal( Key[] vecs ) { if( anyPinned() ) new PinTask(null,vecs,DROP).setupLocal(); }
+
+  private static final byte PIN = 0, UNPIN = 1, UNPIN_JOB = 2, DROP = 3;
+  private static class PinTask extends MRTask<PinTask> {
+    final Key _job;
+    final Key[] _vecs;
+    final byte _op;
+    PinTask( Key job, Key[] vecs, byte op ) { _job = job; _vecs = vecs; _op = op; }
+    @Override public void setupLocal() {
+      synchronized(PINS) {
+        if( _op == UNPIN_JOB ) {
+          for( Iterator<HashSet<Key>> it = PINS.values().iterator(); it.hasNext(); ) {
+            HashSet<Key> jobs = it.next();
+            jobs.remove(_job);
+            if( jobs.isEmpty() ) it.remove();
+          }
+        } else {
+          for( Key vec : _vecs ) {
+            if( vec == null ) continue;
+            HashSet<Key> jobs = PINS.get(vec);
+            if( _op == PIN ) {
+              if( jobs == null ) PINS.put(vec, jobs = new HashSet<>());
+              jobs.add(_job);
+            } else if( jobs != null ) {
+              if( _op == UNPIN ) jobs.remove(_job);
+              if( _op == DROP || jobs.isEmpty() ) PINS.remove(vec);
+            }
+          }
+        }
+        _pinned = new HashSet<>(PINS.keySet());
+      }
+    }
+  }
+}
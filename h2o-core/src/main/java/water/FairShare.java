@@ -0,0 +1,195 @@
+package water;
+
+import water.nbhm.NonBlockingHashMap;
+import water.util.ArrayUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Weighted fair sharing of map work between Jobs.
+ *  <p>
+ *  All user work runs at the same few F/J priorities, so without help a big
+ *  parse fills every thread and a small interactive query waits behind it.
+ *  Every MRTask Chunk map (a "leaf") is charged its thread time to the Job it
+ *  works for.  With <code>-job_fair_share</code>, leaves are also admitted per
+ *  priority level: each Job with map work on a node may run its share of the
+ *  level's threads at once, i.e. <code>nthreads*share/(sum of the shares of
+ *  the Jobs with work there)</code>, but at least one.  A leaf over its Job's
+ *  share is parked - no thread waits for it - and freed threads go to the
+ *  waiting Job with the least thread time per share.  Work of no Job (e.g.
+ *  Rapids) is scheduled as one more Job with a share of 1.
+ *  <p>
+ *  A Job joining a level starts level with the Jobs already there, so a long
+ *  training does not lose all its threads to each new arrival.  Leaves
+ *  reached while helping a join inside another leaf are never parked, so
+ *  blocking on nested work cannot deadlock.
+ */
+public class FairShare {
+  // Per-Job thread time mapping Chunks on this node, in nanos.  Running
+  // totals; dropped cloud-wide when the Job ends (see Job.retire).
+  static final NonBlockingHashMap<Key,AtomicLong> JOB_NANOS = new NonBlockingHashMap<>();
+  // Per-Job shares set on this node; Jobs not here have share 1
+  static final NonBlockingHashMap<Key,Integer> SHARES = new NonBlockingHashMap<>();
+
+  static int share( Key job ) {
+    Integer I = job == null ? null : SHARES.get(job);
+    return I == null ? 1 : I;
+  }
+
+  // A Job's map work at one priority level
+  private static final class JobQ {
+    final Key _job;
+    int _running;               // Admitted leaves not yet done
+    double _vtime;              // Thread nanos used here, per share
+    final ArrayDeque<MRTask> _waiting = new ArrayDeque<>();
+    JobQ( Key job, double vtime ) { _job = job; _vtime = vtime; }
+  }
+
+  // The Jobs with map work running or waiting at one priority level.
+  // HashMap, not NBHM: work of no Job is under the null key.
+  private static final class Level {
+    final HashMap<Key,JobQ> _jobs = new HashMap<>();
+    JobQ get( Key job ) {
+      JobQ q = _jobs.get(job);
+      if( q == null ) {         // Join level with the Jobs already here
+        double min = Double.MAX_VALUE;
+        for( JobQ x : _jobs.values() ) min = Math.min(min, x._vtime);
+        _jobs.put(job, q = new JobQ(job, _jobs.isEmpty() ? 0 : min));
+      }
+      return q;
+    }
+    int slots( JobQ q ) {
+      long shares = 0;
+      for( JobQ x : _jobs.values() ) shares += share(x._job);
+      return (int)Math.max(1, H2O.ARGS.nthreads*(long)share(q._job)/shares);
+    }
+  }
+  private static final Level[] LEVELS = new Level[H2O.MIN_HI_PRIORITY];
+  private static Level level( int p ) {
+    Level lvl = LEVELS[p];
+    if( lvl == null )
+      synchronized( LEVELS ) {
+        if( (lvl = LEVELS[p]) == null ) LEVELS[p] = lvl = new Level();
+      }
+    return lvl;
+  }
+
+  /** Admit a leaf, or park it while its Job is over its share.
+   *  @return true if parked; it runs again later from a fresh F/J task */
+  static boolean park( MRTask mrt ) {
+    if( !H2O.ARGS.job_fair_share ) return false;
+    int p = mrt.priority();
+    Thread thr = Thread.currentThread();
+    if( p >= H2O.MIN_HI_PRIORITY || !(thr instanceof H2O.FJWThr) || ((H2O.FJWThr)thr)._leaves > 0 )
+      return false;             // Not user work, or nested in another leaf
+    Level lvl = level(p);
+    synchronized( lvl ) {
+      JobQ q = lvl.get(mrt._jobKey);
+      if( lvl._jobs.size() > 1 && (q._running >= lvl.slots(q) || !q._waiting.isEmpty()) ) {
+        q._waiting.add(mrt);
+        return true;
+      }
+      q._running++;
+      mrt._admitted = true;
+      return false;
+    }
+  }
+
+  /** Start timing a leaf on this thread */
+  static long begin() {
+    Thread thr = Thread.currentThread();
+    if( thr instanceof H2O.FJWThr ) ((H2O.FJWThr)thr)._leaves++;
+    return System.nanoTime();
+  }
+
+  /** A leaf is done: charge its Job, and hand its thread on */
+  static void end( MRTask mrt, long start ) {
+    long nanos = System.nanoTime() - start;
+    Thread thr = Thread.currentThread();
+    if( thr instanceof H2O.FJWThr ) ((H2O.FJWThr)thr)._leaves--;
+    Key job = mrt._jobKey;
+    if( job != null ) {
+      AtomicLong al = JOB_NANOS.get(job);
+      if( al == null ) {
+        AtomicLong al2 = JOB_NANOS.putIfAbsent(job, al = new AtomicLong());
+        if( al2 != null ) al = al2;
+      }
+      al.addAndGet(nanos);
+    }
+    if( !mrt._admitted ) return;
+    mrt._admitted = false;
+    Level lvl = LEVELS[mrt.priority()];
+    ArrayList<MRTask> go = new ArrayList<>();
+    synchronized( lvl ) {
+      JobQ q = lvl._jobs.get(job);
+      q._running--;
+      q._vtime += (double)nanos/share(job);
+      if( q._running == 0 && q._waiting.isEmpty() ) lvl._jobs.remove(job);
+      // Free threads go to the waiting Job furthest behind its share
+      while( true ) {
+        JobQ best = null;
+        for( JobQ x : lvl._jobs.values() )
+          if( !x._waiting.isEmpty() && x._running < lvl.slots(x) && (best == null || x._vtime < best._vtime) )
+            best = x;
+        if( best == null ) break;
+        best._running++;
+        MRTask w = best._waiting.poll();
+        w._admitted = true;
+        go.add(w);
+      }
+    }
+    for( MRTask w : go ) H2O.submitTask(new Resume(w));
+  }
+
+  // Runs a parked leaf when its turn comes, at the leaf's own priority
+  private static class Resume extends H2O.H2OCountedCompleter<Resume> {
+    private final transient MRTask _mrt;
+    Resume( MRTask mrt ) {
+      super(null, mrt.priority());
+      _mrt = mrt;
+      _jobKey = mrt._jobKey;
+    }
+    @Override public void compute2() {
+      try { _mrt.compute2(); }
+      catch( Throwable t ) { _mrt.completeExceptionally(t); }
+      tryComplete();
+    }
+  }
+
+  /** Set the share of a Job on all nodes.  Entries are dropped when the Job
+   *  retires, and again when it is removed. */
+  static class SetShare extends MRTask<SetShare> {
+    final Key _job;
+    final int _share;
+    SetShare( Key job, int share ) { _job = job; _share = share; _jobKey = null; }
+    @Override public void setupLocal() { SHARES.put(_job, _share); }
+  }
+
+  /** Thread nanos spent mapping cloud-wide, for each of these Jobs;
+   *  optionally forget them and their shares.  Runs on all nodes, started
+   *  without blocking (see Job.Totals). */
+  static class JobTimeTask extends MRTask<JobTimeTask> {
+    final Key[] _jobs;
+    final boolean _remove;
+    long[] _nanos;
+    JobTimeTask( Key[] jobs, boolean remove, H2O.H2OCountedCompleter cmp ) {
+      super(cmp);
+      _jobs = jobs;  _remove = remove;
+      _jobKey = null;           // Not charged to any Job
+    }
+    @Override public void setupLocal() {
+      _nanos = new long[_jobs.length];
+      for( int i = 0; i < _jobs.length; i++ ) {
+        try {
+          AtomicLong al = _remove ? JOB_NANOS.remove(_jobs[i]) : JOB_NANOS.get(_jobs[i]);
+          if( al != null ) _nanos[i] = al.get();
+        } finally {
+          if( _remove ) SHARES.remove(_jobs[i]);
+        }
+      }
+    }
+    @Override public void reduce( JobTimeTask jtt ) { ArrayUtils.add(_nanos, jtt._nanos); }
+  }
+}
@@ -0,0 +1,146 @@
+package water;
+
+import water.fvec.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Run the map/reduce bodies of several MRTasks in a single pass over the
+ * Chunks.  Back-to-back <code>doAll</code> calls over the same data each load
+ * every Chunk (maybe swapping it in from disk) and each cross the cloud; fused
+ * together, every Chunk is loaded once and handed to each task in turn, and
+ * all the results come back in one reduction.
+ *
+ * <p>Each task is added with its own input Vecs and output types, and sees
+ * only those: its <code>map</code> calls get its own Chunks, and its
+ * NewChunks.  All the input Vecs must be compatible (same row layout).
+ * <code>setupLocal</code>, <code>reduce</code>, <code>closeLocal</code> and
+ * <code>postGlobal</code> are all called on each task as if it ran alone.
+ * When <code>doAll</code> returns, the results are in the added task objects
+ * themselves, and <code>outputFrame</code> works on them as usual:
+ *
+ * <pre>
+ *   SumTask sum = new SumTask();
+ *   SquareTask sq = new SquareTask();
+ *   new FusedTask().add(sum, fr.vec(0)).add(sq, new byte[]{Vec.T_NUM}, fr.vec(1)).doAll();
+ *   double s = sum._sum;
+ *   Vec v = sq.outputFrame().anyVec();
+ * </pre>
+ *
+ * <p>Tasks must be independent: no task may read a Vec another task writes
+ * in the same pass.  Only the Frame form of MRTask is fused; tasks over Keys
+ * or over all nodes run as before.
+ */
+public final class FusedTask extends MRTask<FusedTask> {
+  private MRTask[] _tasks;      // Per-Chunk clones while mapping; reduced results after
+  private int[][] _cols;        // Columns of the fused Frame handed to each task
+  private int[] _outs;          // Each task's outputs are [_outs[t],_outs[t+1]) of the fused outputs
+  // The caller's task objects and arguments, which receive the results
+  private transient ArrayList<MRTask> _users = new ArrayList<>();
+  private transient ArrayList<Frame> _frames = new ArrayList<>();
+  private transient ArrayList<byte[]> _types = new ArrayList<>();
+
+  /** Add a task over the given Vecs, with no outputs. */
+  public FusedTask add( MRTask task, Vec... vecs ) { return add(task, null, new Frame(vecs)); }
+  /** Add a task over the given Vecs, making outputs of the given types. */
+  public FusedTask add( MRTask task, byte[] types, Vec... vecs ) { return add(task, types, new Frame(vecs)); }
+  /** Add a task over the given Frame, with no outputs. */
+  public FusedTask add( MRTask task, Frame fr ) { return add(task, null, fr); }
+  /** Add a task over the given Frame, making outputs of the given types. */
+  public FusedTask add( MRTask task, byte[] types, Frame fr ) {
+    _users.add(task);
+    _frames.add(fr);
+    _types.add(types == null || types.length == 0 ? null : types);
+    return this;
+  }
+
+  /** Number of tasks added so far. */
+  public int numTasks() { return _users.size(); }
+
+  /** Run all the added tasks in one blocking pass over their Chunks.  A lone
+   *  task just runs by itself. */
+  public FusedTask doAll() {
+    final int ntasks = _users.size();
+    if( ntasks == 0 ) return this;
+    if( ntasks == 1 ) {
+      _users.get(0).doAll(_types.get(0), _frames.get(0));
+      return this;
+    }
+    // Gather the distinct input Vecs, and each task's columns amongst them
+    ArrayList<Vec> vecs = new ArrayList<>();
+    HashMap<Key,Integer> cols = new HashMap<>();
+    _cols = new int[ntasks][];
+    _outs = new int[ntasks+1];
+    for( int t = 0; t < ntasks; t++ ) {
+      Vec[] vs = _frames.get(t).vecs();
+      _cols[t] = new int[vs.length];
+      for( int i = 0; i < vs.length; i++ ) {
+        Integer c = cols.get(vs[i]._key);
+        if( c == null ) { cols.put(vs[i]._key, c = vecs.size()); vecs.add(vs[i]); }
+        _cols[t][i] = c;
+      }
+      byte[] types = _types.get(t);
+      _outs[t+1] = _outs[t] + (types == null ? 0 : types.length);
+    }
+    byte[] types = null;
+    if( _outs[ntasks] > 0 ) {
+      types = new byte[_outs[ntasks]];
+      for( int t = 0; t < ntasks; t++ )
+        if( _types.get(t) != null )
+          System.arraycopy(_types.get(t), 0, types, _outs[t], _types.get(t).length);
+    }
+    // Each task sees its own Frame, e.g. in setupLocal
+    _tasks = new MRTask[ntasks];
+    for( int t = 0; t < ntasks; t++ ) {
+      _tasks[t] = _users.get(t);
+      _tasks[t]._fr = _frames.get(t);
+    }
+    Frame fr = new Frame(vecs.toArray(new Vec[vecs.size()])); // Throws IAE if not compatible
+    return doAll(types, fr);
+  }
+
+  // The tasks share this node's Futures, so work they queue is blocked on
+  @Override protected void setupLocal() {
+    for( MRTask t : _tasks ) {
+      t._fs = _fs;
+      t.setupLocal();
+    }
+  }
+
+  // Each task maps into its own clone, exactly as a stand-alone MRTask maps
+  // into a clone of its top-level instance.
+  @Override public void map( Chunk[] cs, NewChunk[] ncs ) {
+    MRTask[] tasks = new MRTask[_tasks.length];
+    for( int t = 0; t < tasks.length; t++ ) {
+      MRTask mrt = tasks[t] = (MRTask)_tasks[t].clone();
+      mrt._fs = _fs;
+      int[] cols = _cols[t];
+      Chunk[] bvs = new Chunk[cols.length];
+      for( int i = 0; i < cols.length; i++ ) bvs[i] = cs[cols[i]];
+      mrt.map0(bvs, _outs[t] == _outs[t+1] ? null : Arrays.copyOfRange(ncs, _outs[t], _outs[t+1]));
+    }
+    _tasks = tasks;
+  }
+
+  @Override public void reduce( FusedTask ft ) {
+    for( int t = 0; t < _tasks.length; t++ )
+      _tasks[t].reduce4(ft._tasks[t]);
+  }
+
+  @Override protected void closeLocal() { for( MRTask t : _tasks ) t.closeLocal(); }
+
+  // Hand the reduced results and the outputs back to the caller's tasks
+  @Override protected void postGlobal() {
+    AppendableVec[] apps = appendables();
+    for( int t = 0; t < _tasks.length; t++ ) {
+      MRTask user = _users.get(t);
+      if( _tasks[t] != user ) user.copyOver(_tasks[t]);
+      user._fr = _frames.get(t);
+      if( _outs[t] != _outs[t+1] )
+        user.setOutputs(_types.get(t), apps == null ? null : Arrays.copyOfRange(apps, _outs[t], _outs[t+1]));
+      user.postGlobal();
+    }
+  }
+}
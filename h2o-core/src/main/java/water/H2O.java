@@ -119,6 +119,44 @@ final public class H2O {
             "    -ice_root <fileSystemPath>\n" +
             "          The directory where H2O spills temporary data to disk.\n" +
             "\n" +
+            "    -ice_segments\n" +
+            "          Spill to a few large memory-mapped segment files in ice_root\n" +
+            "          instead of one file per chunk.\n" +
+            "\n" +
+            "    -offheap_mem <size>\n" +
+            "          Native memory (outside the Java heap) used to hold cold data\n" +
+            "          before spilling it to ice_root, e.g. 64g.  (The default is 0, off.)\n" +
+            "\n" +
+            "    -job_mem_max <size>\n" +
+            "          Per-job budget of memory allocated on each node.  A job over\n" +
+            "          budget is failed, rather than blocked, when memory runs short.\n" +
+            "          (The default is 0, unlimited.)\n" +
+            "\n" +
+            "    -job_admission\n" +
+            "          Queue new jobs while any node in the cloud is short of memory.\n" +
+            "\n" +
+            "    -job_fair_share\n" +
+            "          Share the map threads of each node between running jobs by\n" +
+            "          their weights (settable with POST /3/Jobs/{job_id}/share), so\n" +
+            "          small queries are not starved by long jobs.\n" +
+            "\n" +
+            "    -mr_fanout <n>\n" +
+            "          Number of nodes each node forwards a map/reduce task to; more\n" +
+            "          gives a shallower reduction tree.  (The default is 2.)\n" +
+            "\n" +
+            "    -tcp_socks <n>\n" +
+            "          TCP connections to each other node for large messages.\n" +
+            "          (The default is 2.)\n" +
+            "\n" +
+            "    -tcp_hi_socks <n>\n" +
+            "          Further TCP connections to each other node kept for large\n" +
+            "          high-priority messages, so they do not wait behind bulk\n" +
+            "          transfers.  (The default is 1.)\n" +
+            "\n" +
+            "    -wire_compress\n" +
+            "          Compress large byte arrays (e.g. Chunks) sent to other nodes,\n" +
+            "          when it makes them smaller.  Helps network-bound clouds.\n" +
+            "\n" +
             "    -log_dir <fileSystemPath>\n" +
             "          The directory where H2O writes logs to disk.\n" +
             "          (This usually has a good default that you need not change.)\n" +
@@ -248,6 +286,42 @@ final public class H2O {
     /** -cleaner; enable user-mode spilling of big data to disk in ice_root */
     public boolean cleaner = false;
 
+    /** -cleaner_policy=lru|lru2; how the Cleaner picks Values to spill, see EvictionPolicy */
+    public String cleaner_policy = "lru";
+
+    /** -cleaner_compress; compress cold Chunks in memory before spilling them */
+    public boolean cleaner_compress = false;
+
+    /** -pin_job_frames; never spill Chunks of Frames read-locked by a running Job */
+    public boolean pin_job_frames = false;
+
+    /** -ice_segments; spill to a few large memory-mapped files in ice_root instead of one file per Key */
+    public boolean ice_segments = false;
+
+    /** -offheap_mem=size; bytes of native memory for cold Values, 0 to disable the off-heap tier */
+    public long offheap_mem = 0;
+
+    /** -job_mem_max=size; per-Job bytes allocated per node before the Job fails under memory pressure, 0 for no limit */
+    public long job_mem_max = 0;
+
+    /** -job_admission; queue new Jobs while the cloud is short of memory */
+    public boolean job_admission = false;
+
+    /** -job_fair_share; share map threads between running Jobs by weight */
+    public boolean job_fair_share = false;
+
+    /** -mr_fanout=n; nodes each node forwards an MRTask to, the width of the reduction tree */
+    public int mr_fanout = 2;
+
+    /** -tcp_socks=n; TCP connections per Node for large messages */
+    public int tcp_socks = 2;
+
+    /** -tcp_hi_socks=n; TCP connections per Node kept for large high-priority messages */
+    public int tcp_hi_socks = 1;
+
+    /** -wire_compress; compress large byte arrays sent between Nodes */
+    public boolean wire_compress = false;
+
     /** -nthreads=nthreads; Max number of F/J threads in the low-priority batch queue */
     public char nthreads= (char)Runtime.getRuntime().availableProcessors();
 
@@ -387,6 +461,25 @@ final public class H2O {
       parseFailed("Argument " + _lastMatchedFor + " must be an integer (was given '" + a + "')" );
       return 0;
     }
+
+    /** Parse a byte count with an optional k/m/g/t suffix, e.g. 64g */
+    public long parseMemSize(String a) {
+      try {
+        String x = a.toLowerCase();
+        int shift = 0;
+        switch( x.charAt(x.length()-1) ) {
+        case 'k': shift = 10; break;
+        case 'm': shift = 20; break;
+        case 'g': shift = 30; break;
+        case 't': shift = 40; break;
+        }
+        if( shift != 0 ) x = x.substring(0,x.length()-1);
+        long l = Long.parseLong(x);
+        if( l >= 0 ) return l<<shift;
+      } catch (Exception e) { }
+      parseFailed("Argument " + _lastMatchedFor + " must be a memory size like 64g (was given '" + a + "')" );
+      return 0;
+    }
     @Override public String toString() { return _s; }
   }
 
@@ -446,6 +539,54 @@ final public class H2O {
         i = s.incrementAndCheck(i, args);
         ARGS.ice_root = args[i];
       }
+      else if (s.matches("cleaner_policy")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.cleaner_policy = args[i];
+      }
+      else if (s.matches("cleaner_compress")) {
+        ARGS.cleaner_compress = true;
+      }
+      else if (s.matches("pin_job_frames")) {
+        ARGS.pin_job_frames = true;
+      }
+      else if (s.matches("ice_segments")) {
+        ARGS.ice_segments = true;
+      }
+      else if (s.matches("offheap_mem")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.offheap_mem = s.parseMemSize(args[i]);
+      }
+      else if (s.matches("job_mem_max")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.job_mem_max = s.parseMemSize(args[i]);
+      }
+      else if (s.matches("job_admission")) {
+        ARGS.job_admission = true;
+      }
+      else if (s.matches("job_fair_share")) {
+        ARGS.job_fair_share = true;
+      }
+      else if (s.matches("mr_fanout")) {
+        i = s.incrementAndCheck(i, args);
+        int fanout = s.parseInt(args[i]);
+        if (fanout < 2 || fanout > 127) parseFailed("Invalid mr_fanout (must be 2 to 127): " + fanout);
+        ARGS.mr_fanout = fanout;
+      }
+      else if (s.matches("tcp_socks")) {
+        i = s.incrementAndCheck(i, args);
+        int n = s.parseInt(args[i]);
+        if (n < 1) parseFailed("Invalid tcp_socks (must be at least 1): " + n);
+        ARGS.tcp_socks = n;
+      }
+      else if (s.matches("tcp_hi_socks")) {
+        i = s.incrementAndCheck(i, args);
+        int n = s.parseInt(args[i]);
+        if (n < 0) parseFailed("Invalid tcp_hi_socks (must be at least 0): " + n);
+        ARGS.tcp_hi_socks = n;
+      }
+      else if (s.matches("wire_compress")) {
+        ARGS.wire_compress = true;
+      }
       else if (s.matches("log_dir")) {
         i = s.incrementAndCheck(i, args);
         ARGS.log_dir = args[i];
@@ -536,6 +677,10 @@ final public class H2O {
   }
 
   private static void validateArguments() {
+    if (!ARGS.cleaner_policy.equals("lru") && !ARGS.cleaner_policy.equals("lru2")) {
+      parseFailed("Unknown -cleaner_policy " + ARGS.cleaner_policy + "; expected lru or lru2");
+    }
+
     if (ARGS.jks != null) {
       if (! new File(ARGS.jks).exists()) {
         parseFailed("File does not exist: " + ARGS.jks);
@@ -1046,6 +1191,8 @@ final public class H2O {
   // made public for ddply
   public static class FJWThr extends ForkJoinWorkerThread {
     public int _priority;
+    Key<Job> _job;              // Job of the task running now; for MemoryManager accounting
+    int _leaves;                // MRTask Chunk maps running on this thread; see FairShare
     FJWThr(ForkJoinPool pool) {
       super(pool);
       _priority = ((PrioritizedForkJoinPool)pool)._priority;
@@ -1138,6 +1285,10 @@ final public class H2O {
     public T reloadFromBytes(byte [] ary){ return read(new AutoBuffer(ary));}
 
     private /*final*/ byte _priority;
+    // The Job this task works for, if any.  Inherited like the priority, and
+    // carried to remote nodes, so allocations anywhere in the cloud are
+    // charged to the Job (see MemoryManager).
+    Key<Job> _jobKey;
     // Without a completer, we expect this task will be blocked on - so the
     // blocking thread is not available in the current thread pool, so the
     // launched task needs to run at a higher priority.
@@ -1163,6 +1314,7 @@ final public class H2O {
     protected H2OCountedCompleter(H2OCountedCompleter completer, byte prior) {
       super(completer);
       _priority = prior;
+      _jobKey = completer != null && completer._jobKey != null ? completer._jobKey : currThrJob();
     }
 
     /** Used by the F/J framework internally to do work.  Once per F/J task,
@@ -1174,6 +1326,7 @@ final public class H2O {
       // Drain the high priority queues before the normal F/J queue
       H2OCountedCompleter h2o = null;
       boolean set_t_prior = false;
+      final Key<Job> job = t._job;
       try {
         assert  priority() == pp:" wrong priority for task " + getClass().getSimpleName() + ", expected " + priority() + ", but got " + pp; // Job went to the correct queue?
         assert t._priority <= pp; // Thread attempting the job is only a low-priority?
@@ -1185,6 +1338,7 @@ final public class H2O {
             t._priority = p;      // Set & do it now!
             t.setPriority(Thread.MAX_PRIORITY-1);
             set_t_prior = true;
+            t._job = h2o._jobKey;
             h2o.compute2();       // Do it ahead of normal F/J work
             p++;                  // Check again the same queue
           }
@@ -1199,8 +1353,13 @@ final public class H2O {
         if( pp == MIN_PRIORITY && set_t_prior ) t.setPriority(Thread.NORM_PRIORITY-1);
       }
       // Now run the task as planned
-      if( this instanceof DTask ) icer().compute1(this);
-      else compute2();
+      t._job = _jobKey;
+      try {
+        if( this instanceof DTask ) icer().compute1(this);
+        else compute2();
+      } finally {
+        t._job = job;
+      }
     }
 
     public void compute1() { compute2(); }
@@ -1226,6 +1385,12 @@ final public class H2O {
       return (byte)((cThr instanceof FJWThr) ? ((FJWThr)cThr)._priority : MIN_PRIORITY);
     }
 
+    /** The Job of the task running on this thread, or null */
+    static Key<Job> currThrJob() {
+      Thread cThr = Thread.currentThread();
+      return (cThr instanceof FJWThr) ? ((FJWThr)cThr)._job : null;
+    }
+
     // The serialization flavor / delegate.  Lazily set on first use.
     private short _ice_id;
 
@@ -1435,6 +1600,7 @@ final public class H2O {
 
     // Create the starter Cloud with 1 member
     SELF._heartbeat._jar_md5 = JarHash.JARHASH;
+    SELF._heartbeat._typemap_hash = TypeMap.TABLE_HASH;
     SELF._heartbeat._client = ARGS.client;
   }
 
@@ -1651,6 +1817,7 @@ final public class H2O {
     // If the K/V mapping is changing, let the store cleaner just overwrite.
     // If the K/V mapping is new, let the store cleaner just create
     if( old != null && val == null ) old.removePersist(); // Remove the old guy
+    if( old != null && val != null ) old.freeOffHeap(); // Native copy of the old guy is unreachable now
     if( val != null ) {
       Cleaner.dirty_store(); // Start storing the new guy
       if( old==null ) Scope.track_internal(key); // New Key - start tracking
@@ -1870,6 +2037,14 @@ final public class H2O {
     // Load up from disk and initialize the persistence layer
     initializePersistence();
 
+    // Cleaner eviction ranking, and the native memory tier between the heap
+    // and the ice_root spill
+    EvictionPolicy.CURRENT = EvictionPolicy.make(ARGS.cleaner_policy);
+    MemoryManager.OFFHEAP_MAX = ARGS.offheap_mem;
+    if( ARGS.offheap_mem > 0 )
+      Log.info("Off-heap memory for cold data: " + PrettyPrint.bytes(ARGS.offheap_mem));
+    MemoryManager.JOB_MEM_MAX = ARGS.job_mem_max;
+
     // Initialize NPS
     {
       String flow_dir;
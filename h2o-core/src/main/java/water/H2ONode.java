@@ -45,6 +45,10 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
       _sendThread._stopRequested = true;
       _sendThread = null;
     }
+    if(_ctrlSendThread != null) {
+      _ctrlSendThread._stopRequested = true;
+      _ctrlSendThread = null;
+    }
     _removed_from_cloud = true;
   }
   // A JVM is uniquely named by machine IP address and port#
@@ -151,8 +155,10 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
         IDX = Arrays.copyOf(IDX,IDX.length<<1);
       IDX[idx] = h2o;
     }
-    h2o._sendThread = h2o.new UDP_TCP_SendThread(); // Launch the UDP send thread
+    h2o._sendThread = h2o.new UDP_TCP_SendThread(""); // Launch the UDP send threads
     h2o._sendThread.start();
+    h2o._ctrlSendThread = h2o.new UDP_TCP_SendThread("-CTRL");
+    h2o._ctrlSendThread.start();
     return h2o;
   }
   public static H2ONode intern( InetAddress ip, int port ) { return intern(new H2Okey(ip,port)); }
@@ -242,17 +248,31 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
   // A queue of available TCP sockets
   // re-usable TCP socket opened to this node, or null.
   // This is essentially a BlockingQueue/Stack that allows null.
-  private transient ByteChannel _socks[] = new ByteChannel[2];
+  //
+  // Big messages stream over these sockets one at a time, so a big transfer
+  // holds its socket until done.  To keep small high-priority messages (ACKs
+  // and DKV gets just over a UDP packet in size) from queuing up behind
+  // Chunk transfers, -tcp_hi_socks of the sockets are kept for messages at
+  // or above H2O.MIN_HI_PRIORITY; the other -tcp_socks are shared by all.
+  // Waiters are served highest priority first.
+  private transient ByteChannel _socks[] = new ByteChannel[H2O.ARGS.tcp_socks+H2O.ARGS.tcp_hi_socks];
   private transient int _socksAvail=_socks.length;
+  private transient int _loSocks;                // Claimed below MIN_HI_PRIORITY
+  private transient int _socksWaiting[] = new int[H2O.MAX_PRIORITY+1]; // Waiters, by priority
   // Count of concurrent TCP requests both incoming and outgoing
   static final AtomicInteger TCPS = new AtomicInteger(0);
 
-  ByteChannel getTCPSocket() throws IOException {
+  ByteChannel getTCPSocket( byte priority ) throws IOException {
+    final int p = Math.max(priority,0);
+    final boolean hi = p >= H2O.MIN_HI_PRIORITY;
     // Under lock, claim an existing open socket if possible
     synchronized(this) {
       // Limit myself to the number of open sockets from node-to-node
-      while( _socksAvail == 0 )
+      _socksWaiting[p]++;
+      while( _socksAvail == 0 || (!hi && _loSocks >= H2O.ARGS.tcp_socks) || higherWaiting(p) )
         try { wait(1000); } catch( InterruptedException ignored ) { }
+      _socksWaiting[p]--;
+      if( !hi ) _loSocks++;
       // Claim an open socket
       ByteChannel sock = _socks[--_socksAvail];
       if( sock != null ) {
@@ -263,6 +283,20 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
       }
     }
     // Must make a fresh socket
+    TCPS.incrementAndGet();     // Cluster-wide counting
+    try {
+      return openTCPSocket();
+    } catch( IOException ioe ) {
+      freeTCPSocket(null,priority); // Hand back the claimed slot
+      throw ioe;
+    }
+  }
+  private boolean higherWaiting( int p ) {
+    for( int q = p+1; q < _socksWaiting.length; q++ )
+      if( _socksWaiting[q] > 0 ) return true;
+    return false;
+  }
+  private ByteChannel openTCPSocket() throws IOException {
     SocketChannel sock2 = SocketChannel.open();
     sock2.socket().setReuseAddress(true);
     sock2.socket().setSendBufferSize(AutoBuffer.BBP_BIG._size);
@@ -277,16 +311,16 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
     while(bb.hasRemaining()) {
       wrappedSocket.write(bb);
     }
-    TCPS.incrementAndGet();     // Cluster-wide counting
     return wrappedSocket;
   }
-  synchronized void freeTCPSocket( ByteChannel sock ) {
+  synchronized void freeTCPSocket( ByteChannel sock, byte priority ) {
     assert 0 <= _socksAvail && _socksAvail < _socks.length;
     assert TCPS.get() > 0;
     if( sock != null && !sock.isOpen() ) sock = null;
     _socks[_socksAvail++] = sock;
     if( sock == null ) TCPS.decrementAndGet();
-    notify();
+    if( priority < H2O.MIN_HI_PRIORITY ) _loSocks--;
+    notifyAll();                // Let the highest priority waiter through
   }
 
   // ---------------
@@ -296,8 +330,15 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
   // is specifically not any of the above channels.  This channel is limited to
   // messages which are presented in their entirety (not streamed) thus never
   // need another (nested) TCP channel.
+  //
+  // Messages at or above H2O.MIN_HI_PRIORITY (ACKs, heartbeats, DKV traffic)
+  // get their own thread and channel, so they are not batched up behind a
+  // flood of task launches.
   private transient UDP_TCP_SendThread _sendThread = null; // set notnull if properly interned, and done before first sendMessage
-  public void sendMessage( ByteBuffer bb, byte msg_priority ) { _sendThread.sendMessage(bb,msg_priority); }
+  private transient UDP_TCP_SendThread _ctrlSendThread = null;
+  public void sendMessage( ByteBuffer bb, byte msg_priority ) {
+    (msg_priority >= H2O.MIN_HI_PRIORITY ? _ctrlSendThread : _sendThread).sendMessage(bb,msg_priority);
+  }
 
   // Private thread serving (actually ships the bytes over) small msg Q.
   // Buffers the small messages together and sends the bytes over via TCP channel.
@@ -306,9 +347,11 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
     volatile boolean _stopRequested;
     private ByteChannel _chan;  // Lazily made on demand; closed & reopened on error
     private final ByteBuffer _bb; // Reusable output large buffer
+    private int[] _ackacks = new int[16]; // Task#s of this batch's ACKACKs
+    private int _nackacks;
   
-    public UDP_TCP_SendThread(){
-      super("UDP-TCP-SEND-" + H2ONode.this);
+    public UDP_TCP_SendThread(String lane){
+      super("UDP-TCP-SEND-" + H2ONode.this + lane);
       _bb = AutoBuffer.BBP_BIG.make();
     }
   
@@ -336,27 +379,18 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
       _msgQ.put(bb); 
     }
   
-    private final PriorityBlockingQueue<ByteBuffer> _msgQ
+    final PriorityBlockingQueue<ByteBuffer> _msgQ
       = new PriorityBlockingQueue<>(11,new Comparator<ByteBuffer>() {
-          // Secret back-channel priority: the position field (capped at bb.limit)
-          @Override public int compare( ByteBuffer bb1, ByteBuffer bb2 ) { return bb1.position() - bb2.position(); }
+          // Secret back-channel priority: the position field (capped at bb.limit).
+          // Highest priority first.
+          @Override public int compare( ByteBuffer bb1, ByteBuffer bb2 ) { return bb2.position() - bb1.position(); }
         });
   
     @Override public void run(){
       try {
         while (!_stopRequested) {            // Forever loop
           try {
-            ByteBuffer bb = _msgQ.take(); // take never returns null but blocks instead
-            while( bb != null ) {         // while have an BB to process
-              assert !bb.isDirect() : "Direct BBs already got recycled";
-              assert bb.limit()+1+2 <= _bb.capacity() : "Small message larger than the output buffer";
-              if( _bb.remaining() < bb.limit()+1+2 )
-                sendBuffer();     // Send full batch; reset _bb so taken bb fits
-              _bb.putChar((char)bb.limit());
-              _bb.put(bb.array(),0,bb.limit()); // Jam this BB into the existing batch BB, all in one go (it all fits)
-              _bb.put((byte)0xef);// Sentinel byte
-              bb = _msgQ.poll();  // Go get more, same batch
-            }
+            batch(_msgQ.take());  // take never returns null but blocks instead
             sendBuffer();         // Send final trailing BBs
           } catch (InterruptedException e) { /*ignore*/ }
         }
@@ -367,15 +401,70 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
       }
     }
   
+    // Frame bb and everything else queued right now into the output buffer,
+    // highest priority first, sending whenever it fills.  The batch's ACKACKs
+    // go last, coalesced.  Leaves the tail of the batch unsent.
+    void batch( ByteBuffer bb ) {
+      while( bb != null ) {       // while have an BB to process
+        assert !bb.isDirect() : "Direct BBs already got recycled";
+        if( isAckAck(bb) ) {      // Held back, to coalesce
+          if( _nackacks == _ackacks.length ) _ackacks = Arrays.copyOf(_ackacks,_nackacks<<1);
+          _ackacks[_nackacks++] = bb.getInt(1+2);
+          AutoBuffer.freeMsg(bb);
+          bb = _msgQ.poll();
+          continue;
+        }
+        assert bb.limit()+1+2 <= _bb.capacity() : "Small message larger than the output buffer";
+        if( _bb.remaining() < bb.limit()+1+2 )
+          sendBuffer();           // Send full batch; reset _bb so taken bb fits
+        _bb.putChar((char)bb.limit());
+        _bb.put(bb.array(),0,bb.limit()); // Jam this BB into the existing batch BB, all in one go (it all fits)
+        _bb.put((byte)0xef);      // Sentinel byte
+        AutoBuffer.freeMsg(bb);   // Copied out; recycle the small-message buffer
+        bb = _msgQ.poll();        // Go get more, same batch
+      }
+      putAckAcks();
+    }
+
+    // A plain ACKACK: just the ctrl byte, port and task#
+    private boolean isAckAck( ByteBuffer bb ) {
+      return bb.limit() == 1+2+4 && (bb.get(0)&0xFF) == UDP.udp.ackack.ordinal();
+    }
+
+    // ACKACKs are the most common message in task-heavy work (one per RPC),
+    // and carry nothing but a task#.  Send all of a batch's ACKACKs as one
+    // message, with the extra task#s following the first; see UDPAckAck.
+    private void putAckAcks() {
+      final int max = (AutoBuffer.MTU-1-2)/4;
+      for( int i = 0; i < _nackacks; ) {
+        int n = Math.min(_nackacks-i, max);
+        int sz = 1+2+4*n;
+        if( _bb.remaining() < sz+1+2 )
+          sendBuffer();
+        _bb.putChar((char)sz);
+        _bb.put((byte)UDP.udp.ackack.ordinal()).putChar((char)H2O.H2O_PORT);
+        for( int j = 0; j < n; j++ ) _bb.putInt(_ackacks[i+j]);
+        _bb.put((byte)0xef);    // Sentinel byte
+        i += n;
+      }
+      _nackacks = 0;
+    }
+
     void sendBuffer(){
-      int retries = 0;
       _bb.flip();                 // limit set to old position; position set to 0
-      while( !_stopRequested && _bb.hasRemaining()) {
+      write(_bb);
+      _bb.clear();                // Position set to 0; limit to capacity
+    }
+
+    // Write all of bb to the channel, reopening it as needed
+    void write( ByteBuffer bb ) {
+      int retries = 0;
+      while( !_stopRequested && bb.hasRemaining()) {
         try {
           ByteChannel chan = _chan == null ? (_chan=openChan()) : _chan;
-          chan.write(_bb);
+          chan.write(bb);
         } catch(IOException ioe) {
-          _bb.rewind();           // Position to zero; limit unchanged; retry the operation
+          bb.rewind();            // Position to zero; limit unchanged; retry the operation
           // Log if not shutting down, and not middle-of-cloud-formation where
           // other node is still booting up (expected common failure), or *never*
           // comes up - such as when not all nodes mentioned in a flatfile will be
@@ -393,7 +482,6 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
           try {Thread.sleep(sleep);} catch (InterruptedException e) {/*ignored*/}
         }
       }
-      _bb.clear();            // Position set to 0; limit to capacity
     }
   
     // Open channel on first write attempt
@@ -15,6 +15,7 @@ public class HeartBeat extends Iced<HeartBeat> {
   long _jvm_boot_msec;          // Boot time of JVM
   public long jvmBootTimeMsec(){return _jvm_boot_msec;}
   byte[] _jar_md5;              // JAR file digest
+  int _typemap_hash;            // Hash of the build-time type tables
 
   public boolean _client;       // This is a client node: no keys homed here
 
@@ -58,6 +59,13 @@ public class HeartBeat extends Iced<HeartBeat> {
   public long get_max_disk ()  { return  ((long)_max_disk)<<20 ; }
 
   boolean check_jar_md5() {
+    // Type IDs from the build-time tables are never agreed on over the wire,
+    // so Nodes with other tables can only mingle at their own risk (-md5skip)
+    if( _typemap_hash != TypeMap.TABLE_HASH ) {
+      System.out.println("Type table check fails; my hash="+TypeMap.TABLE_HASH+", received hash="+_typemap_hash);
+      if( !H2O.ARGS.md5skip ) return false;
+      System.out.println("Skipping the type table check (-md5skip); type IDs may not agree across Nodes");
+    }
     if( H2O.ARGS.md5skip || Arrays.equals(JarHash.JARHASH, _jar_md5) ) return true;
     System.out.println("Jar check fails; my hash="+Arrays.toString(JarHash.JARHASH));
     System.out.println("Jar check fails; received hash="+Arrays.toString(_jar_md5));
@@ -0,0 +1,93 @@
+package water;
+
+import javassist.CtClass;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** Build-time serializers: generate the type-ID table and the {@link Icer}s
+ *  for the Freezable classes of one module.  Run by the <code>genIcers</code>
+ *  Gradle task; the output goes into the module jar.
+ *  <p>
+ *  The table ({@link TypeMap#TABLE}) names the module's classes in sorted
+ *  order, starting at the first type ID after the bootstrap classes and the
+ *  tables of the modules it is built against.  Every Node in a cloud runs the
+ *  same jars, so every Node installs the same IDs at startup, and these
+ *  classes never go to the leader for an ID.
+ *  <p>
+ *  The Icers are the ones {@link Weaver} would weave for those IDs, written
+ *  out as class files.  At runtime a build-time Icer is used only if its type
+ *  ID and field offsets match the running JVM; all else is woven as before.
+ *  <p>
+ *  Usage: <code>IcerCompiler classesDir outputDir moduleName</code>
+ */
+public class IcerCompiler {
+  public static void main( String[] args ) throws Exception {
+    if( args.length != 3 ) {
+      System.err.println("Usage: IcerCompiler classesDir outputDir moduleName");
+      System.exit(2);
+    }
+    File classes = new File(args[0]);
+    File out = new File(args[1]);
+    String module = args[2];
+
+    // The module's Freezable classes, sorted by name for a stable table
+    TreeMap<String,Class> clzs = new TreeMap<>();
+    scan(classes, "", clzs);
+
+    // Classes without an ID yet (i.e. not bootstrap, not in an earlier
+    // module's table) make up this module's table
+    ArrayList<String> names = new ArrayList<>();
+    for( String s : clzs.keySet() )
+      if( TypeMap.knownId(s) == -1 ) names.add(s);
+    int first = TypeMap.nextId();
+    if( !TypeMap.installTable(first, names) )
+      throw new IllegalStateException("Cannot install the type table of "+module+" at "+first);
+    File table = new File(out, TypeMap.TABLE);
+    if( !table.getParentFile().isDirectory() && !table.getParentFile().mkdirs() )
+      throw new IllegalStateException("Cannot create "+table.getParentFile());
+    try( Writer w = new OutputStreamWriter(new FileOutputStream(table), "UTF-8") ) {
+      w.write(first+" "+module+"\n");
+      for( String s : names ) w.write(s+"\n");
+    }
+
+    // Icers for all of the module's classes, bootstrap ones included
+    Map<String,CtClass> made = new HashMap<>();
+    int nicers = 0;
+    for( Class clz : clzs.values() ) {
+      CtClass icer = Weaver.genAotIcer(clz, made);
+      if( icer == null ) continue;
+      icer.writeFile(out.getPath());
+      nicers++;
+    }
+    System.out.println(module+": "+names.size()+" type IDs from "+first+", "+nicers+" of "+clzs.size()+" Icers");
+  }
+
+  // Collect the concrete and abstract Freezable classes under dir.  Classes
+  // which cannot be loaded (e.g. missing optional dependencies) are skipped.
+  private static void scan( File dir, String pkg, TreeMap<String,Class> clzs ) {
+    File[] fs = dir.listFiles();
+    if( fs == null ) return;
+    for( File f : fs ) {
+      String fname = f.getName();
+      if( f.isDirectory() ) { scan(f, pkg+fname+".", clzs); continue; }
+      if( !fname.endsWith(".class") ) continue;
+      String name = pkg+fname.substring(0, fname.length()-6);
+      try {
+        Class clz = Class.forName(name, false, IcerCompiler.class.getClassLoader());
+        if( Freezable.class.isAssignableFrom(clz) && !clz.isInterface() )
+          clzs.put(name, clz);
+      } catch( ClassNotFoundException e ) {
+        // Not on the classpath; leave it to the runtime
+      } catch( LinkageError e ) {
+        // Not loadable here; leave it to the runtime
+      }
+    }
+  }
+}
@@ -2,6 +2,8 @@ package water;
 
 import jsr166y.CountedCompleter;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import water.H2O.H2OCountedCompleter;
 import water.api.schemas3.KeyV3;
 import water.util.ArrayUtils;
@@ -137,6 +139,37 @@ public final class Job<T extends Keyed> extends Keyed<Job> {
   /** Returns last progress message. */
   public String progress_msg() { update_from_remote(); return _msg; }
 
+  /** Jobs started with -job_admission may wait for cluster memory before
+   *  their task runs; they are running (and can be stopped) while queued. */
+  private boolean _queued;
+  private static final String QUEUED_MSG = "Queued: waiting for cluster memory";
+  public boolean isQueued() { update_from_remote(); return _queued; }
+
+  /** Bytes allocated cloud-wide on behalf of this Job, as counted by
+   *  MemoryManager; set shortly after the Job stops.  For running Jobs see
+   *  {@link #runningTotals}. */
+  private long _mem_allocated;
+  public long mem_allocated() { update_from_remote(); return _mem_allocated; }
+
+  /** Thread time in msecs spent cloud-wide mapping Chunks for this Job, as
+   *  counted by FairShare; set shortly after the Job stops.  For running
+   *  Jobs see {@link #runningTotals}. */
+  private long _map_msecs;
+  public long map_msecs() { update_from_remote(); return _map_msecs; }
+
+  /** Weight of this Job against the others for threads doing map work, when
+   *  running with -job_fair_share; see FairShare. */
+  private int _share = 1;
+  public int share() { update_from_remote(); return _share; }
+  public void setShare( final int share ) {
+    if( share < 1 ) throw new IllegalArgumentException("Job share must be at least 1: "+share);
+    new JAtomic() {
+      @Override boolean abort(Job job) { return job._share == share; }
+      @Override void update(Job job) { job._share = share; }
+    }.apply(this);
+    new FairShare.SetShare(_key,share).doAllNodes();
+  }
+
   /** Report new work done for this job */
   public final void update( final long newworked, final String msg) {
     if( newworked > 0 || (msg != null && !msg.equals(_msg)) ) {
@@ -242,6 +275,7 @@ public final class Job<T extends Keyed> extends Keyed<Job> {
     _start_time = System.currentTimeMillis();
     assert !created() && running() && !stopped();
     _work = work;
+    if( H2O.ARGS.job_admission ) { _queued = true; _msg = QUEUED_MSG; }
 
     // 2 - Save the full state of the job, first time ever making it public
     DKV.put(this);              // Announce in DKV
@@ -257,10 +291,119 @@ public final class Job<T extends Keyed> extends Keyed<Job> {
         return old;
       }
     }.invoke(LIST);
-    // 4 - Fire off the FJTASK
-    H2O.submitTask(fjtask);
+    // 4 - Fire off the FJTASK, charging its allocations to this Job.  With
+    // admission control it may wait for memory first.
+    fjtask._jobKey = _key;
+    if( !MemoryManager.admit(fjtask) && _queued )
+      dequeued(_key);           // Let straight in
     return this;
   }
+
+  // The Job's task was let in by admission control
+  static void dequeued( Key<Job> key ) {
+    Job job = key.get();
+    if( job != null )           // Job may have been deleted while queued
+      new JAtomic() {
+        @Override boolean abort(Job job) { return !job._queued; }
+        @Override void update(Job job) {
+          job._queued = false;
+          if( QUEUED_MSG.equals(job._msg) ) job._msg = null;
+        }
+      }.apply(job);
+  }
+
+  // Cloud-wide accounting of some Jobs, collected without blocking the
+  // caller: the node tasks run as children of this one, and subclasses pick
+  // up the totals in onCompletion.
+  private static class Totals extends H2OCountedCompleter<Totals> {
+    final transient Key[] _jobs;
+    final transient boolean _remove;
+    transient MemoryManager.JobMemTask _mem;
+    transient FairShare.JobTimeTask _time;
+    Totals( Key[] jobs, boolean remove ) { _jobs = jobs; _remove = remove; _jobKey = null; }
+    @Override public void compute2() {
+      addToPendingCount(2);
+      (_mem = new MemoryManager.JobMemTask(_jobs,_remove,this)).asyncExecOnAllNodes();
+      (_time = new FairShare.JobTimeTask(_jobs,_remove,this)).asyncExecOnAllNodes();
+      tryComplete();
+    }
+    long mem( int i ) { return _mem._bytes[i]; }
+    long msecs( int i ) { return _time._nanos[i]/1000000; }
+  }
+
+  // Retire the Job's accounting on all nodes.  Called from the Barrier1
+  // completion callbacks, so it must not block: the totals are saved on the
+  // Job when every node has answered, and only then is 'hold' (if any)
+  // completed, so that Job.get() sees them.
+  private void retire( final CountedCompleter hold ) {
+    MemoryManager.jobDone();
+    if( H2O.ARGS.pin_job_frames ) EvictionPolicy.unpinAll(_key); // Frames it never unlocked
+    if( hold != null ) hold.addToPendingCount(1);
+    H2O.submitTask(new Totals(new Key[]{_key},true) {
+      @Override public void onCompletion( CountedCompleter caller ) {
+        try { new SetTotals(mem(0),msecs(0)).apply(Job.this); }
+        finally { if( hold != null ) hold.tryComplete(); }
+      }
+      @Override public boolean onExceptionalCompletion( Throwable ex, CountedCompleter caller ) {
+        Log.warn("Failed to collect accounting for job "+_key+": "+ex);
+        if( hold != null ) hold.tryComplete();
+        return false;
+      }
+    });
+  }
+
+  private static class SetTotals extends JAtomic {
+    final long _mem, _msecs;
+    SetTotals( long mem, long msecs ) { _mem = mem; _msecs = msecs; }
+    @Override boolean abort(Job job) { return false; }
+    @Override void update(Job job) { job._mem_allocated = _mem; job._map_msecs = _msecs; }
+    @Override public Job atomic(Job job) { return job == null ? null : super.atomic(job); } // Removed meanwhile
+  }
+
+  // Last cloud-wide totals of the running Jobs, for /3/Jobs.  Refreshed in
+  // the background, at most once per heartbeat, so a REST call never waits
+  // on the cloud.
+  private static volatile HashMap<Key,long[]> RUNNING_TOTALS = new HashMap<>();
+  private static volatile long RUNNING_MS;
+  private static final AtomicBoolean REFRESHING = new AtomicBoolean();
+
+  /** Bytes allocated and msecs spent mapping cloud-wide so far by each of
+   *  these running Jobs, as {mem[], map_msecs[]}, as of the last background
+   *  collection (0 if not yet seen); also starts the next collection if this
+   *  one is stale. */
+  public static long[][] runningTotals( Key[] jobs ) {
+    HashMap<Key,long[]> tot = RUNNING_TOTALS;
+    long[][] res = new long[2][jobs.length];
+    for( int i = 0; i < jobs.length; i++ ) {
+      long[] t = tot.get(jobs[i]);
+      if( t != null ) { res[0][i] = t[0]; res[1][i] = t[1]; }
+    }
+    if( jobs.length > 0 && System.currentTimeMillis() - RUNNING_MS >= HeartBeatThread.SLEEP &&
+        REFRESHING.compareAndSet(false,true) )
+      H2O.submitTask(new Totals(jobs,false) {
+        @Override public void onCompletion( CountedCompleter caller ) {
+          HashMap<Key,long[]> tot = new HashMap<>();
+          for( int i = 0; i < _jobs.length; i++ ) tot.put(_jobs[i], new long[]{mem(i),msecs(i)});
+          RUNNING_TOTALS = tot;
+          RUNNING_MS = System.currentTimeMillis();
+          REFRESHING.set(false);
+        }
+        @Override public boolean onExceptionalCompletion( Throwable ex, CountedCompleter caller ) {
+          REFRESHING.set(false);
+          return false;
+        }
+      });
+    return res;
+  }
+
+  // A Job removed before it stopped never retires, and a share set as it
+  // stopped may outlive the retire: drop whatever is left on the nodes,
+  // including pins of Frames it still had locked.
+  @Override protected Futures remove_impl( Futures fs ) {
+    H2O.submitTask(new Totals(new Key[]{_key},true));
+    if( H2O.ARGS.pin_job_frames ) EvictionPolicy.unpinAll(_key);
+    return fs;
+  }
   transient private Barrier2 _barrier; // Top-level task to block on
 
   // Handy for assertion
@@ -281,18 +424,23 @@ public final class Job<T extends Keyed> extends Keyed<Job> {
     Barrier1(CountedCompleter cc) { super(cc,0); }
     @Override public void compute() { }
     @Override public void onCompletion(CountedCompleter caller) {
-      new Barrier1OnCom().apply(Job.this);
+      try { new Barrier1OnCom().apply(Job.this); }
+      finally { retire(getCompleter()); } // Barrier2 waits for the totals
       _barrier = null;          // Free for GC
     }
     @Override public boolean onExceptionalCompletion(Throwable ex, CountedCompleter caller) {
-      if(Job.isCancelledException(ex)) {
-        new Barrier1OnCom().apply(Job.this);
-        _barrier = null;
-      } else {
-        try {
-          Log.err(ex);
-        } catch (Throwable t) {/* do nothing */}
-        new Barrier1OnExCom(ex).apply(Job.this);
+      try {
+        if(Job.isCancelledException(ex)) {
+          new Barrier1OnCom().apply(Job.this);
+          _barrier = null;
+        } else {
+          try {
+            Log.err(ex);
+          } catch (Throwable t) {/* do nothing */}
+          new Barrier1OnExCom(ex).apply(Job.this);
+        }
+      } finally {
+        retire(null);           // Barrier2 fails now; totals follow
       }
       _barrier = null;          // Free for GC
       return true;
@@ -314,9 +462,7 @@ public final class Job<T extends Keyed> extends Keyed<Job> {
   }
   private static class Barrier1OnExCom extends JAtomic {
     final byte[] _dex;
-    Barrier1OnExCom(Throwable ex) {
-      _dex = AutoBuffer.javaSerializeWritePojo(ex);
-    }
+    Barrier1OnExCom(Throwable ex) { _dex = AutoBuffer.javaSerializeWritePojo(ex); }
     @Override boolean abort(Job job) { return job._ex != null && job._end_time!=0; } // Already stopped & exception'd
     @Override void update(Job job) {
       if( job._ex == null ) job._ex = _dex; // Keep first exception ever
@@ -374,6 +520,10 @@ public final class Job<T extends Keyed> extends Keyed<Job> {
     if(_worked    != remote._worked    ) differ = true;
     if(_msg       != remote._msg       ) differ = true;
     if(_max_runtime_msecs != remote._max_runtime_msecs) differ = true;
+    if(_queued    != remote._queued    ) differ = true;
+    if(_mem_allocated != remote._mem_allocated) differ = true;
+    if(_map_msecs != remote._map_msecs) differ = true;
+    if(_share     != remote._share     ) differ = true;
     if( differ )
       synchronized(this) { 
         _stop_requested = remote._stop_requested;
@@ -384,6 +534,10 @@ public final class Job<T extends Keyed> extends Keyed<Job> {
         _worked    = remote._worked    ;
         _msg       = remote._msg       ;
         _max_runtime_msecs = remote._max_runtime_msecs;
+        _queued    = remote._queued    ;
+        _mem_allocated = remote._mem_allocated;
+        _map_msecs = remote._map_msecs;
+        _share     = remote._share     ;
       }
   }
   @Override public Class<KeyV3.JobKeyV3> makeSchema() { return KeyV3.JobKeyV3.class; }
@@ -3,11 +3,14 @@ package water;
 import jsr166y.CountedCompleter;
 import jsr166y.ForkJoinPool;
 import water.fvec.*;
+import water.nbhm.NonBlockingHashMap;
 import water.util.DistributedException;
 import water.util.PrettyPrint;
 import water.fvec.Vec.VectorGroup;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * Map/Reduce style distributed computation.
@@ -70,7 +73,8 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   *
   *    internal "top-level" fields
   *    ---------------------------
-  *     - RPC<T> _nleft, _nrite: "child" node/JVMs that are doing work
+  *     - RPC<T>[] _nrpcs      : "child" node/JVMs that are doing work; 2 of them by
+  *                              default, up to the fan-out (see Diagram 2)
   *     - boolean _topLocal    : "root" MRTask on a local machine
   *     - boolean _topGlobal   : "root" MRTask on the "root" node
   *     - T _left, _rite       : "child" MRTasks on a local machine
@@ -83,7 +87,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   *              3 node cloud              Inside one of the 'N' nodes:
   *                   N1                               T  _topLocal**
   *                 /   \                            /  \
-  *         N2 (_nleft)  N3 (_nrite)         T (_left)   T (_rite)
+  *         N2 (_nrpcs[0]) N3 (_nrpcs[1])     T (_left)   T (_rite)
   *
   *                  **: T is also _topGlobal if N==N1
   *
@@ -102,8 +106,10 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   *                            - topLocal=true
   *                            - _fs = new Futures()
   *                            - nmid = (_nlo + _nhi) >> 1 => split the range of nodes (divide-conquer)
-  *                            - _nleft = remote_compute(_nlo,nmid) => chooses a node in range and does new RPC().call()
-  *                            - _nrite = remote_compute(nmid,_nhi)    serializing MRTask and call dinvoke on remote.
+  *                            - _nrpcs[0] = remote_compute(_nlo,nmid) => chooses a node in range and does new RPC().call()
+  *                            - _nrpcs[1] = remote_compute(nmid,_nhi) serializing MRTask and call dinvoke on remote.
+  *                            (with a fan-out of k, the range is cut into k parts,
+  *                             giving k children and a tree of depth log_k(N))
   *                           /                                 \
   *                         /                                     \
   *                       /                                         \
@@ -149,8 +155,16 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
    *  style, can not be passed via K/V store).*/
   protected AppendableVec[] _appendables;
 
-  /** Internal field to track the left &amp; right remote nodes/JVMs to work on */
-  transient protected RPC<T> _nleft, _nrite;
+  /** Internal field to track the remote nodes/JVMs to work on */
+  transient protected RPC<T>[] _nrpcs;
+
+  /** Width of the reduction tree: the most remote nodes each node forwards
+   *  this task to.  Set from -mr_fanout when the task is forked, unless set
+   *  with {@link #fanout(int)}. */
+  protected byte _fanout;
+
+  /** Base name of the slice Keys of a {@link ReduceScatter} task */
+  private String _rsName;
 
   /** Internal field to track if this is a top-level local call */
   transient protected boolean _topLocal; // Top-level local call, returning results over the wire
@@ -179,12 +193,74 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   /** If true, run entirely local - which will pull all the data locally. */
   protected boolean _run_local;
 
+  /** Name of this task's Chunk claims in stealing mode, see {@link #steal} */
+  private String _stealName;
+  /** Per-node map wall time, and Chunks stolen, in stealing mode */
+  private long[] _mapMs;
+  private int[] _stolen;
+  transient private StealTable _stealTable; // This node's Chunk claims
+  transient private T _stealProto;          // Unmapped copy, to map stolen Chunks into
+  transient private long _stealStart;
+  /** This Chunk map holds one of its Job's threads, see {@link FairShare} */
+  transient boolean _admitted;
+
   public String profString() { return _profile != null ? _profile.toString() : "Profiling turned off"; }
   MRProfile _profile;
 
   /** Used to invoke profiling.  Call as: <code>new MRTask().profile().doAll();*/
   public T profile() { _profile = new MRProfile(this); return (T)this; }
 
+  /** Set the width of the reduction tree, the most remote nodes each node
+   *  forwards this task to.  Wider trees are shallower, so large results
+   *  cross fewer hops on big clouds; but each node then reduces more results.
+   *  Call as: <code>new MRTask().fanout(8).doAll();</code> */
+  public T fanout( int k ) {
+    if( k < 2 || k > 127 ) throw new IllegalArgumentException("Fan-out must be 2 to 127, was " + k);
+    _fanout = (byte)k;
+    return self();
+  }
+
+  /** Run in stealing mode: a node which has mapped all of its own Chunks
+   *  takes Chunks which other nodes have not started yet, fetching the data
+   *  from their home.  Every Chunk is claimed before it is mapped, by its home
+   *  node or by exactly one thief, so no result is counted twice.  This evens
+   *  out jobs on a cloud with a slow node (a hot disk, swapping, a busy host).
+   *
+   *  <p>Only for read-only tasks making no output Vecs: map must not write to
+   *  its Chunks.  A task with outputs runs without stealing.  Per-node map
+   *  times are kept, see {@link #mapTimes}.
+   *  Call as: <code>new MRTask().steal().doAll(fr);</code> */
+  public T steal() { _stealName = ""; return self(); }
+
+  /** @return the wall time in msec each node spent mapping its own Chunks,
+   *  indexed as <code>H2O.CLOUD._memary</code>; or null if not run with
+   *  {@link #steal} */
+  public long[] mapTimes() { return _mapMs; }
+  /** @return the count of Chunks each node stole, indexed as
+   *  <code>H2O.CLOUD._memary</code>; or null if not run with {@link #steal} */
+  public int[] stolenChunks() { return _stolen; }
+
+  /**
+   * An MRTask with one large double[] result to be summed over the cloud,
+   * e.g. a histogram or a Gram matrix.  Rather than riding up the reduction
+   * tree whole, each node's locally reduced array is cut into one slice per
+   * node, and each slice is summed on its own node (a reduce-scatter); the
+   * invoking node then gathers the summed slices.  Every node sends and
+   * receives about one array's worth of data, rather than the invoking node
+   * receiving one array per child at every level of the tree.
+   *
+   * <p>The array is taken out of each node's result before it goes up the
+   * tree, so <code>reduce</code> must accept a task whose array is null.  The
+   * sum is set on the invoking task before <code>postGlobal</code>.
+   */
+  public interface ReduceScatter {
+    /** @return this node's locally reduced array, or null if none */
+    double[] reduceScatterArray();
+    /** Set the array: null to take it out of a node's result, or the
+     *  cloud-wide sum on the invoking task. */
+    void reduceScatterArray( double[] ds );
+  }
+
   /** Get the resulting Frame from this invoked MRTask.  <b>This Frame is not
    *  in the DKV.</b> AppendableVec instances are closed into Vec instances,
    *  which then appear in the DKV.
@@ -223,6 +299,13 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     return res;
   }
 
+  // Hand over the outputs of a FusedTask pass, so outputFrame() works on a
+  // task which ran fused with others
+  void setOutputs( byte[] types, AppendableVec[] appendables ) {
+    _output_types = types;
+    _appendables = appendables;
+  }
+
   // the work-horse for the outputFrame calls
   private Frame closeFrame(Key key, String[] names, String[][] domains, Futures fs) {
     if( _output_types == null ) return null;
@@ -403,6 +486,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   // Special mode doing 1 map per key.  No frame
   public void dfork(Key... keys ) {
     _topGlobal = true;
+    setupGlobal0();
     _keys = keys;
     _nlo = selfidx(); _nhi = (short)H2O.CLOUD.size(); // Do Whole Cloud
     setupLocal0();              // Local setup
@@ -446,6 +530,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
    */
   public final T dfork( byte[] types, Frame fr, boolean run_local) {
     _topGlobal = true;
+    setupGlobal0();
     _output_types = types;
     if( types != null && types.length > 0 )
       _vid = fr.anyVec().group().reserveKeys(types.length);
@@ -494,6 +579,17 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     return true;
   }
 
+  // Settings shared by every node, fixed on the invoking node
+  private void setupGlobal0() {
+    if( _fanout == 0 ) _fanout = (byte)H2O.ARGS.mr_fanout;
+    if( this instanceof ReduceScatter ) _rsName = Key.rand();
+    if( _stealName != null ) {
+      _stealName = Key.rand();
+      _mapMs = new long[H2O.CLOUD.size()];
+      _stolen = new int[H2O.CLOUD.size()];
+    }
+  }
+
   /** Called once on remote at top level, probably with a subset of the cloud.
    *  Called internal by D/F/J.  Not expected to be user-called.  */
   @Override public final void dinvoke(H2ONode sender) {
@@ -516,16 +612,23 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     int selfidx = selfidx();
     int nlo = subShift(selfidx);
     assert nlo < _nhi;
-    final int nmid = (nlo+_nhi)>>>1; // Mid-point
 
     // Run remote IF:
     // - Not forced to run local (no remote jobs allowed) AND
     // - - There's remote work, or Client mode (always remote work)
     if( (!_run_local) && ((nlo+1 < _nhi) || H2O.ARGS.client) ) {
       if(_profile!=null) _profile._rpcLstart = System.currentTimeMillis();
-      _nleft = remote_compute(H2O.ARGS.client ? nlo : nlo+1,nmid);
-      if(_profile!=null) _profile._rpcRstart = System.currentTimeMillis();
-      _nrite = remote_compute( nmid,_nhi);
+      // Cut the remaining nodes into fan-out many ranges, and hand each range
+      // to its first node.  A fan-out of 2 cuts at the mid-point.
+      final int k = _fanout > 0 ? _fanout : 2;
+      _nrpcs = new RPC[k];
+      int lo = H2O.ARGS.client ? nlo : nlo+1;
+      for( int j = 0; j < k; j++ ) {
+        int hi = j == k-1 ? _nhi : nlo + (_nhi-nlo)*(j+1)/k;
+        _nrpcs[j] = remote_compute(lo,hi);
+        lo = Math.max(lo,hi);
+        if(_profile!=null && j == 0) _profile._rpcRstart = System.currentTimeMillis();
+      }
       if(_profile!=null) _profile._rpcRdone  = System.currentTimeMillis();
     } else {
       if(_profile!=null)
@@ -542,6 +645,11 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     // Setup any user's shared local structures for both normal cluster nodes
     // and any client; want this for possible reduction ONTO client
     setupLocal();
+    if( _stealName != null && _fr != null && _output_types == null && !_run_local && !H2O.ARGS.client ) {
+      _stealStart = System.currentTimeMillis();
+      _stealProto = clone();
+      STEALS.put(_stealName, _stealTable = new StealTable(_fr.anyVec()));
+    }
     if(_profile!=null) _profile._localdone = System.currentTimeMillis();
   }
 
@@ -598,57 +706,47 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       }
     } else if( _hi > _lo ) {    // Frame, Single chunk?
       Vec v0 = _fr.anyVec();
-      if( _run_local || v0.chunkKey(_lo).home() ) { // And chunk is homed here?
-        assert(_run_local || !H2O.ARGS.client) : "Client node should not process any keys in MRTask!";
-
-        // Make decompression chunk headers for these chunks
-        Vec vecs[] = _fr.vecs();
-        Chunk bvs[] = new Chunk[vecs.length];
-        NewChunk [] appendableChunks = null;
-        for( int i=0; i<vecs.length; i++ )
-          if( vecs[i] != null ) {
-            assert _run_local || vecs[i].chunkKey(_lo).home()
-              : "Chunk="+_lo+" v0="+v0+", k="+v0.chunkKey(_lo)+"   v["+i+"]="+vecs[i]+", k="+vecs[i].chunkKey(_lo);
-            bvs[i] = vecs[i].chunkForChunkIdx(_lo);
-          }
-
-        if(_output_types != null) {
-          final VectorGroup vg = vecs[0].group();
-          _appendables = new AppendableVec[_output_types.length];
-          appendableChunks = new NewChunk[_output_types.length];
-          for(int i = 0; i < _appendables.length; ++i) {
-            _appendables[i] = new AppendableVec(vg.vecKey(_vid+i),_output_types[i]);
-            appendableChunks[i] = _appendables[i].chunkForChunkIdx(_lo);
+      boolean homed = _run_local || v0.chunkKey(_lo).home(); // Chunk is homed here?
+      if( homed && !_admitted && FairShare.park(this) )
+        return;                 // Over its Job's share; runs again on its turn
+      long start = FairShare.begin();
+      try {
+        if( homed && (_stealTable == null || _stealTable.claim(_lo)) ) { // And not stolen?
+          assert(_run_local || !H2O.ARGS.client) : "Client node should not process any keys in MRTask!";
+
+          // Make decompression chunk headers for these chunks
+          Vec vecs[] = _fr.vecs();
+          Chunk bvs[] = new Chunk[vecs.length];
+          NewChunk [] appendableChunks = null;
+          for( int i=0; i<vecs.length; i++ )
+            if( vecs[i] != null ) {
+              assert _run_local || vecs[i].chunkKey(_lo).home()
+                : "Chunk="+_lo+" v0="+v0+", k="+v0.chunkKey(_lo)+"   v["+i+"]="+vecs[i]+", k="+vecs[i].chunkKey(_lo);
+              bvs[i] = vecs[i].chunkForChunkIdx(_lo);
+            }
+
+          if(_output_types != null) {
+            final VectorGroup vg = vecs[0].group();
+            _appendables = new AppendableVec[_output_types.length];
+            appendableChunks = new NewChunk[_output_types.length];
+            for(int i = 0; i < _appendables.length; ++i) {
+              _appendables[i] = new AppendableVec(vg.vecKey(_vid+i),_output_types[i]);
+              appendableChunks[i] = _appendables[i].chunkForChunkIdx(_lo);
+            }
           }
+          // Call all the various map() calls that apply
+          if(_profile!=null)
+            _profile._userstart = System.currentTimeMillis();
+          map0(bvs, appendableChunks);
+          _res = self();          // Save results since called map() at least once!
+          // Further D/K/V put any new vec results.
+          if(_profile!=null)
+            _profile._closestart = System.currentTimeMillis();
+          for( Chunk bv : bvs )  bv.close(_lo,_fs);
+          if( _output_types != null) for(NewChunk nch:appendableChunks)nch.close(_lo, _fs);
         }
-        // Call all the various map() calls that apply
-        if(_profile!=null)
-          _profile._userstart = System.currentTimeMillis();
-        if( _fr.vecs().length == 1 ) map(bvs[0]);
-        if( _fr.vecs().length == 2 ) map(bvs[0], bvs[1]);
-        if( _fr.vecs().length == 3 ) map(bvs[0], bvs[1], bvs[2]);
-        if( true                  )  map(bvs );
-        if( _output_types != null && _output_types.length == 1 ) { // convenience versions for cases with single output.
-          if( appendableChunks == null ) throw H2O.fail(); // Silence IdeaJ warnings
-          if( _fr.vecs().length == 1 ) map(bvs[0], appendableChunks[0]);
-          if( _fr.vecs().length == 2 ) map(bvs[0], bvs[1],appendableChunks[0]);
-          //if( _fr.vecs().length == 3 ) map(bvs[0], bvs[1], bvs[2],appendableChunks[0]);
-          //if( true                  )  map(bvs,    appendableChunks[0]);
-        }
-        if( _output_types != null && _output_types.length == 2) { // convenience versions for cases with 2 outputs (e.g split).
-          if( appendableChunks == null ) throw H2O.fail(); // Silence IdeaJ warnings
-          if( _fr.vecs().length == 1 ) map(bvs[0], appendableChunks[0],appendableChunks[1]);
-          //if( _fr.vecs().length == 2 ) map(bvs[0], bvs[1],appendableChunks[0],appendableChunks[1]);
-          //if( _fr.vecs().length == 3 ) map(bvs[0], bvs[1], bvs[2],appendableChunks[0],appendableChunks[1]);
-          if( true                  )  map(bvs,    appendableChunks[0],appendableChunks[1]);
-        }
-        map(bvs,appendableChunks);
-        _res = self();          // Save results since called map() at least once!
-        // Further D/K/V put any new vec results.
-        if(_profile!=null)
-          _profile._closestart = System.currentTimeMillis();
-        for( Chunk bv : bvs )  bv.close(_lo,_fs);
-        if( _output_types != null) for(NewChunk nch:appendableChunks)nch.close(_lo, _fs);
+      } finally {
+        FairShare.end(this, start);
       }
     }
     if(_profile!=null)
@@ -656,6 +754,29 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     tryComplete();
   }
 
+  // Call all the various map() calls that apply to these input Chunks and
+  // (possibly null) output NewChunks.  Also used by FusedTask, to run each
+  // fused task over its own subset of the Chunks.
+  final void map0( Chunk bvs[], NewChunk appendableChunks[] ) {
+    if( bvs.length == 1 ) map(bvs[0]);
+    if( bvs.length == 2 ) map(bvs[0], bvs[1]);
+    if( bvs.length == 3 ) map(bvs[0], bvs[1], bvs[2]);
+    if( true            )  map(bvs );
+    if( appendableChunks != null && appendableChunks.length == 1 ) { // convenience versions for cases with single output.
+      if( bvs.length == 1 ) map(bvs[0], appendableChunks[0]);
+      if( bvs.length == 2 ) map(bvs[0], bvs[1],appendableChunks[0]);
+      //if( bvs.length == 3 ) map(bvs[0], bvs[1], bvs[2],appendableChunks[0]);
+      //if( true            )  map(bvs,    appendableChunks[0]);
+    }
+    if( appendableChunks != null && appendableChunks.length == 2) { // convenience versions for cases with 2 outputs (e.g split).
+      if( bvs.length == 1 ) map(bvs[0], appendableChunks[0],appendableChunks[1]);
+      //if( bvs.length == 2 ) map(bvs[0], bvs[1],appendableChunks[0],appendableChunks[1]);
+      //if( bvs.length == 3 ) map(bvs[0], bvs[1], bvs[2],appendableChunks[0],appendableChunks[1]);
+      if( true            )  map(bvs,    appendableChunks[0],appendableChunks[1]);
+    }
+    map(bvs,appendableChunks);
+  }
+
   /** OnCompletion - reduce the left and right into self.  Called internal by
    *  F/J.  Not expected to be user-called. */
   @Override public final void onCompletion( CountedCompleter caller ) {
@@ -692,10 +813,16 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   // Block for other queued pending tasks.
   // Copy any final results into 'this', such that a return of 'this' has the results.
   private void postLocal0() {
-    closeLocal();               // User's node-local cleanup
+    try {
+      closeLocal();             // User's node-local cleanup
+      if( _stealTable != null ) stealAll(); // Own Chunks done; help the other nodes
+    } finally {
+      dropSteals();             // Every node put one, so every node drops it
+    }
+    if( _rsName != null && _res != null ) scatter(); // Big array goes by slices, not up the tree
     if(_profile!=null) _profile._closeLocalDone = System.currentTimeMillis();
-    reduce3(_nleft);            // Reduce global results from neighbors.
-    reduce3(_nrite);
+    if( _nrpcs != null )        // Reduce global results from neighbors.
+      for( RPC<T> rpc : _nrpcs ) reduce3(rpc);
     if(_profile!=null) _profile._remoteBlkDone = System.currentTimeMillis();
     _fs.blockForPending();      // Block any pending user tasks
     if(_profile!=null) _profile._localBlkDone = System.currentTimeMillis();
@@ -704,11 +831,14 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     if( _res == null ) _nhi=-1; // Flag for no local results *at all*
     else if( _res != this ) {   // There is a local result, and its not self
       _res._profile = _profile; // Use my profile (not child's)
+      long[] ms = _mapMs;  int[] st = _stolen; // Node stats are gathered in self
       copyOver(_res);           // So copy into self
+      _mapMs = ms;  _stolen = st;
     }
     if( _topGlobal ) {
       if (_fr != null)     // Do any post-writing work (zap rollup fields, etc)
         _fr.postWrite(_fs).blockForPending();
+      if( _rsName != null ) gather(); // Collect the summed slices
       postGlobal();             // User's continuation work
     }
 
@@ -724,6 +854,12 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     // blocks.  Not much can be asserted there.
     if(_profile!=null)
       _profile.gather(mrt._profile, rpc.size_rez());
+    MRTask<T> m = mrt;
+    if( _mapMs != null && m._mapMs != null ) // Each node filled in its own slot
+      for( int i = 0; i < _mapMs.length; i++ ) {
+        _mapMs[i] = Math.max(_mapMs[i], m._mapMs[i]);
+        _stolen[i] = Math.max(_stolen[i], m._stolen[i]);
+      }
     // Unlike reduce2, results are in mrt directly not mrt._res.
     if( mrt._nhi != -1L ) {     // Any results at all?
       if( _res == null ) _res = mrt;
@@ -763,18 +899,185 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
 
     // Since blocking can throw (generally the same exception, again and again)
     // catch & ignore, keeping only the first one we already got.
-    RPC<T> nl = _nleft; if( nl != null ) try { nl.get(); } catch( Throwable ignore ) { } _nleft = null;
-    RPC<T> nr = _nrite; if( nr != null ) try { nr.get(); } catch( Throwable ignore ) { } _nrite = null;
+    RPC<T>[] rpcs = _nrpcs;
+    if( rpcs != null )
+      for( RPC<T> rpc : rpcs ) if( rpc != null ) try { rpc.get(); } catch( Throwable ignore ) { }
+    _nrpcs = null;
+    dropSteals();
+    if( _topGlobal && _rsName != null ) { // Drop any summed slices
+      Futures fs = new Futures();
+      for( int j = 0; j < H2O.CLOUD.size(); j++ ) DKV.remove(sliceKey(j), fs);
+      fs.blockForPending();
+    }
     return true;
   }
 
+  // --------------------------------------------------------------------------
+  // Stealing mode.  Each node keeps a claim per Chunk it homes; its own map
+  // calls and thieves from other nodes both claim before mapping.
+  private static final NonBlockingHashMap<String,StealTable> STEALS = new NonBlockingHashMap<>();
+  // Count of steal tables live on this node; for tests
+  static int stealTables() { return STEALS.size(); }
+
+  // Stop handing out this node's Chunks and release the unmapped copy.  Safe
+  // to call more than once, and on nodes that never stole.
+  private void dropSteals() {
+    if( _stealName != null ) STEALS.remove(_stealName);
+    _stealTable = null;
+    _stealProto = null;
+  }
+
+  private static class StealTable {
+    final int[] _home;                  // Chunk indices homed here
+    final AtomicIntegerArray _claims;   // Claimed flag, per Chunk index
+    StealTable( Vec v0 ) {
+      int nchunks = v0.nChunks(), n = 0;
+      int[] home = new int[nchunks];
+      for( int i = 0; i < nchunks; i++ ) if( v0.chunkKey(i).home() ) home[n++] = i;
+      _home = Arrays.copyOf(home, n);
+      _claims = new AtomicIntegerArray(nchunks);
+    }
+    boolean claim( int cidx ) { return _claims.compareAndSet(cidx, 0, 1); }
+    // Give away up to half the unclaimed Chunks, from the end; the home node
+    // works from the front (roughly), and will soon reach the rest itself.
+    int[] steal( int max ) {
+      int unclaimed = 0;
+      for( int c : _home ) if( _claims.get(c) == 0 ) unclaimed++;
+      int n = Math.min(max, unclaimed >> 1), k = 0;
+      int[] res = new int[n];
+      for( int i = _home.length-1; i >= 0 && k < n; i-- )
+        if( claim(_home[i]) ) res[k++] = _home[i];
+      return k == n ? res : Arrays.copyOf(res, k);
+    }
+  }
+
+  // Ask another node for Chunks; answered at high priority, since the victim
+  // is by definition busy.
+  private static class StealChunks extends DTask<StealChunks> {
+    final String _name;
+    final int _max;
+    int[] _cidxs;
+    StealChunks( String name, int max ) { super(H2O.MIN_HI_PRIORITY); _name = name; _max = max; }
+    @Override public void compute2() {
+      StealTable st = STEALS.get(_name);
+      _cidxs = st == null ? new int[0] : st.steal(_max);
+      tryComplete();
+    }
+  }
+
+  // Map one stolen Chunk into a fresh copy of the task
+  private static class StolenMap<T extends MRTask<T>> extends H2O.H2OCountedCompleter<StolenMap<T>> {
+    final T _mrt;
+    final int _cidx;
+    StolenMap( T proto, int cidx ) { _mrt = proto.clone(); _cidx = cidx; }
+    @Override public void compute2() {
+      Vec[] vecs = _mrt._fr.vecs();
+      Chunk[] bvs = new Chunk[vecs.length];
+      for( int i = 0; i < vecs.length; i++ )
+        if( vecs[i] != null ) bvs[i] = vecs[i].chunkForChunkIdx(_cidx); // Remote fetch
+      _mrt.map0(bvs, null);
+      tryComplete();
+    }
+  }
+
+  // Steal from the other nodes, in random order, until a full round finds
+  // nothing to steal.  Stolen results are reduced into the local result.
+  private void stealAll() {
+    final int self = H2O.SELF.index();
+    _mapMs[self] = System.currentTimeMillis() - _stealStart;
+    STEALS.remove(_stealName);  // All of our own Chunks are claimed by now
+    H2ONode[] nodes = H2O.CLOUD._memary;
+    int start = new Random().nextInt(nodes.length);
+    boolean any = true;
+    while( any ) {
+      any = false;
+      for( int j = 0; j < nodes.length; j++ ) {
+        H2ONode h2o = nodes[(start+j) % nodes.length];
+        if( h2o == H2O.SELF ) continue;
+        int[] cidxs = new RPC<>(h2o, new StealChunks(_stealName, H2O.NUMCPUS)).call().get()._cidxs;
+        if( cidxs.length == 0 ) continue;
+        any = true;
+        _stolen[self] += cidxs.length;
+        Futures fs = new Futures();
+        StolenMap<T>[] sms = new StolenMap[cidxs.length];
+        for( int i = 0; i < cidxs.length; i++ )
+          fs.add(H2O.submitTask(sms[i] = new StolenMap<>(_stealProto, cidxs[i])));
+        fs.blockForPending();
+        for( StolenMap<T> sm : sms ) {
+          if( _res == null ) _res = sm._mrt;
+          else _res.reduce4(sm._mrt);
+        }
+      }
+    }
+  }
+
+  // --------------------------------------------------------------------------
+  // Reduce-scatter of a ReduceScatter task's array.  Slice j of the array is
+  // summed, by atomic updates, into a Key homed on node j.
+  private Key sliceKey( int j ) {
+    return Key.make(_rsName+"_"+j, (byte)1, Key.HIDDEN_USER_KEY, true, H2O.CLOUD._memary[j]);
+  }
+
+  // Add this node's array into the slices, and take it out of the result
+  // going up the tree.  The adds finish before this node reports back.
+  private void scatter() {
+    ReduceScatter rs = (ReduceScatter)_res;
+    double[] ds = rs.reduceScatterArray();
+    if( ds == null ) return;
+    rs.reduceScatterArray(null);
+    final int nodes = H2O.CLOUD.size();
+    for( int j = 0; j < nodes; j++ ) {
+      int lo = (int)((long)ds.length*j/nodes), hi = (int)((long)ds.length*(j+1)/nodes);
+      if( lo == hi ) continue;
+      RPC rpc = new AddSlice(new Slice(lo, ds.length, Arrays.copyOfRange(ds, lo, hi))).fork(sliceKey(j));
+      if( rpc != null ) _fs.add(rpc);
+    }
+  }
+
+  // Fetch all the summed slices at once, and set the whole sum on this task
+  private void gather() {
+    final int nodes = H2O.CLOUD.size();
+    Key[] keys = new Key[nodes];
+    for( int j = 0; j < nodes; j++ ) DKV.prefetch(keys[j] = sliceKey(j));
+    double[] sum = null;
+    Futures fs = new Futures();
+    for( Key k : keys ) {
+      Slice s = DKV.getGet(k);
+      if( s == null ) continue; // Empty slice, or no arrays at all
+      if( sum == null ) sum = new double[s._len];
+      System.arraycopy(s._ds, 0, sum, s._lo, s._ds.length);
+      DKV.remove(k, fs);
+    }
+    fs.blockForPending();
+    ((ReduceScatter)this).reduceScatterArray(sum);
+  }
+
+  // A slice [_lo,_lo+_ds.length) of an array of length _len
+  private static class Slice extends Iced<Slice> {
+    final int _lo, _len;
+    final double[] _ds;
+    Slice( int lo, int len, double[] ds ) { _lo = lo; _len = len; _ds = ds; }
+  }
+
+  private static class AddSlice extends TAtomic<Slice> {
+    Slice _s;
+    AddSlice( Slice s ) { _s = s; }
+    @Override protected Slice atomic( Slice old ) {
+      if( old == null ) return _s;
+      double[] ds = old._ds.clone(); // Old Value is read-only
+      for( int i = 0; i < ds.length; i++ ) ds[i] += _s._ds[i];
+      return new Slice(old._lo, old._len, ds);
+    }
+    @Override public void onSuccess( Slice old ) { _s = null; } // Do not ship the slice back
+  }
+
   // Make copy, setting final-field completer and clearing out a bunch of fields
   private T copyAndInit() {
     T x = clone();
     x._topGlobal = false;
     x.setCompleter(this); // Set completer, what used to be a final field
     x._topLocal = false;  // Not a top job
-    x._nleft = x._nrite = null;
+    x._nrpcs = null;
     x. _left = x. _rite = null;
     x._fs = _fs;
     if( _profile!=null )  x._profile = new MRProfile(this);
@@ -1,12 +1,17 @@
 package water;
 
 import java.lang.management.*;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.management.Notification;
 import javax.management.NotificationEmitter;
 import jsr166y.ForkJoinPool.ManagedBlocker;
 import jsr166y.ForkJoinPool;
+import water.H2O.H2OCountedCompleter;
+import water.nbhm.NonBlockingHashMap;
+import water.util.ArrayUtils;
 import water.util.Log;
 import water.util.PrettyPrint;
 
@@ -210,7 +215,13 @@ abstract public class MemoryManager {
     // Do not assert on large-size here.  RF's temp internal datastructures are
     // single very large arrays.
     //assert bytes < Value.MAX : "malloc size=0x"+Long.toHexString(bytes);
+    final Key<Job> job = H2O.H2OCountedCompleter.currThrJob();
+    final long jobBytes = job == null ? 0 : chargeJob(job,bytes);
     while( true ) {
+      // Under memory pressure, fail a Job over budget rather than let it
+      // block (or OOM) everybody else.
+      if( jobBytes > JOB_MEM_MAX && JOB_MEM_MAX > 0 && (!CAN_ALLOC || MEM_LOW_CRITICAL) && bytes > 256 )
+        throw new IllegalStateException("Job "+job+" allocated "+PrettyPrint.bytes(jobBytes)+" on "+H2O.SELF+", over its -job_mem_max budget of "+PrettyPrint.bytes(JOB_MEM_MAX)+", while memory is low");
       if( (!MEM_LOW_CRITICAL && !force) && !CAN_ALLOC && // Not allowing allocations?
           bytes > 256 &&        // Allow tiny ones in any case
           // To prevent deadlock, we cannot block the cleaner thread in any
@@ -275,6 +286,120 @@ abstract public class MemoryManager {
   public static long   [] arrayCopyOf( long  [] orig, int sz) { return arrayCopyOfRange(orig,0,sz); }
   public static double [] arrayCopyOf( double[] orig, int sz) { return arrayCopyOfRange(orig,0,sz); }
 
+  // Off-heap (native) memory budget for cold Value payloads, set from
+  // -offheap_mem.  Zero disables the off-heap tier and the Cleaner goes
+  // straight to disk.
+  static long OFFHEAP_MAX;
+  // Off-heap bytes currently held by Values on this node
+  static final AtomicLong OFFHEAP_USED = new AtomicLong();
+
+  static boolean tryReserveOffHeap( long bytes ) {
+    if( OFFHEAP_MAX == 0 ) return false;
+    if( OFFHEAP_USED.addAndGet(bytes) <= OFFHEAP_MAX ) return true;
+    OFFHEAP_USED.addAndGet(-bytes); // Over budget; back out
+    return false;
+  }
+  static void freeOffHeap( long bytes ) { OFFHEAP_USED.addAndGet(-bytes); }
+  public static long offHeapUsed() { return OFFHEAP_USED.get(); }
+
+  // --------------------------------------------------------------------------
+  // Per-Job accounting.  Allocations are charged to the Job of the task
+  // running on the current F/J thread.  Like MEM_ALLOC, these are running
+  // totals of bytes allocated on this node, not live bytes.  Entries are
+  // dropped cloud-wide when the Job ends (see Job.retire).
+  static final NonBlockingHashMap<Key,AtomicLong> JOB_MEM = new NonBlockingHashMap<>();
+  // Per-Job, per-node budget from -job_mem_max; 0 for unlimited
+  static long JOB_MEM_MAX;
+
+  private static long chargeJob( Key<Job> job, long bytes ) {
+    AtomicLong al = JOB_MEM.get(job);
+    if( al == null ) {
+      AtomicLong al2 = JOB_MEM.putIfAbsent(job, al = new AtomicLong());
+      if( al2 != null ) al = al2;
+    }
+    return al.addAndGet(bytes);
+  }
+
+  /** Bytes allocated cloud-wide for each of these Jobs; optionally forget
+   *  them.  Runs on all nodes, started without blocking (see Job.Totals). */
+  static class JobMemTask extends MRTask<JobMemTask> {
+    final Key[] _jobs;
+    final boolean _remove;
+    long[] _bytes;
+    JobMemTask( Key[] jobs, boolean remove, H2OCountedCompleter cmp ) {
+      super(cmp);
+      _jobs = jobs;  _remove = remove;
+      _jobKey = null;           // Not charged to any Job
+    }
+    @Override public void setupLocal() {
+      _bytes = new long[_jobs.length];
+      for( int i = 0; i < _jobs.length; i++ ) {
+        AtomicLong al = _remove ? JOB_MEM.remove(_jobs[i]) : JOB_MEM.get(_jobs[i]);
+        if( al != null ) _bytes[i] = al.get();
+      }
+    }
+    @Override public void reduce( JobMemTask jmt ) { ArrayUtils.add(_bytes, jmt._bytes); }
+  }
+
+  // --------------------------------------------------------------------------
+  // Admission control (-job_admission).  New Jobs are held back, first come
+  // first served, while any node is short of memory.  A node is short when
+  // its POJO usage as of its last FullGC is over 3/8 of its heap: past that
+  // point set_goals squeezes its K/V cache down to about a quarter of the
+  // heap.  Queued Jobs are let in one per heartbeat, and one is always let
+  // in when no admitted Job is running, so the queue cannot stall forever.
+  private static final ArrayDeque<H2OCountedCompleter> ADMIT_Q = new ArrayDeque<>(); // guarded by itself
+  private static final AtomicInteger ADMITTED = new AtomicInteger(); // Admitted Jobs still running
+  private static Thread _admitter; // guarded by ADMIT_Q
+
+  /** Start the top-level task of a Job, or queue it if the cloud is short
+   *  of memory.
+   *  @return true if queued */
+  static boolean admit( H2OCountedCompleter fjtask ) {
+    if( !H2O.ARGS.job_admission ) { H2O.submitTask(fjtask); return false; }
+    synchronized(ADMIT_Q) {
+      if( !ADMIT_Q.isEmpty() || (ADMITTED.get() > 0 && cloudShortOfMem()) ) {
+        ADMIT_Q.add(fjtask);
+        if( _admitter == null ) {
+          _admitter = new Thread("JobAdmission") { @Override public void run() { admitLoop(); } };
+          _admitter.setDaemon(true);
+          _admitter.start();
+        }
+        return true;
+      }
+      ADMITTED.incrementAndGet();
+    }
+    H2O.submitTask(fjtask);
+    return false;
+  }
+
+  /** An admitted Job has ended */
+  static void jobDone() { if( H2O.ARGS.job_admission ) ADMITTED.decrementAndGet(); }
+
+  private static void admitLoop() {
+    while( true ) {
+      try { Thread.sleep(HeartBeatThread.SLEEP); } catch( InterruptedException ignore ) { }
+      H2OCountedCompleter fjtask;
+      synchronized(ADMIT_Q) {
+        if( ADMIT_Q.isEmpty() || (ADMITTED.get() > 0 && cloudShortOfMem()) ) continue;
+        fjtask = ADMIT_Q.poll();
+        ADMITTED.incrementAndGet();
+      }
+      Job.dequeued(fjtask._jobKey);
+      H2O.submitTask(fjtask);
+    }
+  }
+
+  private static boolean cloudShortOfMem() {
+    for( H2ONode h2o : H2O.CLOUD.members() ) {
+      HeartBeat hb = h2o._heartbeat;
+      if( hb == null || hb._client ) continue;
+      long heap = hb.get_kv_mem() + hb.get_pojo_mem() + hb.get_free_mem();
+      if( hb.get_pojo_mem() > (heap>>3)*3 ) return true;
+    }
+    return false;
+  }
+
   // Memory available for tasks (we assume 3/4 of the heap is available for tasks)
   static final AtomicLong _taskMem = new AtomicLong(MEM_MAX-(MEM_MAX>>2));
 
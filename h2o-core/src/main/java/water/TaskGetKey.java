@@ -2,29 +2,39 @@ package water;
 
 import water.nbhm.NonBlockingHashMap;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
- * Get the given key from the remote node
+ * Get the given keys from the remote node
  *
  * @author <a href="mailto:cliffc@h2o.ai"></a>
  * @version 1.0
  */
 
 public class TaskGetKey extends DTask<TaskGetKey> {
-  Key _key;                  // Set by client/sender JVM, cleared by server JVM
-  Value _val;                // Set by server JVM, read by client JVM
-  transient Key _xkey;       // Set by client, read by client
+  Key[] _keys;               // Set by client/sender JVM, cleared by server JVM
+  Value[] _vals;             // Set by server JVM, read by client JVM
+  transient Key[] _xkeys;    // Set by client, read by client
   transient H2ONode _h2o;    // Set by server JVM, read by server JVM on ACKACK
 
+  // Most Keys fetched in one batch; the Values all come back in one message
+  static final int MAX_BATCH = 256;
+
   // Unify multiple Key/Value fetches for the same Key from the same Node at
   // the "same time".  Large key fetches are slow, and we'll get multiple
-  // requests close in time.  Batch them up.
+  // requests close in time.  Batch them up.  A batched fetch is listed under
+  // each of its Keys.
   private static final NonBlockingHashMap<Key,RPC<TaskGetKey>> TGKS = new NonBlockingHashMap();
 
   // Get a value from a named remote node
-  static Value get( H2ONode target, Key key ) { return get(start(target,key)); }
+  static Value get( H2ONode target, Key key ) { return get(start(target,key),key); }
 
-  static Value get(RPC<TaskGetKey> rpc) {
-    return rpc.get()._val;                  // Block for it
+  static Value get(RPC<TaskGetKey> rpc, Key key) {
+    return rpc.get().val(key);  // Block for it
   }
   // Start an RPC to fetch a Value, handling short-cutting dup-fetches
   static RPC<TaskGetKey> start( H2ONode target, Key key ) {
@@ -32,56 +42,117 @@ public class TaskGetKey extends DTask<TaskGetKey> {
     RPC<TaskGetKey> old = TGKS.get(key);
     if( old != null ) return old;
     // Make a new TGK.
-    RPC<TaskGetKey> rpc = new RPC(target,new TaskGetKey(key),1.0f);
+    RPC<TaskGetKey> rpc = new RPC(target,new TaskGetKey(new Key[]{key}),1.0f);
     if( (old=TGKS.putIfMatchUnlocked(key,rpc,null)) != null )
       return old;               // Failed because an old exists
     rpc.setTaskNum().call();    // Start the op
     return rpc;                 // Successful install of a fresh RPC
   }
+  // Start fetching Values from a named remote node, in batches of up to
+  // MAX_BATCH Keys.  Keys already being fetched are left to that fetch.
+  static void start( H2ONode target, List<Key> keys ) {
+    for( int lo = 0; lo < keys.size(); lo += MAX_BATCH ) {
+      List<Key> batch = keys.subList(lo, Math.min(keys.size(), lo+MAX_BATCH));
+      TaskGetKey tgk = new TaskGetKey(batch.toArray(new Key[batch.size()]));
+      RPC<TaskGetKey> rpc = new RPC(target,tgk,1.0f);
+      ArrayList<Key> mine = new ArrayList<>();
+      for( Key key : batch )
+        if( TGKS.get(key) == null && TGKS.putIfMatchUnlocked(key,rpc,null) == null )
+          mine.add(key);        // Fresh install; else an old fetch has it
+      if( mine.isEmpty() ) continue;
+      if( mine.size() < batch.size() ) // Not sent yet, so trim it
+        tgk._keys = tgk._xkeys = mine.toArray(new Key[mine.size()]);
+      rpc.setTaskNum().call();
+    }
+  }
+
+  private TaskGetKey( Key[] keys ) { super(H2O.GET_KEY_PRIORITY); _keys = _xkeys = keys; }
 
-  private TaskGetKey( Key key ) { super(H2O.GET_KEY_PRIORITY); _key = _xkey = key; }
+  // The fetched Value of one of the Keys
+  private Value val( Key key ) {
+    if( _xkeys.length == 1 ) return _vals[0];
+    for( int i = 0; i < _xkeys.length; i++ )
+      if( _xkeys[i].equals(key) ) return _vals[i];
+    throw H2O.fail("Key "+key+" not in this fetch");
+  }
 
   // Top-level non-recursive invoke
   @Override public void dinvoke( H2ONode sender ) {
     _h2o = sender;
-    Key k = _key;
-    _key = null;          // Not part of the return result
-    assert k.home();      // Gets are always from home (less we do replication)
-    // Shipping a result?  Track replicas so we can invalidate.  There's a
-    // narrow race on a moving K/V mapping tracking this Value just as it gets
-    // deleted - in which case, simply retry for another Value.
-    do  _val = Value.STORE_get(k); // The return result
-    while( _val != null && !_val.setReplica(sender) );
+    Key[] ks = _keys;
+    _keys = null;         // Not part of the return result
+    _vals = new Value[ks.length];
+    for( int i = 0; i < ks.length; i++ ) {
+      Key k = ks[i];
+      assert k.home();    // Gets are always from home (less we do replication)
+      // Shipping a result?  Track replicas so we can invalidate.  There's a
+      // narrow race on a moving K/V mapping tracking this Value just as it gets
+      // deleted - in which case, simply retry for another Value.
+      Value val;
+      do  val = Value.STORE_get(k); // The return result
+      while( val != null && !val.setReplica(sender) );
+      _vals[i] = val;
+    }
     tryComplete();
   }
   @Override public void compute2() { throw H2O.fail(); }
 
-  // Received an ACK; executes on the node asking&receiving the Value
+  // Received an ACK; executes on the node asking&receiving the Values
   @Override public void onAck() {
-    if( _val != null ) {        // Set transient fields after deserializing
-      assert !_xkey.home() && _val._key == null;
-      _val._key = _xkey;
+    for( int i = 0; i < _xkeys.length; i++ ) {
+      Key xkey = _xkeys[i];
+      Value val = _vals[i];
+      if( val != null ) {       // Set transient fields after deserializing
+        assert !xkey.home() && val._key == null;
+        val._key = xkey;
+      }
+      // Now update the local store, caching the result.
+
+      // We only started down the TGK path because we missed locally, so we only
+      // expect to find a NULL in the local store.  If somebody else installed
+      // another value (e.g. a racing TGK, or racing local Put) this value must
+      // be more recent than our NULL - but is UNORDERED relative to the Value
+      // returned from the Home.  We'll take the local Value to preserve ordering
+      // and rely on invalidates from Home to force refreshes as needed.
+
+      // Hence we can do a blind putIfMatch here over a null or empty Value
+      // If it fails, what is there is also the TGK result.
+      Value old = H2O.STORE.get(xkey);
+      if( old != null && !old.isEmpty() ) old=null;
+      Value res = H2O.putIfMatch(xkey,val,old);
+      if( res != old ) _vals[i] = res;
+      TGKS.remove(xkey); // Clear from dup cache
     }
-    // Now update the local store, caching the result.
-
-    // We only started down the TGK path because we missed locally, so we only
-    // expect to find a NULL in the local store.  If somebody else installed
-    // another value (e.g. a racing TGK, or racing local Put) this value must
-    // be more recent than our NULL - but is UNORDERED relative to the Value
-    // returned from the Home.  We'll take the local Value to preserve ordering
-    // and rely on invalidates from Home to force refreshes as needed.
-
-    // Hence we can do a blind putIfMatch here over a null or empty Value
-    // If it fails, what is there is also the TGK result.
-    Value old = H2O.STORE.get(_xkey);
-    if( old != null && !old.isEmpty() ) old=null;
-    Value res = H2O.putIfMatch(_xkey,_val,old);
-    if( res != old ) _val = res;
-    TGKS.remove(_xkey); // Clear from dup cache
   }
 
-  // Received an ACKACK; executes on the node sending the Value
+  // Received an ACKACK; executes on the node sending the Values
   @Override public void onAckAck() {
-    if( _val != null ) _val.lowerActiveGetCount(_h2o);
+    for( Value val : _vals )
+      if( val != null ) val.lowerActiveGetCount(_h2o);
+  }
+
+  /** A Value being fetched, or one already at hand; see {@link DKV#getAsync} */
+  static final class Fetch implements Future<Value> {
+    private final RPC<TaskGetKey> _rpc;
+    private final Key _key;
+    private final Value _val;
+    Fetch( Value val ) { _rpc = null; _key = null; _val = val; }
+    Fetch( RPC<TaskGetKey> rpc, Key key ) { _rpc = rpc; _key = key; _val = null; }
+    // Fetches are shared between callers, so are never cancelled
+    @Override public boolean cancel( boolean mayInterruptIfRunning ) { return false; }
+    @Override public boolean isCancelled() { return false; }
+    @Override public boolean isDone() { return _rpc == null || _rpc.isDone(); }
+    @Override public Value get() { return _rpc == null ? _val : TaskGetKey.get(_rpc,_key); }
+    @Override public Value get( long timeout, TimeUnit unit ) throws InterruptedException, TimeoutException {
+      if( _rpc == null ) return _val;
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      synchronized( _rpc ) {    // RPC notifies when done
+        long ms;
+        while( !_rpc.isDone() && (ms = (deadline - System.nanoTime())/1000000) > 0 )
+          _rpc.wait(ms);
+      }
+      if( !_rpc.isDone() ) throw new TimeoutException("Fetching "+_key);
+      return get();
+    }
   }
 }
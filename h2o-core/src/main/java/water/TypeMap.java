@@ -4,7 +4,16 @@ import water.api.schemas3.*;
 import water.nbhm.NonBlockingHashMap;
 import water.util.Log;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
 
 import static water.Weaver.classForName;
 
@@ -76,12 +85,17 @@ public class TypeMap {
   static private int IDS;
   // JUnit helper flag
   static public volatile boolean _check_no_locking; // ONLY TOUCH IN AAA_PreCloudLock!
+  // Build-time type tables, one per module jar; see IcerCompiler
+  static final String TABLE = "META-INF/h2o-typemap";
+  // Hash of the installed tables; all Nodes in a cloud must agree on it
+  static final int TABLE_HASH;
   static {
     CLAZZES = BOOTSTRAP_CLASSES;
     GOLD = new Icer[BOOTSTRAP_CLASSES.length];
     int id=0;                   // The initial set of Type IDs to boot with
     for( String s : CLAZZES ) MAP.put(s,id++);
     IDS = id;
+    TABLE_HASH = installTables();
     // Some statically known names, to make life easier during e.g. bootup & parse
     NULL         = (short) -1;
     PRIM_B       = (short)onIce("[B");
@@ -114,6 +128,66 @@ public class TypeMap {
   //
 
 
+  // Install the build-time tables found on the classpath.  Each table is a
+  // header line with the first type ID it was built for and its module name,
+  // then one class name per line.  Tables go in order of their first ID, and
+  // a table that does not start right after the ones before it (e.g. two
+  // modules built on the same base) is skipped: its classes get their IDs
+  // from the leader as usual.
+  private static int installTables() {
+    ArrayList<List<String>> tables = new ArrayList<>();
+    try {
+      Enumeration<URL> urls = TypeMap.class.getClassLoader().getResources(TABLE);
+      while( urls.hasMoreElements() ) {
+        ArrayList<String> lines = new ArrayList<>();
+        try( BufferedReader br = new BufferedReader(new InputStreamReader(urls.nextElement().openStream(),"UTF-8")) ) {
+          String line;
+          while( (line = br.readLine()) != null )
+            if( !line.isEmpty() ) lines.add(line);
+        }
+        if( !lines.isEmpty() ) tables.add(lines);
+      }
+    } catch( IOException ioe ) {
+      return 0;                 // No tables; the heartbeat hash catches Nodes that differ
+    }
+    Collections.sort(tables, new Comparator<List<String>>() {
+      @Override public int compare( List<String> t0, List<String> t1 ) {
+        int x = firstId(t0), y = firstId(t1);
+        return x != y ? (x < y ? -1 : 1) : t0.get(0).compareTo(t1.get(0));
+      }
+    });
+    int hash = 0;
+    for( List<String> t : tables )
+      if( installTable(firstId(t), t.subList(1,t.size())) )
+        hash = hash*31 + t.hashCode();
+    return hash;
+  }
+  private static int firstId( List<String> table ) {
+    String hdr = table.get(0);
+    int idx = hdr.indexOf(' ');
+    try { return Integer.parseInt(idx == -1 ? hdr : hdr.substring(0,idx)); }
+    catch( NumberFormatException nfe ) { return -1; }
+  }
+
+  // Install a table of class names, with IDs from first on.  Only done if
+  // first is the next free ID, and none of the names has an ID yet.
+  synchronized static boolean installTable( int first, List<String> classNames ) {
+    if( first != IDS ) return false;
+    for( String s : classNames ) if( MAP.containsKey(s) ) return false;
+    int len = IDS + classNames.size();
+    if( len > CLAZZES.length ) CLAZZES = Arrays.copyOf(CLAZZES,len);
+    if( len > GOLD   .length ) GOLD    = Arrays.copyOf(GOLD   ,len);
+    for( String s : classNames ) { MAP.put(s,IDS); CLAZZES[IDS++] = s; }
+    return true;
+  }
+  // The next ID to hand out; only meaningful before the cloud forms
+  synchronized static int nextId() { return IDS; }
+  // The ID of className if it already has one, or -1.  Never goes to the leader.
+  static int knownId( String className ) {
+    Integer I = MAP.get(className);
+    return I == null ? -1 : I;
+  }
+
   // During first Icing, get a globally unique class ID for a className
   static int onIce(Iced ice) { return onIce(ice.getClass().getName()); }
   static int onIce(Freezable ice) { return onIce(ice.getClass().getName()); }
@@ -8,9 +8,12 @@ package water;
  */
 
 class UDPAckAck extends UDP {
-  // Received an ACKACK for a remote Task.  Drop the task tracking
+  // Received an ACKACK for a remote Task.  Drop the task tracking.  ACKACKs
+  // batched over TCP are coalesced: more task#s may follow the first.
   @Override AutoBuffer call(AutoBuffer ab) {
     ab._h2o.remove_task_tracking(ab.getTask());
+    while( ab._bb.remaining() >= 4 )
+      ab._h2o.remove_task_tracking(ab.get4());
     return ab;
   }
 
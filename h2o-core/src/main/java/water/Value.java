@@ -6,7 +6,9 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import jsr166y.ForkJoinPool;
 import water.fvec.Frame;
 import water.fvec.Vec;
+import water.util.LZ4;
 import water.util.Log;
+import water.util.UnsafeUtils;
 
 /** The core Value stored in the distributed K/V store, used to cache Plain Old
  *  Java Objects, and maintain coherency around the cluster.  It contains an
@@ -96,16 +98,97 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   /** Invalidate byte[] cache.  Only used to eagerly free memory, for data
    *  which is expected to be read-once. */
   public final void freeMem() {
-    assert isPersisted() || _pojo != null || _key.isChunkKey();
+    assert isPersisted() || isOffHeap() || _cmem != null || _pojo != null || _key.isChunkKey();
     _mem = null;
   }
+
   /** Invalidate POJO cache.  Only used to eagerly free memory, for data
    *  which is expected to be read-once. */
   public final void freePOJO() {
-    assert isPersisted() || _mem != null;
+    assert isPersisted() || isOffHeap() || _cmem != null || _mem != null;
     _pojo = null;
   }
 
+  // ---
+  // A compressed copy of the _mem array, or null.  Set only by the Cleaner
+  // for cold Chunks: re-compressing with a fast codec keeps the data in RAM
+  // at a fraction of the size, and inflating it again is much cheaper than a
+  // reload from disk.  Immutable like _mem, so it is kept after inflation
+  // and the Cleaner can drop the inflated form again without re-compressing.
+  private transient volatile byte[] _cmem;
+  final byte[] rawCompressed() { return _cmem; }
+  // Not worth holding a compressed copy unless it saves at least 1/4th
+  private static final int MIN_COMPRESS_SAVINGS_SHIFT = 2;
+
+  /** Compress the byte[] in place.  Only called by the Cleaner.
+   *  @return false if the byte[] is missing or does not compress well */
+  boolean storeCompressed() {
+    if( _cmem != null ) return true;
+    byte[] m = _mem;
+    if( m == null || m.length != _max ) return false;
+    byte[] c = LZ4.compress(m);
+    if( c == null || c.length > m.length - (m.length>>MIN_COMPRESS_SAVINGS_SHIFT) ) return false;
+    _cmem = c;
+    return true;
+  }
+  /** Drop the compressed copy; only once a cheaper or durable copy exists */
+  void freeCompressed() { _cmem = null; }
+
+  // ---
+  // Address of a native (off-heap) copy of the _mem array, or 0 if none.  Set
+  // only by the Cleaner, as a cheaper alternative to spilling to ICE: the
+  // bytes stay in RAM but outside the Java heap, so neither the GC nor the
+  // K/V cache accounting sees them.  The native copy is immutable like _mem
+  // and is released when the Value is removed or replaced, after which the
+  // field is parked at OFFHEAP_CLOSED so a racing Cleaner cannot re-attach.
+  private transient volatile long _offheap;
+  private static final long OFFHEAP_CLOSED = -1;
+  /** Check if a native (off-heap) copy of the byte[] exists */
+  public final boolean isOffHeap() { return _offheap > 0; }
+
+  /** Copy the byte[] into native memory.  Only called by the Cleaner.
+   *  @return false if there is no room left in the off-heap budget */
+  boolean storeOffHeap() {
+    if( _offheap != 0 ) return _offheap > 0;
+    byte[] m = _mem;
+    if( m == null || m.length == 0 || m.length != _max ) return false;
+    if( !MemoryManager.tryReserveOffHeap(_max) ) return false;
+    long adr = UnsafeUtils.allocateMemory(_max);
+    UnsafeUtils.copyToNative(m,0,adr,_max);
+    synchronized(this) {
+      if( _offheap == 0 ) { _offheap = adr; return true; }
+    }
+    // Raced with a remove
+    UnsafeUtils.freeMemory(adr);
+    MemoryManager.freeOffHeap(_max);
+    return false;
+  }
+
+  // Rebuild the byte[] from the native copy; one bulk copy, no disk I/O and no
+  // deserialization.  Returns null if the native copy is gone.
+  private byte[] loadOffHeap() {
+    byte[] m = MemoryManager.malloc1(_max); // May block; do not hold the lock
+    synchronized(this) {
+      long adr = _offheap;
+      if( adr <= 0 ) return null;
+      UnsafeUtils.copyFromNative(adr,m,0,_max);
+    }
+    return m;
+  }
+
+  /** Release the native copy, if any.  Called when the Value is removed from,
+   *  or replaced in, the local K/V store. */
+  void freeOffHeap() {
+    if( MemoryManager.OFFHEAP_MAX == 0 ) return; // Tier disabled; nothing ever attached
+    synchronized(this) {
+      long adr = _offheap;
+      _offheap = OFFHEAP_CLOSED;
+      if( adr <= 0 ) return;
+      UnsafeUtils.freeMemory(adr);
+      MemoryManager.freeOffHeap(_max);
+    }
+  }
+
   /** The FAST path get-byte-array - final method for speed.  Will (re)build
    *  the mem array from either the POJO or disk.  Never returns NULL.
    *  @return byte[] holding the serialized POJO  */
@@ -116,11 +199,21 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     if( pojo != null )          // Has the POJO, make raw bytes
       return _mem = pojo.asBytes();
     if( _max == 0 ) return (_mem = new byte[0]);
+    byte[] cmem = _cmem;        // Read once!
+    if( cmem != null ) {        // Inflate from the compressed tier
+      byte[] m = MemoryManager.malloc1(_max);
+      LZ4.decompress(cmem,0,cmem.length,m,0,_max);
+      return (_mem = m);
+    }
+    if( _offheap > 0 ) {        // Cheaper than going to disk
+      byte[] m = loadOffHeap();
+      if( m != null ) return (_mem = m);
+    }
     return (_mem = loadPersist());
   }
   // Just an empty shell of a Value, no local data but the Value is "real".
   // Any attempt to look at the Value will require a remote fetch.
-  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && !isPersisted(); }
+  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && !isPersisted() && _offheap <= 0 && _cmem == null; }
 
   /** The FAST path get-POJO as an {@link Iced} subclass - final method for
    *  speed.  Will (re)build the POJO from the _mem array.  Never returns NULL.
@@ -154,9 +247,18 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   }
 
   // ---
-  // Time of last access to this value.
+  // Time of last access to this value, and of the access before that (0 if
+  // none) for frequency-aware eviction; see EvictionPolicy.  Accesses within
+  // CORRELATED_MS of each other (e.g. a burst of gets from a single pass)
+  // count as a single access.
+  static final long CORRELATED_MS = 1000;
   transient long _lastAccessedTime = System.currentTimeMillis();
-  private void touch() {_lastAccessedTime = System.currentTimeMillis();}
+  transient long _prevAccessedTime;
+  private void touch() {
+    long now = System.currentTimeMillis();
+    if( now - _lastAccessedTime > CORRELATED_MS ) _prevAccessedTime = _lastAccessedTime;
+    _lastAccessedTime = now;
+  }
   // Exposed and used for testing only; used to trigger premature cleaning/disk-swapping
   void touchAt(long time) {_lastAccessedTime = time;}
 
@@ -220,6 +322,7 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     // 01       double delete; do nothing
     // 10 -> 11 delete
     // 11       double delete; do nothing
+    freeOffHeap();              // Native copy is never shared; release eagerly
     if( !onICE() ) return;      // Wrong filestore?
     if( isDeleted() ) return;   // Already deleted?
     setDel();                   // Set del bit BEFORE testing isPersist
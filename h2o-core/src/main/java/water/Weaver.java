@@ -83,6 +83,8 @@ public class Weaver {
     Exception e2;
     try {
       T ice = Modifier.isAbstract(clazz.getModifiers()) ? null : (T)_unsafe.allocateInstance(clazz);
+      Icer<T> aot = aotIcer(id,clazz,ice);
+      if( aot != null ) return aot;
       Class icer_clz = javassistLoadClass(id,clazz);
       return (Icer<T>)icer_clz.getDeclaredConstructors()[0].newInstance(ice);
     }
@@ -101,6 +103,79 @@ public class Weaver {
     return name + "$Icer";
   }
 
+  // The name of an Icer made at build time by IcerCompiler.  Kept apart from
+  // the runtime name, so a rejected build-time Icer never shadows a woven one.
+  static String aotClazzName( String name ) {
+    return name + "$AotIcer";
+  }
+
+  // Look for an Icer made at build time.  It is only good if it was made
+  // from this very class (not a reloaded one), for the same type ID, and for
+  // the same field offsets the running JVM uses.  Otherwise return null and
+  // weave as usual.
+  private static <T extends Freezable> Icer<T> aotIcer( int id, Class<T> clazz, T ice ) throws IllegalAccessException, InstantiationException, InvocationTargetException {
+    if( ice == null ) return null;
+    Class icer_clz;
+    try { icer_clz = Class.forName(aotClazzName(clazz.getName()),false,clazz.getClassLoader()); }
+    catch( ClassNotFoundException e ) { return null; }
+    if( icer_clz.getClassLoader() != clazz.getClassLoader() ) return null;
+    try {
+      if( icer_clz.getField("AOT_LAYOUT").getLong(null) != layout(clazz) ) return null;
+    } catch( NoSuchFieldException e ) { return null; }
+    Icer<T> icer = (Icer<T>)icer_clz.getDeclaredConstructors()[0].newInstance(ice);
+    return icer.frozenType() == id ? icer : null;
+  }
+
+  /** Hash of the offsets of the serialized fields of clz and its Freezable
+   *  supers.  Woven code reaches private and final fields with Unsafe at
+   *  these offsets, which depend on the JVM (e.g. on compressed oops). */
+  static long layout( Class clz ) {
+    long h = 0;
+    for( ; clz != null && Freezable.class.isAssignableFrom(clz); clz = clz.getSuperclass() )
+      for( Field f : clz.getDeclaredFields() ) {
+        int mods = f.getModifiers();
+        if( Modifier.isTransient(mods) || Modifier.isStatic(mods) ) continue;
+        // Order-free sum: getDeclaredFields order is not specified
+        h += (clz.getName()+"."+f.getName()).hashCode()*0x9E3779B97F4A7C15L ^ _unsafe.objectFieldOffset(f);
+      }
+    return h;
+  }
+
+  /** Build time: generate the Icer of iced_clazz under its build-time name,
+   *  generating its supers' Icers first.  Icers already made are kept in
+   *  made; Icers of other modules come from the classpath.
+   *  @return the Icer, or null if some class up the chain has no known type
+   *  ID or cannot be woven (it will be woven at runtime instead) */
+  static CtClass genAotIcer( Class iced_clazz, Map<String,CtClass> made ) throws NotFoundException {
+    String iced_name = iced_clazz.getName();
+    if( made.containsKey(iced_name) ) return made.get(iced_name);
+    CtClass icer_cc = _pool.getOrNull(aotClazzName(iced_name)); // Made with another module?
+    if( icer_cc == null ) {
+      int id = TypeMap.knownId(iced_name);
+      Class super_clazz = iced_clazz.getSuperclass();
+      CtClass super_icer_cc = _pool.get(Icer.class.getName());
+      int super_id = -1;
+      if( Freezable.class.isAssignableFrom(super_clazz) ) {
+        super_id = TypeMap.knownId(super_clazz.getName());
+        super_icer_cc = genAotIcer(super_clazz,made);
+      }
+      if( id != -1 && super_icer_cc != null ) {
+        try {
+          icer_cc = genIcerClass(id,_pool.get(iced_name),iced_clazz,aotClazzName(iced_name),super_id,super_icer_cc,true);
+          icer_cc.addField(CtField.make("public static final long AOT_LAYOUT = "+layout(iced_clazz)+"L;",icer_cc));
+        } catch( Exception e ) {
+          icer_cc = null;       // Same failure as weaving at runtime; leave it to the runtime
+        } catch( LinkageError e ) {
+          icer_cc = null;       // e.g. a field type from an optional dependency
+        }
+        CtClass bad = icer_cc == null ? _pool.getOrNull(aotClazzName(iced_name)) : null;
+        if( bad != null ) bad.detach(); // Drop a half-made Icer
+      }
+    }
+    made.put(iced_name,icer_cc);
+    return icer_cc;
+  }
+
 //  private static boolean hasWovenJSONFields( CtClass cc ) throws NotFoundException {
 //    if( !cc.subtypeOf(_freezable) &&
 //        !cc.subtypeOf(_serialize) ) return false; // Cannot serialize in any case
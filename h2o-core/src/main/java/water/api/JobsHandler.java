@@ -23,9 +23,27 @@ public class JobsHandler extends Handler {
       catch (H2ONotFoundArgumentException e) { s.jobs[i] = new JobV3().fillFromImpl(j); }
       i++; // Java does the increment before the function call which throws?!
     }
+    fillRunningTotals(jobs, s.jobs);
     return s;
   }
 
+  // Running Jobs only record their memory and map time totals when they
+  // stop; for the running ones take the last totals collected from the cloud.
+  private static void fillRunningTotals(Job[] jobs, JobV3[] schemas) {
+    int[] running = new int[jobs.length];
+    int n = 0;
+    for (int i = 0; i < jobs.length; i++)
+      if (schemas[i].status.equals("RUNNING") || schemas[i].status.equals("CANCEL_PENDING")) running[n++] = i;
+    if (n == 0) return;
+    Key[] keys = new Key[n];
+    for (int k = 0; k < n; k++) keys[k] = jobs[running[k]]._key;
+    long[][] totals = Job.runningTotals(keys);
+    for (int k = 0; k < n; k++) {
+      schemas[running[k]].mem_allocated = totals[0][k];
+      schemas[running[k]].map_msecs = totals[1][k];
+    }
+  }
+
   @SuppressWarnings("unused") // called through reflection by RequestServer
   public JobsV3 fetch(int version, JobsV3 s) {
     Key key = s.job_id.key();
@@ -40,6 +58,7 @@ public class JobsHandler extends Handler {
     try { s.jobs[0] = (JobV3) SchemaServer.schema(version, j).fillFromImpl(j); }
     // no special schema for this job subclass, so fall back to JobV3
     catch (H2ONotFoundArgumentException e) { s.jobs[0] = new JobV3().fillFromImpl(j); }
+    fillRunningTotals(new Job[]{j}, s.jobs);
     return s;
   }
 
@@ -51,4 +70,14 @@ public class JobsHandler extends Handler {
     j.stop(); // Request Job stop
     return c;
   }
+
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public JobsV3 share(int version, JobsV3 s) {
+    Job j = DKV.getGet(s.job_id.key());
+    if (j == null) {
+      throw new IllegalArgumentException("No job with key " + s.job_id.key());
+    }
+    j.setShare(s.share);
+    return fetch(version, s);
+  }
 }
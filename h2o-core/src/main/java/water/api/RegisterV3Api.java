@@ -132,6 +132,10 @@ public class RegisterV3Api extends AbstractRegister {
         "POST /3/Jobs/{job_id}/cancel", JobsHandler.class, "cancel",
         "Cancel a running job.");
 
+    RequestServer.registerEndpoint("shareJob",
+        "POST /3/Jobs/{job_id}/share", JobsHandler.class, "share",
+        "Set the weight of a job against the others for map threads (with -job_fair_share).");
+
     RequestServer.registerEndpoint("findInFrame",
         "GET /3/Find", FindHandler.class, "find",
         "Find a value within a Frame.");
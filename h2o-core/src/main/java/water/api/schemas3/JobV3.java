@@ -48,6 +48,18 @@ public class JobV3 extends SchemaV3<Job, JobV3> {
   @API(help="ready for view", direction=API.Direction.OUTPUT)
   public boolean ready_for_view;
 
+  @API(help="waiting for cluster memory before starting", direction=API.Direction.OUTPUT)
+  public boolean queued;
+
+  @API(help="bytes allocated cluster-wide on behalf of this job", direction=API.Direction.OUTPUT)
+  public long mem_allocated;
+
+  @API(help="thread time in milliseconds spent cloud-wide mapping data for this job", direction=API.Direction.OUTPUT)
+  public long map_msecs;
+
+  @API(help="weight of this job against the others for map threads, with -job_fair_share", direction=API.Direction.OUTPUT)
+  public int share;
+
   //==========================
   // Custom adapters go here
 
@@ -90,6 +102,10 @@ public class JobV3 extends SchemaV3<Job, JobV3> {
     }
     msec = job.msec();
     ready_for_view = job.readyForView();
+    queued = job.isQueued();
+    mem_allocated = job.mem_allocated();
+    map_msecs = job.map_msecs();
+    share = job.share();
 
     Keyed dest_type = (Keyed)TypeMap.theFreezable(job._typeid);
     dest = job._result == null ? null : KeyV3.make(dest_type.makeSchema(),job._result);
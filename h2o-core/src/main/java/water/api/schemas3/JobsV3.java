@@ -8,6 +8,9 @@ public class JobsV3 extends RequestSchemaV3<Iced,JobsV3> {
   @API(help="Optional Job identifier")
   public KeyV3.JobKeyV3 job_id;
 
+  @API(help="New share of the Job, at least 1", direction=API.Direction.INPUT)
+  public int share;
+
   // Output fields
   @API(help="jobs", direction=API.Direction.OUTPUT)
   public JobV3[] jobs;
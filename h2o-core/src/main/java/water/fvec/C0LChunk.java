@@ -87,4 +87,18 @@ public class C0LChunk extends Chunk {
     for(int i:ids) vals[j++] = _con;
     return vals;
   }
+
+  @Override
+  public int [] getIntegers(int [] vals, int from, int to, int NA){
+    if( (int)_con != _con ) return super.getIntegers(vals,from,to,NA); // Throws
+    for(int i = from; i < to; ++i)
+      vals[i-from] = (int)_con;
+    return vals;
+  }
+  @Override
+  public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; ++i)
+      vals[i-from] = _con;
+    return vals;
+  }
 }
@@ -85,4 +85,12 @@ public class C1Chunk extends Chunk {
     return vals;
   }
 
+  @Override
+  public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; ++i) {
+      long res = 0xFF & _mem[i];
+      vals[i - from] = res != _NA?res:NA;
+    }
+    return vals;
+  }
 }
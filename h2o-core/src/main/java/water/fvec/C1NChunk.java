@@ -66,4 +66,10 @@ public class C1NChunk extends Chunk {
     return vals;
   }
 
+  @Override
+  public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; ++i)
+      vals[i - from] = 0xFF & _mem[i];
+    return vals;
+  }
 }
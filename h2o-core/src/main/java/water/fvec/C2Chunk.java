@@ -89,4 +89,12 @@ public class C2Chunk extends Chunk {
     return vals;
   }
 
+  @Override
+  public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; ++i) {
+      long res = UnsafeUtils.get2(_mem, i << 1);
+      vals[i - from] = res != _NA?res:NA;
+    }
+    return vals;
+  }
 }
@@ -84,4 +84,12 @@ public class C4Chunk extends Chunk {
     return vals;
   }
 
+  @Override
+  public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; ++i) {
+      long res = UnsafeUtils.get4(_mem, i << 2);
+      vals[i - from] = res != _NA?res:NA;
+    }
+    return vals;
+  }
 }
@@ -69,4 +69,12 @@ public class C8Chunk extends Chunk {
     return vals;
   }
 
+  @Override
+  public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; ++i) {
+      long res = UnsafeUtils.get8(_mem, i << 3);
+      vals[i - from] = res != _NA?res:NA;
+    }
+    return vals;
+  }
 }
@@ -0,0 +1,157 @@
+package water.fvec;
+
+import water.MemoryManager;
+import water.util.PrettyPrint;
+import water.util.UnsafeUtils;
+
+/**
+ * The frame-of-reference bit-packing function: integers stored as
+ * (value/10^exp - bias) in any width from 1 to 63 bits, back to back with no
+ * byte alignment.  The all-ones code is the NA.  A column spanning 0..3000
+ * takes 12 bits a row here, rather than the 16 of a C2Chunk; a column of
+ * millisecond timestamps within a few days takes ~28 bits rather than 64.
+ *
+ * Rows are read with one unaligned 8-byte load (two for widths over 56
+ * bits); the data is followed by 8 bytes of padding so the load never runs
+ * off the end.
+ */
+public class CBPChunk extends Chunk {
+  static final int _OFF = 8 + 4 + 1 + 1 + 2; // bias + _len + bits + exponent + pad
+  private transient long _bias;
+  private transient int _bits;
+  private transient int _exp;
+  private transient long _mul;    // 10^_exp
+  private transient long _mask;   // Low _bits set; also the NA code
+  public static int bitsFor(long range) { return 64 - Long.numberOfLeadingZeros(range+1); }
+  public static int computeByteSize(int bits, int len) {
+    return _OFF + (int)(((long)len*bits + 7) >> 3) + 8;
+  }
+  CBPChunk() {}
+  CBPChunk(byte[] bs) { _mem = bs; initFromBytes(); }
+  // Header for a fresh buffer; rows are then filled in with pack()
+  static byte[] alloc(int len, long bias, int exp, int bits) {
+    assert 1 <= bits && bits <= 63;
+    byte[] bs = MemoryManager.malloc1(computeByteSize(bits, len));
+    UnsafeUtils.set8(bs, 0, bias);
+    UnsafeUtils.set4(bs, 8, len);
+    bs[12] = (byte)bits;
+    bs[13] = (byte)exp;
+    return bs;
+  }
+  // Write code c at row i of a buffer of the given width
+  static void pack(byte[] bs, int bits, int i, long c) {
+    long p = (long)i*bits;
+    int o = _OFF + (int)(p >>> 3), s = (int)(p & 7);
+    long mask = (1L << bits) - 1;
+    c &= mask;
+    UnsafeUtils.set8(bs, o, (UnsafeUtils.get8(bs, o) & ~(mask << s)) | (c << s));
+    if( s + bits > 64 ) {       // Spills into a 9th byte
+      int hi = 64 - s;
+      bs[o+8] = (byte)((bs[o+8] & ~(mask >>> hi)) | (c >>> hi));
+    }
+  }
+  private long code( int i ) {
+    long p = (long)i*_bits;
+    int o = _OFF + (int)(p >>> 3), s = (int)(p & 7);
+    long c = UnsafeUtils.get8(_mem, o) >>> s;
+    if( s + _bits > 64 ) c |= (long)(_mem[o+8] & 0xFF) << (64 - s);
+    return c & _mask;
+  }
+  public int bits() { return _bits; }
+  @Override public boolean hasFloat() { return false; }
+
+  @Override protected final long at8_impl( int i ) {
+    long c = code(i);
+    if( c == _mask ) throw new IllegalArgumentException("at8_impl but value is missing");
+    return (c + _bias)*_mul;
+  }
+  @Override protected final double atd_impl( int i ) {
+    long c = code(i);
+    return c == _mask ? Double.NaN : (c + _bias)*_mul;
+  }
+  @Override protected final boolean isNA_impl( int i ) { return code(i) == _mask; }
+  @Override boolean set_impl(int idx, long l) {
+    if( l % _mul != 0 ) return false;
+    long c = l/_mul - _bias;
+    if( c < 0 || c >= _mask ) return false; // Out-o-range, or the NA code
+    pack(_mem, _bits, idx, c);
+    return true;
+  }
+  @Override boolean set_impl(int idx, double d) {
+    return (long)d == d && set_impl(idx, (long)d);
+  }
+  @Override boolean set_impl(int idx, float f ) { return set_impl(idx, (double)f); }
+  @Override boolean setNA_impl(int idx) { pack(_mem, _bits, idx, _mask); return true; }
+  @Override public NewChunk inflate_impl(NewChunk nc) {
+    nc.set_sparseLen(0);
+    nc.set_len(0);
+    for( int i=0; i< _len; i++ ) {
+      long c = code(i);
+      if( c == _mask ) nc.addNA();
+      else nc.addNum(c + _bias, _exp);
+    }
+    return nc;
+  }
+
+  /**
+   * Dense bulk interface, fetch values from the given range.  Walks the bit
+   * offset incrementally rather than recomputing it per row.
+   */
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA) {
+    if( _bits > 56 ) {
+      for( int i = from; i < to; ++i ) vals[i-from] = isNA_impl(i) ? NA : at8_impl(i);
+      return vals;
+    }
+    final byte[] mem = _mem;
+    final long mask = _mask, bias = _bias, mul = _mul;
+    final int bits = _bits;
+    long p = (long)from*bits;
+    for( int i = 0; i < to-from; ++i, p += bits ) {
+      long c = (UnsafeUtils.get8(mem, _OFF + (int)(p >>> 3)) >>> (p & 7)) & mask;
+      vals[i] = c == mask ? NA : (c + bias)*mul;
+    }
+    return vals;
+  }
+  @Override public double [] getDoubles(double [] vals, int [] ids) {
+    int j = 0;
+    for( int i : ids ) vals[j++] = atd_impl(i);
+    return vals;
+  }
+  @Override public int [] getIntegers(int [] vals, int from, int to, int NA) {
+    for( int i = from; i < to; ++i ) {
+      long c = code(i);
+      if( c == _mask ) vals[i-from] = NA;
+      else {
+        long l = (c + _bias)*_mul;
+        if( (int)l != l ) throw new IllegalArgumentException("Calling getIntegers on non-integer column");
+        vals[i-from] = (int)l;
+      }
+    }
+    return vals;
+  }
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA) {
+    if( _bits > 56 ) {
+      for( int i = from; i < to; ++i ) vals[i-from] = isNA_impl(i) ? NA : at8_impl(i);
+      return vals;
+    }
+    final byte[] mem = _mem;
+    final long mask = _mask, bias = _bias, mul = _mul;
+    final int bits = _bits;
+    long p = (long)from*bits;
+    for( int i = 0; i < to-from; ++i, p += bits ) {
+      long c = (UnsafeUtils.get8(mem, _OFF + (int)(p >>> 3)) >>> (p & 7)) & mask;
+      vals[i] = c == mask ? NA : (c + bias)*mul;
+    }
+    return vals;
+  }
+
+  @Override protected final void initFromBytes () {
+    _start = -1;  _cidx = -1;
+    _bias = UnsafeUtils.get8(_mem, 0);
+    set_len(UnsafeUtils.get4(_mem, 8));
+    _bits = _mem[12];
+    _exp = _mem[13];
+    _mul = PrettyPrint.pow10i(_exp);
+    _mask = (1L << _bits) - 1;
+  }
+}
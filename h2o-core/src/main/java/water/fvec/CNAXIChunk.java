@@ -34,6 +34,10 @@ public class CNAXIChunk extends CXIChunk {
     return _sparseLen;
   }
 
+  // NAs are the rows not stored; every stored value is valid
+  @Override protected double getDValue(int off, double NA) { return getIValue(off); }
+  @Override protected long getLValue(int off, long NA) { return getIValue(off); }
+
   @Override protected long at8_impl(int idx) {
     int off = findOffset(idx);
     if(getId(off) != idx) throw new IllegalArgumentException("at8_abs but value is missing");
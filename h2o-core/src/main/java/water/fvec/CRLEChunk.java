@@ -0,0 +1,128 @@
+package water.fvec;
+
+import water.MemoryManager;
+import water.util.UnsafeUtils;
+
+import java.util.Arrays;
+
+/**
+ * The run-length compression function: each run of equal values is stored
+ * once, as its (exclusive) end row and its value.  Good for sorted or slowly
+ * changing columns - IDs, dates, low-cardinality keys of a sorted Frame.
+ * Row lookup is a binary search over the run ends, short-cut for the common
+ * in-order access; the bulk decoders fill whole runs at a time.
+ */
+public class CRLEChunk extends Chunk {
+  static final int _OFF = 4 + 4 + 4; // _len + nruns + hasFloat
+  public static int computeByteSize(int runs) { return _OFF + runs*(4+8); }
+  private transient int _nruns;
+  private transient int _valOff;   // Start of the run values
+  private transient boolean _hasFloat;
+  private transient int _lastRun;  // Run of the last lookup; racy but only a hint
+  CRLEChunk() {}
+  CRLEChunk(double[] ds, int len, int nruns, boolean hasFloat) {
+    _start = -1;
+    set_len(len);
+    _mem = MemoryManager.malloc1(computeByteSize(nruns), false);
+    UnsafeUtils.set4(_mem, 0, len);
+    UnsafeUtils.set4(_mem, 4, nruns);
+    UnsafeUtils.set4(_mem, 8, hasFloat ? 1 : 0);
+    initFromBytes();
+    int r = 0;
+    for( int i = 1; i <= len; ++i )
+      if( i == len || Double.doubleToLongBits(ds[i]) != Double.doubleToLongBits(ds[i-1]) ) {
+        UnsafeUtils.set4(_mem, _OFF + (r << 2), i);
+        UnsafeUtils.set8d(_mem, _valOff + (r << 3), ds[i-1]);
+        r++;
+      }
+    assert r == nruns : "expected "+nruns+" runs, found "+r;
+  }
+  public int numRuns() { return _nruns; }
+  private int end( int r ) { return UnsafeUtils.get4(_mem, _OFF + (r << 2)); }
+  private double val( int r ) { return UnsafeUtils.get8d(_mem, _valOff + (r << 3)); }
+
+  // Index of the run holding row i
+  private int run( int i ) {
+    int r = _lastRun;
+    if( r < _nruns && (r == 0 || end(r-1) <= i) && i < end(r) ) return r;
+    if( ++r < _nruns && end(r-1) <= i && i < end(r) ) return _lastRun = r;
+    int lo = 0, hi = _nruns-1;  // First run ending after i
+    while( lo < hi ) {
+      int mid = (lo + hi) >>> 1;
+      if( end(mid) <= i ) lo = mid+1;
+      else hi = mid;
+    }
+    return _lastRun = lo;
+  }
+
+  @Override public boolean hasFloat() { return _hasFloat; }
+  @Override protected final long at8_impl( int i ) {
+    double res = atd_impl(i);
+    if( Double.isNaN(res) ) throw new IllegalArgumentException("at8_impl but value is missing");
+    return (long)res;
+  }
+  @Override protected final double atd_impl( int i ) { return val(run(i)); }
+  @Override protected final boolean isNA_impl( int i ) { return Double.isNaN(atd_impl(i)); }
+  @Override boolean set_impl(int idx, long l)   { return false; }
+  @Override boolean set_impl(int idx, double d) { return false; }
+  @Override boolean set_impl(int idx, float f ) { return false; }
+  @Override boolean setNA_impl(int idx) { return false; }
+
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA) {
+    for( int r = run(from), i = from; i < to; ++r ) {
+      int e = Math.min(end(r), to);
+      double d = val(r);
+      Arrays.fill(vals, i-from, e-from, Double.isNaN(d) ? NA : d);
+      i = e;
+    }
+    return vals;
+  }
+  @Override public double [] getDoubles(double [] vals, int [] ids) {
+    int j = 0;
+    for( int i : ids ) vals[j++] = atd_impl(i);
+    return vals;
+  }
+  @Override public int [] getIntegers(int [] vals, int from, int to, int NA) {
+    for( int r = run(from), i = from; i < to; ++r ) {
+      int e = Math.min(end(r), to);
+      double d = val(r);
+      int x = Double.isNaN(d) ? NA : (int)d;
+      if( !Double.isNaN(d) && x != d ) throw new IllegalArgumentException("Calling getIntegers on non-integer column");
+      Arrays.fill(vals, i-from, e-from, x);
+      i = e;
+    }
+    return vals;
+  }
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA) {
+    for( int r = run(from), i = from; i < to; ++r ) {
+      int e = Math.min(end(r), to);
+      double d = val(r);
+      long x = Double.isNaN(d) ? NA : (long)d;
+      if( !Double.isNaN(d) && x != d ) throw new IllegalArgumentException("Calling getLongs on non-integer column");
+      Arrays.fill(vals, i-from, e-from, x);
+      i = e;
+    }
+    return vals;
+  }
+
+  @Override public NewChunk inflate_impl(NewChunk nc) {
+    nc.set_sparseLen(0);
+    nc.set_len(0);
+    for( int r = 0, i = 0; r < _nruns; ++r ) {
+      int e = end(r);
+      double d = val(r);
+      if( Double.isNaN(d) ) nc.addNAs(e-i);
+      else if( _hasFloat ) for( ; i < e; ++i ) nc.addNum(d);
+      else for( ; i < e; ++i ) nc.addNum((long)d,0);
+      i = e;
+    }
+    return nc;
+  }
+  @Override protected final void initFromBytes () {
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem, 0));
+    _nruns = UnsafeUtils.get4(_mem, 4);
+    _hasFloat = UnsafeUtils.get4(_mem, 8) != 0;
+    _valOff = _OFF + (_nruns << 2);
+  }
+}
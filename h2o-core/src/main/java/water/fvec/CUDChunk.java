@@ -1,6 +1,5 @@
 package water.fvec;
 
-import water.AutoBuffer;
 import water.MemoryManager;
 import water.util.UnsafeUtils;
 
@@ -8,44 +7,74 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * The "few unique doubles"-compression function
+ * The "few unique doubles"-compression function: a dictionary of up to
+ * MAX_UNIQUES values stored once, and a bit-packed index per row.  Indices
+ * take 1, 2, 4 or 8 bits - always a power of 2, so an index never straddles a
+ * byte.  Used for low-cardinality reals, and for integer columns whose few
+ * distinct values span too wide a range for a narrow fixed-width Chunk.
  */
 public class CUDChunk extends Chunk {
   public static int MAX_UNIQUES=256;
+  static final int _OFF = 4 + 4 + 1 + 1; // _len + numUniques + bits + hasFloat
+  public static int bitsPerIndex(int uniques) {
+    return uniques <= 2 ? 1 : uniques <= 4 ? 2 : uniques <= 16 ? 4 : 8;
+  }
   public static int computeByteSize(int uniques, int len) {
-    return 4 + 4 // _len + numUniques
+    return _OFF
             + (uniques << 3) //unique double values
-            + (len << 1); //mapping of row -> unique value index (0...255)
+            + (int)(((long)len*bitsPerIndex(uniques) + 7) >> 3); //mapping of row -> unique value index (0...255)
   }
   int numUniques;
+  private transient int _bits;     // Bits per row index
+  private transient int _idxOff;   // Start of the packed indices
+  private transient boolean _hasFloat;
   CUDChunk() {}
   CUDChunk(byte[] bs, HashMap<Long,Byte> hs, int len) {
+    this(hs, len, true);
+    // store the mapping
+    for (int i=0; i<len; ++i)
+      setIdx(i, hs.get(Double.doubleToLongBits(UnsafeUtils.get8d(bs, i << 3)))+128);
+  }
+  CUDChunk(double[] ds, HashMap<Long,Byte> hs, int len, boolean hasFloat) {
+    this(hs, len, hasFloat);
+    for (int i=0; i<len; ++i)
+      setIdx(i, hs.get(Double.doubleToLongBits(ds[i]))+128);
+  }
+  private CUDChunk(HashMap<Long,Byte> hs, int len, boolean hasFloat) {
     _start = -1;
     numUniques = hs.size();
     set_len(len);
     _mem = MemoryManager.malloc1(computeByteSize(numUniques, _len), false);
     UnsafeUtils.set4(_mem, 0, _len);
     UnsafeUtils.set4(_mem, 4, numUniques);
+    _mem[8] = (byte)(_bits = bitsPerIndex(numUniques));
+    _mem[9] = (byte)((_hasFloat = hasFloat) ? 1 : 0);
+    _idxOff = _OFF + (numUniques << 3);
     int j=0;
     //create the mapping and also store the unique values (as longs)
     for (Map.Entry<Long,Byte> e : hs.entrySet()) {
       e.setValue(new Byte((byte)(j-128))); //j is in 0...256  -> byte value needs to be in -128...127 for storage
-      UnsafeUtils.set8(_mem, 8 + (j << 3), e.getKey());
+      UnsafeUtils.set8(_mem, _OFF + (j << 3), e.getKey());
       j++;
     }
-    // store the mapping
-    for (int i=0; i<len; ++i)
-      UnsafeUtils.set1(_mem, 8 + (numUniques << 3) + i, hs.get(Double.doubleToLongBits(UnsafeUtils.get8d(bs, i << 3))));
   }
+  private int idx( int i ) {
+    int p = i*_bits;
+    return (_mem[_idxOff + (p >>> 3)] >>> (p & 7)) & ((1 << _bits) - 1);
+  }
+  private void setIdx( int i, int j ) {
+    int p = i*_bits, o = _idxOff + (p >>> 3), mask = ((1 << _bits) - 1) << (p & 7);
+    _mem[o] = (byte)((_mem[o] & ~mask) | (j << (p & 7)));
+  }
+  private double unique( int j ) { return Double.longBitsToDouble(UnsafeUtils.get8(_mem, _OFF + (j << 3))); }
+
+  @Override public boolean hasFloat() { return _hasFloat; }
   @Override protected final long   at8_impl( int i ) {
     double res = atd_impl(i);
     if( Double.isNaN(res) ) throw new IllegalArgumentException("at8_impl but value is missing");
     return (long)res;
   }
-  @Override protected final double   atd_impl( int i ) {
-    int whichUnique = (UnsafeUtils.get1(_mem, 8 + (numUniques << 3) + i)+128);
-    return Double.longBitsToDouble(UnsafeUtils.get8(_mem, 8 + (whichUnique << 3)));
-  }
+  @Override protected final double   atd_impl( int i ) { return unique(idx(i)); }
 
   @Override public double [] getDoubles(double [] vals, int from, int to) {
     return getDoubles(vals,from,to,Double.NaN);
@@ -53,21 +82,49 @@ public class CUDChunk extends Chunk {
   @Override public double [] getDoubles(double [] vals, int from, int to, double NA) {
     double [] uniques = new double[numUniques];
     for(int i = 0; i < numUniques; ++i) {
-      uniques[i] = Double.longBitsToDouble(UnsafeUtils.get8(_mem, 8 + (i << 3)));
+      uniques[i] = unique(i);
       if(Double.isNaN(uniques[i]))
         uniques[i] = NA;
     }
-    for(int i = 0; i < _len; ++i)
-      vals[i] = uniques[(UnsafeUtils.get1(_mem, 8 + (numUniques << 3) + i)+128)];
+    for(int i = from; i < to; ++i)
+      vals[i-from] = uniques[idx(i)];
+    return vals;
+  }
+  @Override public double [] getDoubles(double [] vals, int [] ids) {
+    int j = 0;
+    for(int i:ids) vals[j++] = unique(idx(i));
+    return vals;
+  }
+  @Override public int [] getIntegers(int [] vals, int from, int to, int NA) {
+    if( _hasFloat ) return super.getIntegers(vals,from,to,NA);
+    int [] uniques = new int[numUniques];
+    for(int i = 0; i < numUniques; ++i) {
+      double d = unique(i);
+      uniques[i] = Double.isNaN(d) ? NA : (int)d;
+      if( !Double.isNaN(d) && uniques[i] != d ) return super.getIntegers(vals,from,to,NA); // Let it throw
+    }
+    for(int i = from; i < to; ++i)
+      vals[i-from] = uniques[idx(i)];
+    return vals;
+  }
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA) {
+    if( _hasFloat ) return super.getLongs(vals,from,to,NA);
+    long [] uniques = new long[numUniques];
+    for(int i = 0; i < numUniques; ++i) {
+      double d = unique(i);
+      uniques[i] = Double.isNaN(d) ? NA : (long)d;
+    }
+    for(int i = from; i < to; ++i)
+      vals[i-from] = uniques[idx(i)];
     return vals;
   }
 
   @Override protected final boolean isNA_impl( int i ) { return Double.isNaN(atd_impl(i)); }
-  @Override boolean set_impl(int idx, long l) { return false; }
+  @Override boolean set_impl(int idx, long l) { return !_hasFloat && set_impl(idx, (double)l); }
   @Override boolean set_impl(int i, double d) {
     for (int j = 0; j < numUniques; ++j) {
-      if (Double.compare(Double.doubleToLongBits(d), UnsafeUtils.get8(_mem, 8 + (j << 3))) == 0) {
-        UnsafeUtils.set1(_mem, 8 + (numUniques << 3) + i, (byte) (j-128));
+      if (Double.compare(Double.doubleToLongBits(d), UnsafeUtils.get8(_mem, _OFF + (j << 3))) == 0) {
+        setIdx(i, j);
         return true;
       }
     }
@@ -80,6 +137,16 @@ public class CUDChunk extends Chunk {
     return set_impl(idx, Double.NaN);
   }
   @Override public NewChunk inflate_impl(NewChunk nc) {
+    if( !_hasFloat ) {          // Keep integers as integers
+      nc.set_sparseLen(0);
+      nc.set_len(0);
+      for( int i=0; i< _len; i++ ) {
+        double d = atd_impl(i);
+        if( Double.isNaN(d) ) nc.addNA();
+        else nc.addNum((long)d,0);
+      }
+      return nc;
+    }
     nc.alloc_doubles(_len);
     for( int i=0; i< _len; i++ )
       nc.doubles()[i] = atd_impl(i);
@@ -90,6 +157,9 @@ public class CUDChunk extends Chunk {
     _start = -1;  _cidx = -1;
     _len = UnsafeUtils.get4(_mem, 0);
     numUniques = UnsafeUtils.get4(_mem, 4);
+    _bits = _mem[8];
+    _hasFloat = _mem[9] != 0;
+    _idxOff = _OFF + (numUniques << 3);
     set_len(_len);
   }
 }
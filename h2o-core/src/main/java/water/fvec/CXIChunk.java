@@ -37,24 +37,49 @@ public class CXIChunk extends Chunk {
     assert (_mem.length - _OFF) % (_valsz+_ridsz) == 0:"unexpected mem buffer length: mem.length = " + _mem.length + ", off = " + _OFF + ", valSz = " + _valsz + "ridsz = " + _ridsz;
   }
 
+  // Bulk decode walks the sparse entries of the range in order, rather than
+  // binary-searching for every row.
   @Override public double [] getDoubles(double [] vals,int from, int to, double NA){
-    double fill = isSparseNA()?NA:0;
-    if(from == 0 && to == _len) {
-      Arrays.fill(vals,fill);
-      double [] svals = new double[_sparseLen];
-      int [] sids = new int[_sparseLen];
-      asSparseDoubles(svals,sids, NA);
-      for(int i = 0; i < sids.length && sids[i] < to; ++i)
-        vals[sids[i]] = svals[i];
-    } else {
-      for(int i = from; i < to; ++i)
-        vals[i-from] = fill;
-      for(int i= nextNZ(from-1); i < to; i = nextNZ(i))
-        vals[i-from] = atd(i);
+    Arrays.fill(vals,0,to-from,isSparseNA()?NA:0);
+    if( from >= to || _sparseLen == 0 ) return vals;
+    final int inc = _valsz + _ridsz;
+    for( int off = firstOffset(from); off < _mem.length; off += inc ) {
+      int id = getId(off);
+      if( id >= to ) break;
+      vals[id-from] = getDValue(off,NA);
+    }
+    return vals;
+  }
+
+  @Override public long [] getLongs(long [] vals,int from, int to, long NA){
+    if( hasFloat() ) return super.getLongs(vals,from,to,NA);
+    Arrays.fill(vals,0,to-from,isSparseNA()?NA:0);
+    if( from >= to || _sparseLen == 0 ) return vals;
+    final int inc = _valsz + _ridsz;
+    for( int off = firstOffset(from); off < _mem.length; off += inc ) {
+      int id = getId(off);
+      if( id >= to ) break;
+      vals[id-from] = getLValue(off,NA);
     }
     return vals;
   }
 
+  // Offset of the first stored entry at or after row idx
+  private int firstOffset(int idx) {
+    int off = findOffset(idx);
+    return getId(off) < idx ? off + _valsz + _ridsz : off;
+  }
+
+  // Value of the stored entry at off, or NA; overridden per representation
+  protected double getDValue(int off, double NA) {
+    long v = getIValue(off);
+    return v == NAS[_valsz_log]?NA:v;
+  }
+  protected long getLValue(int off, long NA) {
+    long v = getIValue(off);
+    return v == NAS[_valsz_log]?NA:v;
+  }
+
   @Override public NewChunk inflate_impl(NewChunk nc) {
     nc.alloc_nums(_sparseLen);
     nc.alloc_indices(_sparseLen);
@@ -113,50 +113,93 @@ public abstract class Chunk extends Iced<Chunk> {
   public Chunk() {}
   private Chunk(byte [] bytes) {_mem = bytes;initFromBytes();}
 
+  /*
+   * Bulk decode.  Hot loops should pull a row range out into a caller-owned
+   * array with one call, rather than pay a virtual atd()/at8() call plus the
+   * per-type decode on every row.  The defaults below fall back on the
+   * per-row accessors; the compressed representations override them with a
+   * tight loop over their own encoding.
+   */
+
   /**
    * Sparse bulk interface, stream through the compressed values and extract them into dense double array.
    * @param vals holds extracted values, length must be >= this.sparseLen()
-   * @param vals holds extracted chunk-relative row ids, length must be >= this.sparseLen()
+   * @param ids holds extracted chunk-relative row ids, length must be >= this.sparseLen()
    * @return number of extracted (non-zero) elements, equal to sparseLen()
    */
   public int asSparseDoubles(double[] vals, int[] ids){return asSparseDoubles(vals,ids,Double.NaN);}
   public int asSparseDoubles(double [] vals, int [] ids, double NA) {
     if(vals.length < sparseLenZero())
       throw new IllegalArgumentException();
-    getDoubles(vals,0,_len);
-    for(int i = 0; i < _len; ++i) ids[i] = i;
-    return len();
+    if(!isSparseZero()) {
+      getDoubles(vals,0,_len,NA);
+      for(int i = 0; i < _len; ++i) ids[i] = i;
+      return len();
+    }
+    int j = 0;
+    for(int i = nextNZ(-1); i < _len; i = nextNZ(i), ++j) {
+      double d = atd(i);
+      vals[j] = Double.isNaN(d)?NA:d;
+      ids[j] = i;
+    }
+    return j;
   }
 
   /**
    * Dense bulk interface, fetch values from the given range
-   * @param vals
-   * @param from
-   * @param to
+   * @param vals receives rows [from,to) at vals[0,to-from)
+   * @param from first row, inclusive
+   * @param to last row, exclusive
    */
   public double [] getDoubles(double[] vals, int from, int to){ return getDoubles(vals,from,to, Double.NaN);}
+  /** As {@link #getDoubles(double[],int,int)}, with missing values replaced by NA */
   public double [] getDoubles(double [] vals, int from, int to, double NA){
+    if( _chk2 != null ) return _chk2.getDoubles(vals,from,to,NA);
     for(int i = from; i < to; ++i) {
-      vals[i - from] = atd(i);
+      vals[i - from] = atd_impl(i);
       if(Double.isNaN(vals[i-from]))
         vals[i - from] = NA;
     }
     return vals;
   }
 
+  /**
+   * Dense bulk interface for integer columns, fetch rows [from,to) into
+   * vals[0,to-from), with missing values replaced by NA.
+   * @throws IllegalArgumentException on a non-integer value
+   */
   public int [] getIntegers(int [] vals, int from, int to, int NA){
+    if( _chk2 != null ) return _chk2.getIntegers(vals,from,to,NA);
     for(int i = from; i < to; ++i) {
-      double d = atd(i);
+      double d = atd_impl(i);
       if(Double.isNaN(d))
-        vals[i] = NA;
+        vals[i - from] = NA;
       else {
-        vals[i] = (int)d;
-        if(vals[i] != d) throw new IllegalArgumentException("Calling getIntegers on non-integer column");
+        vals[i - from] = (int)d;
+        if(vals[i - from] != d) throw new IllegalArgumentException("Calling getIntegers on non-integer column");
       }
     }
     return vals;
   }
 
+  /**
+   * Dense bulk interface for integer columns, fetch rows [from,to) into
+   * vals[0,to-from), with missing values replaced by NA.  Values are exact,
+   * as for {@link #at8}.
+   * @throws IllegalArgumentException on a non-integer value
+   */
+  public long [] getLongs(long [] vals, int from, int to, long NA){
+    if( _chk2 != null ) return _chk2.getLongs(vals,from,to,NA);
+    for(int i = from; i < to; ++i) {
+      if( isNA_impl(i) ) vals[i - from] = NA;
+      else {
+        double d = atd_impl(i);
+        vals[i - from] = at8_impl(i);
+        if(vals[i - from] != d) throw new IllegalArgumentException("Calling getLongs on non-integer column");
+      }
+    }
+    return vals;
+  }
 
   /**
    * Dense bulk interface, fetch values from the given ids
@@ -164,8 +207,9 @@ public abstract class Chunk extends Iced<Chunk> {
    * @param ids
    */
   public double[] getDoubles(double [] vals, int [] ids){
+    if( _chk2 != null ) return _chk2.getDoubles(vals,ids);
     int j = 0;
-    for(int i:ids) vals[j++] = atd(i);
+    for(int i:ids) vals[j++] = atd_impl(i);
     return vals;
   }
   /** Global starting row for this local Chunk; a read-only field. */
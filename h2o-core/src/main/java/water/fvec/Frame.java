@@ -254,6 +254,27 @@ public class Frame extends Lockable<Frame> {
    * @return the array of keys for each vec in the frame.
    */
   public Key<Vec>[] keys() { return _keys; }
+
+  /** Read-lock, and with {@code -pin_job_frames} also pin the Vecs in memory
+   *  on all nodes until the Job unlocks. */
+  @Override public void read_lock( Key<Job> job_key ) {
+    super.read_lock(job_key);
+    if( H2O.ARGS.pin_job_frames && job_key != null && _key != null )
+      EvictionPolicy.pin(job_key, _keys);
+  }
+  @Override public Frame unlock( Key<Job> job_key, boolean exact ) {
+    Frame fr = super.unlock(job_key, exact);
+    if( H2O.ARGS.pin_job_frames && job_key != null && _key != null )
+      EvictionPolicy.unpin(job_key, _keys);
+    return fr;
+  }
+  @Override public void unlock_all() {
+    Key<Job>[] lockers = _lockers;
+    super.unlock_all();
+    if( H2O.ARGS.pin_job_frames && lockers != null )
+      for( Key<Job> job_key : lockers )
+        if( job_key != null ) EvictionPolicy.unpin(job_key, _keys);
+  }
   public Iterable<Key<Vec>> keysList() { return Arrays.asList(_keys); }
 
   /** The internal array of Vecs.  For efficiency Frames contain an array of
@@ -719,6 +740,7 @@ public class Frame extends Lockable<Frame> {
     new MRTask() {
       @Override public void setupLocal() {
         for( Key k : keys ) if( k != null ) Vec.bulk_remove(k,ncs);
+        EvictionPolicy.dropLocal(keys); // Whoever pinned them
       }
     }.doAllNodes();
 
@@ -1317,6 +1339,9 @@ public class Frame extends Lockable<Frame> {
         if(!pred.isNA(ids[i]))
           selectedIds[non_nas++] = ids[i];
       selected = non_nas;
+      // Nothing picked, e.g. a comparison decided by a zone map: the
+      // predicate is a constant zero Chunk and no column need be decoded
+      if (selected == 0) return;
       for (int i = 0; i < chks.length - 1; ++i) {
         Chunk c = chks[i]; // do not need to inflate cause sparse does not compress doubles
         NewChunk nc = nchks[i];
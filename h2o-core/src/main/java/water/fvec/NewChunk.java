@@ -1013,7 +1013,7 @@ public class NewChunk extends Chunk {
   // Study this NewVector and determine an appropriate compression scheme.
   // Return the data so compressed.
   public Chunk compress() {
-    Chunk res = compress2();
+    Chunk res = chunkRunsOrUniques(compress2());
     byte type = type();
     assert _vec == null ||  // Various testing scenarios do not set a Vec
       type == _vec._type || // Equal types
@@ -1259,6 +1259,19 @@ public class NewChunk extends Chunk {
       return chunkD();
     } // else an integer column
 
+    // Bit-pack the span when that is at least 20% smaller than the next
+    // whole-byte width: 0..3000 takes 12 bits not 16, and a narrow window of
+    // large values (timestamps, IDs) avoids the unbiased C4/C8 Chunks.
+    if( xmin < p10iLength && leRange < Long.MAX_VALUE ) {
+      int bits = CBPChunk.bitsFor(leRange);
+      // The width the byte/short/int branches below would pick
+      boolean c1n = xmin == 0 && 0 <= lemin && lemax <= 255 && (_naCnt + _catCnt) == 0;
+      int fixed = c1n || leRange < 255 ? 8 : leRange < 65535 ? 16
+        : (Integer.MIN_VALUE < min && max <= Integer.MAX_VALUE) ? 32 : 64;
+      if( bits < 64 && CBPChunk.computeByteSize(bits,_len) <= 0.8*((long)_len*fixed >> 3) )
+        return new CBPChunk(bufBP(lemin,xmin,bits));
+    }
+
     // Compress column into a byte
     if(xmin == 0 &&  0<=lemin && lemax <= 255 && ((_naCnt + _catCnt)==0) )
       return new C1NChunk( bufX(0,0,C1NChunk._OFF,0));
@@ -1385,6 +1398,30 @@ public class NewChunk extends Chunk {
     return bs;
   }
 
+  // Compute a bit-packed integer buffer
+  private byte[] bufBP( long bias, int scale, int bits ) {
+    byte[] bs = CBPChunk.alloc(_len, bias, scale, bits);
+    final long na = (1L << bits) - 1;
+    int j = 0;
+    for( int i=0; i< _len; i++ ) {
+      long le = -bias;
+      if(_id == null || _id.length == 0 || (j < _id.length && _id[j] == i)){
+        if( isNA2(j) ) {
+          le = na;
+        } else {
+          int x = (_xs.get(j)==Integer.MIN_VALUE+1 ? 0 : _xs.get(j))-scale;
+          le += x >= 0
+              ? _ms.get(j)*PrettyPrint.pow10i( x)
+              : _ms.get(j)/PrettyPrint.pow10i(-x);
+        }
+        ++j;
+      }
+      CBPChunk.pack(bs, bits, i, le);
+    }
+    assert j == _sparseLen :"j = " + j + ", _sparseLen = " + _sparseLen;
+    return bs;
+  }
+
   // Compute a compressed double buffer
   private Chunk chunkD() {
     HashMap<Long,Byte> hs = new HashMap<>(CUDChunk.MAX_UNIQUES);
@@ -1413,6 +1450,72 @@ public class NewChunk extends Chunk {
       return new C8DChunk(bs);
   }
 
+  // Look for runs and few unique values in an already compressed dense
+  // Chunk, and switch to a run-length (CRLEChunk) or dictionary (CUDChunk)
+  // encoding if that is estimated to be at least 20% smaller.  One pass over
+  // the decoded values counts runs and uniques, giving up on each as soon as
+  // it can no longer win.  Uniques only grow, so the dictionary is dropped
+  // exactly once past its budget (at most MAX_UNIQUES+1 values in).  Runs
+  // are judged early from the first RLE_BLOCK rows: if that prefix's run
+  // rate, scaled to the whole Chunk, overruns the budget, RLE is dropped
+  // there rather than after decoding up to maxRuns rows.  High-entropy
+  // Chunks thus decode at most one block.
+  private static final int RLE_BLOCK = 1024;
+  private static Chunk chunkRunsOrUniques(Chunk res) {
+    boolean rleOnly = res instanceof CUDChunk; // Already a dictionary
+    if( !(rleOnly || res instanceof C1Chunk || res instanceof C1NChunk || res instanceof C1SChunk ||
+          res instanceof C2Chunk || res instanceof C2SChunk || res instanceof C4Chunk ||
+          res instanceof C4SChunk || res instanceof C4FChunk || res instanceof C8Chunk ||
+          res instanceof C8DChunk || res instanceof CBPChunk) )
+      return res;               // Constant, sparse, boolean, string or UUID
+    final int len = res._len;
+    final double limit = 0.8*res._mem.length;
+    int maxRuns = (int)Math.min(len, (limit - CRLEChunk._OFF)/12);
+    int maxUniques = 0;
+    if( !rleOnly )
+      while( maxUniques < CUDChunk.MAX_UNIQUES && CUDChunk.computeByteSize(maxUniques+1, len) < limit )
+        maxUniques++;
+    if( maxRuns < 1 && maxUniques < 2 ) return res;
+    // Open-addressed set of the unique value bits
+    long[] keys = maxUniques < 2 ? null : new long[2*CUDChunk.MAX_UNIQUES];
+    boolean[] used = keys == null ? null : new boolean[keys.length];
+    boolean checkLongs = res instanceof C8Chunk || res instanceof CBPChunk; // Doubles must hold the longs exactly
+    double[] ds = new double[Math.min(len, RLE_BLOCK)];
+    int runs = 0, uniques = 0;
+    long prev = 0;
+    boolean rle = maxRuns >= 1, cud = keys != null;
+    for( int from = 0; from < len && (rle || cud); from += ds.length ) {
+      int to = Math.min(len, from + ds.length);
+      res.getDoubles(ds, from, to);
+      for( int i = 0; i < to-from; ++i ) {
+        double d = ds[i];
+        if( checkLongs && Math.abs(d) > (1L << 53) ) return res;
+        long bits = Double.doubleToLongBits(d);
+        if( from+i == 0 || bits != prev ) {
+          runs++;
+          if( cud && uniques <= maxUniques ) {
+            int h = (int)((bits ^ (bits >>> 32))*0x9E3779B1) >>> 23; // 9 bits
+            while( used[h] && keys[h] != bits ) h = (h+1) & (keys.length-1);
+            if( !used[h] ) { used[h] = true; keys[h] = bits; uniques++; }
+          }
+        }
+        prev = bits;
+      }
+      if( from == 0 && to < len && (long)runs*len > (long)maxRuns*to )
+        rle = false;            // Prefix run rate cannot fit the budget
+      rle &= runs <= maxRuns;
+      cud &= uniques <= maxUniques;
+    }
+    if( rle && cud ) rle = CRLEChunk.computeByteSize(runs) <= CUDChunk.computeByteSize(uniques, len);
+    if( !rle && !cud ) return res;
+    ds = res.getDoubles(MemoryManager.malloc8d(len), 0, len);
+    if( rle ) return new CRLEChunk(ds, len, runs, res.hasFloat());
+    HashMap<Long,Byte> hs = new HashMap<>(uniques);
+    for( int h = 0; h < keys.length; ++h )
+      if( used[h] ) hs.put(keys[h], (byte)0);
+    return new CUDChunk(ds, hs, len, res.hasFloat());
+  }
+
   // Compute a compressed UUID buffer
   private Chunk chunkUUID() {
     final byte [] bs = MemoryManager.malloc1(_len *16,true);
@@ -183,6 +183,8 @@ final class RollupStats extends Iced {
         checksum=new RollupStatsHelpers(this).numericChunkRollup((C8Chunk) c, start, checksum);
       else if (c instanceof C8DChunk)
         checksum=new RollupStatsHelpers(this).numericChunkRollup((C8DChunk) c, start, checksum);
+      else if (c.isSparseZero())
+        checksum=new RollupStatsHelpers(this).numericChunkRollupSparse(c, start, checksum);
       else
         checksum=new RollupStatsHelpers(this).numericChunkRollup(c, start, checksum);
 
@@ -348,8 +350,12 @@ final class RollupStats extends Iced {
     Histo( H2OCountedCompleter cmp, RollupStats rs, int nbins ) { super(cmp);_base = rs.h_base(); _stride = rs.h_stride(nbins); _nbins = nbins; }
     @Override public void map( Chunk c ) {
       _bins = new long[_nbins];
-      for( int i=c.nextNZ(-1); i< c._len; i=c.nextNZ(i) ) {
-        double d = c.atd(i);
+      // Bulk decode the non-zeros (all rows, if dense)
+      double[] vals = MemoryManager.malloc8d(c.sparseLenZero());
+      int n = c.isSparseZero() ? c.asSparseDoubles(vals, new int[vals.length]) : c._len;
+      if( !c.isSparseZero() ) c.getDoubles(vals, 0, n);
+      for( int i=0; i<n; i++ ) {
+        double d = vals[i];
         if( !Double.isNaN(d) ) _bins[idx(d)]++;
       }
       // Sparse?  We skipped all the zeros; do them now
@@ -671,6 +671,14 @@ public class Vec extends Keyed<Vec> {
   public boolean isInt(){return rollupStats()._isInt; }
   /** Size of compressed vector data. */
   public long byteSize(){return rollupStats()._size; }
+  /** Per-Chunk min, max, NA count and sortedness, if already built by
+   *  {@link ZoneMap#build} against the current rollups.  Never starts a pass
+   *  over the data, since a caller skipping Chunks wants to avoid exactly that.
+   *  @return the {@link ZoneMap}, or null if none is built yet */
+  public ZoneMap zoneMap() {
+    RollupStats rs = RollupStats.getOrNull(this,rollupStatsKey());
+    return rs == null ? null : ZoneMap.getOrNull(this,rs);
+  }
 
   /** Default percentiles for approximate (single-pass) quantile computation (histogram-based). */
   public static final double PERCENTILES[] = {0.001,0.01,0.1,0.2,0.25,0.3,1.0/3.0,0.4,0.5,0.6,2.0/3.0,0.7,0.75,0.8,0.9,0.99,0.999};
@@ -810,6 +818,7 @@ public class Vec extends Keyed<Vec> {
     if( _rollupStatsKey==null ) _rollupStatsKey=chunkKey(-2);
     return _rollupStatsKey;
   }
+  Key zoneMapKey() { return chunkKey(-3); }
 
   /** Get a Chunk's Value by index.  Basically the index-to-key map, plus the
    *  {@code DKV.get()}.  Warning: this pulls the data locally; using this call
@@ -1125,6 +1134,7 @@ public class Vec extends Keyed<Vec> {
     }
     Key kr = chunkKey(vkey,-2); // Rollup Stats
     H2O.raw_remove(kr);
+    H2O.raw_remove(chunkKey(vkey,-3)); // Zone map
     H2O.raw_remove(vkey);
   }
 
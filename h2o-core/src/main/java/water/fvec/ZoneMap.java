@@ -0,0 +1,161 @@
+package water.fvec;
+
+import water.DKV;
+import water.Futures;
+import water.H2O;
+import water.H2O.H2OCountedCompleter;
+import water.Iced;
+import water.Key;
+import water.MRTask;
+import water.nbhm.NonBlockingHashSet;
+import water.util.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/** Per-Chunk column statistics, a "zone map": the min, max and NA count of
+ *  every Chunk of a Vec, and whether its non-NA values ascend.  Built on
+ *  request by {@link #build}, in one pass over many columns, and kept under
+ *  its own Key so fetching rollups does not drag it along.  Readers only
+ *  ever use an already built map.  It is stamped with the rollup checksum it
+ *  was computed against, so a Vec written into since is not read stale.
+ *
+ *  <p>Row filters use it to decide a predicate for a whole Chunk without
+ *  decoding it: a date-range filter over a time-ordered Frame only touches
+ *  the few Chunks whose [min,max] straddles a range end.
+ *
+ *  <p>Min and max include infinities, but not NAs; both are NaN for a Chunk
+ *  without any non-NA value.  String and UUID Vecs are never mapped.
+ */
+public final class ZoneMap extends Iced<ZoneMap> {
+  private final double[] _mins, _maxs;
+  private final int[] _naCnts;      // -1 until the Chunk is visited
+  private final boolean[] _sorted;
+  final long _checksum;             // Rollup checksum of the data mapped
+
+  ZoneMap( int nchunks, long checksum ) {
+    _checksum = checksum;
+    _mins = new double[nchunks];
+    _maxs = new double[nchunks];
+    _naCnts = new int[nchunks];
+    _sorted = new boolean[nchunks];
+    Arrays.fill(_naCnts,-1);
+  }
+
+  public int nChunks() { return _mins.length; }
+  /** @return the smallest non-NA value of Chunk cidx, or NaN if none */
+  public double min( int cidx ) { return _mins[cidx]; }
+  /** @return the largest non-NA value of Chunk cidx, or NaN if none */
+  public double max( int cidx ) { return _maxs[cidx]; }
+  /** @return the count of NAs in Chunk cidx */
+  public int naCnt( int cidx ) { return _naCnts[cidx]; }
+  /** @return true if the non-NA values of Chunk cidx never descend */
+  public boolean isSorted( int cidx ) { return _sorted[cidx]; }
+
+  // Record Chunk c: one bulk decode for min, max, NAs and ascent
+  void set( Chunk c ) {
+    final int cidx = c.cidx();
+    double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+    double prev = Double.NEGATIVE_INFINITY;
+    boolean sorted = !c.isSparseZero() && !c.isSparseNA();
+    int nas = 0;
+    double[] vals = new double[Math.min(c._len,1024)];
+    for( int from = 0; from < c._len; from += vals.length ) {
+      int to = Math.min(c._len, from + vals.length);
+      c.getDoubles(vals, from, to);
+      for( int i = 0; i < to-from; i++ ) {
+        double d = vals[i];
+        if( Double.isNaN(d) ) { nas++; continue; }
+        if( d < min ) min = d;
+        if( d > max ) max = d;
+        if( d < prev ) sorted = false;
+        prev = d;
+      }
+    }
+    if( !(min <= max) ) min = max = Double.NaN; // No values
+    _mins[cidx] = min;
+    _maxs[cidx] = max;
+    _naCnts[cidx] = nas;
+    _sorted[cidx] = sorted;
+  }
+
+  // Merge in the Chunks visited on another node
+  void reduce( ZoneMap zm ) {
+    for( int i = 0; i < _naCnts.length; i++ )
+      if( _naCnts[i] == -1 && zm._naCnts[i] != -1 ) {
+        _mins[i] = zm._mins[i];
+        _maxs[i] = zm._maxs[i];
+        _naCnts[i] = zm._naCnts[i];
+        _sorted[i] = zm._sorted[i];
+      }
+  }
+
+  /** Fetch the cached zone map of vec; never computes one.
+   *  @return the zone map, or null if not built against the current rollups */
+  static ZoneMap getOrNull( Vec vec, RollupStats rs ) {
+    ZoneMap zm = DKV.getGet(vec.zoneMapKey());
+    return zm != null && zm._checksum == rs._checksum ? zm : null;
+  }
+
+  // Vecs with a build in flight, so racing filters do not map them twice
+  private static final NonBlockingHashSet<Key> BUILDING = new NonBlockingHashSet<>();
+
+  /** Build and cache the missing zone maps of vecs, in a single pass over all
+   *  of them, in the background.  Only numeric Vecs with rollups already
+   *  computed are mapped; never starts a rollup pass.
+   *  @return fs, holding the build if one was started */
+  public static Futures build( Vec[] vecs, Futures fs ) {
+    ArrayList<Vec> todo = new ArrayList<>();
+    ArrayList<Long> sums = new ArrayList<>();
+    for( Vec v : vecs ) {
+      if( v.isString() || v.isUUID() ) continue;
+      RollupStats rs = RollupStats.getOrNull(v,v.rollupStatsKey());
+      if( rs == null || getOrNull(v,rs) != null ) continue;
+      if( !BUILDING.add(v._key) ) continue; // Someone else is on it
+      todo.add(v);
+      sums.add(rs._checksum);
+    }
+    if( todo.isEmpty() ) return fs;
+    long[] checksums = new long[sums.size()];
+    for( int i = 0; i < checksums.length; i++ ) checksums[i] = sums.get(i);
+    fs.add(H2O.submitTask(new BuildAll(todo.toArray(new Vec[todo.size()]), checksums)));
+    return fs;
+  }
+
+  private static class BuildAll extends H2OCountedCompleter<BuildAll> {
+    final Vec[] _vecs;
+    final long[] _checksums;
+    BuildAll( Vec[] vecs, long[] checksums ) { _vecs = vecs; _checksums = checksums; }
+    @Override public void compute2() {
+      try {
+        ZoneMap[] zms = new ZoneMap[_vecs.length];
+        for( int i = 0; i < zms.length; i++ ) zms[i] = new ZoneMap(_vecs[i].nChunks(), _checksums[i]);
+        new Build(zms).doAll(_vecs);
+        Futures fs = new Futures();
+        for( int i = 0; i < zms.length; i++ ) {
+          RollupStats rs = RollupStats.getOrNull(_vecs[i],_vecs[i].rollupStatsKey());
+          if( rs != null && rs._checksum == _checksums[i] ) // Not written into meanwhile
+            DKV.put(_vecs[i].zoneMapKey(), zms[i], fs);
+        }
+        fs.blockForPending();
+      } catch( RuntimeException e ) { // E.g. a Vec removed mid-pass; filters just go without
+        Log.debug("Zone map build abandoned: " + e);
+      } finally {
+        for( Vec v : _vecs ) BUILDING.remove(v._key);
+      }
+      tryComplete();
+    }
+  }
+
+  private static class Build extends MRTask<Build> {
+    ZoneMap[] _zms;             // Shared by all the Builds on a node
+    Build( ZoneMap[] zms ) { _zms = zms; }
+    @Override public void map( Chunk[] cs ) {
+      for( int i = 0; i < cs.length; i++ ) _zms[i].set(cs[i]);
+    }
+    @Override public void reduce( Build b ) {
+      if( _zms != b._zms )
+        for( int i = 0; i < _zms.length; i++ ) _zms[i].reduce(b._zms[i]);
+    }
+  }
+}
@@ -34,8 +34,8 @@ public class BufferedString extends Iced implements Comparable<BufferedString> {
 
    public final AutoBuffer write_impl(AutoBuffer ab) {
      if( _buf == null ) return ab.putInt(-1);
-     ab.putInt(_buf.length);
-     return ab.putA1(_buf,_off,_len);
+     // Length-prefixed, as read by getA1(); only the bytes of the string
+     return ab.putA1(_off == 0 && _len == _buf.length ? _buf : Arrays.copyOfRange(_buf,_off,_off+_len));
    }
 
   public final BufferedString read_impl(AutoBuffer ab){
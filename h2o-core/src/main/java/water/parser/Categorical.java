@@ -1,114 +1,230 @@
 package water.parser;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import water.Iced;
-import water.util.IcedHashMap;
 import water.util.Log;
 import water.util.PrettyPrint;
 
 /** Class for tracking categorical (factor) columns.
  *
- *  Basically a wrapper around non blocking hash map.
+ *  Basically a concurrent hash set of the unique strings of a column, each
+ *  numbered in the order it was first seen.
  *  In the first pass, we just collect set of unique strings per column
  *  (if there are less than MAX_CATEGORICAL_COUNT unique elements).
- *  
+ *
  *  After pass1, the keys are sorted and indexed alphabetically.
  *  In the second pass, map is used only for lookup and never updated.
- *  
+ *
  *  Categorical objects are shared among threads on the local nodes!
  *
+ *  The set is split into stripes by the hash of the string's bytes, and each
+ *  stripe is an open addressing table of immutable entries holding a copy
+ *  of the bytes, their hash and the id.  Lookups of strings seen before (by
+ *  far the most common case) take no locks and allocate nothing; only adding
+ *  a new string locks its stripe.
+ *
  * @author tomasnykodym
  *
  */
 public final class Categorical extends Iced {
 
   public static final int MAX_CATEGORICAL_COUNT = 10000000;
-  transient AtomicInteger _id = new AtomicInteger();
-  int _maxId = -1;
-  volatile IcedHashMap<BufferedString, Integer> _map;
+  private static final int STRIPE_BITS = 6;
+  private transient final int _firstId;
+  private transient final AtomicInteger _id;
+  private transient Stripe[] _stripes;
   boolean maxDomainExceeded = false;
 
-  Categorical() { _map = new IcedHashMap<>(); }
+  Categorical() { this(1); }
+  /** @param firstId id of the first string added.  Columns that may hold
+   *  both numbers and strings start at 1, so the first string is never
+   *  written as a (sparse) zero. */
+  Categorical(int firstId) {
+    _firstId = firstId;
+    _id = new AtomicInteger(firstId);
+    _stripes = stripes();
+  }
+
+  private static Stripe[] stripes() {
+    Stripe[] ss = new Stripe[1<<STRIPE_BITS];
+    for( int i = 0; i < ss.length; i++ ) ss[i] = new Stripe();
+    return ss;
+  }
 
   /** Add key to this map (treated as hash set in this case). */
   int addKey(BufferedString str) {
-    // _map is shared and be cast to null (if categorical is killed) -> grab local copy
-    IcedHashMap<BufferedString, Integer> m = _map;
-    if( m == null ) return Integer.MAX_VALUE;     // Nuked already
-    Integer res = m.get(str);
-    if( res != null ) return res; // Recorded already
-    assert str.length() < 65535; // Length limit so 65535 can be used as a sentinel
-    int newVal = _id.incrementAndGet();
-    res = m.putIfAbsent(new BufferedString(str), newVal);
-    if( res != null ) return res;
-    if( m.size() > MAX_CATEGORICAL_COUNT) maxDomainExceeded = true;
-    return newVal;
+    byte[] buf = str.getBuffer();
+    int off = str.getOffset(), len = str.length();
+    int h = hash(buf, off, len);
+    Stripe s = _stripes[h>>>(32-STRIPE_BITS)];
+    int res = s.get(buf, off, len, h);
+    if( res >= 0 ) return res;  // Recorded already
+    assert len < 65535; // Length limit so 65535 can be used as a sentinel
+    res = s.put(buf, off, len, h, _id);
+    if( res-_firstId >= MAX_CATEGORICAL_COUNT ) maxDomainExceeded = true;
+    return res;
   }
-  final boolean containsKey(BufferedString key){ return _map.containsKey(key); }
+  final boolean containsKey(BufferedString key){ return getTokenId(key) >= 0; }
   @Override public String toString() {
-    return "{"+_map+" }";
+    return "{"+Arrays.toString(getColumnDomain())+" }";
+  }
+
+  /** @return the id of the string, or -1 if it was never added */
+  int getTokenId( BufferedString str ) {
+    byte[] buf = str.getBuffer();
+    int off = str.getOffset(), len = str.length();
+    int h = hash(buf, off, len);
+    Stripe s = _stripes[h>>>(32-STRIPE_BITS)];
+    int res = s.get(buf, off, len, h);
+    return res >= 0 ? res : s.getLocked(buf, off, len, h);
   }
 
-  int getTokenId( BufferedString str ) { return _map.get(str); }
-  
-  int maxId() { return _maxId == -1 ? _id.get() : _maxId; }
-  int size() { return _map.size(); }
+  int maxId() { return _id.get()-1; }
+  int size() { return _id.get()-_firstId; }
   boolean isMapFull() { return maxDomainExceeded; }
 
+  /** The strings, in no particular order */
   BufferedString[] getColumnDomain() {
-    return  _map.keySet().toArray(new BufferedString[_map.size()]);
+    Entry[] es = entries();
+    BufferedString[] res = new BufferedString[es.length];
+    for( int i = 0; i < es.length; i++ )
+      res[i] = new BufferedString(es[i]._bits, 0, es[i]._bits.length);
+    return res;
+  }
+
+  private Entry[] entries() {
+    int n = 0;
+    for( Stripe s : _stripes ) n += s.size();
+    Entry[] res = new Entry[n];
+    n = 0;
+    for( Stripe s : _stripes ) n = s.copyTo(res, n);
+    return n == res.length ? res : Arrays.copyOf(res, n);
   }
 
   public static final int MAX_EXAMPLES = 10;
   public void convertToUTF8(int col){
     int hexConvCnt = 0;
-    BufferedString[] bStrs = _map.keySet().toArray(new BufferedString[_map.size()]);
+    Entry[] es = entries();
+    boolean changed = false;
     StringBuilder hexSB = new StringBuilder();
-    for (int i =0; i < bStrs.length; i++) {
-      String s = bStrs[i].toString();
-      if (!bStrs[i].equals(s)) {
+    for (int i =0; i < es.length; i++) {
+      BufferedString bs = new BufferedString(es[i]._bits, 0, es[i]._bits.length);
+      String s = bs.toString();
+      if (!bs.equals(s)) {
         if (s.contains("\uFFFD")) { // make weird chars into hex
-          s = bStrs[i].bytesToString();
+          s = bs.bytesToString();
           if (hexConvCnt++ < MAX_EXAMPLES) hexSB.append(s +", ");
           if (hexConvCnt == MAX_EXAMPLES) hexSB.append("...");
         }
-        int val = _map.get(bStrs[i]);
-        _map.remove(bStrs[i]);
-        bStrs[i] = new BufferedString(s);
-        _map.put(bStrs[i], val);
+        BufferedString utf8 = new BufferedString(s);
+        es[i] = new Entry(utf8.getBuffer(), 0, utf8.length(), hash(utf8.getBuffer(), 0, utf8.length()), es[i]._id);
+        changed = true;
       }
     }
+    if (changed) { // Rebuild with the converted keys under their old ids
+      Stripe[] ss = stripes();
+      for (Entry e : es)
+        ss[e._hash>>>(32-STRIPE_BITS)].putEntry(e);
+      _stripes = ss;
+    }
     if (hexConvCnt > 0) Log.info("Found categoricals with non-UTF-8 characters in the "
         + PrettyPrint.withOrdinalIndicator(col)
         + " column. Converting unrecognized characters into hex:  "
         + hexSB.toString());
   }
 
-  // Since this is a *concurrent* hashtable, writing it whilst its being
-  // updated is tricky.  If the table is NOT being updated, then all is written
-  // as expected.  If the table IS being updated we only promise to write the
-  // Keys that existed at the time the table write began.  If elements are
-  // being deleted, they may be written anyways.  If the Values are changing, a
-  // random Value is written.
-//  public AutoBuffer write_impl( AutoBuffer ab ) {
-//    if( _map == null ) return ab.put1(1); // Killed map marker
-//    ab.put1(0);                           // Not killed
-//    ab.put4(maxId());
-//    for( BufferedString key : _map.keySet() )
-//      ab.put2((char)key.length()).putA1(key.getBuffer(),key.length()).put4(_map.get(key));
-//    return ab.put2((char)65535); // End of map marker
-//  }
-//
-//  public Categorical read_impl( AutoBuffer ab ) {
-//    assert _map == null || _map.size()==0;
-//    _map = null;
-//    if( ab.get1() == 1 ) return this; // Killed?
-//    _maxId = ab.get4();
-//    _map = new NonBlockingHashMap<>();
-//    int len;
-//    while( (len = ab.get2()) != 65535 ) // Read until end-of-map marker
-//      _map.put(new BufferedString(ab.getA1(len)),ab.get4());
-//    return this;
-//  }
+  // Murmur3 finalizer over the String-style hash, so both the top bits (the
+  // stripe) and the bottom bits (the slot) are well mixed
+  static int hash( byte[] buf, int off, int len ) {
+    int h = 0;
+    for( int i = off; i < off+len; i++ ) h = 31*h + buf[i];
+    h ^= h>>>16;  h *= 0x85ebca6b;
+    h ^= h>>>13;  h *= 0xc2b2ae35;
+    return h ^ (h>>>16);
+  }
+
+  // An immutable string & its id; the final fields make a racy read of an
+  // Entry reference safe.
+  private static final class Entry {
+    final byte[] _bits;
+    final int _hash;
+    final int _id;
+    Entry( byte[] buf, int off, int len, int hash, int id ) {
+      _bits = Arrays.copyOfRange(buf, off, off+len);
+      _hash = hash;
+      _id = id;
+    }
+    boolean matches( byte[] buf, int off, int len, int hash ) {
+      if( _hash != hash || _bits.length != len ) return false;
+      for( int i = 0; i < len; i++ )
+        if( _bits[i] != buf[off+i] ) return false;
+      return true;
+    }
+  }
+
+  // Open addressing with linear probing, at most half full.  Entries are only
+  // ever added, under the lock; a full table is replaced by a bigger copy and
+  // the old one left as it was.  So a reader without the lock sees some
+  // subset of the entries, and rechecks under the lock before adding.
+  private static final class Stripe {
+    private volatile Entry[] _tab = new Entry[16];
+    private int _size;
+
+    int get( byte[] buf, int off, int len, int hash ) {
+      Entry[] tab = _tab;
+      int mask = tab.length-1;
+      for( int i = hash&mask; ; i = (i+1)&mask ) {
+        Entry e = tab[i];
+        if( e == null ) return -1;
+        if( e.matches(buf, off, len, hash) ) return e._id;
+      }
+    }
+
+    synchronized int getLocked( byte[] buf, int off, int len, int hash ) {
+      return get(buf, off, len, hash);
+    }
+
+    synchronized int put( byte[] buf, int off, int len, int hash, AtomicInteger ids ) {
+      int res = get(buf, off, len, hash);
+      if( res >= 0 ) return res; // Lost the race to add it
+      res = ids.getAndIncrement();
+      putEntry(new Entry(buf, off, len, hash, res));
+      return res;
+    }
+
+    synchronized void putEntry( Entry e ) {
+      Entry[] tab = _tab;
+      if( 2*(_size+1) > tab.length ) tab = grow(tab);
+      int mask = tab.length-1, i = e._hash&mask;
+      while( tab[i] != null ) {
+        if( tab[i].matches(e._bits, 0, e._bits.length, e._hash) ) return;
+        i = (i+1)&mask;
+      }
+      tab[i] = e;
+      _size++;
+      _tab = tab;               // Publish
+    }
+
+    private static Entry[] grow( Entry[] tab ) {
+      Entry[] res = new Entry[tab.length*2];
+      int mask = res.length-1;
+      for( Entry e : tab ) {
+        if( e == null ) continue;
+        int i = e._hash&mask;
+        while( res[i] != null ) i = (i+1)&mask;
+        res[i] = e;
+      }
+      return res;
+    }
+
+    synchronized int size() { return _size; }
+
+    synchronized int copyTo( Entry[] es, int n ) {
+      for( Entry e : _tab )
+        if( e != null && n < es.length ) es[n++] = e;
+      return n;
+    }
+  }
 }
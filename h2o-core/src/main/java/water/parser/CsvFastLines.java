@@ -0,0 +1,173 @@
+package water.parser;
+
+import water.H2O;
+import water.fvec.Vec;
+import water.util.UnsafeUtils;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Fast path for {@link CsvParser}: tokenizes whole lines of plain numbers
+ * 8 bytes at a time, instead of a byte at a time through the state machine.
+ * <p>
+ * Each word of the line is turned into SWAR (SIMD within a register) masks
+ * of its separator, line end and quote bytes.  The separator bits give the
+ * field boundaries directly, and each field is parsed by a tight loop over
+ * its digits.  A line is handed back to the state machine untouched, to be
+ * parsed as before, unless every field is empty or a plain number
+ * (<code>[+-]digits[.digits][(e|E)[+-]digits]</code>) of at most 18 digits
+ * in a column not forced to a string or categorical, and the line has no
+ * quotes, no lone CR, and ends before the last 8 bytes of the chunk.  So
+ * lines with strings, quoted fields, padding, or crossing into the next
+ * chunk all go the old way, and the values and rows written are the same
+ * as the state machine's.
+ * <p>
+ * A chunk whose lines keep failing the fast path (e.g. a string column on
+ * every line) stops trying it.
+ */
+final class CsvFastLines {
+  /** Set to false to parse every line with the state machine */
+  static final String PROP = H2O.OptArgs.SYSTEM_PROP_PREFIX + "parser.csv.fastLines";
+  // The masks map byte i of a word to bits [8i,8i+8)
+  static final boolean ENABLED = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN
+    && Boolean.parseBoolean(System.getProperty(PROP, "true"));
+  private static final long LO7 = 0x7F7F7F7F7F7F7F7FL;
+  private static final long ONES = 0x0101010101010101L;
+  private static final long LF = ONES*Parser.CHAR_LF;
+  private static final long CR = ONES*Parser.CHAR_CR;
+  private static final long DQ = ONES*Parser.CHAR_DOUBLE_QUOTE;
+  private static final long SQ = ONES*Parser.CHAR_SINGLE_QUOTE;
+  private static final int MAX_MISSES = 8; // Lines failed in a row before giving up
+
+  private final long _sep;      // Separator in every byte
+  private final boolean _singleQuotes;
+  private final byte _decimal;
+  private final byte[] _ctypes; // Forced column types, or null
+  private int _misses;
+  // The current line's fields; exp is NA_EXP for an empty field
+  private long[] _nums = new long[16];
+  private int[] _exps = new int[16];
+  private static final int NA_EXP = Integer.MIN_VALUE;
+
+  private CsvFastLines( byte sep, boolean singleQuotes, byte decimal, byte[] ctypes ) {
+    _sep = ONES*(sep&0xFF);
+    _singleQuotes = singleQuotes;
+    _decimal = decimal;
+    _ctypes = ctypes;
+  }
+
+  /** A fast path for this parse, or null if its setup does not allow one */
+  static CsvFastLines make( ParseSetup setup, byte sep, byte decimal, boolean forceable ) {
+    if( !ENABLED || sep == Parser.CHAR_SPACE || Parser.isEOL(sep) ) return null;
+    if( (sep >= '0' && sep <= '9') || sep == decimal || sep == '-' || sep == '+' || sep == 'e' || sep == 'E' ) return null;
+    return new CsvFastLines(sep, setup._single_quotes, decimal, forceable ? setup._column_types : null);
+  }
+
+  /** Still worth trying for this chunk? */
+  boolean live() { return _misses < MAX_MISSES; }
+
+  // High bit set in each byte of w equal to the byte repeated in pat
+  private static long eq( long w, long pat ) {
+    long x = w ^ pat;
+    return ~(((x & LO7) + LO7) | x | LO7);
+  }
+
+  /** Parse the lines starting at bits[off] into dout, for as long as they
+   *  are plain numeric lines.
+   *  @return the start of the first line not parsed */
+  int parseLines( byte[] bits, int off, ParseWriter dout ) {
+    int next;
+    while( (next = parseLine(bits, off, dout)) > off ) {
+      off = next;
+      _misses = 0;
+    }
+    if( next < 0 ) _misses++;
+    return off;
+  }
+
+  // Parse one line; return the start of the next, off if too near the end of
+  // the chunk, or -1 if the line is not a plain numeric line.
+  private int parseLine( byte[] bits, int off, ParseWriter dout ) {
+    final int limit = bits.length-8;
+    int p = off, start = off, col = 0;
+    while( true ) {
+      if( p > limit ) return off; // Leave the chunk's tail to the state machine
+      long w = UnsafeUtils.get8(bits, p);
+      long stop = eq(w, LF) | eq(w, CR) | eq(w, DQ) | (_singleQuotes ? eq(w, SQ) : 0);
+      long seps = eq(w, _sep);
+      if( stop != 0 ) seps &= (stop & -stop)-1; // Only separators before the stop
+      while( seps != 0 ) {
+        int end = p + (Long.numberOfTrailingZeros(seps)>>>3);
+        if( !field(bits, start, end, col++, dout) ) return -1;
+        start = end+1;
+        seps &= seps-1;
+      }
+      if( stop != 0 ) {
+        int end = p + (Long.numberOfTrailingZeros(stop)>>>3);
+        int next;
+        if( bits[end] == Parser.CHAR_LF ) next = end+1;
+        else if( bits[end] == Parser.CHAR_CR && end+1 < bits.length && bits[end+1] == Parser.CHAR_LF ) next = end+2;
+        else return -1;         // Quote, or lone CR
+        if( next > limit ) return off;
+        if( end == off ) return next; // Empty line
+        if( !field(bits, start, end, col++, dout) ) return -1;
+        // The whole line is good: write it
+        for( int i = 0; i < col; i++ )
+          if( _exps[i] == NA_EXP ) dout.addInvalidCol(i);
+          else dout.addNumCol(i, _nums[i], _exps[i]);
+        dout.newLine();
+        return next;
+      }
+      p += 8;
+    }
+  }
+
+  // Parse the field bits[s,e) of column col into _nums/_exps
+  private boolean field( byte[] bits, int s, int e, int col, ParseWriter dout ) {
+    if( col == _nums.length ) {
+      _nums = Arrays.copyOf(_nums, col*2);
+      _exps = Arrays.copyOf(_exps, col*2);
+    }
+    if( s == e ) { _exps[col] = NA_EXP; return true; }
+    if( _ctypes != null && col < _ctypes.length && (_ctypes[col] == Vec.T_CAT || _ctypes[col] == Vec.T_STR) )
+      return false;
+    if( dout.isString(col) ) return false;
+    int i = s;
+    boolean neg = false;
+    if( bits[i] == '-' ) { neg = true; i++; }
+    else if( bits[i] == '+' ) i++;
+    long num = 0;
+    int ndigits = 0, frac = 0, c;
+    while( i < e && (c = bits[i]-'0') >= 0 && c <= 9 ) {
+      if( num >= Parser.LARGEST_DIGIT_NUMBER ) return false;
+      num = num*10+c;  i++;  ndigits++;
+    }
+    if( i < e && bits[i] == _decimal ) {
+      i++;
+      while( i < e && (c = bits[i]-'0') >= 0 && c <= 9 ) {
+        if( num >= Parser.LARGEST_DIGIT_NUMBER ) return false;
+        num = num*10+c;  i++;  frac++;
+      }
+    }
+    if( ndigits+frac == 0 ) return false;
+    int exp = 0;
+    if( i < e && (bits[i] == 'e' || bits[i] == 'E') ) {
+      i++;
+      boolean negExp = false;
+      if( i < e && bits[i] == '-' ) { negExp = true; i++; }
+      else if( i < e && bits[i] == '+' ) i++;
+      int nexp = 0;
+      while( i < e && (c = bits[i]-'0') >= 0 && c <= 9 ) {
+        if( ++nexp > 8 ) return false;
+        exp = exp*10+c;  i++;
+      }
+      if( nexp == 0 ) return false;
+      if( negExp ) exp = -exp;
+    }
+    if( i != e ) return false;
+    _nums[col] = neg ? -num : num;
+    _exps[col] = exp-frac;
+    return true;
+  }
+}
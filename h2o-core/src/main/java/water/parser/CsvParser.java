@@ -77,8 +77,14 @@ class CsvParser extends Parser {
     dout.newLine();
 
     final boolean forceable = dout instanceof FVecParseWriter && ((FVecParseWriter)dout)._ctypes != null && _setup._column_types != null;
+    // Whole lines of plain numbers go through the word-at-a-time tokenizer
+    final CsvFastLines fast = CsvFastLines.make(_setup, CHAR_SEPARATOR, CHAR_DECIMAL_SEP, forceable);
 MAIN_LOOP:
     while (true) {
+      if (state == POSSIBLE_EMPTY_LINE && firstChunk && fast != null && fast.live()) {
+        offset = fast.parseLines(bits, offset, dout);
+        c = bits[offset];
+      }
       boolean forcedCategorical = forceable && colIdx < _setup._column_types.length && _setup._column_types[colIdx] == Vec.T_CAT;
       boolean forcedString = forceable && colIdx < _setup._column_types.length && _setup._column_types[colIdx] == Vec.T_STR;
 
@@ -20,13 +20,24 @@ public class FVecParseReader implements ParseReader {
     _vec = chk.vec();
   }
   @Override public byte[] getChunkData(int cidx) {
-    if(cidx != _idx)
+    if(cidx != _idx) {
+      cidx = nextWithData(_vec, cidx);
       _chk = cidx < _vec.nChunks()?_vec.chunkForChunkIdx(_idx = cidx):null;
+    }
     if(_chk == null)
       return null;
     _goffset = _chk.start();
     return _chk.getBytes();
   }
+  /** First Chunk from cidx on holding any bytes.  Inflated gzip files may
+   *  have empty Chunks (see ParallelInflate); lines run on through them to
+   *  the next bytes.  File-backed Vecs have no row layout, and no empty Chunks. */
+  static int nextWithData(Vec vec, int cidx) {
+    long[] espc = vec.espc();
+    if( espc == null ) return cidx;
+    while( cidx < vec.nChunks() && espc[cidx+1] == espc[cidx] ) cidx++;
+    return cidx;
+  }
   @Override public int  getChunkDataStart(int cidx) { return -1; }
   @Override public void setChunkDataStart(int cidx, int offset) { }
   @Override public long getGlobalByteOffset(){
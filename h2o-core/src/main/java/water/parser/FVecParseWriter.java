@@ -152,6 +152,23 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
       addNumCol(colIdx, number, exp);
     }
   }
+  /** The chunk being built for a column, for parsers which decode a whole
+   *  column at a time instead of line by line.  Every column must then get
+   *  the same number of rows, which are counted by {@link #addLines(int)}. */
+  public NewChunk columnChunk(int colIdx) { return _nvs[colIdx]; }
+
+  /** Count rows appended directly to the column chunks. */
+  public void addLines(int n) { _nLines += n; }
+
+  /** Id of the level in a categorical column, adding it if new; the id is
+   *  stored as is (a number) in the column chunk. */
+  public int addCategoricalLevel(int colIdx, BufferedString str) {
+    assert _ctypes[colIdx] == Vec.T_CAT;
+    if(_categoricals[colIdx].isMapFull())
+      throw new ParseDataset.H2OParseException("Exceeded categorical limit on column #"+(colIdx+1)+" (using 1-based indexing).  Consider reparsing this column as a string.");
+    return _categoricals[colIdx].addKey(str);
+  }
+
   @Override public void setColumnNames(String [] names){}
   @Override public final void rollbackLine() {}
 
@@ -0,0 +1,305 @@
+package water.parser;
+
+import water.DKV;
+import water.Futures;
+import water.H2O;
+import water.Key;
+import water.MRTask;
+import water.fvec.ByteVec;
+import water.fvec.C1NChunk;
+import water.fvec.Chunk;
+import water.fvec.FileVec;
+import water.fvec.Vec;
+import water.util.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Inflate a gzipped file into a temporary ByteVec of plain bytes, with as
+ * many Chunks as the gzipped file, so the plain bytes can be parsed by a
+ * DistributedParse across all the cores and nodes instead of by one
+ * streaming parse.
+ * <p>
+ * The Chunk count has to match: ParseSetup lays out the parsed Frame's
+ * Chunks (and MultiFileParseTask its chunk-to-node map) from the Chunks of
+ * the source files before any file is opened, and each plain Chunk parses
+ * into the output Chunk of the same index.  So the plain Chunks are as big
+ * as the gzipped ones times the compression ratio.  Files whose plain
+ * Chunks would be over MAX_CHUNK, or whose plain bytes would not fit in the
+ * free memory of the cloud, are left to the streaming parse; this is
+ * decided from the sizes in the gzip trailers before inflating anything.
+ * <p>
+ * BGZF files (blocked gzip, as made by <code>bgzip</code>: a series of gzip
+ * members of at most 64K each, with each member's size in its header) are
+ * inflated in parallel: each Chunk of the gzipped file inflates the members
+ * starting in it, on the node holding it; a Chunk where none starts gets an
+ * empty plain Chunk, which the parse reads through.  Any other gzip (including
+ * concatenated gzips) has no known block boundaries and is inflated in one
+ * pass, cutting the plain bytes where the gzipped Chunks end.
+ */
+class ParallelInflate {
+  // BGZF member header: gzip magic, deflate, FEXTRA, and the 6-byte extra
+  // field holding the single "BC" subfield with the member size
+  private static final int BGZF_HDR = 18;
+  // Most bytes past the end of a Chunk needed to inflate its last member and
+  // check the next member's header
+  private static final int SPILL = (1<<16) + BGZF_HDR;
+  // Largest plain Chunk made; a parse map holds all of one in memory
+  static final int MAX_CHUNK = 32*FileVec.DFLT_CHUNK_SIZE;
+
+  /** Inflate the gzipped file in vec.
+   *  @return a new ByteVec of the plain bytes with as many Chunks as vec, or
+   *  null if the plain bytes do not split into that many Chunks of at most
+   *  MAX_CHUNK bytes, or would not fit in memory */
+  static ByteVec inflate( ByteVec vec ) {
+    Key<Vec> key = Vec.newKey();
+    int nchunks = vec.nChunks();
+    long[] lens = null;
+    if( bgzfSize(vec.getFirstBytes(), 0) > 0 ) {
+      BgzfTask bt = new BgzfTask(nchunks).doAll(vec);
+      if( bt.isBgzf(vec.length()) ) {
+        if( !fits(vec, bt._plen) ) return null;
+        lens = bt._plen;
+        try { new BgzfInflate(key, bt._first).doAll(vec); }
+        catch( RuntimeException re ) { removeChunks(key, nchunks); throw re; }
+      } else
+        Log.info("Not all of "+vec._key+" is BGZF, inflating in one pass");
+    }
+    if( lens == null ) {
+      // A single gzip member's trailer has its plain size (mod 2^32); for
+      // concatenated gzips it has only the last one's, so inflateSerial
+      // checks the Chunk sizes again as it goes
+      long isize = 0;
+      for( int i = 1; i <= 4; i++ ) isize = isize<<8 | vec.at8(vec.length()-i);
+      long[] guess = new long[nchunks];
+      Arrays.fill(guess, isize/nchunks);
+      if( !fits(vec, guess) ) return null;
+      try {
+        lens = inflateSerial(vec, key);
+      } catch( IOException ioe ) {
+        removeChunks(key, nchunks);
+        throw new RuntimeException(ioe);
+      }
+      if( lens == null ) {
+        removeChunks(key, nchunks);
+        return null;
+      }
+    }
+    long[] espc = new long[nchunks+1];
+    for( int i = 0; i < nchunks; i++ ) espc[i+1] = espc[i]+lens[i];
+    ByteVec raw = new ByteVec(key, Vec.ESPC.rowLayout(key, espc));
+    DKV.put(key, raw);
+    return raw;
+  }
+
+  // Size of the BGZF member starting at b[off], or -1 if none does
+  static int bgzfSize( byte[] b, int off ) {
+    if( off+BGZF_HDR > b.length ) return -1;
+    if( (b[off]&0xFF) != 0x1f || (b[off+1]&0xFF) != 0x8b || b[off+2] != 8 || (b[off+3]&4) == 0 ) return -1;
+    if( get2(b, off+10) != 6 || b[off+12] != 'B' || b[off+13] != 'C' || get2(b, off+14) != 2 ) return -1;
+    return get2(b, off+16)+1;
+  }
+
+  private static int get2( byte[] b, int off ) { return (b[off]&0xFF) | (b[off+1]&0xFF)<<8; }
+  private static int get4( byte[] b, int off ) { return get2(b, off) | get2(b, off+2)<<16; }
+
+  // Would plain Chunks of these sizes be small enough, and all fit in the
+  // free memory of the cloud?
+  private static boolean fits( ByteVec vec, long[] lens ) {
+    long sum = 0, max = 0;
+    for( long l : lens ) { sum += l; max = Math.max(max, l); }
+    if( max <= MAX_CHUNK && sum <= H2O.CLOUD.free_mem() ) return true;
+    Log.info("Not inflating "+vec._key+" ahead of the parse: "+sum+" plain bytes, up to "+max+" per Chunk");
+    return false;
+  }
+
+  private static void removeChunks( Key key, int nchunks ) {
+    Futures fs = new Futures();
+    for( int i = 0; i < nchunks; i++ ) DKV.remove(Vec.chunkKey(key, i), fs);
+    fs.blockForPending();
+  }
+
+  // Find the BGZF members starting in each Chunk and size their plain bytes
+  // from the members' trailers, without inflating anything yet.
+  static class BgzfTask extends MRTask<BgzfTask> {
+    final int _nchunks;
+    long[] _first;              // File offset of each Chunk's first member, or -1 for none
+    long[] _next;               // File offset just past each Chunk's last member
+    long[] _plen;               // Plain bytes per Chunk
+    // All shared by the maps on a node
+    BgzfTask( int nchunks ) { _nchunks = nchunks; }
+
+    @Override protected void setupLocal() {
+      _first = new long[_nchunks];  Arrays.fill(_first, -1);
+      _next  = new long[_nchunks];
+      _plen  = new long[_nchunks];
+    }
+
+    @Override public void map( Chunk in ) {
+      ByteVec vec = (ByteVec)in.vec();
+      int len = in._len, cidx = in.cidx();
+      long flen = vec.length(), base = in.start();
+      byte[] bits = withSpill(in, vec, (int)Math.min(SPILL, flen-base-len));
+      int p = first(bits, len, flen-base, cidx);
+      if( p == len ) return;    // All inside a member started before
+      long plen = 0;
+      int q = p;
+      for( ; q < len; q += bgzfSize(bits, q) )
+        plen += get4(bits, q+bgzfSize(bits, q)-4)&0xFFFFFFFFL;
+      _first[cidx] = base+p;
+      _next[cidx] = base+q;
+      _plen[cidx] = plen;
+    }
+    @Override public void reduce( BgzfTask bt ) {
+      if( _first == bt._first ) return;
+      for( int i = 0; i < _nchunks; i++ )
+        if( bt._first[i] != -1 ) {
+          _first[i] = bt._first[i];  _next[i] = bt._next[i];  _plen[i] = bt._plen[i];
+        }
+    }
+
+    // Are the members one chain, from the start of the file to its end?  A
+    // Chunk may have no member start, or only the empty EOF member; it then
+    // gets an empty plain Chunk.
+    boolean isBgzf( long flen ) {
+      long at = 0;              // Where the next member must start
+      for( int i = 0; i < _nchunks; i++ ) {
+        if( _first[i] == -1 ) continue;
+        if( _first[i] != at ) return false;
+        if( _plen[i] > Integer.MAX_VALUE ) return false;
+        at = _next[i];
+      }
+      return at == flen;
+    }
+  }
+
+  // Each Chunk inflates the BGZF members starting in it into the same Chunk
+  // of the plain bytes.
+  private static class BgzfInflate extends MRTask<BgzfInflate> {
+    final Key _key;             // Vec Key of the plain bytes
+    final long[] _first;        // From BgzfTask
+    BgzfInflate( Key key, long[] first ) { _key = key; _first = first; }
+
+    @Override public void map( Chunk in ) {
+      ByteVec vec = (ByteVec)in.vec();
+      int len = in._len, cidx = in.cidx();
+      if( _first[cidx] == -1 ) {
+        DKV.put(Vec.chunkKey(_key, cidx), new C1NChunk(new byte[0]), _fs);
+        return;
+      }
+      long flen = vec.length(), base = in.start();
+      byte[] bits = withSpill(in, vec, (int)Math.min(SPILL, flen-base-len));
+      int p = (int)(_first[cidx]-base);
+      long plen = 0;
+      for( int q = p; q < len; q += bgzfSize(bits, q) )
+        plen += get4(bits, q+bgzfSize(bits, q)-4)&0xFFFFFFFFL;
+      byte[] out = new byte[(int)plen];
+      Inflater inf = new Inflater(true);
+      CRC32 crc = new CRC32();
+      try {
+        int o = 0;
+        for( int q = p; q < len; ) {
+          int sz = bgzfSize(bits, q);
+          int isize = get4(bits, q+sz-4);
+          inf.reset();
+          inf.setInput(bits, q+BGZF_HDR, sz-BGZF_HDR-8);
+          int n = 0, k;
+          while( n < isize && (k = inf.inflate(out, o+n, isize-n)) > 0 ) n += k;
+          crc.reset();
+          crc.update(out, o, n);
+          if( n != isize || (int)crc.getValue() != get4(bits, q+sz-8) )
+            throw new IllegalArgumentException("Corrupt gzip member at byte "+(base+q)+" of "+vec._key);
+          o += n;
+          q += sz;
+        }
+      } catch( DataFormatException dfe ) {
+        throw new IllegalArgumentException("Corrupt gzip data in "+vec._key+": "+dfe.getMessage());
+      } finally {
+        inf.end();
+      }
+      DKV.put(Vec.chunkKey(_key, cidx), new C1NChunk(out), _fs);
+    }
+  }
+
+  // Offset of the first chain of BGZF members starting in the Chunk, or len
+  // if none does; the file's first Chunk must start with one
+  private static int first( byte[] bits, int len, long left, int cidx ) {
+    if( cidx == 0 ) return chained(bits, 0, len, left) ? 0 : len;
+    int p = 0;
+    while( p < len && !chained(bits, p, len, left) ) p++;
+    return p;
+  }
+
+  // Does a chain of BGZF members start at bits[p] and run past the end of
+  // the Chunk, to the next member or the end of file?
+  private static boolean chained( byte[] bits, int p, int len, long left ) {
+    int q = p;
+    while( q < len ) {
+      int sz = bgzfSize(bits, q);
+      if( sz < 0 || q+sz > bits.length ) return false;
+      q += sz;
+    }
+    return q == left || q+BGZF_HDR > bits.length || bgzfSize(bits, q) > 0;
+  }
+
+  // The bytes of this Chunk and the next spill bytes of the file
+  private static byte[] withSpill( Chunk in, ByteVec vec, int spill ) {
+    byte[] mem = in.getBytes();
+    byte[] bits = Arrays.copyOf(mem, in._len+spill);
+    int off = in._len;
+    for( int c = in.cidx()+1; off < bits.length; c++ ) {
+      byte[] nb = vec.chunkForChunkIdx(c).getBytes();
+      int n = Math.min(nb.length, bits.length-off);
+      System.arraycopy(nb, 0, bits, off, n);
+      off += n;
+    }
+    return bits;
+  }
+
+  // Inflate in one pass.  The plain bytes are cut into a new Chunk as the
+  // gzipped stream moves into the next Chunk; the last plain Chunk is split
+  // over any gzipped Chunks left without plain bytes of their own.  Gives up
+  // (null) as soon as a plain Chunk passes MAX_CHUNK.
+  private static long[] inflateSerial( ByteVec vec, Key key ) throws IOException {
+    int nchunks = vec.nChunks();
+    long[] lens = new long[nchunks];
+    Futures fs = new Futures();
+    InputStream bvs = vec.openStream(null);
+    byte[] buf = new byte[FileVec.DFLT_CHUNK_SIZE];
+    int len = 0, cidx = 0;
+    try {
+      try( InputStream is = new GZIPInputStream(bvs, 1<<16) ) {
+        int n;
+        while( (n = is.read(buf, len, buf.length-len)) != -1 ) {
+          len += n;
+          if( len == buf.length ) {
+            if( buf.length >= MAX_CHUNK ) return null; // Trailer size was off
+            buf = Arrays.copyOf(buf, Math.min(buf.length*2, MAX_CHUNK));
+          }
+          // Back-channel read of the next gzipped chunk index
+          if( cidx < nchunks-1 && bvs.read(null, 0, 0)-1 > cidx && len > 0 ) {
+            DKV.put(Vec.chunkKey(key, cidx), new C1NChunk(Arrays.copyOf(buf, len)), fs);
+            lens[cidx++] = len;
+            len = 0;
+          }
+        }
+      }
+      int left = nchunks-cidx;
+      for( int i = 0, off = 0; i < left; i++ ) {
+        int end = (int)((long)len*(i+1)/left);
+        DKV.put(Vec.chunkKey(key, cidx), new C1NChunk(Arrays.copyOfRange(buf, off, end)), fs);
+        lens[cidx++] = end-off;
+        off = end;
+      }
+      return lens;
+    } finally {
+      fs.blockForPending();
+    }
+  }
+}
@@ -304,10 +304,24 @@ public final class ParseDataset {
             fcdt[i] = new CreateParse2GlobalCategoricalMaps(mfpt._cKey, fr._key, ecols);
             rpcs[i] = new RPC<>(nodes[i], fcdt[i]).call();
           }
-          for (RPC rpc : rpcs)
-            rpc.get();
-
-          new UpdateCategoricalChunksTask(mfpt._cKey, mfpt._chunk2ParseNodeMap).doAll(evecs);
+          // Only columns some node numbered differently need their chunks updated
+          boolean[] remap = new boolean[ecols.length];
+          for (RPC rpc : rpcs) {
+            boolean[] r = ((CreateParse2GlobalCategoricalMaps)rpc.get())._remap;
+            if (r != null) for (int i = 0; i < r.length; i++) remap[i] |= r[i];
+          }
+          int[] ridx = new int[ecols.length];
+          int nr = 0;
+          for (int i = 0; i < remap.length; i++)
+            if (remap[i]) ridx[nr++] = i;
+          if (nr > 0) {
+            Vec[] rvecs = new Vec[nr];
+            for (int i = 0; i < nr; i++) rvecs[i] = evecs[ridx[i]];
+            new UpdateCategoricalChunksTask(mfpt._cKey, mfpt._chunk2ParseNodeMap, Arrays.copyOf(ridx, nr)).doAll(rvecs);
+          } else {
+            Log.trace("Categorical columns already numbered as their domains.");
+            UpdateCategoricalChunksTask.removeMaps(mfpt._cKey);
+          }
           MultiFileParseTask._categoricals.remove(mfpt._cKey);
         }
         Log.trace("Done unifying categoricals across nodes.");
@@ -375,6 +389,7 @@ public final class ParseDataset {
     private final Key   _parseCatMapsKey;
     private final Key   _frKey;
     private final int[] _ecol;
+    boolean[] _remap;           // Columns this node numbered differently from the global domain
 
     private CreateParse2GlobalCategoricalMaps(Key parseCatMapsKey, Key key, int[] ecol) {
       _parseCatMapsKey = parseCatMapsKey;
@@ -391,6 +406,7 @@ public final class ParseDataset {
       }
         final Categorical[] parseCatMaps = MultiFileParseTask._categoricals.get(_parseCatMapsKey);
         int[][] _nodeOrdMaps = new int[_ecol.length][];
+        _remap = new boolean[_ecol.length];
 
         // create old_ordinal->new_ordinal map for each cat column
         for (int eColIdx = 0; eColIdx < _ecol.length; eColIdx++) {
@@ -403,10 +419,16 @@ public final class ParseDataset {
             //final String[] unifiedDomain = _fr.vec(colIdx).domain();
             for (int i = 0; i < unifiedDomain.length; i++) {
               //final BufferedString cat = new BufferedString(unifiedDomain[i]);
-              if (parseCatMaps[colIdx].containsKey(unifiedDomain[i])) {
-                _nodeOrdMaps[eColIdx][parseCatMaps[colIdx].getTokenId(unifiedDomain[i])] = i;
-              }
+              int id = parseCatMaps[colIdx].getTokenId(unifiedDomain[i]);
+              if (id >= 0) _nodeOrdMaps[eColIdx][id] = i;
             }
+            // Already numbered as the global domain (strings first seen in
+            // sorted order): the chunks parsed here need no update
+            int[] map = _nodeOrdMaps[eColIdx];
+            int i = 0;
+            while (i < map.length && map[i] == i) i++;
+            if (i == map.length) _nodeOrdMaps[eColIdx] = null;
+            else _remap[eColIdx] = true;
           } else {
             Log.debug("Column " + colIdx + " was marked as categorical but categorical map is empty!");
           }
@@ -426,10 +448,12 @@ public final class ParseDataset {
   private static class UpdateCategoricalChunksTask extends MRTask<UpdateCategoricalChunksTask> {
     private final Key _parseCatMapsKey;
     private final int  [] _chunk2ParseNodeMap;
+    private final int  [] _ecolIdx;   // Index of each updated column among the categorical columns
 
-    private UpdateCategoricalChunksTask(Key parseCatMapsKey, int[] chunk2ParseNodeMap) {
+    private UpdateCategoricalChunksTask(Key parseCatMapsKey, int[] chunk2ParseNodeMap, int[] ecolIdx) {
       _parseCatMapsKey = parseCatMapsKey;
       _chunk2ParseNodeMap = chunk2ParseNodeMap;
+      _ecolIdx = ecolIdx;
     }
 
     @Override public void map(Chunk [] chks){
@@ -442,28 +466,32 @@ public final class ParseDataset {
       final int cidx = chks[0].cidx();
       for(int i = 0; i < chks.length; ++i) {
         Chunk chk = chks[i];
-        if (!(chk instanceof CStrChunk)) {
+        final int ecol = _ecolIdx[i];
+        final int[] map = _parse2GlobalCatMaps[ecol];
+        // No map: the parsing node already numbered this column as the domain
+        if (map != null && !(chk instanceof CStrChunk)) {
           for( int j = 0; j < chk._len; ++j){
             if( chk.isNA(j) )continue;
             final int old = (int) chk.at8(j);
-            if (old < 0 || (_parse2GlobalCatMaps[i] != null && old >= _parse2GlobalCatMaps[i].length))
-              chk.reportBrokenCategorical(i, j, old, _parse2GlobalCatMaps[i], _fr.vec(i).domain().length);
-            if(_parse2GlobalCatMaps[i] != null && _parse2GlobalCatMaps[i][old] < 0)
+            if (old < 0 || old >= map.length)
+              chk.reportBrokenCategorical(i, j, old, map, _fr.vec(i).domain().length);
+            if(map[old] < 0)
               throw new H2OParseException("Error in unifying categorical values. This is typically "
                   +"caused by unrecognized characters in the data.\n The problem categorical value "
-                  +"occurred in the " + PrettyPrint.withOrdinalIndicator(i+1)+ " categorical col, "
+                  +"occurred in the " + PrettyPrint.withOrdinalIndicator(ecol+1)+ " categorical col, "
                   +PrettyPrint.withOrdinalIndicator(chk.start() + j) +" row.");
-            if (_parse2GlobalCatMaps[i] != null)
-              chk.set(j, _parse2GlobalCatMaps[i][old]);
+            chk.set(j, map[old]);
           }
-          Log.trace("Updated domains for "+PrettyPrint.withOrdinalIndicator(i+1)+ " categorical column.");
+          Log.trace("Updated domains for "+PrettyPrint.withOrdinalIndicator(ecol+1)+ " categorical column.");
         }
         chk.close(cidx, _fs);
       }
     }
-    @Override public void postGlobal() {
+    @Override public void postGlobal() { removeMaps(_parseCatMapsKey); }
+
+    static void removeMaps(Key parseCatMapsKey) {
       for (int i=0; i < H2O.CLOUD.size(); i++)
-        DKV.remove(Key.make(_parseCatMapsKey.toString() + "parseCatMapNode" + i));
+        DKV.remove(Key.make(parseCatMapsKey.toString() + "parseCatMapNode" + i));
     }
   }
   private static class GatherCategoricalDomainsTask extends MRTask<GatherCategoricalDomainsTask> {
@@ -765,11 +793,14 @@ public final class ParseDataset {
     }
 
     // Fetch out the node-local Categorical[] using _cKey and _categoricals hashtable
-    private static Categorical[] categoricals(Key cKey, int ncols) {
+    // Columns known to be categorical number their strings from 0, the same
+    // as the final domain, so a column seen in sorted order needs no renumbering
+    private static Categorical[] categoricals(Key cKey, byte[] ctypes, int ncols) {
       Categorical[] categoricals = _categoricals.get(cKey);
       if( categoricals != null ) return categoricals;
       categoricals = new Categorical[ncols];
-      for( int i = 0; i < categoricals.length; ++i ) categoricals[i] = new Categorical();
+      for( int i = 0; i < categoricals.length; ++i )
+        categoricals[i] = new Categorical(ctypes != null && i < ctypes.length && ctypes[i] == Vec.T_CAT ? 0 : 1);
       _categoricals.putIfAbsent(cKey, categoricals);
       return _categoricals.get(cKey); // Re-get incase lost insertion race
     }
@@ -797,7 +828,7 @@ public final class ParseDataset {
         avs[i] = new AppendableVec(_vg.vecKey(i + _vecIdStart), espc, ctypes==null ? /*SVMLight*/Vec.T_NUM : ctypes[i], chunkOff);
       return localSetup._parse_type.equals(SVMLight_INFO)
         ? new SVMLightFVecParseWriter(_vg, _vecIdStart,chunkOff, _parseSetup._chunk_size, avs)
-        : new FVecParseWriter(_vg, chunkOff, categoricals(_cKey, localSetup._number_columns), localSetup._column_types, _parseSetup._chunk_size, avs);
+        : new FVecParseWriter(_vg, chunkOff, categoricals(_cKey, localSetup._column_types, localSetup._number_columns), localSetup._column_types, _parseSetup._chunk_size, avs);
     }
 
     // Called once per file
@@ -813,13 +844,14 @@ public final class ParseDataset {
       ZipUtil.Compression cpr = ZipUtil.guessCompressionMethod(zips);
       if (localSetup._check_header == ParseSetup.HAS_HEADER) //check for header on local file
         localSetup._check_header = localSetup.parser(_jobKey).fileHasHeader(ZipUtil.unzipBytes(zips,cpr, localSetup._chunk_size), localSetup);
+      boolean disableParallelParse = (_keys.length > TOO_MANY_KEYS_COUNT) && (vec.nChunks() <= SMALL_FILE_NCHUNKS);
+      boolean parallelParse = _parseSetup._parse_type.isParallelParseSupported() && (! disableParallelParse);
       // Parse the file
       try {
         switch( cpr ) {
         case NONE:
-          boolean disableParallelParse = (_keys.length > TOO_MANY_KEYS_COUNT) && (vec.nChunks() <= SMALL_FILE_NCHUNKS);
-          if( _parseSetup._parse_type.isParallelParseSupported() && (! disableParallelParse)) {
-            new DistributedParse(_vg, localSetup, _vecIdStart, chunkStartIdx, this, key, vec.nChunks()).dfork(vec).getResult(false);
+          if( parallelParse ) {
+            new DistributedParse(_vg, localSetup, _vecIdStart, chunkStartIdx, this, key, vec.nChunks(), 1.0, false).dfork(vec).getResult(false);
             for( int i = 0; i < vec.nChunks(); ++i )
               _chunk2ParseNodeMap[chunkStartIdx + i] = vec.chunkKey(i).home_node().index();
           } else {
@@ -849,6 +881,20 @@ public final class ParseDataset {
           break;
         }
         case GZIP: {
+          // Inflate into plain bytes with as many chunks, in parallel for
+          // BGZF files, and parse those in parallel
+          ByteVec raw = parallelParse && vec.nChunks() > 1 ? ParallelInflate.inflate(vec) : null;
+          if( raw != null ) {
+            try {
+              double scale = (double)vec.length()/raw.length(); // Progress in gzipped bytes
+              new DistributedParse(_vg, localSetup, _vecIdStart, chunkStartIdx, this, key, vec.nChunks(), scale, true).dfork(raw).getResult(false);
+              for( int i = 0; i < vec.nChunks(); ++i )
+                _chunk2ParseNodeMap[chunkStartIdx + i] = raw.chunkKey(i).home_node().index();
+            } finally {
+              raw.remove();
+            }
+            break;
+          }
           InputStream bvs = vec.openStream(_jobKey);
           // Zipped file; no parallel decompression;
           _dout[_lo] = streamParse(new GZIPInputStream(bvs), localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs);
@@ -926,8 +972,10 @@ public final class ParseDataset {
       private transient NonBlockingSetInt _visited;
       private transient long [] _espc;
       final int _nchunks;
+      final double _progressScale; // Job progress per byte parsed; below 1 for inflated bytes
+      final boolean _dropInput;    // Input is a temporary Vec (inflated bytes): remove its Chunks once parsed
 
-      DistributedParse(VectorGroup vg, ParseSetup setup, int vecIdstart, int startChunkIdx, MultiFileParseTask mfpt, Key srckey, int nchunks) {
+      DistributedParse(VectorGroup vg, ParseSetup setup, int vecIdstart, int startChunkIdx, MultiFileParseTask mfpt, Key srckey, int nchunks, double progressScale, boolean dropInput) {
         super(null);
         _vg = vg;
         _setup = setup;
@@ -938,6 +986,8 @@ public final class ParseDataset {
         _jobKey = mfpt._jobKey;
         _srckey = srckey;
         _nchunks = nchunks;
+        _progressScale = progressScale;
+        _dropInput = dropInput;
       }
       @Override public void setupLocal(){
         super.setupLocal();
@@ -962,7 +1012,7 @@ public final class ParseDataset {
         case "ARFF":
         case "CSV":
         case "PARQUET":
-          Categorical [] categoricals = categoricals(_cKey, _setup._number_columns);
+          Categorical [] categoricals = categoricals(_cKey, _setup._column_types, _setup._number_columns);
           dout = new FVecParseWriter(_vg,_startChunkIdx + in.cidx(), categoricals, _setup._column_types,
                   _setup._chunk_size, avs); //TODO: use _setup._domains instead of categoricals
           break;
@@ -970,7 +1020,7 @@ public final class ParseDataset {
           dout = new SVMLightFVecParseWriter(_vg, _vecIdStart, in.cidx() + _startChunkIdx, _setup._chunk_size, avs);
           break;
         case "ORC":  // setup special case for ORC
-          Categorical [] orc_categoricals = categoricals(_cKey, _setup._number_columns);
+          Categorical [] orc_categoricals = categoricals(_cKey, _setup._column_types, _setup._number_columns);
           dout = new FVecParseWriter(_vg, in.cidx() + _startChunkIdx, orc_categoricals, _setup._column_types,
                   _setup._chunk_size, avs);
           break;
@@ -979,9 +1029,10 @@ public final class ParseDataset {
                   _setup._chunk_size, avs);
           break;
         }
-        p.parseChunk(in.cidx(), din, dout);
+        if( in._len > 0 )       // Empty Chunks hold no lines; the Chunk before reads on through them
+          p.parseChunk(in.cidx(), din, dout);
         (_dout = dout).close(_fs);
-        Job.update(in._len, _jobKey); // Record bytes parsed
+        Job.update((long)(in._len*_progressScale), _jobKey); // Record bytes parsed
         // remove parsed data right away
         freeMem(in);
       }
@@ -991,15 +1042,19 @@ public final class ParseDataset {
        * time a chunk has been marked, it is freed. The reason two marks are required
        * is that each chunk parse typically needs to read the remaining bytes of the
        * current row from the next chunk.  Thus each task typically touches two chunks.
+       * Chunks of a temporary input Vec are not on disk anywhere, and are removed;
+       * its "next" chunk is the next one with bytes, as read by FVecParseReader.
        *
        * @param in - chunk to be marked and possibly freed
        */
       private void freeMem(Chunk in) {
-        int cidx = in.cidx();
-        for(int i=0; i < 2; i++) {  // iterate over this chunk and the next one
-          cidx += i;
+        int[] cidxs = in._len == 0 ? new int[]{in.cidx()}  // Read nothing further
+          : new int[]{in.cidx(), FVecParseReader.nextWithData(in.vec(), in.cidx()+1)};
+        for (int cidx : cidxs) {  // iterate over this chunk and the next one
           if (!_visited.add(cidx)) { // Second visit
-            Value v = Value.STORE_get(in.vec().chunkKey(cidx));
+            Key ckey = in.vec().chunkKey(cidx);
+            if (_dropInput) { DKV.remove(ckey, _fs); continue; }
+            Value v = Value.STORE_get(ckey);
             if (v == null || !v.isPersisted()) return; // Not found, or not on disk somewhere
             v.freePOJO();           // Eagerly toss from memory
             v.freeMem();
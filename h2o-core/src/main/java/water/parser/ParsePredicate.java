@@ -0,0 +1,82 @@
+package water.parser;
+
+import com.google.common.base.Charsets;
+import water.Iced;
+
+/**
+ * A condition on the value of one column: a numeric range (inclusive, so
+ * also numeric equality) or string equality.  Parsers which support it (see
+ * {@link ParserProvider#isProjectionSupported()}) keep only the rows meeting
+ * every predicate of the {@link ParseSetup}, and may skip whole blocks of
+ * rows which their file statistics show cannot meet them.  A missing value
+ * never meets a predicate.
+ */
+public class ParsePredicate extends Iced<ParsePredicate> {
+  /** Index of the column, among the columns of the file */
+  final int _col;
+  final double _min, _max;
+  final byte[] _value;          // UTF-8 bytes of the string, or null for a numeric range
+
+  private ParsePredicate(int col, double min, double max, byte[] value) {
+    _col = col;  _min = min;  _max = max;  _value = value;
+  }
+
+  /** Rows with min &lt;= value &lt;= max in the numeric (or time) column col */
+  public static ParsePredicate range(int col, double min, double max) {
+    if( !(min <= max) ) throw new IllegalArgumentException("Empty range ["+min+", "+max+"] for column "+col);
+    return new ParsePredicate(col, min, max, null);
+  }
+  /** Rows with this value in the numeric (or time) column col */
+  public static ParsePredicate eq(int col, double value) { return range(col, value, value); }
+  /** Rows with this string in the categorical or string column col */
+  public static ParsePredicate eq(int col, String value) {
+    return new ParsePredicate(col, Double.NaN, Double.NaN, value.getBytes(Charsets.UTF_8));
+  }
+
+  public int column() { return _col; }
+  public boolean isNumeric() { return _value == null; }
+
+  public boolean matches(double d) { return _value == null && d >= _min && d <= _max; }
+
+  public boolean matches(BufferedString str) { return matches(str.getBuffer(), str.getOffset(), str.length()); }
+
+  public boolean matches(byte[] buf, int off, int len) {
+    if( _value == null || _value.length != len ) return false;
+    for( int i = 0; i < len; i++ )
+      if( _value[i] != buf[off+i] ) return false;
+    return true;
+  }
+
+  /** Can some value in [min, max] meet this numeric predicate?  Numbers say
+   *  nothing about a string predicate, so they never rule one out. */
+  public boolean mayMatch(double min, double max) {
+    return _value != null || !(max < _min || min > _max);
+  }
+
+  /** Can some string between min and max meet this string predicate?  The
+   *  order of non-ASCII strings depends on whether the bytes compare as
+   *  signed or unsigned, so only all-ASCII bounds and values rule any out.
+   *  Strings say nothing about a numeric predicate (e.g. on times parsed
+   *  from strings), so they never rule one out. */
+  public boolean mayMatch(byte[] min, byte[] max) {
+    if( _value == null ) return true;
+    if( !isAscii(min) || !isAscii(max) || !isAscii(_value) ) return true;
+    return compare(_value, min) >= 0 && compare(_value, max) <= 0;
+  }
+
+  private static boolean isAscii(byte[] bs) {
+    for( byte b : bs ) if( b < 0 ) return false;
+    return true;
+  }
+
+  private static int compare(byte[] a, byte[] b) {
+    int len = Math.min(a.length, b.length);
+    for( int i = 0; i < len; i++ )
+      if( a[i] != b[i] ) return a[i] - b[i];
+    return a.length - b.length;
+  }
+
+  @Override public String toString() {
+    return "C"+(_col+1)+(_value == null ? " in ["+_min+", "+_max+"]" : " == '"+new String(_value, Charsets.UTF_8)+"'");
+  }
+}
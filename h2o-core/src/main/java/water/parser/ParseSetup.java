@@ -41,6 +41,10 @@ public class ParseSetup extends Iced {
   String[][] _domains;        // Domains for each column (null if numeric)
   String[][] _na_strings;       // Strings for NA in a given column
   String[][] _data;           // First few rows of parsed/tokenized data
+  // Only for parsers with ParserProvider.isProjectionSupported():
+  int[] _projection;          // Columns of the file to parse, ascending (null: all)
+  ParsePredicate[] _predicates; // Keep only the rows meeting all of these (null: all)
+  boolean _narrowed;          // Column-wise settings already narrowed to _projection
 
   String [] _fileNames = new String[]{"unknown"};
 
@@ -55,6 +59,9 @@ public class ParseSetup extends Iced {
          ps._separator, ps._single_quotes, ps._check_header, ps._number_columns,
          ps._column_names, ps._column_types, ps._domains, ps._na_strings, ps._data,
          new ParseWriter.ParseErr[0], ps._chunk_size);
+    _projection = ps._projection;
+    _predicates = ps._predicates;
+    _narrowed = ps._narrowed;
   }
 
 
@@ -195,7 +202,10 @@ public class ParseSetup extends Iced {
   public final ParseSetup getFinalSetup(Key[] inputKeys, ParseSetup demandedSetup) {
     ParserProvider pp = ParserService.INSTANCE.getByInfo(_parse_type);
     if (pp != null) {
-      return pp.createParserSetup(inputKeys, demandedSetup);
+      ParseSetup fs = pp.createParserSetup(inputKeys, demandedSetup);
+      if ((fs._projection != null || fs._predicates != null) && !pp.isProjectionSupported())
+        throw new H2OIllegalArgumentException("Column projection and row predicates are not supported for " + _parse_type.name() + " files.");
+      return fs;
     }
 
     throw new H2OIllegalArgumentException("Unknown parser configuration! Configuration=" + this);
@@ -713,4 +723,76 @@ public class ParseSetup extends Iced {
     return this;
   }
 
+  public int[] getProjection() { return _projection; }
+  public ParsePredicate[] getPredicates() { return _predicates; }
+
+  /** Parse only these columns of the file (null: all of them); they are
+   *  parsed in the order they appear in the file. */
+  public ParseSetup setProjection(int... columns) {
+    if (columns == null) { _projection = null; return this; }
+    int[] cols = columns.clone();
+    Arrays.sort(cols);
+    int n = 0;
+    for (int i = 0; i < cols.length; i++)
+      if (n == 0 || cols[i] != cols[n-1]) cols[n++] = cols[i];
+    this._projection = Arrays.copyOf(cols, n);
+    return this;
+  }
+
+  /** Keep only the rows meeting all of these predicates (null: all rows). */
+  public ParseSetup setPredicates(ParsePredicate... predicates) {
+    this._predicates = predicates;
+    return this;
+  }
+
+  /**
+   * Narrow the column-wise settings (names, types, domains, NA strings and
+   * preview data) from all the columns of the file to the projected ones,
+   * checking the projection and predicates against the file's columns.
+   * The projection and predicates still refer to the file's columns, for
+   * the parser.  Does nothing when already narrowed.
+   */
+  public ParseSetup narrowToProjection() {
+    final boolean narrowed = _projection != null && _narrowed;
+    if (_projection != null && !narrowed)
+      for (int c : _projection)
+        if (c < 0 || c >= _number_columns)
+          throw new H2OIllegalArgumentException("Cannot parse column " + c + ", the file has " + _number_columns + " columns.");
+    if (_predicates != null)
+      for (ParsePredicate p : _predicates) {
+        int c = p.column();
+        int pos = _projection == null ? (c < _number_columns ? c : -1) : Arrays.binarySearch(_projection, c);
+        if (c < 0 || pos < 0)
+          throw new H2OIllegalArgumentException("Predicate " + p + " is on a column which is not parsed.");
+        if (_column_types == null) continue;
+        byte t = _column_types[narrowed ? pos : c];
+        if (p.isNumeric() != (t == Vec.T_NUM || t == Vec.T_TIME))
+          throw new H2OIllegalArgumentException("Predicate " + p + " does not fit the type of the column, " + Vec.TYPE_STR[t] + ".");
+      }
+    if (_projection == null || narrowed) return this;
+    _narrowed = true;
+    _number_columns = _projection.length;
+    _column_names = select(_column_names, _projection);
+    if (_column_types != null) {
+      byte[] types = new byte[_projection.length];
+      for (int i = 0; i < types.length; i++) types[i] = _column_types[_projection[i]];
+      _column_types = types;
+    }
+    _domains = select(_domains, _projection);
+    _na_strings = select(_na_strings, _projection);
+    if (_data != null) {
+      String[][] data = new String[_data.length][];
+      for (int i = 0; i < data.length; i++) data[i] = select(_data[i], _projection);
+      _data = data;
+    }
+    return this;
+  }
+
+  private static <T> T[] select(T[] ts, int[] idx) {
+    if (ts == null) return null;
+    T[] res = Arrays.copyOf(ts, idx.length);
+    for (int i = 0; i < idx.length; i++) res[i] = idx[i] < ts.length ? ts[idx[i]] : null;
+    return res;
+  }
+
 } // ParseSetup state class
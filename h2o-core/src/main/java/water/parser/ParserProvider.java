@@ -37,4 +37,9 @@ public abstract class ParserProvider {
    */
 
   public ParseSetup setupLocal(Vec v, ParseSetup setup){ return setup;}
+
+  /** Does the parser honor {@link ParseSetup#setProjection(int...)} and
+   *  {@link ParseSetup#setPredicates(ParsePredicate...)}?  Its
+   *  createParserSetup should then narrow the setup to the projection. */
+  public boolean isProjectionSupported() { return false; }
 }
@@ -0,0 +1,163 @@
+package water.persist;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import water.Key;
+import water.MemoryManager;
+import water.Value;
+import water.nbhm.NonBlockingHashMap;
+import water.util.Log;
+import water.util.UnsafeUtils;
+
+/**
+ * User-mode swap into a few large memory-mapped segment files, instead of one
+ * small file per Key.  Spilled Values are appended sequentially to the
+ * current segment; an in-memory index maps each Key to its (segment, offset,
+ * length).  Swap-in is a single bulk copy out of the mapping, with no stream
+ * or channel setup per Key.
+ * <p>
+ * Segments are sparse files of {@link #SEG_SIZE} bytes, so only appended
+ * bytes use disk.  Space is never reused within a segment; instead each
+ * segment tracks its live bytes, and a full segment is unmapped and deleted
+ * once everything in it has been deleted or overwritten.  Loads copy out
+ * under a per-segment read lock, so the unmap never races a copy.
+ * <p>
+ * Enabled with {@code -ice_segments}; the Cleaner is the only writer.
+ */
+final class IceSegments {
+  // Max bytes per segment; large enough for any Value (see Value.MAX)
+  static final int SEG_SIZE = 1<<30;
+
+  private final File _dir;
+  private final int _segSize;
+  private final NonBlockingHashMap<Key,Loc> _index = new NonBlockingHashMap<>();
+  private Segment _active;      // Segment being appended to; guarded by this
+  private int _nextIdx;         // Numbering for segment file names; guarded by this
+
+  IceSegments( File dir ) { this(dir, SEG_SIZE); }
+  // Smaller segments, so tests can fill and drop them
+  IceSegments( File dir, int segSize ) { _dir = new File(dir, "segments"); _segSize = segSize; }
+
+  private static final class Segment {
+    final File _file;
+    final MappedByteBuffer _buf;
+    final AtomicLong _live = new AtomicLong(); // Bytes not yet deleted or overwritten
+    int _end;                   // Append point; guarded by IceSegments.this
+    volatile boolean _sealed;   // No more appends; delete the file when live hits 0
+    // Loaders copy out under the read lock; the unmap takes the write lock
+    final ReentrantReadWriteLock _lock = new ReentrantReadWriteLock();
+    boolean _unmapped;          // Guarded by _lock
+    Segment( File f, int size ) throws IOException {
+      _file = f;
+      try( RandomAccessFile raf = new RandomAccessFile(f,"rw") ) {
+        raf.setLength(size);    // Sparse; disk is consumed as we append
+        _buf = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+      }
+    }
+  }
+
+  // Location of one spilled Value
+  private static final class Loc {
+    final Segment _seg;
+    final int _off, _len;
+    Loc( Segment seg, int off, int len ) { _seg = seg; _off = off; _len = len; }
+  }
+
+  /** Append the bytes of Value v to the active segment */
+  void store( Value v, byte[] m ) throws IOException {
+    Loc loc;
+    synchronized(this) {
+      if( _active == null || _active._end + m.length > _segSize ) roll();
+      Segment seg = _active;
+      ByteBuffer bb = seg._buf.duplicate();
+      bb.position(seg._end);
+      bb.put(m);
+      loc = new Loc(seg, seg._end, m.length);
+      seg._end += m.length;
+      seg._live.addAndGet(m.length);
+    }
+    Loc old = _index.put(v._key, loc); // Publishes the appended bytes to loaders
+    if( old != null ) release(old);   // Overwrite of a prior spill of this Key
+  }
+
+  /** Copy the bytes of Value v back out of its segment, or null if the Value
+   *  is not (fully) on disk - i.e., a racing delete. */
+  byte[] load( Value v ) {
+    Loc loc = _index.get(v._key);
+    if( loc == null || loc._len < v._max ) return null;
+    byte[] b = MemoryManager.malloc1(v._max);
+    Segment seg = loc._seg;
+    seg._lock.readLock().lock();
+    try {
+      if( seg._unmapped ) return null; // Dropped by a racing delete
+      ByteBuffer bb = seg._buf.duplicate();
+      bb.position(loc._off);
+      bb.get(b);
+    } finally {
+      seg._lock.readLock().unlock();
+    }
+    return b;
+  }
+
+  void delete( Value v ) {
+    Loc loc = _index.remove(v._key);
+    if( loc != null ) release(loc);
+  }
+
+  /** Unmap and delete all segments, and forget everything spilled */
+  synchronized void clear() {
+    HashSet<Segment> segs = new HashSet<>();
+    for( Loc loc : _index.values() ) segs.add(loc._seg);
+    if( _active != null ) segs.add(_active);
+    _index.clear();
+    _active = null;
+    for( Segment seg : segs ) drop(seg);
+  }
+
+  // Seal the active segment and start a new one.
+  private void roll() throws IOException {
+    assert Thread.holdsLock(this);
+    Segment old = _active;
+    if( !_dir.mkdirs() && !_dir.exists() )
+      throw new IOException("mkdirs failed making "+_dir);
+    _active = new Segment(new File(_dir, "seg" + (_nextIdx++)), _segSize);
+    if( old != null ) {
+      old._sealed = true;
+      if( old._live.get() == 0 ) drop(old);
+    }
+  }
+
+  private void release( Loc loc ) {
+    Segment seg = loc._seg;
+    if( seg._live.addAndGet(-loc._len) == 0 && seg._sealed )
+      drop(seg);
+  }
+
+  // All bytes dead and no more appends: unmap, then remove the file.  Waiting
+  // out racing loaders is cheap, as each holds the lock for one bulk copy.
+  // Without the unmap the GB of address space (and, on some platforms, the
+  // file) lives on until the GC happens to collect the buffer.
+  private static void drop( Segment seg ) {
+    seg._lock.writeLock().lock();
+    try {
+      if( seg._unmapped ) return; // Racing drops of the same segment
+      seg._unmapped = true;
+      if( !UnsafeUtils.unmap(seg._buf) )
+        Log.warn("Failed to unmap ice segment " + seg._file);
+    } finally {
+      seg._lock.writeLock().unlock();
+    }
+    if( !seg._file.delete() && seg._file.exists() )
+      Log.warn("Failed to delete ice segment " + seg._file);
+  }
+  // Test hook: is the segment file for a Key still on disk?
+  File fileOf( Key k ) { Loc loc = _index.get(k); return loc == null ? null : loc._seg._file; }
+}
@@ -15,6 +15,8 @@ import water.util.Log;
 final class PersistFS extends Persist {
   final File _root;
   final File _dir;
+  // Spill into large mmapped segment files instead of one file per Key
+  private final IceSegments _segs;
 
   PersistFS(File root) {
     _root = root;
@@ -24,9 +26,13 @@ final class PersistFS extends Persist {
     root.mkdirs();
     if( !(root.isDirectory() && root.canRead() && root.canWrite()) )
       H2O.die("ice_root not a read/writable directory");
+    _segs = H2O.ARGS.ice_segments ? new IceSegments(_dir) : null;
   }
 
-  public void cleanUp() { deleteRecursive(_dir); }
+  public void cleanUp() {
+    if( _segs != null ) _segs.clear();
+    deleteRecursive(_dir);
+  }
 
   private static void deleteRecursive(File path) {
     if( !path.exists() ) return;
@@ -41,6 +47,12 @@ final class PersistFS extends Persist {
   }
 
   @Override public byte[] load(Value v) throws IOException {
+    if( _segs != null ) {
+      byte[] b = _segs.load(v);
+      // Missing means a racey delete of a spilled value
+      assert b != null || !v.isPersisted() : v._key;
+      return b;
+    }
     File f = getFile(v);
     if( f.length() < v._max ) { // Should be fully on disk...
       // or it's a racey delete of a spilled value
@@ -58,6 +70,15 @@ final class PersistFS extends Persist {
   // Store Value v to disk.
   @Override public void store(Value v) throws IOException {
     assert !v.isPersisted();
+    if( _segs != null ) {
+      byte[] m = v.memOrLoad();
+      if( m.length != v._max ) {
+        Log.warn("Value size mismatch? " + v._key + " byte[].len=" + m.length+" v._max="+v._max);
+        v._max = m.length;
+      }
+      _segs.store(v, m);
+      return;
+    }
     File dirs = new File(_dir, getIceDirectory(v._key));
     if( !dirs.mkdirs() && !dirs.exists() )
       throw new java.io.IOException("mkdirs failed making "+dirs);
@@ -74,6 +95,7 @@ final class PersistFS extends Persist {
   }
 
   @Override public void delete(Value v) {
+    if( _segs != null ) { _segs.delete(v); return; }
     getFile(v).delete();        // Silently ignore errors
     // Attempt to delete empty containing directory
     new File(_dir, getIceDirectory(v._key)).delete();
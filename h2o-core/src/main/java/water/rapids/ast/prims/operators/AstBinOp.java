@@ -1,11 +1,13 @@
 package water.rapids.ast.prims.operators;
 
+import water.Futures;
 import water.H2O;
 import water.MRTask;
 import water.fvec.Chunk;
 import water.fvec.Frame;
 import water.fvec.NewChunk;
 import water.fvec.Vec;
+import water.fvec.ZoneMap;
 import water.parser.BufferedString;
 import water.rapids.*;
 import water.rapids.ast.AstPrimitive;
@@ -15,6 +17,7 @@ import water.rapids.vals.ValNum;
 import water.rapids.vals.ValRow;
 import water.util.ArrayUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 
 /**
@@ -163,16 +166,93 @@ abstract public class AstBinOp extends AstPrimitive {
     throw H2O.fail();
   }
 
+  /**
+   * Override in comparison ops: the value of op(l,r) shared by every l in
+   * [lmin,lmax] and r in [rmin,rmax], or NaN if it differs or cannot be told.
+   * Lets a filter decide a whole Chunk from its {@link ZoneMap}.
+   */
+  public double rangeOp(double lmin, double lmax, double rmin, double rmax) {
+    return Double.NaN;
+  }
+
+  /**
+   * Zone maps of the numeric columns of fr, or null if this op cannot use
+   * them.  Only already-built zone maps are used; never waits on a pass.
+   * Missing ones are built in the background, in one pass over all the
+   * columns, for the next filter on this frame.
+   */
+  protected ZoneMap[] zoneMaps(Frame fr) {
+    if (Double.isNaN(rangeOp(0, 0, 0, 0))) return null; // Not a comparison
+    ZoneMap[] zms = new ZoneMap[fr.numCols()];
+    ArrayList<Vec> missing = new ArrayList<>();
+    for (int i = 0; i < zms.length; i++) {
+      Vec v = fr.vec(i);
+      if (v.isString() || v.isUUID()) continue;
+      if ((zms[i] = v.zoneMap()) == null) missing.add(v);
+    }
+    if (!missing.isEmpty()) ZoneMap.build(missing.toArray(new Vec[missing.size()]), new Futures());
+    return zms;
+  }
+
+  /**
+   * Fill cres with op(chk,d), or op(d,chk) if scalarLeft, from the zone map
+   * alone when that decides the whole Chunk.  A sorted Chunk without NAs is
+   * bisected into runs of equal result, reading O(log n) rows per run.
+   * Returns false if the Chunk must be evaluated row by row.
+   */
+  protected boolean zoneOp(ZoneMap zm, Chunk chk, NewChunk cres, double d, boolean scalarLeft) {
+    if (zm == null || Double.isNaN(d)) return false;
+    final int cidx = chk.cidx();
+    final int nas = zm.naCnt(cidx);
+    final double naRes = scalarLeft ? op(d, Double.NaN) : op(Double.NaN, d);
+    double res = nas == chk._len ? naRes : rangeOp(chk, zm.min(cidx), zm.max(cidx), d, scalarLeft);
+    if (nas > 0 && res != naRes) res = Double.NaN;
+    if (!Double.isNaN(res)) {
+      addRun(cres, res, chk._len);
+      return true;
+    }
+    if (nas != 0 || !zm.isSorted(cidx)) return false;
+    bisect(chk, cres, 0, chk._len, d, scalarLeft);
+    return true;
+  }
+
+  private double rangeOp(Chunk chk, double min, double max, double d, boolean scalarLeft) {
+    return scalarLeft ? rangeOp(d, d, min, max) : rangeOp(min, max, d, d);
+  }
+
+  private void bisect(Chunk chk, NewChunk cres, int lo, int hi, double d, boolean scalarLeft) {
+    if (hi - lo <= 16) {
+      for (int i = lo; i < hi; i++)
+        cres.addNum(scalarLeft ? op(d, chk.atd(i)) : op(chk.atd(i), d));
+      return;
+    }
+    double res = rangeOp(chk, chk.atd(lo), chk.atd(hi - 1), d, scalarLeft);
+    if (!Double.isNaN(res)) {
+      addRun(cres, res, hi - lo);
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    bisect(chk, cres, lo, mid, d, scalarLeft);
+    bisect(chk, cres, mid, hi, d, scalarLeft);
+  }
+
+  private static void addRun(NewChunk cres, double d, int n) {
+    if (d == 0) cres.addZeros(n);
+    else for (int i = 0; i < n; i++) cres.addNum(d);
+  }
+
   /**
    * Auto-widen the scalar to every element of the frame
    */
   private ValFrame scalar_op_frame(final double d, Frame fr) {
+    final ZoneMap[] zms = zoneMaps(fr);
     Frame res = new MRTask() {
       @Override
       public void map(Chunk[] chks, NewChunk[] cress) {
         for (int c = 0; c < chks.length; c++) {
           Chunk chk = chks[c];
           NewChunk cres = cress[c];
+          if (zms != null && zoneOp(zms[c], chk, cres, d, true)) continue;
           for (int i = 0; i < chk._len; i++)
             cres.addNum(op(d, chk.atd(i)));
         }
@@ -185,12 +265,14 @@ abstract public class AstBinOp extends AstPrimitive {
    * Auto-widen the scalar to every element of the frame
    */
   public ValFrame frame_op_scalar(Frame fr, final double d) {
+    final ZoneMap[] zms = zoneMaps(fr);
     Frame res = new MRTask() {
       @Override
       public void map(Chunk[] chks, NewChunk[] cress) {
         for (int c = 0; c < chks.length; c++) {
           Chunk chk = chks[c];
           NewChunk cres = cress[c];
+          if (zms != null && zoneOp(zms[c], chk, cres, d, false)) continue;
           for (int i = 0; i < chk._len; i++)
             cres.addNum(op(chk.atd(i), d));
         }
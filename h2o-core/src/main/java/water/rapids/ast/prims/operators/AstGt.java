@@ -10,4 +10,11 @@ public class AstGt extends AstBinOp {
   public double op(double l, double r) {
     return l > r ? 1 : 0;
   }
+
+  @Override
+  public double rangeOp(double lmin, double lmax, double rmin, double rmax) {
+    if (lmin > rmax) return 1;
+    if (lmax <= rmin) return 0;
+    return Double.NaN;
+  }
 }
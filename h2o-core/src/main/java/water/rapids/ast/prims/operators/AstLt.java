@@ -10,4 +10,11 @@ public class AstLt extends AstBinOp {
   public double op(double l, double r) {
     return l < r ? 1 : 0;
   }
+
+  @Override
+  public double rangeOp(double lmin, double lmax, double rmin, double rmax) {
+    if (lmax < rmin) return 1;
+    if (lmin >= rmax) return 0;
+    return Double.NaN;
+  }
 }
@@ -5,6 +5,7 @@ import water.fvec.Chunk;
 import water.fvec.Frame;
 import water.fvec.NewChunk;
 import water.fvec.Vec;
+import water.fvec.ZoneMap;
 import water.parser.BufferedString;
 import water.rapids.vals.ValFrame;
 import water.util.MathUtils;
@@ -23,6 +24,7 @@ public class AstNe extends AstBinOp {
 
   @Override
   public ValFrame frame_op_scalar(Frame fr, final double d) {
+    final ZoneMap[] zms = zoneMaps(fr);
     return new ValFrame(new MRTask() {
       @Override
       public void map(Chunk[] chks, NewChunk[] cress) {
@@ -34,7 +36,7 @@ public class AstNe extends AstBinOp {
             for (int i = 0; i < chk._len; i++)
               cres.addNum(str_op(chk.atStr(bStr, i), Double.isNaN(d) ? null : new BufferedString(String.valueOf(d))));
           else if (!chk.vec().isNumeric()) cres.addZeros(chk._len);
-          else
+          else if (zms == null || !zoneOp(zms[c], chk, cres, d, false))
             for (int i = 0; i < chk._len; i++)
               cres.addNum(op(chk.atd(i), d));
         }
@@ -42,6 +44,14 @@ public class AstNe extends AstBinOp {
     }.doAll(fr.numCols(), Vec.T_NUM, fr).outputFrame());
   }
 
+  @Override
+  public double rangeOp(double lmin, double lmax, double rmin, double rmax) {
+    if (lmin == lmax && rmin == rmax) return op(lmin, rmin);
+    // Disjoint ranges, not even within an ulp at the near ends
+    if ((lmax < rmin && op(lmax, rmin) == 1) || (lmin > rmax && op(lmin, rmax) == 1)) return 1;
+    return Double.NaN;
+  }
+
   @Override
   public boolean categoricalOK() {
     return true;
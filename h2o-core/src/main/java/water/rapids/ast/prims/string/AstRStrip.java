@@ -1,6 +1,7 @@
 package water.rapids.ast.prims.string;
 
 import org.apache.commons.lang.StringUtils;
+import water.FusedTask;
 import water.MRTask;
 import water.fvec.*;
 import water.parser.BufferedString;
@@ -47,16 +48,20 @@ public class AstRStrip extends AstPrimitive {
             + "Received " + fr.anyVec().get_type_str()
             + ". Please convert column to a string or categorical first.");
 
-    // Transform each vec
+    // Transform each vec; the string columns share one pass over the Chunks
     Vec nvs[] = new Vec[fr.numCols()];
-    int i = 0;
-    for (Vec v : fr.vecs()) {
+    MRTask tasks[] = new MRTask[nvs.length];
+    FusedTask fused = new FusedTask();
+    for (int i = 0; i < nvs.length; i++) {
+      Vec v = fr.vec(i);
       if (v.isCategorical())
         nvs[i] = rstripCategoricalCol(v, set);
       else
-        nvs[i] = rstripStringCol(v, set);
-      i++;
+        fused.add(tasks[i] = rstripStringCol(set), new byte[]{Vec.T_STR}, v);
     }
+    fused.doAll();
+    for (int i = 0; i < nvs.length; i++)
+      if (tasks[i] != null) nvs[i] = tasks[i].outputFrame().anyVec();
 
     return new ValFrame(new Frame(nvs));
   }
@@ -86,7 +91,7 @@ public class AstRStrip extends AstPrimitive {
     return vec.makeCopy(doms);
   }
 
-  private Vec rstripStringCol(Vec vec, String set) {
+  private MRTask rstripStringCol(String set) {
     final String charSet = set;
     return new MRTask() {
       @Override
@@ -106,6 +111,6 @@ public class AstRStrip extends AstPrimitive {
           }
         }
       }
-    }.doAll(new byte[]{Vec.T_STR}, vec).outputFrame().anyVec();
+    };
   }
 }
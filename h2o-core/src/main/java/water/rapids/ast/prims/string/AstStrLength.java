@@ -1,5 +1,6 @@
 package water.rapids.ast.prims.string;
 
+import water.FusedTask;
 import water.MRTask;
 import water.fvec.*;
 import water.parser.BufferedString;
@@ -40,25 +41,27 @@ public class AstStrLength extends AstPrimitive {
             + "Received " + fr.anyVec().get_type_str()
             + ". Please convert column to a string or categorical first.");
 
-    // Transform each vec
+    // Transform each vec, all in one pass over the Chunks
     Vec nvs[] = new Vec[fr.numCols()];
-    int i = 0;
-    for (Vec v : fr.vecs()) {
-      if (v.isCategorical())
-        nvs[i] = lengthCategoricalCol(v);
-      else
-        nvs[i] = lengthStringCol(v);
-      i++;
+    MRTask tasks[] = new MRTask[nvs.length];
+    FusedTask fused = new FusedTask();
+    for (int i = 0; i < nvs.length; i++) {
+      Vec v = fr.vec(i);
+      tasks[i] = v.isCategorical() ? lengthCategoricalCol() : lengthStringCol();
+      fused.add(tasks[i], new byte[]{Vec.T_NUM}, v);
     }
+    fused.doAll();
+    for (int i = 0; i < nvs.length; i++)
+      nvs[i] = tasks[i].outputFrame().anyVec();
 
     return new ValFrame(new Frame(nvs));
   }
 
-  private Vec lengthCategoricalCol(Vec vec) {
+  private MRTask lengthCategoricalCol() {
     //String[] doms = vec.domain();
     //int[] catLengths = new int[doms.length];
     //for (int i = 0; i < doms.length; ++i) catLengths[i] = doms[i].length();
-    Vec res = new MRTask() {
+    return new MRTask() {
       transient int[] catLengths;
 
       @Override
@@ -78,11 +81,10 @@ public class AstStrLength extends AstPrimitive {
           else
             newChk.addNum(catLengths[(int) chk.atd(i)], 0);
       }
-    }.doAll(1, Vec.T_NUM, new Frame(vec)).outputFrame().anyVec();
-    return res;
+    };
   }
 
-  private Vec lengthStringCol(Vec vec) {
+  private MRTask lengthStringCol() {
     return new MRTask() {
       @Override
       public void map(Chunk chk, NewChunk newChk) {
@@ -99,6 +101,6 @@ public class AstStrLength extends AstPrimitive {
           }
         }
       }
-    }.doAll(new byte[]{Vec.T_NUM}, vec).outputFrame().anyVec();
+    };
   }
 }
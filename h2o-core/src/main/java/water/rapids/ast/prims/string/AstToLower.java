@@ -1,5 +1,6 @@
 package water.rapids.ast.prims.string;
 
+import water.FusedTask;
 import water.MRTask;
 import water.fvec.*;
 import water.parser.BufferedString;
@@ -44,16 +45,20 @@ public class AstToLower extends AstPrimitive {
             + "Received " + fr.anyVec().get_type_str()
             + ". Please convert column to a string or categorical first.");
 
-    // Transform each vec
+    // Transform each vec; the string columns share one pass over the Chunks
     Vec nvs[] = new Vec[fr.numCols()];
-    int i = 0;
-    for (Vec v : fr.vecs()) {
+    MRTask tasks[] = new MRTask[nvs.length];
+    FusedTask fused = new FusedTask();
+    for (int i = 0; i < nvs.length; i++) {
+      Vec v = fr.vec(i);
       if (v.isCategorical())
         nvs[i] = toLowerCategoricalCol(v);
       else
-        nvs[i] = toLowerStringCol(v);
-      i++;
+        fused.add(tasks[i] = toLowerStringCol(), new byte[]{Vec.T_STR}, v);
     }
+    fused.doAll();
+    for (int i = 0; i < nvs.length; i++)
+      if (tasks[i] != null) nvs[i] = tasks[i].outputFrame().anyVec();
 
     return new ValFrame(new Frame(nvs));
   }
@@ -66,7 +71,7 @@ public class AstToLower extends AstPrimitive {
     return vec.makeCopy(dom);
   }
 
-  private Vec toLowerStringCol(Vec vec) {
+  private MRTask toLowerStringCol() {
     return new MRTask() {
       @Override
       public void map(Chunk chk, NewChunk newChk) {
@@ -85,6 +90,6 @@ public class AstToLower extends AstPrimitive {
           }
         }
       }
-    }.doAll(new byte[]{Vec.T_STR}, vec).outputFrame().anyVec();
+    };
   }
 }
@@ -1,5 +1,6 @@
 package water.rapids.ast.prims.string;
 
+import water.FusedTask;
 import water.MRTask;
 import water.fvec.*;
 import water.rapids.Env;
@@ -44,16 +45,20 @@ public class AstTrim extends AstPrimitive {
             + "Received " + fr.anyVec().get_type_str()
             + ". Please convert column to a string or categorical first.");
 
-    // Transform each vec
+    // Transform each vec; the string columns share one pass over the Chunks
     Vec nvs[] = new Vec[fr.numCols()];
-    int i = 0;
-    for (Vec v : fr.vecs()) {
+    MRTask tasks[] = new MRTask[nvs.length];
+    FusedTask fused = new FusedTask();
+    for (int i = 0; i < nvs.length; i++) {
+      Vec v = fr.vec(i);
       if (v.isCategorical())
         nvs[i] = trimCategoricalCol(v);
       else
-        nvs[i] = trimStringCol(v);
-      i++;
+        fused.add(tasks[i] = trimStringCol(), new byte[]{Vec.T_STR}, v);
     }
+    fused.doAll();
+    for (int i = 0; i < nvs.length; i++)
+      if (tasks[i] != null) nvs[i] = tasks[i].outputFrame().anyVec();
 
     return new ValFrame(new Frame(nvs));
   }
@@ -82,7 +87,7 @@ public class AstTrim extends AstPrimitive {
     return vec.makeCopy(doms);
   }
 
-  private Vec trimStringCol(Vec vec) {
+  private MRTask trimStringCol() {
     return new MRTask() {
       @Override
       public void map(Chunk chk, NewChunk newChk) {
@@ -93,6 +98,6 @@ public class AstTrim extends AstPrimitive {
           // so UTF-8 safe methods are not needed here.
         else ((CStrChunk) chk).asciiTrim(newChk);
       }
-    }.doAll(new byte[]{Vec.T_STR}, vec).outputFrame().anyVec();
+    };
   }
 }
@@ -185,6 +185,7 @@ public class ArrayUtils {
 
   public static double[] add(double[] a, double[] b) {
     if( a==null ) return b;
+    if( b==null ) return a;
     for(int i = 0; i < a.length; i++ ) a[i] += b[i];
     return a;
   }
@@ -29,12 +29,14 @@ public class ChunkSummary extends MRTask<ChunkSummary> {
     "C4S",
     "C4F",
     "C8",
+    "CBP",                      // Bit-packed ints
     "CNAXI",                    // NA sparse ints
     "C16",                      // UUID
     "CStr",                     // Strings
     "CXD",                      // Sparse doubles
     "CNAXD",                    // NA sparse doubles      
     "CUD",                      // Few Unique doubles
+    "CRLE",                     // Run-length encoded
     "C8D",                      //leave this as last -> no compression
   };
   final transient static String[] chunkNames = new String[]{
@@ -52,12 +54,14 @@ public class ChunkSummary extends MRTask<ChunkSummary> {
           "4-Byte Fractions",
           "32-bit Reals",
           "64-bit Integers",
+          "Bit-Packed Integers",
           "NA Sparse Integers",
           "128-bit UUID",
           "String",
           "Zero Sparse Reals",
           "NA Sparse Reals",
           "Unique Reals",
+          "Run-Length Encoded",
           "64-bit Reals",
   };
 
@@ -0,0 +1,117 @@
+package water.util;
+
+import java.util.Arrays;
+
+/** Pure-Java LZ4-style block compression.
+ *  <p>
+ *  A greedy LZ77 with a small hash table of 4-byte sequences, using the LZ4
+ *  block layout: each sequence is a token (literal count in the high nibble,
+ *  match length-4 in the low nibble, 15 meaning "more length bytes follow"),
+ *  the literals, then a 2-byte little-endian back-offset.  The last sequence
+ *  holds only literals.  Favors speed over ratio: decompression is a few
+ *  array copies per sequence, and incompressible input is skipped over at an
+ *  accelerating stride.
+ *  <p>
+ *  The uncompressed length is not stored in the block; callers keep it.
+ */
+public class LZ4 {
+  private static final int MIN_MATCH = 4;
+  private static final int HASH_LOG = 12;
+  private static final int MAX_OFF = 65535;
+  private static final int LAST_LITERALS = 5; // Last bytes are always literals
+  private static final int MFLIMIT = 12;      // No match may start this close to the end
+
+  /** Worst-case compressed size of len bytes */
+  public static int maxCompressedLength( int len ) { return len + len/255 + 16; }
+
+  /** Compress all of src.
+   *  @return the compressed bytes, or null if they would not be smaller */
+  public static byte[] compress( byte[] src ) {
+    byte[] dst = new byte[maxCompressedLength(src.length)];
+    int clen = compress(src,0,src.length,dst,0);
+    return clen < src.length ? Arrays.copyOf(dst,clen) : null;
+  }
+
+  /** Compress src[soff,soff+slen) into dst starting at doff.  dst must have
+   *  room for {@link #maxCompressedLength} bytes.
+   *  @return the compressed length */
+  public static int compress( byte[] src, int soff, int slen, byte[] dst, int doff ) {
+    final int end = soff+slen;
+    final int matchLimit = end - LAST_LITERALS;
+    final int ipLimit = end - MFLIMIT;
+    int anchor = soff, ip = soff, op = doff;
+    if( slen >= MFLIMIT ) {
+      int[] table = new int[1<<HASH_LOG];
+      Arrays.fill(table,-1);
+      while( ip < ipLimit ) {
+        int h = hash(UnsafeUtils.get4(src,ip));
+        int ref = table[h];
+        table[h] = ip;
+        if( ref < soff || ip-ref > MAX_OFF || UnsafeUtils.get4(src,ref) != UnsafeUtils.get4(src,ip) ) {
+          ip += 1 + ((ip-anchor)>>6); // Skip faster through incompressible data
+          continue;
+        }
+        // Extend the match backwards over pending literals, then forwards
+        while( ip > anchor && ref > soff && src[ip-1] == src[ref-1] ) { ip--; ref--; }
+        int mlen = MIN_MATCH;
+        while( ip+mlen < matchLimit && src[ip+mlen] == src[ref+mlen] ) mlen++;
+        op = sequence(src,anchor,ip-anchor,dst,op,mlen-MIN_MATCH);
+        dst[op++] = (byte) (ip-ref);
+        dst[op++] = (byte)((ip-ref)>>8);
+        if( mlen-MIN_MATCH >= 15 ) op = length(dst,op,mlen-MIN_MATCH-15);
+        ip += mlen;
+        anchor = ip;
+      }
+    }
+    return sequence(src,anchor,end-anchor,dst,op,0); // Trailing literals
+  }
+
+  /** Decompress exactly dlen bytes from src[soff,soff+slen) into dst at doff */
+  public static void decompress( byte[] src, int soff, int slen, byte[] dst, int doff, int dlen ) {
+    final int iend = soff+slen;
+    int ip = soff, op = doff;
+    while( true ) {
+      int token = src[ip++]&0xFF;
+      int lit = token>>>4;
+      if( lit == 15 ) { int b; do { b = src[ip++]&0xFF; lit += b; } while( b == 255 ); }
+      System.arraycopy(src,ip,dst,op,lit);
+      ip += lit;  op += lit;
+      if( ip >= iend ) break;   // Last sequence has no match
+      int off = (src[ip]&0xFF) | ((src[ip+1]&0xFF)<<8);
+      ip += 2;
+      int mlen = token&15;
+      if( mlen == 15 ) { int b; do { b = src[ip++]&0xFF; mlen += b; } while( b == 255 ); }
+      mlen += MIN_MATCH;
+      int ref = op-off;
+      if( off >= mlen ) System.arraycopy(dst,ref,dst,op,mlen);
+      else for( int i=0; i<mlen; i++ ) dst[op+i] = dst[ref+i]; // Overlapping run
+      op += mlen;
+    }
+    if( op != doff+dlen )
+      throw new IllegalArgumentException("Corrupt LZ4 block: expected "+dlen+" bytes, got "+(op-doff));
+  }
+
+  /** Decompress a block made by {@link #compress(byte[])} */
+  public static byte[] decompress( byte[] src, int dlen ) {
+    byte[] dst = new byte[dlen];
+    decompress(src,0,src.length,dst,0,dlen);
+    return dst;
+  }
+
+  private static int hash( int i ) { return (i*-1640531535) >>> (32-HASH_LOG); }
+
+  // Token plus literal run; match length nibble is filled in from mlen4
+  private static int sequence( byte[] src, int lit0, int lit, byte[] dst, int op, int mlen4 ) {
+    dst[op++] = (byte)((Math.min(lit,15)<<4) | Math.min(mlen4,15));
+    if( lit >= 15 ) op = length(dst,op,lit-15);
+    System.arraycopy(src,lit0,dst,op,lit);
+    return op+lit;
+  }
+
+  // 255-continued length extension
+  private static int length( byte[] dst, int op, int len ) {
+    while( len >= 255 ) { dst[op++] = (byte)255; len -= 255; }
+    dst[op++] = (byte)len;
+    return op;
+  }
+}
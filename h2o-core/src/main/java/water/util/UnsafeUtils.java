@@ -3,6 +3,9 @@ package water.util;
 import sun.misc.Unsafe;
 import water.nbhm.UtilUnsafe;
 
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
 public class UnsafeUtils {
   private static final Unsafe _unsafe = UtilUnsafe.getUnsafe();
   private static final long _Bbase  = _unsafe.arrayBaseOffset(byte[].class);
@@ -19,4 +22,34 @@ public class UnsafeUtils {
   public static int set4f(byte[] buf, int off, float f ) {_unsafe.putFloat (buf, _Bbase+off, f); return 4;}
   public static int set8 (byte[] buf, int off, long x  ) {_unsafe.putLong  (buf, _Bbase+off, x); return 8;}
   public static int set8d(byte[] buf, int off, double x) {_unsafe.putDouble(buf, _Bbase+off, x); return 8;}
+
+  // Raw native memory, outside the Java heap.  The caller owns the lifecycle:
+  // every allocate must be matched by exactly one free, and no reads may
+  // race with the free.
+  public static long   allocateMemory( long bytes ) { return _unsafe.allocateMemory(bytes); }
+  public static void   freeMemory    ( long adr   ) { _unsafe.freeMemory(adr); }
+  /** Bulk copy len bytes from a heap array into native memory */
+  public static void copyToNative  ( byte[] src, int off, long adr, int len ) { _unsafe.copyMemory(src, _Bbase+off, null, adr, len); }
+  /** Bulk copy len bytes from native memory into a heap array */
+  public static void copyFromNative( long adr, byte[] dst, int off, int len ) { _unsafe.copyMemory(null, adr, dst, _Bbase+off, len); }
+
+  /** Release the native memory or file mapping behind a direct ByteBuffer
+   *  now, instead of whenever the GC finds the buffer.  Any later access
+   *  through buf, or a duplicate of it, crashes the JVM.
+   *  @return false if this JVM offers no way to do it */
+  public static boolean unmap( ByteBuffer buf ) {
+    try {
+      try {                     // Java 9+
+        Unsafe.class.getMethod("invokeCleaner", ByteBuffer.class).invoke(_unsafe, buf);
+      } catch( NoSuchMethodException e ) { // Java 7 & 8: DirectBuffer.cleaner().clean()
+        Method cleaner = buf.getClass().getMethod("cleaner");
+        cleaner.setAccessible(true);
+        Object c = cleaner.invoke(buf);
+        if( c != null ) c.getClass().getMethod("clean").invoke(c);
+      }
+      return true;
+    } catch( ReflectiveOperationException | RuntimeException e ) {
+      return false;
+    }
+  }
 }
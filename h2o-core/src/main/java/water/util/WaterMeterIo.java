@@ -27,11 +27,29 @@ public class WaterMeterIo extends Iced {
     public long load_bytes;
   }
 
+  public static class WireStatsEntry extends SchemaV3<Iced, WireStatsEntry> {
+    @API(help="Direction, sent or received", direction = API.Direction.OUTPUT)
+    public String direction;
+
+    @API(help="Number of large byte arrays", direction = API.Direction.OUTPUT)
+    public long arrays;
+
+    @API(help="Number of them compressed", direction = API.Direction.OUTPUT)
+    public long compressed;
+
+    @API(help="Cumulative bytes before compression", direction = API.Direction.OUTPUT)
+    public long raw_bytes;
+
+    @API(help="Cumulative bytes on the wire", direction = API.Direction.OUTPUT)
+    public long wire_bytes;
+  }
+
   // Input
   public int nodeidx;
 
   // Output
   public IoStatsEntry persist_stats[];
+  public WireStatsEntry wire_stats[];
 
   public void doIt(boolean aggregateAllNodes) {
     if (! aggregateAllNodes) {
@@ -48,6 +66,11 @@ public class WaterMeterIo extends Iced {
           persist_stats[j] = new IoStatsEntry();
           persist_stats[j].backend    = io.persist_stats[j].backend;
         }
+        wire_stats = new WireStatsEntry[io.wire_stats.length];
+        for (int j = 0; j < wire_stats.length; j++) {
+          wire_stats[j] = new WireStatsEntry();
+          wire_stats[j].direction = io.wire_stats[j].direction;
+        }
       }
 
       for (int j = 0; j < persist_stats.length; j++) {
@@ -57,6 +80,12 @@ public class WaterMeterIo extends Iced {
         persist_stats[j].load_count += io.persist_stats[j].load_count;
         persist_stats[j].load_bytes += io.persist_stats[j].load_bytes;
       }
+      for (int j = 0; j < wire_stats.length; j++) {
+        wire_stats[j].arrays += io.wire_stats[j].arrays;
+        wire_stats[j].compressed += io.wire_stats[j].compressed;
+        wire_stats[j].raw_bytes += io.wire_stats[j].raw_bytes;
+        wire_stats[j].wire_bytes += io.wire_stats[j].wire_bytes;
+      }
     }
   }
 
@@ -68,10 +97,12 @@ public class WaterMeterIo extends Iced {
     new RPC<>(node, t).call().get();
     Log.trace("IO GetTask completed to node " + idx);
     persist_stats = t._persist_stats;
+    wire_stats = t._wire_stats;
   }
 
   private static class GetTask extends DTask<GetTask> {
     private IoStatsEntry _persist_stats[];
+    private WireStatsEntry _wire_stats[];
 
     public GetTask() { super(H2O.MIN_HI_PRIORITY); _persist_stats = null; }
 
@@ -108,6 +139,11 @@ public class WaterMeterIo extends Iced {
         dest_e.load_bytes = src_e.load_bytes.get();
       }
 
+      _wire_stats = new WireStatsEntry[] {
+        wireStats("sent", AutoBuffer.WIRE_SENT),
+        wireStats("received", AutoBuffer.WIRE_RECV)
+      };
+
       int[] backendsToZeroCheck = new int[] {0, 5, 6, 7};
       for (int j : backendsToZeroCheck) {
         PersistManager.PersistStatsEntry src_e = s[j];
@@ -120,5 +156,15 @@ public class WaterMeterIo extends Iced {
 
       tryComplete();
     }
+
+    private static WireStatsEntry wireStats(String direction, AutoBuffer.WireStats src_e) {
+      WireStatsEntry dest_e = new WireStatsEntry();
+      dest_e.direction = direction;
+      dest_e.arrays = src_e.arrays.get();
+      dest_e.compressed = src_e.compressed.get();
+      dest_e.raw_bytes = src_e.raw_bytes.get();
+      dest_e.wire_bytes = src_e.wire_bytes.get();
+      return dest_e;
+    }
   }
 }
@@ -474,4 +474,24 @@ public class AutoSerialTest extends Iced {
     _gcs = null;
   }
 
+  // Big arrays over a Channel go straight between the array and the Channel
+  @Test public void testBigBytesChannel() throws Exception {
+    byte[] bs = new byte[3*AutoBuffer.BBP_BIG._size+17];
+    for( int i=0; i<bs.length; i++ ) bs[i] = (byte)(i*31);
+    java.io.File f = java.io.File.createTempFile("autobuffer",".bin");
+    try {
+      java.io.RandomAccessFile raf = new java.io.RandomAccessFile(f,"rw");
+      new AutoBuffer(raf.getChannel(),false,Value.ICE).put4(12345).putA1(bs).putA1(new byte[]{7}).put4(-1).close();
+      raf = new java.io.RandomAccessFile(f,"r");
+      AutoBuffer ab = new AutoBuffer(raf.getChannel(),true,Value.ICE);
+      Assert.assertEquals(12345, ab.get4());
+      Assert.assertArrayEquals(bs, ab.getA1());
+      Assert.assertArrayEquals(new byte[]{7}, ab.getA1());
+      Assert.assertEquals(-1, ab.get4());
+      ab.close();
+    } finally {
+      Assert.assertTrue(f.delete());
+    }
+  }
+
 }
@@ -95,6 +95,44 @@ public class DKVTest extends TestUtil {
     }
   }
 
+  /**
+   * Test that batched prefetch and async gets return the same Values as plain
+   * gets, for Keys homed on every node, for missing Keys, and from every node.
+   */
+  @Test
+  public void testPrefetchAsync() throws Exception {
+    final Key[] keys = new Key[3*H2O.CLOUD.size()+1];
+    try {
+      for (int i = 0; i < keys.length-1; ++i)
+        DKV.put(keys[i] = Key.make((byte) 1, Key.HIDDEN_USER_KEY, true, H2O.CLOUD._memary[i % H2O.CLOUD.size()]), new IcedInt(i));
+      keys[keys.length-1] = Key.make(); // Never put
+      new TestPrefetch(keys).doAllNodes();
+    } finally {
+      for (Key k : keys)
+        if (k != null) DKV.remove(k);
+    }
+  }
+
+  private static class TestPrefetch extends MRTask<TestPrefetch> {
+    final Key [] _keys;
+    TestPrefetch(Key[] keys) {_keys = keys;}
+    @Override public void setupLocal() {
+      try {
+        DKV.prefetch(_keys);
+        DKV.prefetch(_keys);    // Again, while in flight
+        for (int i = 0; i < _keys.length-1; ++i) {
+          Value v = DKV.getAsync(_keys[i]).get();
+          Assert.assertEquals(i, ((IcedInt) v.get())._val);
+          Assert.assertEquals(i, ((IcedInt) DKV.getGet(_keys[i]))._val);
+        }
+        Assert.assertNull(DKV.getAsync(_keys[_keys.length-1]).get());
+        Assert.assertNull(DKV.get(_keys[_keys.length-1]));
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
   class Bytes extends Iced<Bytes> {
     public byte[] _b;
     Bytes(byte[] b) { _b = b; }
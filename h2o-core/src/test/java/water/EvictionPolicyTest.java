@@ -0,0 +1,116 @@
+package water;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+public class EvictionPolicyTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  // A Value re-used a while ago should outlive a Value scanned once just now
+  // under LRU-2, while plain LRU only looks at the last access.
+  @Test public void testLRU2PrefersReusedValues() {
+    long now = System.currentTimeMillis();
+    Value hot  = new Value(Key.make("hot"), "hot bits");
+    Value scan = new Value(Key.make("scan"),"scan bits");
+    hot._prevAccessedTime = now - 60*1000; // Used twice, last a minute ago
+    hot._lastAccessedTime = now - 30*1000;
+    scan._prevAccessedTime = 0;            // Touched exactly once, just now
+    scan._lastAccessedTime = now;
+
+    EvictionPolicy lru = EvictionPolicy.make("lru");
+    assertTrue(lru.evictionTime(hot) < lru.evictionTime(scan));
+    EvictionPolicy lru2 = EvictionPolicy.make("lru2");
+    assertTrue(lru2.evictionTime(scan) < lru2.evictionTime(hot));
+  }
+
+  // LRU-2 ranks by the access before last: re-use a minute ago beats re-use
+  // two minutes ago, and both beat a single access
+  @Test public void testLRU2Ordering() {
+    long now = System.currentTimeMillis();
+    Value recent = new Value(Key.make("recent"),"bits");
+    Value stale  = new Value(Key.make("stale" ),"bits");
+    Value once   = new Value(Key.make("once"  ),"bits");
+    recent._prevAccessedTime = now -  60*1000;  recent._lastAccessedTime = now - 50*1000;
+    stale ._prevAccessedTime = now - 120*1000;  stale ._lastAccessedTime = now - 10*1000;
+    once  ._prevAccessedTime = 0;               once  ._lastAccessedTime = now - 20*1000;
+    EvictionPolicy lru2 = EvictionPolicy.make("lru2");
+    assertTrue(lru2.rank(once ,now) < lru2.rank(stale ,now));
+    assertTrue(lru2.rank(stale,now) < lru2.rank(recent,now));
+    // Plain LRU: last access only
+    EvictionPolicy lru = EvictionPolicy.make("lru");
+    assertTrue(lru.rank(recent,now) < lru.rank(once,now));
+    assertTrue(lru.rank(once  ,now) < lru.rank(stale,now));
+  }
+
+  // A Value just written is ranked by its last access under any policy, so
+  // it is younger than the Cleaner's minimum age and is not spilled
+  @Test public void testYoungValuesExempt() {
+    long now = System.currentTimeMillis();
+    Value fresh = new Value(Key.make("fresh"),"bits"); // Touched once, on creation
+    fresh._lastAccessedTime = now - 1000;
+    EvictionPolicy lru2 = EvictionPolicy.make("lru2");
+    assertEquals(now - 1000, lru2.rank(fresh, now));
+    assertTrue(lru2.rank(fresh, now) > now - EvictionPolicy.YOUNG_MS);
+    assertTrue(lru2.evictionTime(fresh) < now - EvictionPolicy.YOUNG_MS); // What it would have been
+    fresh._lastAccessedTime = now - 2*EvictionPolicy.YOUNG_MS;           // No longer young
+    assertEquals(lru2.evictionTime(fresh), lru2.rank(fresh, now));
+  }
+
+  // Pins are counted per Job; a Job's pins all go when it stops or is removed
+  @Test public void testPinUnpin() throws InterruptedException {
+    Key<Job> j1 = Key.make(), j2 = Key.make();
+    Key v1 = Vec.newKey(), v2 = Vec.newKey();
+    EvictionPolicy.pin(j1, new Key[]{v1, v2});
+    EvictionPolicy.pin(j2, new Key[]{v1});
+    assertTrue(EvictionPolicy.isPinned(v1));
+    assertTrue(EvictionPolicy.isPinned(v2));
+    EvictionPolicy.unpin(j1, new Key[]{v1, v2});
+    assertTrue (EvictionPolicy.isPinned(v1)); // Still held by j2
+    assertFalse(EvictionPolicy.isPinned(v2));
+    EvictionPolicy.unpin(j1, new Key[]{v1});  // Twice is harmless
+    assertTrue (EvictionPolicy.isPinned(v1));
+    EvictionPolicy.unpinAll(j2);              // Asynchronous
+    for( int i = 0; i < 50 && EvictionPolicy.isPinned(v1); i++ ) Thread.sleep(100);
+    assertFalse(EvictionPolicy.isPinned(v1));
+    EvictionPolicy.pin(j1, new Key[]{v1});
+    EvictionPolicy.dropLocal(new Key[]{v1});  // Vec removed
+    assertFalse(EvictionPolicy.isPinned(v1));
+    assertFalse(EvictionPolicy.anyPinned());
+  }
+
+  // Frames release their pins on unlock_all and on removal, not only unlock
+  @Test public void testFramePinsReleased() {
+    boolean pin = H2O.ARGS.pin_job_frames;
+    H2O.ARGS.pin_job_frames = true;
+    Frame fr = null;
+    try {
+      fr = new Frame(Key.<Frame>make(), new String[]{"x"}, new Vec[]{Vec.makeSeq(1000, false)});
+      DKV.put(fr);
+      Key vec = fr.keys()[0];
+      Key<Job> job = Key.make();
+      fr.read_lock(job);
+      assertTrue(EvictionPolicy.isPinned(vec));
+      fr.unlock(job);
+      assertFalse(EvictionPolicy.isPinned(vec));
+
+      fr.read_lock(job);
+      fr = DKV.getGet(fr._key);   // With the lock
+      fr.unlock_all();
+      assertFalse(EvictionPolicy.isPinned(vec));
+
+      fr.read_lock(job);
+      assertTrue(EvictionPolicy.isPinned(vec));
+      fr.remove();                // Still locked
+      fr = null;
+      assertFalse(EvictionPolicy.isPinned(vec));
+    } finally {
+      if( fr != null ) fr.delete();
+      H2O.ARGS.pin_job_frames = pin;
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownPolicy() { EvictionPolicy.make("fifo"); }
+}
@@ -0,0 +1,125 @@
+package water;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+
+public class FairShareTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  // Leaves of each sampled Job mapping right now, and at each leaf entry
+  // while the other sampled Job also has leaves mapping: the sum of the
+  // running counts seen, and the number of such entries.
+  private static final AtomicInteger[] RUNNING = {new AtomicInteger(), new AtomicInteger()};
+  private static final AtomicLong[] SEEN = {new AtomicLong(), new AtomicLong()};
+  private static final AtomicLong[] SAMPLES = {new AtomicLong(), new AtomicLong()};
+
+  private static class SlowSum extends MRTask<SlowSum> {
+    final int _id;              // Sampled as RUNNING[_id], or -1
+    double _sum;
+    SlowSum( int id ) { _id = id; }
+    @Override public void map( Chunk c ) {
+      if( _id >= 0 ) {
+        int n = RUNNING[_id].incrementAndGet();
+        if( RUNNING[1-_id].get() > 0 ) { SEEN[_id].addAndGet(n); SAMPLES[_id].incrementAndGet(); }
+      }
+      try { Thread.sleep(5); } catch( InterruptedException ignore ) { }
+      finally { if( _id >= 0 ) RUNNING[_id].decrementAndGet(); }
+      for( int i = 0; i < c._len; i++ ) _sum += c.atd(i);
+    }
+    @Override public void reduce( SlowSum s ) { _sum += s._sum; }
+  }
+
+  private static Job<Keyed> startSum( final Vec vec, final double[] res ) {
+    return startSum(vec, res, -1, new CountDownLatch(0));
+  }
+
+  // Sum vec in a new Job, once go opens
+  private static Job<Keyed> startSum( final Vec vec, final double[] res, final int id, final CountDownLatch go ) {
+    Job<Keyed> job = new Job<>(null,null,"sum");
+    return job.start(new H2O.H2OCountedCompleter() {
+      @Override public void compute2() {
+        try { go.await(); } catch( InterruptedException ignore ) { }
+        res[0] = new SlowSum(id).doAll(vec)._sum;
+        tryComplete();
+      }
+    }, 1);
+  }
+
+  // Chunk maps anywhere in the cloud are charged to the Job
+  @Test public void testJobTimeAccounting() {
+    Vec vec = Vec.makeSeq(100000, true);
+    try {
+      assertTrue(vec.nChunks() > 1);
+      double[] res = new double[1];
+      Job<Keyed> job = startSum(vec, res);
+      job.get();
+      assertEquals(100000L*100001/2, res[0], 0);
+      assertTrue(job.map_msecs() >= 5L*vec.nChunks());
+      assertFalse(FairShare.JOB_NANOS.containsKey(job._key)); // Retired
+      assertEquals(1, job.share());
+      job.remove();
+    } finally {
+      vec.remove();
+    }
+  }
+
+  // A Job's share is forgotten on every node when it stops, even by failing
+  @Test public void testSharesDropped() throws InterruptedException {
+    final CountDownLatch go = new CountDownLatch(1);
+    Job<Keyed> job = new Job<>(null,null,"fail");
+    job.start(new H2O.H2OCountedCompleter() {
+      @Override public void compute2() {
+        try { go.await(); } catch( InterruptedException ignore ) { }
+        throw new IllegalStateException("expected failure");
+      }
+    }, 1);
+    job.setShare(3);
+    assertEquals(3, FairShare.share(job._key));
+    go.countDown();
+    try { job.get(); fail("job should fail"); } catch( RuntimeException expected ) { }
+    for( int i = 0; i < 50 && FairShare.SHARES.containsKey(job._key); i++ ) Thread.sleep(100);
+    assertFalse(FairShare.SHARES.containsKey(job._key));
+    assertFalse(FairShare.JOB_NANOS.containsKey(job._key));
+    job.remove();
+  }
+
+  // Under contention a Job with share 3 runs about 3 times as many leaves
+  // at once as a Job with share 1; both finish, with every Chunk mapped once
+  @Test public void testSharedJobs() {
+    Assume.assumeTrue("Shares 1 and 3 need at least 4 threads to differ", H2O.ARGS.nthreads >= 4);
+    boolean fair = H2O.ARGS.job_fair_share;
+    H2O.ARGS.job_fair_share = true;
+    Vec vec = Vec.makeCon(1, 1<<16, 6, false); // 1024 Chunks
+    try {
+      for( int i = 0; i < 2; i++ ) { RUNNING[i].set(0); SEEN[i].set(0); SAMPLES[i].set(0); }
+      CountDownLatch go = new CountDownLatch(1);
+      double[] r1 = new double[1], r3 = new double[1];
+      Job<Keyed> j1 = startSum(vec, r1, 0, go);
+      Job<Keyed> j3 = startSum(vec, r3, 1, go);
+      j3.setShare(3);
+      go.countDown();
+      j1.get();  j3.get();
+      assertEquals(3, j3.share());
+      assertEquals(1<<16, r1[0], 0);
+      assertEquals(1<<16, r3[0], 0);
+      assertTrue("no contention sampled", SAMPLES[0].get() > 0 && SAMPLES[1].get() > 0);
+      double run1 = (double)SEEN[0].get()/SAMPLES[0].get(), run3 = (double)SEEN[1].get()/SAMPLES[1].get();
+      assertTrue("running leaves, share 1: "+run1+", share 3: "+run3, run3 >= 2*run1);
+      j1.remove();  j3.remove();
+    } finally {
+      H2O.ARGS.job_fair_share = fair;
+      vec.remove();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadShare() {
+    new Job<>(null,null,"bad").setShare(0);
+  }
+}
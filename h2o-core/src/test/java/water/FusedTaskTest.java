@@ -0,0 +1,90 @@
+package water;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+
+public class FusedTaskTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static class Sum extends MRTask<Sum> {
+    double _sum;
+    boolean _post;
+    @Override public void map( Chunk c ) { for( int i = 0; i < c._len; i++ ) _sum += c.atd(i); }
+    @Override public void reduce( Sum s ) { _sum += s._sum; }
+    @Override protected void postGlobal() { _post = true; }
+  }
+
+  private static class Times extends MRTask<Times> {
+    transient double _scale;    // Set per node, like any node-local state
+    @Override protected void setupLocal() { _scale = 1.0/_fr.numCols(); }
+    @Override public void map( Chunk cs[], NewChunk ncs[] ) {
+      for( int i = 0; i < cs[0]._len; i++ ) ncs[0].addNum(cs[0].atd(i)*cs[1].atd(i)*2*_scale);
+    }
+  }
+
+  private static class Neg extends MRTask<Neg> {
+    @Override public void map( Chunk c, NewChunk nc ) { for( int i = 0; i < c._len; i++ ) nc.addNum(-c.atd(i)); }
+  }
+
+  @Test public void testFused() {
+    final long N = 100000;
+    Vec a = null, b = null;
+    Frame times = null, neg = null;
+    try {
+      a = Vec.makeSeq(N, true);
+      b = a.makeCon(3.0);
+      Assert.assertTrue(a.nChunks() > 1);
+
+      Sum sumA = new Sum(), sumB = new Sum();
+      Times t = new Times();
+      Neg n = new Neg();
+      FusedTask ft = new FusedTask()
+        .add(sumA, a)
+        .add(t, new byte[]{Vec.T_NUM}, a, b)
+        .add(sumB, b)
+        .add(n, new byte[]{Vec.T_NUM}, a);
+      Assert.assertEquals(4, ft.numTasks());
+      ft.doAll();
+
+      Assert.assertEquals(N*(N+1)/2, sumA._sum, 0);
+      Assert.assertEquals(3*N, sumB._sum, 0);
+      Assert.assertTrue(sumA._post && sumB._post);
+
+      times = t.outputFrame();
+      neg = n.outputFrame();
+      Assert.assertEquals(N, times.numRows());
+      Assert.assertEquals(N, neg.numRows());
+      for( long r = 0; r < N; r += 997 ) {
+        Assert.assertEquals(3*(r+1), times.vec(0).at(r), 0);
+        Assert.assertEquals(-(r+1), neg.vec(0).at(r), 0);
+      }
+
+      // Same answers as running alone
+      Sum alone = new Sum().doAll(a);
+      Assert.assertEquals(alone._sum, sumA._sum, 0);
+    } finally {
+      if( a != null ) a.remove();
+      if( b != null ) b.remove();
+      if( times != null ) times.remove();
+      if( neg != null ) neg.remove();
+    }
+  }
+
+  @Test public void testLoneTask() {
+    Vec a = Vec.makeSeq(1000, true);
+    try {
+      Sum s = new Sum();
+      new FusedTask().add(s, a).doAll();
+      Assert.assertEquals(1000*1001/2, s._sum, 0);
+      Assert.assertTrue(s._post);
+      new FusedTask().doAll(); // Nothing to do
+    } finally {
+      a.remove();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package water;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.util.concurrent.CountDownLatch;
+
+public class JobMemTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  // Allocations made by the Job's tasks, on any node, are charged to the Job
+  @Test public void testJobMemAccounting() {
+    Job<Keyed> job = new Job<>(null,null,"alloc");
+    job.start(new H2O.H2OCountedCompleter() {
+      @Override public void compute2() {
+        new MRTask() {
+          @Override public void setupLocal() { MemoryManager.malloc8d(1<<20); }
+        }.doAllNodes();
+        tryComplete();
+      }
+    }, 1).get();
+    assertFalse(job.isQueued());
+    assertTrue(job.mem_allocated() >= 8L*(1<<20)*H2O.CLOUD.size());
+    assertFalse(MemoryManager.JOB_MEM.containsKey(job._key)); // Retired
+    job.remove();
+  }
+
+  // Running Jobs report the totals last collected in the background
+  @Test public void testRunningTotals() throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(1);
+    Job<Keyed> job = new Job<>(null,null,"alloc");
+    job.start(new H2O.H2OCountedCompleter() {
+      @Override public void compute2() {
+        new MRTask() {
+          @Override public void setupLocal() { MemoryManager.malloc8d(1<<20); }
+        }.doAllNodes();
+        try { done.await(); } catch( InterruptedException ignore ) { }
+        tryComplete();
+      }
+    }, 1);
+    long mem = 0;
+    for( int i = 0; i < 100 && mem < 8L*(1<<20)*H2O.CLOUD.size(); i++ ) {
+      Thread.sleep(100);
+      mem = Job.runningTotals(new Key[]{job._key})[0][0];
+    }
+    done.countDown();
+    job.get();
+    assertTrue(mem >= 8L*(1<<20)*H2O.CLOUD.size());
+    assertTrue(job.mem_allocated() >= mem);
+    job.remove();
+  }
+}
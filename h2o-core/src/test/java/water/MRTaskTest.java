@@ -3,6 +3,7 @@ package water;
 import org.junit.*;
 import water.fvec.Vec;
 import water.fvec.Chunk;
+import water.util.ArrayUtils;
 import water.util.PrettyPrint;
 
 public class MRTaskTest extends TestUtil {
@@ -52,5 +53,126 @@ public class MRTaskTest extends TestUtil {
       @Override public void map(Chunk cs[]) { }
     }.profile().doAll(vec);
   }
-}
 
+  private static class Sum extends MRTask<Sum> {
+    double _sum;
+    @Override public void map( Chunk c ) { for( int i = 0; i < c._len; i++ ) _sum += c.atd(i); }
+    @Override public void reduce( Sum s ) { _sum += s._sum; }
+  }
+
+  // Same answer for any width of the reduction tree
+  @Test
+  public void testFanout() {
+    final long N = 100000;
+    Vec v = Vec.makeSeq(N, true);
+    try {
+      for( int k = 2; k <= 6; k++ )
+        Assert.assertEquals("fanout "+k, N*(N+1)/2, new Sum().fanout(k).doAll(v)._sum, 0);
+      try {
+        new Sum().fanout(1);
+        Assert.fail("Fan-out of 1 should be rejected");
+      } catch( IllegalArgumentException ignore ) { }
+    } finally {
+      v.remove();
+    }
+  }
+
+  private static class Hist extends MRTask<Hist> {
+    final int _nbins;
+    double[] _bins;
+    Hist( int nbins ) { _nbins = nbins; }
+    @Override public void map( Chunk c ) {
+      _bins = new double[_nbins];
+      for( int i = 0; i < c._len; i++ ) _bins[(int)(c.at8(i) % _nbins)] += c.atd(i);
+    }
+    @Override public void reduce( Hist h ) { _bins = ArrayUtils.add(_bins, h._bins); }
+  }
+
+  private static class ScatterHist extends Hist implements MRTask.ReduceScatter {
+    boolean _sawSum;
+    ScatterHist( int nbins ) { super(nbins); }
+    @Override public double[] reduceScatterArray() { return _bins; }
+    @Override public void reduceScatterArray( double[] ds ) { _bins = ds; }
+    @Override protected void postGlobal() { _sawSum = _bins != null; }
+  }
+
+  @Test
+  public void testReduceScatter() {
+    Vec v = Vec.makeSeq(200000, true);
+    try {
+      // More bins than nodes, and fewer: some slices are empty
+      for( int nbins : new int[]{10007, 3} ) {
+        double[] expect = new Hist(nbins).doAll(v)._bins;
+        ScatterHist rs = new ScatterHist(nbins);
+        rs.fanout(3).doAll(v);
+        Assert.assertTrue(rs._sawSum);
+        Assert.assertArrayEquals(expect, rs._bins, 0);
+      }
+    } finally {
+      v.remove();
+    }
+  }
+
+  // One slow node: the others steal its Chunks, and every Chunk counts once
+  private static class SlowSum extends MRTask<SlowSum> {
+    double _sum;
+    @Override public void map( Chunk c ) {
+      if( H2O.SELF == H2O.CLOUD._memary[0] )
+        try { Thread.sleep(100); } catch( InterruptedException ignore ) { }
+      for( int i = 0; i < c._len; i++ ) _sum += c.atd(i);
+    }
+    @Override public void reduce( SlowSum s ) { _sum += s._sum; }
+  }
+
+  @Test
+  public void testSteal() {
+    final long N = 100000;
+    Vec v = Vec.makeSeq(N, true);
+    try {
+      SlowSum s = new SlowSum().steal().doAll(v);
+      Assert.assertEquals(N*(N+1)/2, s._sum, 0);
+      Assert.assertEquals(H2O.CLOUD.size(), s.mapTimes().length);
+      int stolen = 0;
+      for( int n : s.stolenChunks() ) stolen += n;
+      Assert.assertTrue("Expected the fast nodes to steal from the slow one", stolen > 0);
+      // Not stealing: no stats
+      Assert.assertNull(new Sum().doAll(v).mapTimes());
+    } finally {
+      v.remove();
+    }
+  }
+
+  // Throws on one node, from map or from closeLocal
+  private static class FailSum extends MRTask<FailSum> {
+    final boolean _inClose;
+    FailSum( boolean inClose ) { _inClose = inClose; }
+    private void fail() { if( H2O.SELF == H2O.CLOUD._memary[1] ) throw new IllegalStateException("boom"); }
+    @Override public void map( Chunk c ) { if( !_inClose ) fail(); }
+    @Override protected void closeLocal() { if( _inClose ) fail(); }
+  }
+
+  private static class CountSteals extends MRTask<CountSteals> {
+    int _n;
+    @Override protected void setupLocal() { _n = MRTask.stealTables(); }
+    @Override public void reduce( CountSteals cs ) { _n += cs._n; }
+  }
+
+  // A failed stealing task leaves no steal table behind on any node
+  @Test
+  public void testStealDroppedOnFailure() {
+    Vec v = Vec.makeSeq(100000, true);
+    try {
+      for( boolean inClose : new boolean[]{false,true} ) {
+        try {
+          new FailSum(inClose).steal().doAll(v);
+          Assert.fail("Expected the task to fail");
+        } catch( RuntimeException expected ) { }
+        Assert.assertEquals("inClose="+inClose, 0, new CountSteals().doAllNodes()._n);
+      }
+      new SlowSum().steal().doAll(v);
+      Assert.assertEquals(0, new CountSteals().doAllNodes()._n);
+    } finally {
+      v.remove();
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package water;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+public class OffHeapTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static long _max;
+  @Before public void enable() { _max = MemoryManager.OFFHEAP_MAX; MemoryManager.OFFHEAP_MAX = 1<<20; }
+  @After public void restore() { MemoryManager.OFFHEAP_MAX = _max; }
+
+  private static byte[] bits( int len ) {
+    byte[] bits = new byte[len];
+    for( int i=0; i<len; i++ ) bits[i] = (byte)(i*31);
+    return bits;
+  }
+
+  // Move the bytes off-heap, drop the heap copy, rebuild it from native
+  // memory, and give the native memory back exactly once
+  @Test public void testRoundTrip() {
+    byte[] bits = bits(4096);
+    Value v = new Value(Key.make("offheap"), bits.clone());
+    long used = MemoryManager.offHeapUsed();
+    assertTrue(v.storeOffHeap());
+    assertTrue(v.isOffHeap());
+    assertEquals(used+4096, MemoryManager.offHeapUsed());
+    v.freeMem();
+    assertArrayEquals(bits, v.memOrLoad());
+    v.freeOffHeap();
+    assertFalse(v.isOffHeap());
+    assertEquals(used, MemoryManager.offHeapUsed());
+    v.freeOffHeap();            // Double free is harmless
+    assertEquals(used, MemoryManager.offHeapUsed());
+    assertFalse(v.storeOffHeap()); // Closed for good
+  }
+
+  // A Value over the budget stays on-heap, and takes nothing from it
+  @Test public void testOverBudget() {
+    Value v = new Value(Key.make("offheap_big"), bits((1<<20)+1));
+    long used = MemoryManager.offHeapUsed();
+    assertFalse(v.storeOffHeap());
+    assertFalse(v.isOffHeap());
+    assertEquals(used, MemoryManager.offHeapUsed());
+  }
+
+  // Replacing or removing the Key in the K/V store frees the native copy
+  @Test public void testFreedByStore() {
+    Key k = Key.make("offheap_kv");
+    try {
+      Value v1 = new Value(k, bits(1000));
+      DKV.put(k, v1);
+      long used = MemoryManager.offHeapUsed();
+      assertTrue(v1.storeOffHeap());
+      Value v2 = new Value(k, bits(2000));
+      DKV.put(k, v2);             // Replaced
+      assertFalse(v1.isOffHeap());
+      assertEquals(used, MemoryManager.offHeapUsed());
+      assertTrue(v2.storeOffHeap());
+      DKV.remove(k);              // Removed
+      assertFalse(v2.isOffHeap());
+      assertEquals(used, MemoryManager.offHeapUsed());
+    } finally {
+      DKV.remove(k);
+    }
+  }
+}
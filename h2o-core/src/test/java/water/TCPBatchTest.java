@@ -0,0 +1,124 @@
+package water;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TCPBatchTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(2); }
+
+  private static H2ONode remote() {
+    H2ONode target = H2O.CLOUD._memary[0];
+    return target == H2O.SELF ? H2O.CLOUD._memary[1] : target;
+  }
+
+  // A small message, tagged with its id
+  private static ByteBuffer msg( int id ) {
+    ByteBuffer bb = ByteBuffer.allocate(32).order(ByteOrder.nativeOrder());
+    bb.put((byte)UDP.udp.exec.ordinal()).putChar((char)H2O.H2O_PORT).put((byte)id).position(32);
+    bb.flip();
+    return bb;
+  }
+  private static ByteBuffer ackack( int task ) {
+    ByteBuffer bb = ByteBuffer.allocate(1+2+4).order(ByteOrder.nativeOrder());
+    bb.put((byte)UDP.udp.ackack.ordinal()).putChar((char)H2O.H2O_PORT).putInt(task).flip();
+    return bb;
+  }
+
+  // One batch of mixed priorities and many ACKACKs, framed without a socket:
+  // highest priority goes first, and the ACKACKs go last, coalesced into as
+  // few messages as fit, each task# exactly once
+  @Test public void testBatchOrderAndAckAcks() {
+    final List<byte[]> sent = new ArrayList<>();
+    H2ONode.UDP_TCP_SendThread lane = H2O.SELF.new UDP_TCP_SendThread("-TEST") {
+      @Override void write( ByteBuffer bb ) {
+        byte[] b = new byte[bb.remaining()];
+        bb.get(b);
+        sent.add(b);
+      }
+    };
+    byte[] prios = {1, 5, H2O.MIN_HI_PRIORITY, H2O.ACK_PRIORITY, 3, H2O.GET_KEY_PRIORITY};
+    final int N = 1000, T0 = 1<<30; // Task#s no real RPC uses
+    for( int t = 0; t < N/2; t++ ) lane.sendMessage(ackack(T0+t), H2O.ACK_ACK_PRIORITY);
+    for( int i = 0; i < prios.length; i++ ) lane.sendMessage(msg(i), prios[i]);
+    for( int t = N/2; t < N; t++ ) lane.sendMessage(ackack(T0+t), H2O.ACK_ACK_PRIORITY);
+    lane.batch(lane._msgQ.poll());
+    lane.sendBuffer();
+    assertTrue(lane._msgQ.isEmpty());
+
+    int len = 0;
+    for( byte[] b : sent ) len += b.length;
+    ByteBuffer all = ByteBuffer.allocate(len).order(ByteOrder.nativeOrder());
+    for( byte[] b : sent ) all.put(b);
+    all.flip();
+
+    List<Integer> order = new ArrayList<>();
+    boolean[] acked = new boolean[N];
+    int nackacks = 0;
+    final int max = (AutoBuffer.MTU-1-2)/4;
+    while( all.hasRemaining() ) {
+      int sz = all.getChar();
+      byte[] body = new byte[sz];
+      all.get(body);
+      assertEquals(0xef, all.get()&0xFF);
+      if( body[0] == UDP.udp.ackack.ordinal() ) {
+        nackacks++;
+        int n = (sz-1-2)/4;
+        assertEquals(1+2+4*n, sz);
+        assertTrue(n <= max);
+        ByteBuffer bb = ByteBuffer.wrap(body).order(ByteOrder.nativeOrder());
+        for( int j = 0; j < n; j++ ) {
+          int t = bb.getInt(1+2+4*j)-T0;
+          assertFalse("task# "+t+" twice", acked[t]);
+          acked[t] = true;
+        }
+        // The receiver reads every task# of the coalesced message
+        AutoBuffer ab = new AutoBuffer(H2O.SELF, body, 0, sz);
+        new UDPAckAck().call(ab);
+        assertEquals(0, ab._bb.remaining());
+      } else {
+        assertEquals("ACKACKs go last", 0, nackacks);
+        order.add((int)body[3]);
+      }
+    }
+    for( int t = 0; t < N; t++ ) assertTrue("task# "+t+" not acked", acked[t]);
+    assertEquals((N+max-1)/max, nackacks);
+    // ACK, GET_KEY, MIN_HI, then the low priorities, highest first
+    assertEquals(Arrays.asList(3,5,2,1,4,0), order);
+  }
+
+  // Counts, on the node that ran them, the Pings whose ACKACK came back
+  private static final AtomicInteger ACKED = new AtomicInteger();
+  private static class Ping extends DTask<Ping> {
+    Ping( byte prio ) { super(prio); }
+    @Override public void compute2() { tryComplete(); }
+    @Override public void onAckAck() { ACKED.incrementAndGet(); }
+  }
+  private static class Acked extends DTask<Acked> {
+    int _n;
+    @Override public void compute2() { _n = ACKED.get(); tryComplete(); }
+  }
+
+  // RPCs of mixed priority, so over both lanes, all complete, and the remote
+  // node sees an ACKACK for every one of them
+  @Test public void testEveryTaskAcked() throws InterruptedException {
+    byte[] prios = {H2O.MIN_PRIORITY, 5, H2O.MIN_HI_PRIORITY, H2O.ATOMIC_PRIORITY};
+    final int N = 2000;
+    int before = new RPC<>(remote(), new Acked()).call().get()._n;
+    List<RPC<Ping>> rpcs = new ArrayList<>();
+    for( int i = 0; i < N; i++ )
+      rpcs.add(new RPC<>(remote(), new Ping(prios[i%prios.length])).call());
+    for( RPC<Ping> rpc : rpcs ) rpc.get();
+    // ACKACKs trail the ACKs; give the stragglers a moment
+    int n = 0;
+    for( long deadline = System.currentTimeMillis()+10000; System.currentTimeMillis() < deadline; Thread.sleep(10) )
+      if( (n = new RPC<>(remote(), new Acked()).call().get()._n - before) >= N ) break;
+    assertEquals(N, n);
+  }
+}
@@ -0,0 +1,38 @@
+package water;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TypeMapTest extends TestUtil {
+  @BeforeClass public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testKnownIds() {
+    Assert.assertEquals(TypeMap.ICED, TypeMap.knownId("water.Iced"));
+    Assert.assertEquals(TypeMap.FRAME, TypeMap.knownId(Frame.class.getName()));
+    Assert.assertEquals(-1, TypeMap.knownId("water.NoSuchIced"));
+  }
+
+  @Test public void testTableMustFit() {
+    int next = TypeMap.nextId();
+    // Not at the next free ID: neither a gap nor an overlap
+    Assert.assertFalse(TypeMap.installTable(next+1, Collections.singletonList("water.NoSuchIced")));
+    Assert.assertFalse(TypeMap.installTable(next-1, Collections.singletonList("water.NoSuchIced")));
+    // No class gets a second ID
+    Assert.assertFalse(TypeMap.installTable(next, Arrays.asList("water.NoSuchIced", Frame.class.getName())));
+    Assert.assertEquals(-1, TypeMap.knownId("water.NoSuchIced"));
+  }
+
+  @Test public void testLayout() {
+    Assert.assertEquals(Weaver.layout(Frame.class), Weaver.layout(Frame.class));
+    Assert.assertNotEquals(Weaver.layout(Frame.class), Weaver.layout(Vec.class));
+    // Build-time Icers, if on the classpath, carry the same type ID
+    Frame fr = new Frame();
+    Assert.assertEquals(TypeMap.FRAME, TypeMap.getIcer(fr).frozenType());
+  }
+}
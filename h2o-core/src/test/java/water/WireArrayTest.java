@@ -0,0 +1,70 @@
+package water;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class WireArrayTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(2); }
+
+  // Sends its bytes to another Node, which sends them right back
+  private static class Echo extends DTask<Echo> {
+    byte[] _bits;
+    Echo( byte[] bits ) { _bits = bits; }
+    @Override public void compute2() { tryComplete(); }
+  }
+
+  private static H2ONode remote() {
+    H2ONode target = H2O.CLOUD._memary[0];
+    return target == H2O.SELF ? H2O.CLOUD._memary[1] : target;
+  }
+
+  private static byte[] bits( int len, boolean compressible ) {
+    byte[] bits = new byte[len];
+    if( compressible ) for( int i=0; i<len; i++ ) bits[i] = (byte)(i/1000);
+    else new Random(len).nextBytes(bits);
+    return bits;
+  }
+
+  // Both ends pick the format from the same array length; only arrays to or
+  // from another Node are ever flagged
+  @Test public void testWirePredicate() {
+    int big = AutoBuffer.BBP_BIG._size;
+    // Never sent; only asked how they would write
+    AutoBuffer ab = new AutoBuffer(remote(),H2O.MIN_PRIORITY);
+    assertFalse(ab.isWireArray(big-1));
+    assertTrue (ab.isWireArray(big  ));
+    assertFalse(new AutoBuffer(H2O.SELF,H2O.MIN_PRIORITY).isWireArray(big));
+    assertFalse(new AutoBuffer().isWireArray(big));
+    assertFalse(new AutoBuffer(new byte[16]).isWireArray(big));
+  }
+
+  // Round-trip arrays around the threshold, raw and compressed, to another
+  // Node and back; the counters see one array each way once it is big enough
+  @Test public void testRoundTrip() {
+    boolean z = H2O.ARGS.wire_compress;
+    try {
+      int big = AutoBuffer.BBP_BIG._size;
+      for( boolean compress : new boolean[]{false,true} ) {
+        H2O.ARGS.wire_compress = compress;
+        for( boolean compressible : new boolean[]{false,true} ) {
+          for( int len : new int[]{big-1, big, big+1, 3*big+7} ) {
+            byte[] bits = bits(len,compressible);
+            long sent = AutoBuffer.WIRE_SENT.arrays.get(), zsent = AutoBuffer.WIRE_SENT.compressed.get();
+            long recv = AutoBuffer.WIRE_RECV.arrays.get();
+            Echo echo = new RPC<>(remote(),new Echo(bits.clone())).call().get();
+            assertTrue("len="+len, Arrays.equals(bits,echo._bits));
+            int n = len >= big ? 1 : 0;
+            assertEquals("len="+len, n, AutoBuffer.WIRE_SENT.arrays.get()-sent);
+            assertEquals("len="+len, n, AutoBuffer.WIRE_RECV.arrays.get()-recv);
+            assertEquals("len="+len, compress && compressible ? n : 0, AutoBuffer.WIRE_SENT.compressed.get()-zsent);
+          }
+        }
+      }
+    } finally {
+      H2O.ARGS.wire_compress = z;
+    }
+  }
+}
@@ -32,6 +32,9 @@ public class C4ChunkTest extends TestUtil {
         if (cc.isNA(i)) Assert.assertTrue(Double.isNaN(densevals[i]));
         else Assert.assertTrue(cc.at8(i)==(int)densevals[i]);
       }
+      long[] longvals = cc.getLongs(new long[cc.len()-1],1,cc.len(),Long.MIN_VALUE);
+      for (int i = 1; i < cc.len(); ++i)
+        Assert.assertEquals(cc.isNA(i) ? Long.MIN_VALUE : cc.at8(i), longvals[i-1]);
 
       nc = new NewChunk(null, 0);
       cc.inflate_impl(nc);
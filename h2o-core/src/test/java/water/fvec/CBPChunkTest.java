@@ -0,0 +1,109 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.IcedUtils;
+import water.TestUtil;
+
+import java.util.Arrays;
+
+public class CBPChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+  @Test
+  public void test_inflate_impl() {
+    NewChunk nc = new NewChunk(null, 0);
+    // Range 0..3000 needs 12 bits, not the 16 of a C2Chunk
+    long[] vals = new long[1000];
+    for (int i = 0; i < vals.length; ++i) vals[i] = (i*1009L) % 3001;
+    for (long v : vals) nc.addNum(v, 0);
+    nc.addNA();
+
+    Chunk cc = nc.compress();
+    Assert.assertEquals(vals.length + 1, cc._len);
+    Assert.assertTrue(cc instanceof CBPChunk);
+    Assert.assertEquals(12, ((CBPChunk)cc).bits());
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.at8(i));
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.at8_abs(i));
+    Assert.assertTrue(cc.isNA(vals.length));
+
+    double[] ds = cc.getDoubles(new double[cc._len], 3, cc._len, -1);
+    for (int i = 3; i < vals.length; ++i) Assert.assertEquals(vals[i], ds[i-3], 0);
+    Assert.assertEquals(-1, ds[vals.length-3], 0);
+    long[] ls = cc.getLongs(new long[cc._len], 0, cc._len, Long.MIN_VALUE);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], ls[i]);
+    Assert.assertEquals(Long.MIN_VALUE, ls[vals.length]);
+
+    Chunk cc2 = IcedUtils.deepCopy(cc);
+    Assert.assertTrue(cc2 instanceof CBPChunk);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc2.at8(i));
+    Assert.assertTrue(cc2.isNA(vals.length));
+
+    // writes inside the range stay packed
+    Assert.assertTrue(cc.set_impl(5, 4000L));
+    Assert.assertEquals(4000, cc.at8(5));
+    Assert.assertFalse(cc.set_impl(5, 4095L)); // The NA code
+    Assert.assertTrue(cc.setNA_impl(6));
+    Assert.assertTrue(cc.isNA(6));
+    Assert.assertEquals(vals[7], cc.at8(7));
+    vals[5] = 4000;
+
+    nc = cc.inflate_impl(new NewChunk(null, 0));
+    nc.values(0, nc._len);
+    Assert.assertEquals(vals.length + 1, nc._len);
+    for (int i = 0; i < vals.length; ++i) if (i != 6) Assert.assertEquals(vals[i], nc.at8(i));
+    Assert.assertTrue(nc.isNA(6));
+    Assert.assertTrue(nc.isNA(vals.length));
+
+    cc2 = nc.compress();
+    Assert.assertTrue(cc2 instanceof CBPChunk);
+    Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
+  }
+
+  @Test
+  public void test_timestamps() {
+    NewChunk nc = new NewChunk(null, 0);
+    long[] vals = new long[1000];
+    for (int i = 0; i < vals.length; ++i) vals[i] = 1400000000000L + ((i*7919L) % 1000)*3600000L + i;
+    for (long v : vals) nc.addNum(v, 0);
+
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc instanceof CBPChunk);
+    Assert.assertFalse(cc.hasFloat());
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.at8(i));
+    double[] ds = cc.getDoubles(new double[vals.length], 0, vals.length);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], ds[i], 0);
+  }
+
+  @Test
+  public void test_bytes_stay_C1N() {
+    // The full unsigned byte range is 8 bits in a C1NChunk; 9 bit-packed bits would be bigger & slower
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < 1000; ++i) nc.addNum((i * 31) % 256, 0);
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc instanceof C1NChunk);
+    for (int i = 0; i < 1000; ++i) Assert.assertEquals((i * 31) % 256, cc.at8(i));
+  }
+
+  @Test
+  public void test_wide() {
+    // Widths over 56 bits straddle 9 bytes
+    for (int bits : new int[]{1, 7, 33, 57, 63}) {
+      long max = (1L << bits) - 2; // Largest non-NA code
+      long[] vals = new long[257];
+      for (int i = 0; i < vals.length; ++i) vals[i] = Math.min(max, (max/vals.length)*i + (i & 1));
+      vals[vals.length-1] = max;
+      byte[] bs = CBPChunk.alloc(vals.length, -5, 0, bits);
+      for (int i = 0; i < vals.length; ++i) CBPChunk.pack(bs, bits, i, vals[i]);
+      CBPChunk cc = new CBPChunk(bs);
+      Assert.assertEquals(bits, cc.bits());
+      for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i] - 5, cc.at8(i));
+      long[] ls = cc.getLongs(new long[vals.length], 0, vals.length, 0);
+      for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i] - 5, ls[i]);
+      cc.setNA_impl(3);
+      Assert.assertTrue(cc.isNA(3));
+      Assert.assertEquals(vals[2] - 5, cc.at8(2));
+      Assert.assertEquals(vals[4] - 5, cc.at8(4));
+    }
+  }
+}
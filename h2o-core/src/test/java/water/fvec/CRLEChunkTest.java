@@ -0,0 +1,84 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.IcedUtils;
+import water.TestUtil;
+
+import java.util.Arrays;
+
+public class CRLEChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+  @Test
+  public void test_inflate_impl() {
+    NewChunk nc = new NewChunk(null, 0);
+    // Sorted timestamp-like column: 10 runs of 100 equal values, then a run of NAs
+    long[] vals = new long[1000];
+    for (int i = 0; i < vals.length; ++i) vals[i] = 1400000000000L + (i/100)*86400000L;
+    for (long v : vals) nc.addNum(v, 0);
+    for (int i = 0; i < 10; ++i) nc.addNA();
+
+    Chunk cc = nc.compress();
+    Assert.assertEquals(vals.length + 10, cc._len);
+    Assert.assertTrue(cc instanceof CRLEChunk);
+    Assert.assertEquals(11, ((CRLEChunk)cc).numRuns());
+    Assert.assertFalse(cc.hasFloat());
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.at8(i));
+    for (int i = vals.length-1; i >= 0; --i) Assert.assertEquals(vals[i], cc.at8_abs(i));
+    for (int i = vals.length; i < cc._len; ++i) Assert.assertTrue(cc.isNA(i));
+
+    // Bulk decode of a range cutting through runs
+    double[] ds = cc.getDoubles(new double[cc._len], 150, cc._len, -1);
+    for (int i = 150; i < vals.length; ++i) Assert.assertEquals(vals[i], ds[i-150], 0);
+    for (int i = vals.length; i < cc._len; ++i) Assert.assertEquals(-1, ds[i-150], 0);
+    long[] ls = cc.getLongs(new long[cc._len], 0, 250, Long.MIN_VALUE);
+    for (int i = 0; i < 250; ++i) Assert.assertEquals(vals[i], ls[i]);
+
+    Chunk cc2 = IcedUtils.deepCopy(cc);
+    Assert.assertEquals(cc._len, cc2._len);
+    Assert.assertTrue(cc2 instanceof CRLEChunk);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc2.at8(i));
+    for (int i = vals.length; i < cc2._len; ++i) Assert.assertTrue(cc2.isNA(i));
+
+    nc = cc.inflate_impl(new NewChunk(null, 0));
+    nc.values(0, nc._len);
+    Assert.assertEquals(vals.length + 10, nc._len);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], nc.at8(i));
+    for (int i = vals.length; i < nc._len; ++i) Assert.assertTrue(nc.isNA(i));
+
+    cc2 = nc.compress();
+    Assert.assertTrue(cc2 instanceof CRLEChunk);
+    Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
+  }
+
+  @Test
+  public void test_doubles() {
+    NewChunk nc = new NewChunk(null, 0);
+    double[] vals = new double[2000];
+    for (int i = 0; i < vals.length; ++i) vals[i] = i < 1500 ? 0.25 : Math.PI;
+    for (double v : vals) nc.addNum(v);
+
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc instanceof CRLEChunk);
+    Assert.assertTrue(cc.hasFloat());
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.atd(i), 0);
+    double[] ds = cc.getDoubles(new double[vals.length], 0, vals.length);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], ds[i], 0);
+  }
+
+  @Test
+  public void test_high_entropy() {
+    // Distinct values past the first block: neither runs nor a dictionary pay
+    NewChunk nc = new NewChunk(null, 0);
+    java.util.Random rng = new java.util.Random(42);
+    double[] vals = new double[5000];
+    for (int i = 0; i < vals.length; ++i) vals[i] = rng.nextDouble();
+    for (double v : vals) nc.addNum(v);
+
+    Chunk cc = nc.compress();
+    Assert.assertFalse(cc instanceof CRLEChunk);
+    Assert.assertFalse(cc instanceof CUDChunk);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.atd(i), 0);
+  }
+}
@@ -55,6 +55,15 @@ public class CXIChunkTest extends TestUtil {
         if (cc.isNA(i)) Assert.assertTrue(Double.isNaN(densevals[i]));
         else Assert.assertTrue(cc.at8(i)==(int)densevals[i]);
       }
+      // Partial ranges, starting and ending on and off the stored rows
+      for (int[] r : new int[][]{{2,50},{3,4},{4,pos1},{pos1,pos1+1},{100,maxLen}}) {
+        double[] dvals = cc.getDoubles(new double[r[1]-r[0]],r[0],r[1],-1);
+        long[] lvals = cc.getLongs(new long[r[1]-r[0]],r[0],r[1],-1);
+        for (int i = r[0]; i < r[1]; ++i) {
+          Assert.assertEquals(cc.isNA(i) ? -1 : cc.atd(i), dvals[i-r[0]], 0);
+          Assert.assertEquals(cc.isNA(i) ? -1 : cc.at8(i), lvals[i-r[0]]);
+        }
+      }
 
       nc = new NewChunk(null, 0);
       cc.inflate_impl(nc);
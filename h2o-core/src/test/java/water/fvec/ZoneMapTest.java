@@ -0,0 +1,66 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Futures;
+import water.MRTask;
+import water.TestUtil;
+
+public class ZoneMapTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  // 10 Chunks of 1024 rows holding the row number; Chunk 3 is reversed and
+  // Chunk 5 has an NA in it.
+  public static Vec makeZoned() {
+    Vec v = Vec.makeCon(0, 10000, 10, false);
+    new MRTask() {
+      @Override public void map(Chunk c) {
+        for (int i = 0; i < c._len; i++) {
+          long r = c.start() + i;
+          if (c.cidx() == 3) c.set(i, c.start() + c._len - 1 - i);
+          else if (c.cidx() == 5 && i == 100) c.setNA(i);
+          else c.set(i, r);
+        }
+      }
+    }.doAll(v);
+    return v;
+  }
+
+  @Test public void testZoneMap() {
+    Vec v = makeZoned();
+    try {
+      Assert.assertNull(v.zoneMap()); // Writes dropped the rollups; not forced
+      ZoneMap.build(new Vec[]{v}, new Futures()).blockForPending();
+      Assert.assertNull(v.zoneMap()); // No rollups yet, so nothing built
+      Assert.assertEquals(0, v.min(), 0);
+      Assert.assertNull(v.zoneMap()); // Rollups alone never build one
+      ZoneMap.build(new Vec[]{v}, new Futures()).blockForPending();
+      ZoneMap zm = v.zoneMap();
+      Assert.assertNotNull(zm);
+      Assert.assertEquals(v.nChunks(), zm.nChunks());
+      for (int c = 0; c < zm.nChunks(); c++) {
+        long start = v.espc()[c], end = v.espc()[c + 1];
+        Assert.assertEquals(start, zm.min(c), 0);
+        Assert.assertEquals(end - 1, zm.max(c), 0);
+        Assert.assertEquals(c == 5 ? 1 : 0, zm.naCnt(c));
+        Assert.assertEquals(c != 3, zm.isSorted(c));
+      }
+      // Any write drops the zone map with the rollups
+      Vec.Writer w = v.open();
+      w.set(0, 5);
+      w.close();
+      Assert.assertNull(v.zoneMap());
+      // Recomputed from the new data, not read back stale
+      Assert.assertEquals(1, v.min(), 0);
+      Assert.assertNull(v.zoneMap());
+      ZoneMap.build(new Vec[]{v}, new Futures()).blockForPending();
+      zm = v.zoneMap();
+      Assert.assertEquals(1, zm.min(0), 0);
+      Assert.assertFalse(zm.isSorted(0));
+      Assert.assertTrue(zm.isSorted(1));
+    } finally {
+      v.remove();
+    }
+  }
+}
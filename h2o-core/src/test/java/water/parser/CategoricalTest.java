@@ -0,0 +1,83 @@
+package water.parser;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Key;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class CategoricalTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  // Threads adding overlapping strings agree on their ids, and the ids are dense
+  @Test public void testConcurrentAdd() throws InterruptedException {
+    final Categorical cat = new Categorical(0);
+    final int n = 100000;
+    final AtomicReferenceArray<Integer> ids = new AtomicReferenceArray<>(n);
+    Thread[] ts = new Thread[8];
+    for( int t = 0; t < ts.length; t++ ) {
+      final int off = t*n/ts.length;
+      ts[t] = new Thread() {
+        @Override public void run() {
+          BufferedString bs = new BufferedString();
+          for( int i = 0; i < n; i++ ) {
+            int k = (off+i)%n;
+            bs.set(("level"+k).getBytes());
+            int id = cat.addKey(bs);
+            if( !ids.compareAndSet(k, null, id) ) Assert.assertEquals((int)ids.get(k), id);
+          }
+        }
+      };
+      ts[t].start();
+    }
+    for( Thread t : ts ) t.join();
+    Assert.assertEquals(n, cat.size());
+    Assert.assertEquals(n-1, cat.maxId());
+    Set<Integer> seen = new HashSet<>();
+    for( int k = 0; k < n; k++ ) {
+      Assert.assertEquals((int)ids.get(k), cat.getTokenId(new BufferedString("level"+k)));
+      seen.add(ids.get(k));
+    }
+    Assert.assertEquals(n, seen.size());
+    Assert.assertEquals(-1, cat.getTokenId(new BufferedString("level"+n)));
+    Assert.assertEquals(n, cat.getColumnDomain().length);
+  }
+
+  @Test public void testConvertToUTF8() {
+    Categorical cat = new Categorical();
+    int a = cat.addKey(new BufferedString("a"));
+    int bad = cat.addKey(new BufferedString(new byte[]{'x', (byte)0xC3}, 0, 2));
+    cat.convertToUTF8(1);
+    Assert.assertEquals(1, a);
+    Assert.assertEquals(a, cat.getTokenId(new BufferedString("a")));
+    Assert.assertEquals(bad, cat.getTokenId(new BufferedString("x<0xC3>")));
+  }
+
+  // Levels seen in sorted order skip the renumbering; others are renumbered
+  @Test public void testParseSortedAndUnsorted() {
+    StringBuilder sb = new StringBuilder("s,u\n");
+    String[] levels = {"a", "b", "c", "d", "e"};
+    for( int i = 0; i < 1000; i++ )
+      sb.append(levels[i*levels.length/1000]).append(',').append(levels[levels.length-1-i%levels.length]).append('\n');
+    Frame fr = null;
+    try {
+      fr = ParseDataset.parse(Key.make(), ParserTest.makeByteVec(sb.toString()));
+      for( Vec v : fr.vecs() ) {
+        Assert.assertTrue(v.isCategorical());
+        Assert.assertArrayEquals(levels, v.domain());
+      }
+      for( int i = 0; i < 1000; i++ ) {
+        Assert.assertEquals(i*levels.length/1000, fr.vec(0).at8(i));
+        Assert.assertEquals(levels.length-1-i%levels.length, fr.vec(1).at8(i));
+      }
+    } finally {
+      if( fr != null ) fr.delete();
+    }
+  }
+}
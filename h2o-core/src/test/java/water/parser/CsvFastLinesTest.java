@@ -0,0 +1,93 @@
+package water.parser;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Iced;
+import water.TestUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public class CsvFastLinesTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static final String[] TOKENS = {
+    "0", "7", "-3", "+12", "1.5", "-0.25", ".5", "3.", "1e5", "2.5E-3", "-1.5e+2",
+    "", "", "123456789012345678", "1234567890123456789012", "1e", "-", "abc", "NA", "$5", "1,5"
+  };
+
+  // Random lines of mostly numbers; the first field is always a plain number
+  private static String csv( Random r, boolean quoteFirst ) {
+    StringBuilder sb = new StringBuilder();
+    for( int line = 0; line < 5000; line++ ) {
+      int n = r.nextInt(200) == 0 ? 0 : 6;
+      for( int c = 0; c < n; c++ ) {
+        if( c > 0 ) sb.append(',');
+        if( c == 0 ) {
+          String s = Integer.toString(r.nextInt(1000));
+          sb.append(quoteFirst ? "\"" + s + "\"" : s);
+        } else
+          sb.append(r.nextInt(4) == 0 ? TOKENS[r.nextInt(TOKENS.length)] : TOKENS[r.nextInt(11)]);
+      }
+      sb.append(r.nextInt(10) == 0 ? "\r\n" : "\n");
+    }
+    return sb.toString();
+  }
+
+  // Parse as two chunks, recording everything written
+  private static String parse( String csv ) {
+    byte[] all = csv.getBytes(StandardCharsets.UTF_8);
+    int split = all.length/2 + 3;
+    final byte[][] chunks = {Arrays.copyOf(all, split), Arrays.copyOfRange(all, split, all.length)};
+    ParseSetup setup = CsvParser.guessSetup(all, (byte)',', 6, false, ParseSetup.NO_HEADER, null, null, null);
+    RecordingWriter w = new RecordingWriter();
+    ParseReader din = new ParseReader() {
+      @Override public byte[] getChunkData( int cidx ) { return cidx < chunks.length ? chunks[cidx] : null; }
+      @Override public int  getChunkDataStart( int cidx ) { return -1; }
+      @Override public void setChunkDataStart( int cidx, int offset ) { }
+      @Override public long getGlobalByteOffset() { return 0; }
+    };
+    for( int cidx = 0; cidx < chunks.length; cidx++ )
+      new CsvParser(setup, null).parseChunk(cidx, din, w);
+    return w._sb.toString();
+  }
+
+  // Quoting the first field sends every line through the state machine
+  @Test public void testSameAsStateMachine() {
+    Assert.assertTrue(CsvFastLines.ENABLED);
+    for( int seed = 0; seed < 5; seed++ ) {
+      String fast = parse(csv(new Random(seed), false));
+      String slow = parse(csv(new Random(seed), true));
+      Assert.assertTrue(fast.length() > 0);
+      Assert.assertEquals(slow, fast);
+    }
+  }
+
+  @Test public void testValues() {
+    String s = parse("1,2.5,-3e2,,+4\n5,6,7,8,9\n10,11,12,13,14\n");
+    Assert.assertTrue(s, s.contains("|0:1/0 1:25/-1 2:-3/2 3:NA 4:4/0 |"));
+    Assert.assertTrue(s, s.contains("|0:5/0 1:6/0 2:7/0 3:8/0 4:9/0 |"));
+    Assert.assertTrue(s, s.contains("0:10/0 1:11/0 2:12/0 3:13/0 4:14/0 |"));
+  }
+
+  private static final class RecordingWriter extends Iced implements ParseWriter {
+    final StringBuilder _sb = new StringBuilder();
+    long _lines;
+    @Override public void setColumnNames( String[] names ) { }
+    @Override public void newLine() { _sb.append('|'); _lines++; }
+    @Override public boolean isString( int colIdx ) { return false; }
+    @Override public void addNumCol( int colIdx, long number, int exp ) { _sb.append(colIdx).append(':').append(number).append('/').append(exp).append(' '); }
+    @Override public void addNumCol( int colIdx, double d ) { _sb.append(colIdx).append(':').append(d).append(' '); }
+    @Override public void addInvalidCol( int colIdx ) { _sb.append(colIdx).append(":NA "); }
+    @Override public void addStrCol( int colIdx, BufferedString str ) { _sb.append(colIdx).append(":'").append(str.toString()).append("' "); }
+    @Override public void rollbackLine() { _sb.append('R'); }
+    @Override public void invalidLine( ParseErr err ) { _sb.append("invalid "); }
+    @Override public void addError( ParseErr err ) { }
+    @Override public void setIsAllASCII( int colIdx, boolean b ) { }
+    @Override public boolean hasErrors() { return false; }
+    @Override public ParseErr[] removeErrors() { return new ParseErr[0]; }
+    @Override public long lineNum() { return _lines; }
+  }
+}
@@ -0,0 +1,143 @@
+package water.parser;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Key;
+import water.TestUtil;
+import water.fvec.ByteVec;
+import water.fvec.Frame;
+import water.fvec.NFSFileVec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+public class ParallelInflateTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static byte[] csv() {
+    StringBuilder sb = new StringBuilder("a,b,c\n");
+    for( int i = 0; i < 50000; i++ )
+      sb.append(i).append(',').append(i*0.5).append(",cat").append(i%7).append('\n');
+    return sb.toString().getBytes();
+  }
+
+  private static byte[] gzip( byte[] bs ) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try( GZIPOutputStream gz = new GZIPOutputStream(bos) ) { gz.write(bs); }
+    return bos.toByteArray();
+  }
+
+  // BGZF, as bgzip writes it: members of up to 64K, then an empty member
+  private static byte[] bgzf( byte[] bs ) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    for( int off = 0; off < bs.length; off += 0xff00 )
+      member(bos, bs, off, Math.min(0xff00, bs.length-off));
+    member(bos, bs, 0, 0);
+    return bos.toByteArray();
+  }
+
+  private static void member( OutputStream os, byte[] bs, int off, int len ) throws IOException {
+    Deflater def = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    def.setInput(bs, off, len);
+    def.finish();
+    byte[] cdata = new byte[len+1024];
+    int clen = def.deflate(cdata);
+    def.end();
+    CRC32 crc = new CRC32();
+    crc.update(bs, off, len);
+    int bsize = 18+clen+8-1;
+    os.write(new byte[]{0x1f, (byte)0x8b, 8, 4, 0, 0, 0, 0, 0, (byte)0xff, 6, 0, 'B', 'C', 2, 0, (byte)bsize, (byte)(bsize>>8)});
+    os.write(cdata, 0, clen);
+    int c = (int)crc.getValue();
+    os.write(new byte[]{(byte)c, (byte)(c>>8), (byte)(c>>16), (byte)(c>>24), (byte)len, (byte)(len>>8), (byte)(len>>16), (byte)(len>>24)});
+  }
+
+  private static NFSFileVec file( byte[] bs, String suffix ) throws IOException {
+    File f = File.createTempFile("inflate", suffix);
+    f.deleteOnExit();
+    try( FileOutputStream fos = new FileOutputStream(f) ) { fos.write(bs); }
+    return NFSFileVec.make(f);
+  }
+
+  private static ByteVec assertInflates( byte[] plain, NFSFileVec nfs, int chunkSize ) {
+    nfs.setChunkSize(chunkSize);
+    Assert.assertTrue(nfs.nChunks() > 1);
+    ByteVec raw = ParallelInflate.inflate(nfs);
+    Assert.assertNotNull(raw);
+    Assert.assertEquals(nfs.nChunks(), raw.nChunks());
+    Assert.assertEquals(plain.length, raw.length());
+    for( int i = 0; i < plain.length; i += 997 )
+      Assert.assertEquals(plain[i]&0xFF, raw.at8(i));
+    return raw;
+  }
+
+  // Chunks both bigger and smaller than the 64K BGZF members, so that some
+  // hold no member start, or only the EOF member; each inflates its own
+  // members in parallel
+  @Test public void testInflateBgzf() throws IOException {
+    byte[] plain = csv();
+    for( int chunkSize : new int[]{1<<17, 1<<16, 4096} ) {
+      NFSFileVec nfs = file(bgzf(plain), ".bgz");
+      ByteVec raw = null;
+      try {
+        nfs.setChunkSize(chunkSize);
+        ParallelInflate.BgzfTask bt = new ParallelInflate.BgzfTask(nfs.nChunks()).doAll(nfs);
+        Assert.assertTrue(bt.isBgzf(nfs.length()));
+        raw = assertInflates(plain, nfs, chunkSize);
+        for( int i = 0; i < raw.nChunks(); i++ ) // Cut where the members are
+          Assert.assertEquals(bt._plen[i], raw.chunkForChunkIdx(i)._len);
+      } finally {
+        nfs.remove();
+        if( raw != null ) raw.remove();
+      }
+    }
+  }
+
+  @Test public void testInflateGzip() throws IOException {
+    byte[] plain = csv();
+    for( int chunkSize : new int[]{1<<17, 4096} ) {
+      NFSFileVec nfs = file(gzip(plain), ".gz");
+      ByteVec raw = null;
+      try {
+        nfs.setChunkSize(chunkSize);
+        Assert.assertFalse(new ParallelInflate.BgzfTask(nfs.nChunks()).doAll(nfs).isBgzf(nfs.length()));
+        raw = assertInflates(plain, nfs, chunkSize);
+      } finally {
+        nfs.remove();
+        if( raw != null ) raw.remove();
+      }
+    }
+  }
+
+  @Test public void testParse() throws IOException {
+    byte[] plain = csv();
+    Frame f0 = null, f1 = null, f2 = null;
+    try {
+      f0 = parse(file(plain, ".csv"));
+      f1 = parse(file(gzip(plain), ".gz"));
+      f2 = parse(file(bgzf(plain), ".bgz"));
+      Assert.assertEquals(50000, f0.numRows());
+      Assert.assertTrue(isBitIdentical(f0, f1));
+      Assert.assertTrue(isBitIdentical(f0, f2));
+    } finally {
+      if( f0 != null ) f0.delete();
+      if( f1 != null ) f1.delete();
+      if( f2 != null ) f2.delete();
+    }
+  }
+
+  // Parse in small chunks, so the gzipped files have several
+  private static Frame parse( NFSFileVec nfs ) {
+    Key[] keys = new Key[]{nfs._key};
+    ParseSetup setup = ParseSetup.guessSetup(keys, false, ParseSetup.HAS_HEADER);
+    setup.setChunkSize(16*1024);
+    return ParseDataset.parse(Key.make(), keys, true, setup);
+  }
+}
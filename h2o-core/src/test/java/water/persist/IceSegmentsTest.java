@@ -0,0 +1,60 @@
+package water.persist;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import water.Key;
+import water.TestUtil;
+import water.TypeMap;
+import water.Value;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class IceSegmentsTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static Value make( String name, int len ) {
+    byte[] bits = new byte[len];
+    for( int i=0; i<len; i++ ) bits[i] = (byte)(i+len);
+    return new Value(Key.make(name), len, bits, TypeMap.PRIM_B, Value.ICE);
+  }
+
+  // Spill, reload, overwrite and delete; a full segment whose bytes are all
+  // dead is unmapped and its file deleted, while the active one stays
+  @Test public void testRoundTripAndDrop() throws Exception {
+    File dir = Files.createTempDirectory("ice").toFile();
+    IceSegments segs = new IceSegments(dir, 4096);
+    try {
+      Value a = make("segA", 3000), b = make("segB", 3000);
+      segs.store(a, a.memOrLoad());
+      assertArrayEquals(a.memOrLoad(), segs.load(a));
+      File segA = segs.fileOf(a._key);
+      assertTrue(segA.exists());
+
+      segs.store(b, b.memOrLoad()); // Does not fit; rolls to a new segment
+      File segB = segs.fileOf(b._key);
+      assertNotEquals(segA, segB);
+      assertTrue(segA.exists());    // Sealed, but A is still live in it
+
+      segs.delete(a);
+      assertNull(segs.load(a));
+      assertFalse(segA.exists());   // Unmapped and deleted
+      assertTrue(Arrays.equals(b.memOrLoad(), segs.load(b)));
+
+      // Overwrite of a spilled Key; the new bytes win
+      Value b2 = make("segB", 1000);
+      segs.store(b2, b2.memOrLoad());
+      assertArrayEquals(b2.memOrLoad(), segs.load(b2));
+
+      segs.clear();                 // Drops the active segment as well
+      assertNull(segs.load(b2));
+      assertFalse(segB.exists());
+    } finally {
+      segs.clear();
+      for( File f : new File(dir,"segments").listFiles() ) f.delete();
+      new File(dir,"segments").delete();
+      dir.delete();
+    }
+  }
+}
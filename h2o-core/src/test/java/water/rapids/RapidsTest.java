@@ -392,6 +392,43 @@ public class RapidsTest extends TestUtil {
     }
   }
 
+  @Test public void testRowSliceZoneMap() {
+    Vec v = water.fvec.ZoneMapTest.makeZoned();
+    Frame fr = new Frame(Key.make("zm.hex"), new String[]{"x"}, new Vec[]{v});
+    DKV.put(fr);
+    try {
+      fr.vec(0).min();          // Rollups, then the zone map built from them
+      water.fvec.ZoneMap.build(fr.vecs(), new Futures()).blockForPending();
+      String[] ops = {"<", "<=", ">", ">=", "==", "!="};
+      double[] ts = {-1, 0, 2500, 3100, 3500, 5100, 5123, 9999, 20000};
+      for (String op : ops)
+        for (double t : ts)
+          for (boolean left : new boolean[]{false, true}) {
+            String pred = left ? "(" + op + " " + t + " (cols zm.hex [0]))" : "(" + op + " (cols zm.hex [0]) " + t + ")";
+            long expected = 0;
+            for (long r = 0; r < fr.numRows(); r++) {
+              double x = fr.vec(0).at(r);
+              if (Double.isNaN(x)) {    // Comparisons with NA are false, so != is true
+                if (op.equals("!=")) expected++;
+                continue;
+              }
+              double l = left ? t : x, rt = left ? x : t;
+              boolean b = op.equals("<") ? l < rt : op.equals("<=") ? l <= rt : op.equals(">") ? l > rt
+                  : op.equals(">=") ? l >= rt : op.equals("==") ? l == rt : l != rt;
+              if (b) expected++;
+            }
+            Frame res = Rapids.exec("(rows zm.hex " + pred + ")").getFrame();
+            try {
+              Assert.assertEquals(pred, expected, res.numRows());
+            } finally {
+              res.delete();
+            }
+          }
+    } finally {
+      fr.delete();
+    }
+  }
+
   @Test public void testChicago() {
     String oldtz = Rapids.exec("(getTimeZone)").getStr();
     Session ses = new Session();
@@ -0,0 +1,58 @@
+package water.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LZ4Test {
+
+  private static byte[] roundTrip(byte[] src) {
+    byte[] dst = new byte[LZ4.maxCompressedLength(src.length)];
+    int clen = LZ4.compress(src, 0, src.length, dst, 0);
+    byte[] res = new byte[src.length];
+    LZ4.decompress(dst, 0, clen, res, 0, src.length);
+    assertArrayEquals(src, res);
+    return Arrays.copyOf(dst, clen);
+  }
+
+  @Test public void testEmptyAndTiny() {
+    roundTrip(new byte[0]);
+    roundTrip(new byte[]{1});
+    roundTrip(new byte[]{1,2,3,4,5,6,7,8,9,10,11});
+    assertNull(LZ4.compress(new byte[]{1,2,3})); // Never smaller
+  }
+
+  @Test public void testRandomDoesNotExpandMuch() {
+    Random r = new Random(0xDECAF);
+    for( int len : new int[]{100, 4096, 1<<20} ) {
+      byte[] b = new byte[len];
+      r.nextBytes(b);
+      assertTrue(roundTrip(b).length <= LZ4.maxCompressedLength(len));
+    }
+  }
+
+  @Test public void testRepetitive() {
+    // Long runs, short periods (overlapping matches) and low cardinality
+    byte[] run = new byte[100000];
+    byte[] per = new byte[100000];
+    byte[] low = new byte[100000];
+    Random r = new Random(42);
+    for( int i = 0; i < run.length; i++ ) {
+      run[i] = (byte)(i/5000);
+      per[i] = (byte)(i%3);
+      low[i] = (byte)r.nextInt(4);
+    }
+    assertTrue(roundTrip(run).length < run.length/50);
+    assertTrue(roundTrip(per).length < per.length/50);
+    roundTrip(low);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongLength() {
+    byte[] c = LZ4.compress(new byte[1000]);
+    LZ4.decompress(c, 1001);
+  }
+}
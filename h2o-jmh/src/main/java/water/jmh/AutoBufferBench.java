@@ -0,0 +1,60 @@
+package water.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import water.AutoBuffer;
+import water.Iced;
+import water.fvec.Chunk;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** {@link AutoBuffer} serialization round trips of Iced objects: a small
+ *  POJO of mixed fields and arrays, and a compressed Chunk as shipped
+ *  between nodes. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class AutoBufferBench {
+  /** A typical task payload: some scalars, a name and a few arrays. */
+  public static class Payload extends Iced<Payload> {
+    int _id;
+    long _seed;
+    double _alpha;
+    String _name;
+    int[] _idxs;
+    double[] _vals;
+    double[][] _mat;
+  }
+
+  @Param({"16", "1024"})
+  public int size;
+
+  private Payload _payload;
+  private byte[] _payloadBytes;
+  private Chunk _chunk;
+  private byte[] _chunkBytes;
+
+  @Setup(Level.Trial) public void setup() {
+    H2OBoot.boot();
+    Random r = new Random(42);
+    Payload p = new Payload();
+    p._id = 7;  p._seed = r.nextLong();  p._alpha = 0.5;  p._name = "payload";
+    p._idxs = new int[size];
+    p._vals = new double[size];
+    p._mat = new double[8][size/8+1];
+    for( int i = 0; i < size; i++ ) { p._idxs[i] = r.nextInt(); p._vals[i] = r.nextDouble(); }
+    for( double[] row : p._mat ) for( int i = 0; i < row.length; i++ ) row[i] = r.nextGaussian();
+    _payload = p;
+    _payloadBytes = new AutoBuffer().put(p).buf();
+    _chunk = ChunkData.make("C2", size*64, 42);
+    _chunkBytes = new AutoBuffer().put(_chunk).buf();
+  }
+
+  @Benchmark public byte[] writePayload() { return new AutoBuffer().put(_payload).buf(); }
+  @Benchmark public Payload readPayload() { return new AutoBuffer(_payloadBytes).get(); }
+  @Benchmark public byte[] writeChunk() { return new AutoBuffer().put(_chunk).buf(); }
+  @Benchmark public Chunk readChunk() { return new AutoBuffer(_chunkBytes).get(); }
+}
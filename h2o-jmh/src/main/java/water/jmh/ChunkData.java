@@ -0,0 +1,55 @@
+package water.jmh;
+
+import water.fvec.Chunk;
+import water.fvec.NewChunk;
+
+import java.util.Random;
+
+/** Deterministic column data shaped so that {@link NewChunk#compress} picks
+ *  a given Chunk type.  Each shape is checked against the Chunk it actually
+ *  produces, so a compression change cannot silently turn a benchmark of one
+ *  type into a benchmark of another. */
+public final class ChunkData {
+  /** Chunk types with a data shape, named as in {@code water.util.ChunkSummary}. */
+  public static final String[] TYPES = {
+    "C1", "C1N", "C1S", "C2", "C2S", "C4", "C4S", "C8", "C8D",
+    "CBS", "CUD", "CRLE", "CBP", "CXI", "CXD"
+  };
+  private ChunkData() {}
+
+  /** Fill a fresh NewChunk with len rows of the given shape. */
+  public static NewChunk fill( String type, int len, long seed ) {
+    Random r = new Random(seed);
+    NewChunk nc = new NewChunk(null, 0);
+    for( int i = 0; i < len; i++ ) {
+      switch( type ) {
+      case "C1":   if( i % 100 == 0 ) nc.addNA(); else nc.addNum(r.nextInt(254), 0); break;
+      case "C1N":  nc.addNum(r.nextInt(256), 0); break;
+      case "C1S":  nc.addNum(r.nextInt(250), -1); break;
+      case "C2":   nc.addNum(r.nextInt(60000) - 30000, 0); break;
+      case "C2S":  nc.addNum(r.nextInt(60000), -2); break;
+      case "C4":   nc.addNum(r.nextInt(), 0); break;
+      case "C4S":  nc.addNum(r.nextInt(1000000000), -3); break;
+      case "C8":   nc.addNum(r.nextLong(), 0); break;
+      case "C8D":  nc.addNum(r.nextDouble()); break;
+      case "CBS":  nc.addNum(r.nextInt(2), 0); break;
+      case "CUD":  nc.addNum((r.nextInt(16) + 0.5) * Math.PI); break;
+      case "CRLE": nc.addNum((i / 500) * 0.25); break;
+      case "CBP":  nc.addNum(r.nextInt(3001), 0); break;
+      case "CXI":  nc.addNum(r.nextInt(100) == 0 ? r.nextInt(30000) + 1 : 0, 0); break;
+      case "CXD":  nc.addNum(r.nextInt(100) == 0 ? r.nextDouble() + 1 : 0); break;
+      default: throw new IllegalArgumentException("Unknown chunk type " + type);
+      }
+    }
+    return nc;
+  }
+
+  /** Compress len rows of the given shape, checking the resulting type. */
+  public static Chunk make( String type, int len, long seed ) {
+    Chunk c = fill(type, len, seed).compress();
+    String got = c.getClass().getSimpleName();
+    if( !got.equals(type + "Chunk") )
+      throw new IllegalStateException("Data shaped for " + type + "Chunk compressed to " + got);
+    return c;
+  }
+}
@@ -0,0 +1,47 @@
+package water.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import water.fvec.Chunk;
+
+import java.util.concurrent.TimeUnit;
+
+/** Decode cost per Chunk type: row-at-a-time {@link Chunk#atd} against the
+ *  bulk {@link Chunk#getDoubles} decoder.  Scores are per Chunk of ROWS rows. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ChunkDecodeBench {
+  static final int ROWS = 1 << 16;
+
+  @Param({"C1", "C1N", "C1S", "C2", "C2S", "C4", "C4S", "C8", "C8D", "CBS", "CUD", "CRLE", "CBP", "CXI", "CXD"})
+  public String type;
+
+  private Chunk _chk;
+  private double[] _buf;
+
+  @Setup(Level.Trial) public void setup() {
+    H2OBoot.boot();
+    _chk = ChunkData.make(type, ROWS, 0xDECAFL);
+    _buf = new double[ROWS];
+  }
+
+  @Benchmark public double atd() {
+    final Chunk c = _chk;
+    double sum = 0;
+    for( int i = 0; i < c._len; i++ ) {
+      double d = c.atd(i);
+      if( !Double.isNaN(d) ) sum += d;
+    }
+    return sum;
+  }
+
+  @Benchmark public double getDoubles() {
+    double[] vals = _chk.getDoubles(_buf, 0, _chk._len, 0);
+    double sum = 0;
+    for( double d : vals ) sum += d;
+    return sum;
+  }
+}
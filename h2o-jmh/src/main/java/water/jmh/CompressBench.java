@@ -0,0 +1,36 @@
+package water.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import water.fvec.NewChunk;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link NewChunk#compress} for each target Chunk type.  A NewChunk is
+ *  consumed by compress, so each invocation refills one; the fill-only score
+ *  is the baseline to subtract. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CompressBench {
+  static final int ROWS = 1 << 16;
+
+  @Param({"C1", "C1N", "C1S", "C2", "C2S", "C4", "C4S", "C8", "C8D", "CBS", "CUD", "CRLE", "CBP", "CXI", "CXD"})
+  public String type;
+
+  @Setup(Level.Trial) public void setup() {
+    H2OBoot.boot();
+    ChunkData.make(type, ROWS, 0xC0FFEEL); // Check the shape once
+  }
+
+  @Benchmark public void fill(Blackhole bh) {
+    bh.consume(ChunkData.fill(type, ROWS, 0xC0FFEEL));
+  }
+
+  @Benchmark public void fillAndCompress(Blackhole bh) {
+    bh.consume(ChunkData.fill(type, ROWS, 0xC0FFEEL).compress());
+  }
+}
@@ -0,0 +1,18 @@
+package water.jmh;
+
+import water.H2O;
+
+/** Start a private single-node cloud once per benchmark JVM.  Bound to the
+ *  loopback address under a unique name, so runs stay offline and never
+ *  join another cloud on the network. */
+public final class H2OBoot {
+  private static boolean _started;
+  private H2OBoot() {}
+
+  public static synchronized void boot() {
+    if( _started ) return;
+    H2O.main(new String[]{"-name", "jmh-" + System.nanoTime(), "-ip", "127.0.0.1"});
+    H2O.waitForCloudSize(1, 30000);
+    _started = true;
+  }
+}
@@ -0,0 +1,81 @@
+package water.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import water.MRTask;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** {@link MRTask#doAll} over a numeric Frame on a single node: a pure
+ *  reduction, and a map writing a new output column.  Scores include the
+ *  task fan-out and reduce as well as the Chunk loops. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MRTaskBench {
+  @Param({"1000000", "10000000"})
+  public long rows;
+
+  @Param({"4"})
+  public int cols;
+
+  private Frame _fr;
+
+  @Setup(Level.Trial) public void setup() {
+    H2OBoot.boot();
+    Vec layout = Vec.makeZero(rows);
+    Vec[] vecs = layout.makeZeros(cols);
+    layout.remove();
+    new MRTask() {
+      @Override public void map( Chunk[] cs ) {
+        Random r = new Random(cs[0].start());
+        for( Chunk c : cs )
+          for( int i = 0; i < c._len; i++ )
+            c.set(i, r.nextInt(100000) / 16.0);
+      }
+    }.doAll(vecs);
+    _fr = new Frame(vecs);
+  }
+
+  @TearDown(Level.Trial) public void tearDown() {
+    if( _fr != null ) _fr.remove();
+  }
+
+  private static class Sum extends MRTask<Sum> {
+    double _sum;
+    @Override public void map( Chunk[] cs ) {
+      double[] vals = new double[cs[0]._len];
+      for( Chunk c : cs ) {
+        c.getDoubles(vals, 0, c._len, 0);
+        for( double d : vals ) _sum += d;
+      }
+    }
+    @Override public void reduce( Sum s ) { _sum += s._sum; }
+  }
+
+  private static class RowSum extends MRTask<RowSum> {
+    @Override public void map( Chunk[] cs, NewChunk nc ) {
+      for( int i = 0; i < cs[0]._len; i++ ) {
+        double s = 0;
+        for( Chunk c : cs ) s += c.atd(i);
+        nc.addNum(s);
+      }
+    }
+  }
+
+  @Benchmark public double sum() { return new Sum().doAll(_fr)._sum; }
+
+  @Benchmark public long rowSum() {
+    Frame out = new RowSum().doAll(Vec.T_NUM, _fr).outputFrame();
+    long n = out.numRows();
+    out.remove();
+    return n;
+  }
+}
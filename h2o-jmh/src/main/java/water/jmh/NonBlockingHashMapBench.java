@@ -0,0 +1,48 @@
+package water.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import water.nbhm.NonBlockingHashMap;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Get and put on a {@link NonBlockingHashMap} sized like a busy DKV.  Run
+ *  with {@code -t} to see the contended, multi-threaded case. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class NonBlockingHashMapBench {
+  @Param({"1024", "1048576"})
+  public int keys;
+
+  private NonBlockingHashMap<String,Integer> _map;
+  private String[] _keys;
+
+  @Setup(Level.Trial) public void setup() {
+    _map = new NonBlockingHashMap<>();
+    _keys = new String[keys];
+    for( int i = 0; i < keys; i++ ) {
+      _keys[i] = "key_" + i;
+      _map.put(_keys[i], i);
+    }
+  }
+
+  @Benchmark public Integer get() {
+    return _map.get(_keys[ThreadLocalRandom.current().nextInt(keys)]);
+  }
+
+  @Benchmark public Integer put() {
+    int i = ThreadLocalRandom.current().nextInt(keys);
+    return _map.put(_keys[i], i);
+  }
+
+  /** 90% reads, 10% writes. */
+  @Benchmark public Integer mixed() {
+    ThreadLocalRandom r = ThreadLocalRandom.current();
+    int i = r.nextInt(keys);
+    return r.nextInt(10) == 0 ? _map.put(_keys[i], i) : _map.get(_keys[i]);
+  }
+}
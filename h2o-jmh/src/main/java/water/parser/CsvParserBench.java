@@ -0,0 +1,102 @@
+package water.parser;
+
+import org.openjdk.jmh.annotations.*;
+import water.Iced;
+import water.fvec.FileVec;
+import water.jmh.H2OBoot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Raw {@link CsvParser} tokenizing throughput over one in-memory chunk of
+ *  CSV text.  Rows go to a writer that only counts them, so the score is
+ *  the tokenizer and number parser alone, without NewChunk or DKV costs.
+ *  Lives in water.parser to reach the package-private parser. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CsvParserBench {
+  static final int BYTES = FileVec.DFLT_CHUNK_SIZE;
+
+  /** ints: small integers; doubles: decimals and exponents; mixed: numbers,
+   *  quoted strings and missing values; wide: 200 columns of decimals. */
+  @Param({"ints", "doubles", "mixed", "wide"})
+  public String shape;
+
+  /** Whether plain numeric lines take the word-at-a-time {@link CsvFastLines}
+   *  path; false measures the byte-at-a-time state machine alone.  Each
+   *  setting runs in its own fork, as the switch is read once per JVM. */
+  @Param({"true", "false"})
+  public boolean fastLines;
+
+  private byte[] _bits;
+  private ParseSetup _setup;
+
+  @Setup(Level.Trial) public void setup() {
+    System.setProperty(CsvFastLines.PROP, Boolean.toString(fastLines));
+    H2OBoot.boot();
+    if( CsvFastLines.ENABLED != fastLines ) throw new IllegalStateException("CsvFastLines loaded before setup");
+    final int ncols = shape.equals("wide") ? 200 : 10;
+    Random r = new Random(1234);
+    StringBuilder sb = new StringBuilder(BYTES + 256);
+    while( sb.length() < BYTES ) {
+      for( int c = 0; c < ncols; c++ ) {
+        if( c > 0 ) sb.append(',');
+        switch( shape ) {
+        case "ints":    sb.append(r.nextInt(100000)); break;
+        case "doubles": sb.append(c % 2 == 0 ? Double.toString(r.nextGaussian()*1e4) : Double.toString(r.nextDouble()*1e-5)); break;
+        case "mixed":
+          if( c == 0 ) sb.append('"').append("level_").append(r.nextInt(50)).append('"');
+          else if( r.nextInt(20) == 0 ) sb.append("NA");
+          else if( c % 2 == 0 ) sb.append(r.nextInt(1000));
+          else sb.append(r.nextInt(100000) / 100.0);
+          break;
+        case "wide":    sb.append(r.nextInt(2000000) / 1000.0 - 1000); break;
+        default: throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+      }
+      sb.append('\n');
+    }
+    _bits = sb.toString().getBytes(StandardCharsets.UTF_8);
+    _setup = CsvParser.guessSetup(_bits, (byte)',', ncols, false, ParseSetup.NO_HEADER, null, null, null);
+  }
+
+  @Benchmark public long parse() {
+    CountingWriter w = new CountingWriter();
+    new CsvParser(_setup, null).parseChunk(0, new BytesReader(_bits), w);
+    return w._lines ^ w._cells;
+  }
+
+  /** A single chunk of bytes, with nothing after it. */
+  private static final class BytesReader implements ParseReader {
+    private final byte[] _bits;
+    BytesReader( byte[] bits ) { _bits = bits; }
+    @Override public byte[] getChunkData( int cidx ) { return cidx == 0 ? _bits : null; }
+    @Override public int  getChunkDataStart( int cidx ) { return -1; }
+    @Override public void setChunkDataStart( int cidx, int offset ) { }
+    @Override public long getGlobalByteOffset() { return 0; }
+  }
+
+  /** Counts lines and cells, and drops the values. */
+  private static final class CountingWriter extends Iced implements ParseWriter {
+    long _lines, _cells;
+    @Override public void setColumnNames( String[] names ) { }
+    @Override public void newLine() { _lines++; }
+    @Override public boolean isString( int colIdx ) { return false; }
+    @Override public void addNumCol( int colIdx, long number, int exp ) { _cells += number; }
+    @Override public void addNumCol( int colIdx, double d ) { _cells++; }
+    @Override public void addInvalidCol( int colIdx ) { _cells++; }
+    @Override public void addStrCol( int colIdx, BufferedString str ) { _cells++; }
+    @Override public void rollbackLine() { }
+    @Override public void invalidLine( ParseErr err ) { }
+    @Override public void addError( ParseErr err ) { }
+    @Override public void setIsAllASCII( int colIdx, boolean b ) { }
+    @Override public boolean hasErrors() { return false; }
+    @Override public ParseErr[] removeErrors() { return new ParseErr[0]; }
+    @Override public long lineNum() { return _lines; }
+  }
+}
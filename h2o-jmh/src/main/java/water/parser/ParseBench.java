@@ -0,0 +1,65 @@
+package water.parser;
+
+import org.openjdk.jmh.annotations.*;
+import water.Key;
+import water.fvec.Frame;
+import water.fvec.UploadFileVec;
+import water.jmh.H2OBoot;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** End-to-end {@link ParseDataset} of a wide numeric CSV held in memory:
+ *  the tokenizer plus NewChunk compression and the distributed parse
+ *  machinery, on a single node.  Compare the fastLines settings to see how
+ *  much of a parse the {@link CsvFastLines} path saves. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBench {
+  @Param({"64"})
+  public int megabytes;
+
+  @Param({"200"})
+  public int cols;
+
+  /** See {@link CsvParserBench#fastLines} */
+  @Param({"true", "false"})
+  public boolean fastLines;
+
+  private Key _raw;
+  private ParseSetup _setup;
+
+  @Setup(Level.Trial) public void setup() throws Exception {
+    System.setProperty(CsvFastLines.PROP, Boolean.toString(fastLines));
+    H2OBoot.boot();
+    Random r = new Random(1234);
+    StringBuilder sb = new StringBuilder(megabytes<<20);
+    while( sb.length() < megabytes<<20 ) {
+      for( int c = 0; c < cols; c++ ) {
+        if( c > 0 ) sb.append(',');
+        sb.append(r.nextInt(2000000) / 1000.0 - 1000);
+      }
+      sb.append('\n');
+    }
+    byte[] bits = sb.toString().getBytes(StandardCharsets.UTF_8);
+    _raw = UploadFileVec.readPut(Key.make("parse_bench.csv"), new ByteArrayInputStream(bits), null);
+    _setup = ParseSetup.guessSetup(new Key[]{_raw}, false, ParseSetup.NO_HEADER);
+  }
+
+  @TearDown(Level.Trial) public void tearDown() {
+    if( _raw != null ) ((Frame)_raw.get()).remove();
+  }
+
+  @Benchmark public long parse() {
+    Frame fr = ParseDataset.parse(Key.make(), new Key[]{_raw}, false, _setup);
+    long rows = fr.numRows();
+    fr.delete();
+    return rows;
+  }
+}
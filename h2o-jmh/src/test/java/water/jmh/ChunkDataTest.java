@@ -0,0 +1,28 @@
+package water.jmh;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Param;
+
+/** Runs the setup of every Chunk-type parameter of the Chunk benchmarks, so a
+ *  compression change that moves a data shape to another Chunk type fails
+ *  the build rather than the benchmark run. */
+public class ChunkDataTest {
+  @BeforeClass public static void setup() { H2OBoot.boot(); }
+
+  @Test public void testDecodeBenchShapes() throws Exception {
+    checkShapes(ChunkDecodeBench.class, ChunkDecodeBench.ROWS, 0xDECAFL);
+  }
+
+  @Test public void testCompressBenchShapes() throws Exception {
+    checkShapes(CompressBench.class, CompressBench.ROWS, 0xC0FFEEL);
+  }
+
+  private static void checkShapes( Class<?> bench, int rows, long seed ) throws Exception {
+    String[] types = bench.getField("type").getAnnotation(Param.class).value();
+    Assert.assertArrayEquals(ChunkData.TYPES, types);
+    for( String type : types )
+      Assert.assertEquals(rows, ChunkData.make(type, rows, seed)._len);
+  }
+}
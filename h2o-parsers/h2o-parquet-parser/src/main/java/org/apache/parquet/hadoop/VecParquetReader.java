@@ -34,6 +34,7 @@ import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.schema.MessageType;
 import water.fvec.Vec;
+import water.parser.ParsePredicate;
 import water.parser.ParseWriter;
 import water.parser.parquet.ChunkReadSupport;
 import water.parser.parquet.VecDataInputStream;
@@ -59,14 +60,27 @@ public class VecParquetReader implements Closeable {
   private final ParquetMetadata metadata;
   private final ParseWriter writer;
   private final byte[] chunkSchema;
+  private final int[] projection;
+  private final ParsePredicate[] predicates;
 
   private InternalParquetRecordReader<Integer> reader;
 
   public VecParquetReader(Vec vec, ParquetMetadata metadata, ParseWriter writer, byte[] chunkSchema) {
+    this(vec, metadata, writer, chunkSchema, null, null);
+  }
+
+  /**
+   * @param projection columns of the file to read (null: all), only these column chunks are read
+   * @param predicates only the records meeting all of these are written (null: all)
+   */
+  public VecParquetReader(Vec vec, ParquetMetadata metadata, ParseWriter writer, byte[] chunkSchema,
+                          int[] projection, ParsePredicate[] predicates) {
     this.vec = vec;
     this.metadata = metadata;
     this.writer = writer;
     this.chunkSchema = chunkSchema;
+    this.projection = projection;
+    this.predicates = predicates;
   }
 
   /**
@@ -93,11 +107,21 @@ public class VecParquetReader implements Closeable {
     assert reader == null;
     List<BlockMetaData> blocks = metadata.getBlocks();
     MessageType fileSchema = metadata.getFileMetaData().getSchema();
-    reader = new InternalParquetRecordReader<>(new ChunkReadSupport(writer, chunkSchema));
+    reader = new InternalParquetRecordReader<>(new ChunkReadSupport(writer, chunkSchema, projection, predicates));
     Configuration conf = VecFileSystem.makeConfiguration(vec);
     reader.initialize(fileSchema, metadata.getFileMetaData().getKeyValueMetaData(), VecFileSystem.VEC_PATH, blocks, conf);
   }
 
+  /**
+   * Opens a reader of the pages of the requested columns, block by block, for decoding the data
+   * column by column instead of assembling records (see {@link water.parser.parquet.ChunkColumnReader}).
+   * @param requestedSchema schema of the columns to read
+   */
+  public ParquetFileReader openFileReader(MessageType requestedSchema) throws IOException {
+    Configuration conf = VecFileSystem.makeConfiguration(vec);
+    return new ParquetFileReader(conf, VecFileSystem.VEC_PATH, metadata.getBlocks(), requestedSchema.getColumns());
+  }
+
   @Override
   public void close() throws IOException {
     if (reader != null) {
@@ -0,0 +1,327 @@
+package water.parser.parquet;
+
+import org.apache.parquet.bytes.BytesUtils;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.ValuesType;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.DataPageV2;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.values.ValuesReader;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ParquetDecodingException;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+import water.parser.BufferedString;
+import water.parser.FVecParseWriter;
+import water.parser.ParsePredicate;
+import water.parser.ParseWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar alternative to record assembly ({@link ChunkRecordMaterializer} -&gt; {@link ChunkConverter}).
+ *
+ * ChunkColumnReader decodes the pages of one column at a time and appends the values in a tight loop
+ * straight to the column's NewChunk, instead of passing each value through a chain of converter callbacks.
+ * Dictionary encoded pages of a categorical column are written as the categorical ids of the dictionary
+ * entries, each entry is looked up in the column's categorical map only once.
+ *
+ * Only flat schemas with columns of the types accepted by {@link #canRead} are read this way, and only
+ * without row predicates; anything else goes through record assembly.
+ */
+public class ChunkColumnReader {
+
+  private final FVecParseWriter _writer;
+  private final List<ColumnDescriptor> _columns;
+  private final byte[] _chunkSchema;
+
+  ChunkColumnReader(MessageType requestedSchema, byte[] chunkSchema, FVecParseWriter writer) {
+    _writer = writer;
+    _columns = requestedSchema.getColumns();
+    _chunkSchema = chunkSchema;
+  }
+
+  /**
+   * Can the requested columns be decoded column by column into the given writer?
+   */
+  static boolean canRead(MessageType requestedSchema, byte[] chunkSchema, ParseWriter writer, ParsePredicate[] predicates) {
+    if (! (writer instanceof FVecParseWriter) || (predicates != null && predicates.length > 0)) {
+      return false;
+    }
+    List<Type> fields = requestedSchema.getFields();
+    if (fields.size() != chunkSchema.length) {
+      return false;
+    }
+    for (int i = 0; i < chunkSchema.length; i++) {
+      Type field = fields.get(i);
+      if (! field.isPrimitive() || field.isRepetition(Type.Repetition.REPEATED) ||
+              ! isSupported(chunkSchema[i], field.asPrimitiveType())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSupported(byte vecType, PrimitiveType parquetType) {
+    PrimitiveTypeName typeName = parquetType.getPrimitiveTypeName();
+    switch (vecType) {
+      case Vec.T_NUM:
+        return typeName == PrimitiveTypeName.BOOLEAN || typeName == PrimitiveTypeName.INT32 ||
+                typeName == PrimitiveTypeName.INT64 || typeName == PrimitiveTypeName.FLOAT ||
+                typeName == PrimitiveTypeName.DOUBLE;
+      case Vec.T_TIME:
+        return typeName == PrimitiveTypeName.INT64 && parquetType.getOriginalType() == OriginalType.TIMESTAMP_MILLIS;
+      case Vec.T_CAT:
+      case Vec.T_STR:
+        return typeName == PrimitiveTypeName.BINARY;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Reads all the blocks of the file reader, each column of a block after the other.
+   */
+  void read(ParquetFileReader reader) throws IOException {
+    PageReadStore rowGroup;
+    while ((rowGroup = reader.readNextRowGroup()) != null) {
+      int rows = (int) rowGroup.getRowCount(); // blocks have less than 2^31 rows, see ParquetParser#checkCompatibility
+      for (int i = 0; i < _columns.size(); i++) {
+        ColumnDescriptor column = _columns.get(i);
+        readColumn(i, column, rowGroup.getPageReader(column), rows);
+      }
+      _writer.addLines(rows);
+    }
+  }
+
+  private void readColumn(int colIdx, ColumnDescriptor column, PageReader pages, int rows) throws IOException {
+    DictionaryPage dictionaryPage = pages.readDictionaryPage();
+    Dictionary dictionary = dictionaryPage != null ? dictionaryPage.getEncoding().initDictionary(column, dictionaryPage) : null;
+    PageDecoder decoder = new PageDecoder(colIdx, column, dictionary);
+    long total = pages.getTotalValueCount();
+    long read = 0;
+    while (read < total) {
+      DataPage page = pages.readPage();
+      if (page == null) {
+        break;
+      }
+      read += page.accept(decoder);
+    }
+    if (read != rows) {
+      throw new ParquetDecodingException("Column " + Arrays.toString(column.getPath()) + " has " + read +
+              " values in a block of " + rows + " rows.");
+    }
+  }
+
+  /**
+   * Decodes the data pages of a column chunk into the column's NewChunk.
+   */
+  private class PageDecoder implements DataPage.Visitor<Integer> {
+
+    private final int _colIdx;
+    private final ColumnDescriptor _column;
+    private final Dictionary _dictionary;
+    private final byte _vecType;
+    private final PrimitiveTypeName _typeName;
+    private final int _maxDefinitionLevel;
+    private final NewChunk _nc;
+    private final BufferedString _bs = new BufferedString();
+
+    // the dictionary entries as categorical ids or as strings, made on first use
+    private int[] _categoricalIds;
+    private BufferedString[] _strings;
+
+    PageDecoder(int colIdx, ColumnDescriptor column, Dictionary dictionary) {
+      _colIdx = colIdx;
+      _column = column;
+      _dictionary = dictionary;
+      _vecType = _chunkSchema[colIdx];
+      _typeName = column.getType();
+      _maxDefinitionLevel = column.getMaxDefinitionLevel();
+      _nc = _writer.columnChunk(colIdx);
+    }
+
+    @Override
+    public Integer visit(DataPageV1 page) {
+      try {
+        int n = page.getValueCount();
+        byte[] bytes = page.getBytes().toByteArray();
+        ValuesReader rlReader = page.getRlEncoding().getValuesReader(_column, ValuesType.REPETITION_LEVEL);
+        ValuesReader dlReader = page.getDlEncoding().getValuesReader(_column, ValuesType.DEFINITION_LEVEL);
+        rlReader.initFromPage(n, bytes, 0);
+        dlReader.initFromPage(n, bytes, rlReader.getNextOffset());
+        DefinitionLevels levels = _maxDefinitionLevel == 0 ? null : new ReaderDefinitionLevels(dlReader);
+        decode(page.getValueEncoding(), bytes, dlReader.getNextOffset(), n, levels);
+        return n;
+      } catch (IOException e) {
+        throw new ParquetDecodingException("Could not read page " + page + " in column " + _column, e);
+      }
+    }
+
+    @Override
+    public Integer visit(DataPageV2 page) {
+      try {
+        int n = page.getValueCount();
+        DefinitionLevels levels = _maxDefinitionLevel == 0 ? null :
+                new RleDefinitionLevels(_maxDefinitionLevel, page.getDefinitionLevels().toByteArray());
+        decode(page.getDataEncoding(), page.getData().toByteArray(), 0, n, levels);
+        return n;
+      } catch (IOException e) {
+        throw new ParquetDecodingException("Could not read page " + page + " in column " + _column, e);
+      }
+    }
+
+    private void decode(Encoding encoding, byte[] bytes, int offset, int n, DefinitionLevels levels) throws IOException {
+      boolean dictionaryIds = encoding.usesDictionary();
+      if (dictionaryIds && _dictionary == null) {
+        throw new ParquetDecodingException("Could not read page in column " + _column +
+                " as the dictionary was missing for encoding " + encoding);
+      }
+      ValuesReader values = dictionaryIds ?
+              encoding.getDictionaryBasedValuesReader(_column, ValuesType.VALUES, _dictionary) :
+              encoding.getValuesReader(_column, ValuesType.VALUES);
+      values.initFromPage(n, bytes, offset);
+      switch (_vecType) {
+        case Vec.T_CAT:
+          decodeCategoricals(values, dictionaryIds, n, levels);
+          break;
+        case Vec.T_STR:
+          decodeStrings(values, dictionaryIds, n, levels);
+          break;
+        default:
+          decodeNumbers(values, n, levels);
+      }
+    }
+
+    private void decodeNumbers(ValuesReader values, int n, DefinitionLevels levels) throws IOException {
+      final NewChunk nc = _nc;
+      switch (_typeName) {
+        case BOOLEAN:
+          for (int i = 0; i < n; i++) {
+            if (isDefined(levels)) nc.addNum(values.readBoolean() ? 1 : 0, 0); else nc.addNA();
+          }
+          break;
+        case INT32:
+          for (int i = 0; i < n; i++) {
+            if (isDefined(levels)) nc.addNum(values.readInteger(), 0); else nc.addNA();
+          }
+          break;
+        case INT64:
+          for (int i = 0; i < n; i++) {
+            if (isDefined(levels)) nc.addNum(values.readLong(), 0); else nc.addNA();
+          }
+          break;
+        case FLOAT:
+          for (int i = 0; i < n; i++) {
+            if (isDefined(levels)) addDouble(nc, values.readFloat()); else nc.addNA();
+          }
+          break;
+        case DOUBLE:
+          for (int i = 0; i < n; i++) {
+            if (isDefined(levels)) addDouble(nc, values.readDouble()); else nc.addNA();
+          }
+          break;
+        default:
+          throw new IllegalStateException("Unsupported type " + _typeName); // ruled out by canRead
+      }
+    }
+
+    private void decodeCategoricals(ValuesReader values, boolean dictionaryIds, int n, DefinitionLevels levels) throws IOException {
+      final NewChunk nc = _nc;
+      if (dictionaryIds) {
+        int[] ids = categoricalIds();
+        for (int i = 0; i < n; i++) {
+          if (isDefined(levels)) nc.addNum(ids[values.readValueDictionaryId()], 0); else nc.addNA();
+        }
+      } else {
+        for (int i = 0; i < n; i++) {
+          if (isDefined(levels)) {
+            _bs.set(values.readBytes().getBytes());
+            nc.addNum(_writer.addCategoricalLevel(_colIdx, _bs), 0);
+          } else {
+            nc.addNA();
+          }
+        }
+      }
+    }
+
+    private void decodeStrings(ValuesReader values, boolean dictionaryIds, int n, DefinitionLevels levels) throws IOException {
+      final NewChunk nc = _nc;
+      if (dictionaryIds) {
+        BufferedString[] strings = strings();
+        for (int i = 0; i < n; i++) {
+          if (isDefined(levels)) nc.addStr(strings[values.readValueDictionaryId()]); else nc.addNA();
+        }
+      } else {
+        for (int i = 0; i < n; i++) {
+          if (isDefined(levels)) nc.addStr(_bs.set(values.readBytes().getBytes())); else nc.addNA();
+        }
+      }
+    }
+
+    private boolean isDefined(DefinitionLevels levels) throws IOException {
+      return levels == null || levels.next() == _maxDefinitionLevel;
+    }
+
+    private int[] categoricalIds() {
+      if (_categoricalIds == null) {
+        _categoricalIds = new int[_dictionary.getMaxId() + 1];
+        BufferedString bs = new BufferedString();
+        for (int i = 0; i < _categoricalIds.length; i++) {
+          bs.set(_dictionary.decodeToBinary(i).getBytes());
+          _categoricalIds[i] = _writer.addCategoricalLevel(_colIdx, bs);
+        }
+      }
+      return _categoricalIds;
+    }
+
+    private BufferedString[] strings() {
+      if (_strings == null) {
+        _strings = new BufferedString[_dictionary.getMaxId() + 1];
+        for (int i = 0; i < _strings.length; i++) {
+          _strings[i] = new BufferedString().set(_dictionary.decodeToBinary(i).getBytes());
+        }
+      }
+      return _strings;
+    }
+  }
+
+  private static void addDouble(NewChunk nc, double d) {
+    if (Double.isNaN(d)) nc.addNA(); else nc.addNum(d);
+  }
+
+  private static abstract class DefinitionLevels {
+    abstract int next() throws IOException;
+  }
+
+  // Data page v1: levels are encoded in the page, read with the encoding's reader
+  private static class ReaderDefinitionLevels extends DefinitionLevels {
+    private final ValuesReader _reader;
+    ReaderDefinitionLevels(ValuesReader reader) { _reader = reader; }
+    @Override int next() { return _reader.readInteger(); }
+  }
+
+  // Data page v2: levels are always RLE/bit-packed hybrid, without a length prefix
+  private static class RleDefinitionLevels extends DefinitionLevels {
+    private final RunLengthBitPackingHybridDecoder _decoder;
+    RleDefinitionLevels(int maxLevel, byte[] bytes) {
+      _decoder = new RunLengthBitPackingHybridDecoder(BytesUtils.getWidthFromMaxInt(maxLevel), new ByteArrayInputStream(bytes));
+    }
+    @Override int next() throws IOException { return _decoder.readInt(); }
+  }
+
+}
@@ -11,7 +11,12 @@ import org.apache.parquet.schema.PrimitiveType;
 import org.apache.parquet.schema.Type;
 import water.fvec.Vec;
 import water.parser.BufferedString;
+import water.parser.ParsePredicate;
+import water.parser.ParseTime;
 import water.parser.ParseWriter;
+import water.util.PrettyPrint;
+
+import java.util.Arrays;
 
 /**
  * Implementation of Parquet's GroupConverter for H2O's chunks.
@@ -21,6 +26,9 @@ import water.parser.ParseWriter;
  * using a provided ParseWriter to chunks. The (artificial) output of the converter is number of
  * the record that was written to the chunk.
  *
+ * With predicates, the values of a record are held back until the end of the record, and
+ * only written if the record meets all the predicates.
+ *
  * Note: It is meant to be used as a root converter.
  */
 class ChunkConverter extends GroupConverter {
@@ -30,8 +38,8 @@ class ChunkConverter extends GroupConverter {
 
   private int _currentRecordIdx = -1;
 
-  ChunkConverter(MessageType parquetSchema, byte[] chunkSchema, ParseWriter writer) {
-    _writer = new WriterDelegate(writer, chunkSchema.length);
+  ChunkConverter(MessageType parquetSchema, byte[] chunkSchema, ParseWriter writer, ParsePredicate[][] predicates) {
+    _writer = new WriterDelegate(writer, chunkSchema, predicates);
     int colIdx = 0;
     _converters = new Converter[chunkSchema.length];
     for (Type parquetField : parquetSchema.getFields()) {
@@ -55,7 +63,7 @@ class ChunkConverter extends GroupConverter {
   @Override
   public void end() {
     _writer.endLine();
-    assert _writer.lineNum() - 1 == _currentRecordIdx;
+    assert _writer.isFiltering() || _writer.lineNum() - 1 == _currentRecordIdx;
   }
 
   int getCurrentRecordIdx() {
@@ -183,23 +191,69 @@ class ChunkConverter extends GroupConverter {
 
   private static class WriterDelegate {
 
+    private static final byte NA = 0, LONG = 1, DOUBLE = 2, STR = 3;
+
     private final ParseWriter _writer;
+    private final byte[] _types;
     private final int _numCols;
     private int _col;
 
-    WriterDelegate(ParseWriter writer, int numCols) {
+    // Filtering: the predicates of each column (null if none), the number of
+    // predicates the current record does not meet yet, and its values
+    private final ParsePredicate[][] _preds;
+    private int _npreds;
+    private int _unmet;
+    private byte[] _kinds;
+    private long[] _nums;
+    private int[] _exps;
+    private double[] _ds;
+    private BufferedString[] _strs;
+    private byte[][] _strBufs;
+
+    WriterDelegate(ParseWriter writer, byte[] types, ParsePredicate[][] preds) {
       _writer = writer;
-      _numCols = numCols;
+      _types = types;
+      _numCols = types.length;
       _col = Integer.MIN_VALUE;
+      _preds = preds;
+      if (preds != null) {
+        for (ParsePredicate[] ps : preds) if (ps != null) _npreds += ps.length;
+        _kinds = new byte[_numCols];
+        _nums = new long[_numCols];
+        _exps = new int[_numCols];
+        _ds = new double[_numCols];
+        _strs = new BufferedString[_numCols];
+        _strBufs = new byte[_numCols][];
+      }
+    }
+
+    boolean isFiltering() {
+      return _preds != null;
     }
 
     void startLine() {
       _col = -1;
+      if (_preds != null) {
+        _unmet = _npreds;
+        Arrays.fill(_kinds, NA);
+      }
     }
 
     void endLine() {
-      moveToCol(_numCols);
-      _writer.newLine();
+      if (_preds == null) {
+        moveToCol(_numCols);
+        _writer.newLine();
+      } else if (_unmet == 0) {
+        for (int c = 0; c < _numCols; c++) {
+          switch (_kinds[c]) {
+            case LONG: _writer.addNumCol(c, _nums[c], _exps[c]); break;
+            case DOUBLE: _writer.addNumCol(c, _ds[c]); break;
+            case STR: _writer.addStrCol(c, _strs[c]); break;
+            default: _writer.addInvalidCol(c);
+          }
+        }
+        _writer.newLine();
+      }
     }
 
     int moveToCol(int colIdx) {
@@ -209,21 +263,69 @@ class ChunkConverter extends GroupConverter {
     }
 
     void addNumCol(int colIdx, long number, int exp) {
-      _writer.addNumCol(moveToCol(colIdx), number, exp);
+      if (_preds == null) {
+        _writer.addNumCol(moveToCol(colIdx), number, exp);
+        return;
+      }
+      _kinds[colIdx] = LONG;
+      _nums[colIdx] = number;
+      _exps[colIdx] = exp;
+      if (_preds[colIdx] != null) {
+        double d = exp == 0 ? number : number * PrettyPrint.pow10(exp);
+        for (ParsePredicate p : _preds[colIdx]) if (p.matches(d)) _unmet--;
+      }
     }
 
     void addNumCol(int colIdx, double d) {
-      _writer.addNumCol(moveToCol(colIdx), d);
+      if (_preds == null) {
+        _writer.addNumCol(moveToCol(colIdx), d);
+        return;
+      }
+      _kinds[colIdx] = DOUBLE;
+      _ds[colIdx] = d;
+      if (_preds[colIdx] != null)
+        for (ParsePredicate p : _preds[colIdx]) if (p.matches(d)) _unmet--;
     }
 
     void addStrCol(int colIdx, BufferedString str) {
-      _writer.addStrCol(moveToCol(colIdx), str);
+      if (_preds == null) {
+        _writer.addStrCol(moveToCol(colIdx), str);
+        return;
+      }
+      if (_preds[colIdx] != null) {
+        double d = Double.NaN; // numeric predicates are on the value the writer stores, made on first use
+        boolean parsed = false;
+        for (ParsePredicate p : _preds[colIdx]) {
+          if (p.isNumeric() && ! parsed) {
+            d = storedNumber(colIdx, str);
+            parsed = true;
+          }
+          if (p.isNumeric() ? p.matches(d) : p.matches(str)) _unmet--;
+        }
+      }
+      // keep a copy, the converters reuse their strings
+      int len = str.length();
+      byte[] buf = _strBufs[colIdx];
+      if (buf == null || buf.length < len) buf = _strBufs[colIdx] = new byte[Math.max(len, 16)];
+      System.arraycopy(str.getBuffer(), str.getOffset(), buf, 0, len);
+      if (_strs[colIdx] == null) _strs[colIdx] = new BufferedString();
+      _strs[colIdx].set(buf, 0, len);
+      _kinds[colIdx] = STR;
     }
 
     long lineNum() {
       return _writer.lineNum();
     }
 
+    // The number a string turns into in a numeric (time) column, NaN if missing
+    private double storedNumber(int colIdx, BufferedString str) {
+      if (_types[colIdx] != Vec.T_TIME) {
+        return Double.NaN; // numeric columns keep no strings
+      }
+      long l = ParseTime.attemptTimeParse(str);
+      return l == Long.MIN_VALUE ? Double.NaN : l;
+    }
+
   }
 
 }
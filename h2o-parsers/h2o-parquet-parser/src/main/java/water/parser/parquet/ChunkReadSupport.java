@@ -5,29 +5,79 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+import water.parser.ParsePredicate;
 import water.parser.ParseWriter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 public class ChunkReadSupport extends ReadSupport<Integer> {
 
   private ParseWriter _writer;
   private byte[] _chunkSchema;
+  private int[] _projection;
+  private ParsePredicate[] _predicates;
 
   public ChunkReadSupport(ParseWriter writer, byte[] chunkSchema) {
+    this(writer, chunkSchema, null, null);
+  }
+
+  /**
+   * @param projection columns of the file to read, ascending (null: all)
+   * @param predicates predicates on the columns of the file (null: none)
+   */
+  public ChunkReadSupport(ParseWriter writer, byte[] chunkSchema, int[] projection, ParsePredicate[] predicates) {
     _writer = writer;
     _chunkSchema = chunkSchema;
+    _projection = projection;
+    _predicates = predicates;
   }
 
   @Override
   public ReadContext init(InitContext context) {
-    return new ReadContext(context.getFileSchema());
+    return new ReadContext(requestedSchema(context.getFileSchema(), _projection));
+  }
+
+  /**
+   * The schema of the projected columns (all if projection is null), Parquet then reads only their column chunks.
+   */
+  public static MessageType requestedSchema(MessageType fileSchema, int[] projection) {
+    if (projection == null) {
+      return fileSchema;
+    }
+    List<Type> fields = new ArrayList<>(projection.length);
+    for (int c : projection) {
+      fields.add(fileSchema.getType(c));
+    }
+    return new MessageType(fileSchema.getName(), fields);
   }
 
   @Override
   public RecordMaterializer<Integer> prepareForRead(Configuration configuration, Map<String, String> keyValueMetaData,
                                                     MessageType fileSchema, ReadContext readContext) {
-    return new ChunkRecordMaterializer(fileSchema, _chunkSchema, _writer);
+    return new ChunkRecordMaterializer(readContext.getRequestedSchema(), _chunkSchema, _writer, columnPredicates());
+  }
+
+  // The predicates of each parsed column (null if none)
+  private ParsePredicate[][] columnPredicates() {
+    if (_predicates == null || _predicates.length == 0) {
+      return null;
+    }
+    ParsePredicate[][] preds = new ParsePredicate[_chunkSchema.length][];
+    for (ParsePredicate p : _predicates) {
+      int col = _projection == null ? p.column() : Arrays.binarySearch(_projection, p.column());
+      preds[col] = preds[col] == null ? new ParsePredicate[]{p} : append(preds[col], p);
+    }
+    return preds;
+  }
+
+  private static ParsePredicate[] append(ParsePredicate[] ps, ParsePredicate p) {
+    ParsePredicate[] res = Arrays.copyOf(ps, ps.length + 1);
+    res[ps.length] = p;
+    return res;
   }
 
 }
@@ -3,6 +3,7 @@ package water.parser.parquet;
 import org.apache.parquet.io.api.GroupConverter;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import water.parser.ParsePredicate;
 import water.parser.ParseWriter;
 
 /**
@@ -16,8 +17,8 @@ class ChunkRecordMaterializer extends RecordMaterializer<Integer> {
 
   private ChunkConverter _converter;
 
-  ChunkRecordMaterializer(MessageType parquetSchema, byte[] chunkSchema, ParseWriter writer) {
-    _converter = new ChunkConverter(parquetSchema, chunkSchema, writer);
+  ChunkRecordMaterializer(MessageType parquetSchema, byte[] chunkSchema, ParseWriter writer, ParsePredicate[][] predicates) {
+    _converter = new ChunkConverter(parquetSchema, chunkSchema, writer, predicates);
   }
 
   @Override
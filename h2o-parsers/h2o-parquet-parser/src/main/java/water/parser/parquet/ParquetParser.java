@@ -2,10 +2,15 @@ package water.parser.parquet;
 
 import static org.apache.parquet.hadoop.ParquetFileWriter.MAGIC;
 
+import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.VecParquetReader;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.OriginalType;
 import org.apache.parquet.schema.Type;
@@ -19,7 +24,11 @@ import water.parser.*;
 import water.util.Log;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Parquet parser for H2O distributed parsing subsystem.
@@ -51,19 +60,43 @@ public class ParquetParser extends Parser {
       Log.trace("Chunk #", cidx, " doesn't contain any Parquet block center.");
       return dout;
     }
+    ParsePredicate[] predicates = _setup.getPredicates();
+    if (predicates != null) {
+      List<BlockMetaData> blocks = pruneBlocks(metadata, predicates);
+      if (blocks.isEmpty()) {
+        Log.trace("No Parquet block of chunk #", cidx, " can hold a row meeting the predicates.");
+        return dout;
+      }
+      metadata = new ParquetMetadata(metadata.getFileMetaData(), blocks);
+    }
     Log.info("Processing ", metadata.getBlocks().size(), " blocks of chunk #", cidx);
-    VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes());
+    VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes(),
+            _setup.getProjection(), predicates);
+    MessageType requestedSchema = ChunkReadSupport.requestedSchema(metadata.getFileMetaData().getSchema(), _setup.getProjection());
     try {
-      Integer recordNumber;
-      do {
-        recordNumber = reader.read();
-      } while (recordNumber != null);
+      if (ChunkColumnReader.canRead(requestedSchema, _setup.getColumnTypes(), dout, predicates)) {
+        readColumns(reader, requestedSchema, (FVecParseWriter) dout);
+      } else {
+        Integer recordNumber;
+        do {
+          recordNumber = reader.read();
+        } while (recordNumber != null);
+      }
     } catch (IOException e) {
       throw new RuntimeException("Failed to parse records", e);
     }
     return dout;
   }
 
+  private void readColumns(VecParquetReader reader, MessageType requestedSchema, FVecParseWriter dout) throws IOException {
+    ParquetFileReader fileReader = reader.openFileReader(requestedSchema);
+    try {
+      new ChunkColumnReader(requestedSchema, _setup.getColumnTypes(), dout).read(fileReader);
+    } finally {
+      fileReader.close();
+    }
+  }
+
   public static ParseSetup guessSetup(ByteVec vec, byte[] bits) {
     if (bits.length < MAGIC.length) {
       return null;
@@ -132,6 +165,54 @@ public class ParquetParser extends Parser {
     }
   }
 
+  /**
+   * The row groups which may hold rows meeting all the predicates, going by the min/max statistics
+   * of their column chunks. Row groups without statistics for a predicate's column are kept.
+   */
+  static List<BlockMetaData> pruneBlocks(ParquetMetadata metadata, ParsePredicate[] predicates) {
+    MessageType schema = metadata.getFileMetaData().getSchema();
+    boolean binaryStats = hasValidBinaryStatistics(metadata.getFileMetaData().getCreatedBy());
+    List<BlockMetaData> blocks = new ArrayList<>(metadata.getBlocks().size());
+    for (BlockMetaData block : metadata.getBlocks()) {
+      boolean keep = true;
+      for (ParsePredicate p : predicates) {
+        keep &= mayMatch(schema, block, p, binaryStats);
+      }
+      if (keep) blocks.add(block);
+    }
+    return blocks;
+  }
+
+  private static boolean mayMatch(MessageType schema, BlockMetaData block, ParsePredicate p, boolean binaryStats) {
+    ColumnPath path = ColumnPath.get(schema.getPaths().get(p.column()));
+    for (ColumnChunkMetaData column : block.getColumns()) {
+      if (! path.equals(column.getPath())) continue;
+      Statistics stats = column.getStatistics();
+      if (stats == null || stats.isEmpty()) return true;
+      if (stats.getNumNulls() == block.getRowCount()) return false; // all missing
+      if (! stats.hasNonNullValue()) return true;
+      Object min = stats.genericGetMin();
+      Object max = stats.genericGetMax();
+      if (min instanceof Number) return p.mayMatch(((Number) min).doubleValue(), ((Number) max).doubleValue());
+      if (min instanceof Boolean) return p.mayMatch((Boolean) min ? 1 : 0, (Boolean) max ? 1 : 0);
+      if (min instanceof Binary && binaryStats) return p.mayMatch(((Binary) min).getBytes(), ((Binary) max).getBytes());
+      return true;
+    }
+    return true;
+  }
+
+  private static final Pattern PARQUET_MR_VERSION = Pattern.compile("parquet-mr version (\\d+)\\.(\\d+)\\..*");
+
+  // parquet-mr before 1.8.0 could write wrong min/max statistics for binary columns (PARQUET-251)
+  private static boolean hasValidBinaryStatistics(String createdBy) {
+    if (createdBy == null) return false;
+    if (! createdBy.startsWith("parquet-mr")) return true;
+    Matcher m = PARQUET_MR_VERSION.matcher(createdBy);
+    if (! m.matches()) return false;
+    int major = Integer.parseInt(m.group(1)), minor = Integer.parseInt(m.group(2));
+    return major > 1 || (major == 1 && minor >= 8);
+  }
+
   private static void checkCompatibility(ParquetMetadata metadata) {
     for (BlockMetaData block : metadata.getBlocks()) {
       if (block.getRowCount() > Integer.MAX_VALUE) {
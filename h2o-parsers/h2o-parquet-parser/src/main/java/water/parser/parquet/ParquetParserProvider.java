@@ -44,11 +44,20 @@ public class ParquetParserProvider extends ParserProvider {
 
   @Override
   public ParseSetup createParserSetup(Key[] inputs, ParseSetup requestedSetup) {
+    if (requestedSetup.getProjection() != null || requestedSetup.getPredicates() != null) {
+      // narrowed on a copy, not to change the user's setup
+      return requestedSetup.copyTo(new ParquetParser.ParquetParseSetup()).narrowToProjection();
+    }
     // pass through for now (just convert to an instance of ParquetParseSetup if needed)
     return requestedSetup instanceof ParquetParser.ParquetParseSetup ?
             requestedSetup : requestedSetup.copyTo(new ParquetParser.ParquetParseSetup());
   }
 
+  @Override
+  public boolean isProjectionSupported() {
+    return true;
+  }
+
   @Override
   public ParseSetup setupLocal(Vec v, ParseSetup setup) {
     ((ParquetParser.ParquetParseSetup) setup).parquetMetadata = VecParquetReader.readFooterAsBytes(v);
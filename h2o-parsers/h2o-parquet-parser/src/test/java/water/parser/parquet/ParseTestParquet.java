@@ -28,11 +28,17 @@ import static org.apache.parquet.hadoop.metadata.CompressionCodecName.UNCOMPRESS
 import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
 import static org.junit.Assert.*;
 
+import water.Key;
 import water.TestUtil;
+import water.exceptions.H2OIllegalArgumentException;
 import water.fvec.Frame;
+import water.fvec.NFSFileVec;
 import water.fvec.RollupStatsHelpers;
 import water.fvec.Vec;
 import water.parser.BufferedString;
+import water.parser.ParseDataset;
+import water.parser.ParsePredicate;
+import water.parser.ParseSetup;
 
 /**
  * Test suite for Parquet parser.
@@ -148,6 +154,113 @@ public class ParseTestParquet extends TestUtil {
     assertFrameAssertion(assertion);
   }
 
+  @Test
+  public void testParseProjectionAndPredicates() throws IOException {
+    final int nrows = 1000;
+    File f = ParquetFileGenerator.generateParquetFile(Files.createTempDir(), "projection.parquet", nrows, new Date());
+    Frame frame = null;
+    try {
+      Key[] keys = new Key[]{NFSFileVec.make(f)._key};
+      ParseSetup ps = ParseSetup.guessSetup(keys, false, 0)
+              .setProjection(3, 0)
+              .setPredicates(ParsePredicate.range(0, 32 + 100, 32 + 199), ParsePredicate.range(3, 2.0d + 150, Double.POSITIVE_INFINITY));
+      frame = ParseDataset.parse(Key.make(), keys, true, ps);
+      assertArrayEquals("Column names need to match!", ar("int32_field", "double_field"), frame.names());
+      assertEquals("Only rows 150-199 meet the predicates", 50, frame.numRows());
+      for (int row = 0; row < frame.numRows(); row++) {
+        assertEquals("Value in column int32_field", 32 + 150 + row, frame.vec(0).at8(row));
+        assertEquals("Value in column double_field", 2.0d + 150 + row, frame.vec(1).at(row), EPSILON);
+      }
+    } finally {
+      if (frame != null) frame.delete();
+    }
+  }
+
+  /**
+   * A projection as wide as the file is still checked against the file's columns; narrowing twice is a no-op.
+   */
+  @Test
+  public void testProjectionOutOfRange() throws IOException {
+    File f = ParquetFileGenerator.generateParquetFile(Files.createTempDir(), "projection.parquet", 10, new Date());
+    Key[] keys = new Key[]{NFSFileVec.make(f)._key};
+    try {
+      ParseSetup.guessSetup(keys, false, 0).setProjection(0, 1, 2, 3, 7).narrowToProjection();
+      fail("Column 7 is not in a 5 column file");
+    } catch (H2OIllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("Cannot parse column 7"));
+    }
+    ParseSetup ps = ParseSetup.guessSetup(keys, false, 0).setProjection(3, 0).narrowToProjection();
+    ps.narrowToProjection();
+    assertArrayEquals(ar("int32_field", "double_field"), ps.getColumnNames());
+  }
+
+  /**
+   * A numeric predicate on times stored as strings: it is evaluated on the parsed time, and string
+   * statistics never rule it out.
+   */
+  @Test
+  public void testParseTimePredicateOnStrings() throws IOException {
+    final int nrows = 1000;
+    File f = ParquetFileGenerator.generateStringTimeParquetFile(Files.createTempDir(), "stringTimes.parquet", nrows);
+    Frame all = null, frame = null;
+    try {
+      byte[] types = new byte[]{Vec.T_TIME, Vec.T_NUM};
+      Key[] keys = new Key[]{NFSFileVec.make(f)._key};
+      all = ParseDataset.parse(Key.make(), keys, false, ParseSetup.guessSetup(keys, false, 0).setColumnTypes(types));
+      assertArrayEquals("Column types need to match!", ar(Vec.T_TIME, Vec.T_NUM), all.types());
+      long from = all.vec(0).at8(100), to = all.vec(0).at8(199);
+      assertTrue(ParsePredicate.range(0, from, to).mayMatch("2016".getBytes(), "2017".getBytes()));
+
+      ParseSetup ps = ParseSetup.guessSetup(keys, false, 0).setColumnTypes(types)
+              .setPredicates(ParsePredicate.range(0, from, to));
+      frame = ParseDataset.parse(Key.make(), keys, true, ps);
+      assertEquals("Only rows 100-199 meet the predicate", 100, frame.numRows());
+      for (int row = 0; row < frame.numRows(); row++) {
+        assertEquals("Value in column row", 100 + row, frame.vec(1).at8(row));
+        assertEquals("Value in column time_field", all.vec(0).at8(100 + row), frame.vec(0).at8(row));
+      }
+    } finally {
+      if (all != null) all.delete();
+      if (frame != null) frame.delete();
+    }
+  }
+
+  /**
+   * Categorical and string columns decoded column by column, from both dictionary and plain encoded pages
+   * of both data page versions.
+   */
+  @Test
+  public void testParseDictionaryAndPlainPages() throws IOException {
+    final int nrows = 1000;
+    for (ParquetProperties.WriterVersion version : ParquetProperties.WriterVersion.values()) {
+      File f = ParquetFileGenerator.generateStringParquetFile(Files.createTempDir(), "strings.parquet", nrows, version);
+      Frame frame = null;
+      try {
+        Key[] keys = new Key[]{NFSFileVec.make(f)._key};
+        ParseSetup ps = ParseSetup.guessSetup(keys, false, 0)
+                .setColumnTypes(new byte[]{Vec.T_CAT, Vec.T_STR, Vec.T_NUM, Vec.T_NUM});
+        frame = ParseDataset.parse(Key.make(), keys, true, ps);
+        assertArrayEquals("Column types need to match!", ar(Vec.T_CAT, Vec.T_STR, Vec.T_NUM, Vec.T_NUM), frame.types());
+        assertEquals(nrows, frame.numRows());
+        BufferedString bs = new BufferedString();
+        for (int row = 0; row < nrows; row++) {
+          assertEquals("Value in column row", row, frame.vec(3).at8(row));
+          if (row % 11 == 0) {
+            assertTrue(frame.vec(0).isNA(row));
+            assertTrue(frame.vec(1).isNA(row));
+            assertTrue(frame.vec(2).isNA(row));
+          } else {
+            assertEquals("Value in column cat_field", "CAT_" + (row % 7), frame.vec(0).factor(frame.vec(0).at8(row)));
+            assertEquals("Value in column str_field", "str_" + row, frame.vec(1).atStr(bs, row).toString());
+            assertEquals("Value in column double_field", row / 4.0, frame.vec(2).at(row), EPSILON);
+          }
+        }
+      } finally {
+        if (frame != null) frame.delete();
+      }
+    }
+  }
+
 }
 
 class ParquetFileGenerator {
@@ -235,4 +348,55 @@ class ParquetFileGenerator {
     return f;
   }
 
+  static File generateStringTimeParquetFile(File parentDir, String filename, int nrows) throws IOException {
+    File f = new File(parentDir, filename);
+
+    Configuration conf = new Configuration();
+    MessageType schema = parseMessageType(
+            "message test { required binary time_field (UTF8); required int32 row; } ");
+    GroupWriteSupport.setSchema(schema, conf);
+    SimpleGroupFactory fact = new SimpleGroupFactory(schema);
+    ParquetWriter<Group> writer = new ParquetWriter<Group>(new Path(f.getPath()), new GroupWriteSupport(),
+            UNCOMPRESSED, 1024, 1024, 512, true, false, ParquetProperties.WriterVersion.PARQUET_2_0, conf);
+    DateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    try {
+      for (int i = 0; i < nrows; i++) { // hourly from 2016-01-01, clear of daylight saving changes
+        writer.write(fact.newGroup()
+                .append("time_field", format.format(new Date(1451606400000L + i * 3600000L)))
+                .append("row", i));
+      }
+    } finally {
+      writer.close();
+    }
+    return f;
+  }
+
+  static File generateStringParquetFile(File parentDir, String filename, int nrows,
+                                        ParquetProperties.WriterVersion version) throws IOException {
+    File f = new File(parentDir, filename);
+
+    Configuration conf = new Configuration();
+    MessageType schema = parseMessageType(
+            "message test { optional binary cat_field (UTF8); optional binary str_field (UTF8); optional double double_field; required int64 row; } ");
+    GroupWriteSupport.setSchema(schema, conf);
+    SimpleGroupFactory fact = new SimpleGroupFactory(schema);
+    // small dictionary pages: the unique strings overflow the dictionary and continue in plain pages
+    ParquetWriter<Group> writer = new ParquetWriter<Group>(new Path(f.getPath()), new GroupWriteSupport(),
+            UNCOMPRESSED, 1024, 1024, 512, true, false, version, conf);
+    try {
+      for (int i = 0; i < nrows; i++) {
+        Group g = fact.newGroup();
+        if (i % 11 != 0) {
+          g = g.append("cat_field", "CAT_" + (i % 7))
+               .append("str_field", "str_" + i)
+               .append("double_field", i / 4.0);
+        }
+        writer.write(g.append("row", (long) i));
+      }
+    } finally {
+      writer.close();
+    }
+    return f;
+  }
+
 }
\ No newline at end of file